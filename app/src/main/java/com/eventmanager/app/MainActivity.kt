@@ -54,6 +54,8 @@ import com.eventmanager.app.data.models.Volunteer
 import com.eventmanager.app.data.models.Job
 import com.eventmanager.app.data.models.JobTypeConfig
 import com.eventmanager.app.data.models.VenueEntity
+import com.eventmanager.app.data.models.SheetsEntityType
+import com.eventmanager.app.data.models.CounterNight
 import androidx.compose.runtime.*
 import androidx.compose.runtime.saveable.rememberSaveable
 import kotlinx.coroutines.launch
@@ -121,6 +123,8 @@ import com.eventmanager.app.ui.theme.EventManagerTheme
 import com.eventmanager.app.ui.theme.ThemeMode
 import com.eventmanager.app.ui.viewmodel.EventManagerViewModel
 import com.eventmanager.app.data.sync.SettingsManager
+import com.eventmanager.app.data.sync.SyncProgressEvent
+import com.eventmanager.app.data.utils.OccupancyLog
 import com.eventmanager.app.ui.utils.*
 import com.eventmanager.app.ui.components.AnimatedBackground
 import com.eventmanager.app.ui.components.SnowAnimation
@@ -344,10 +348,6 @@ fun EventManagerApp() {
     var showQRScanner by rememberSaveable { mutableStateOf(false) }
     var showVolunteerBenefits: Volunteer? by remember { mutableStateOf(null) }
     
-    // Track if we've encountered an error
-    var hasError by rememberSaveable { mutableStateOf(false) }
-    var errorMessage by rememberSaveable { mutableStateOf("") }
-    
     // Haptic feedback for page navigation - very subtle vibration
     val vibrator = remember { appContext.getSystemService(Context.VIBRATOR_SERVICE) as? Vibrator }
 
@@ -362,7 +362,10 @@ fun EventManagerApp() {
             database.jobDao(),
             database.jobTypeConfigDao(),
             database.venueDao(),
-            database.counterDao()
+            database.counterDao(),
+            database.sheetsOutboxDao(),
+            database.jobArchiveDao(),
+            database
         )
         val context = LocalContext.current
         val googleSheetsService = GoogleSheetsService(context)
@@ -384,6 +387,8 @@ fun EventManagerApp() {
         // Collect sync status state
         val syncStatusMessage by viewModel.syncStatusMessage.collectAsState()
         val showSyncStatusDialog by viewModel.showSyncStatusDialog.collectAsState()
+        val syncTraces by viewModel.syncTraces.collectAsState()
+        val syncTraceExportPath by viewModel.syncTraceExportPath.collectAsState()
         
         // State for device time error
         val showDeviceTimeErrorDialog = remember { mutableStateOf(false) }
@@ -395,27 +400,11 @@ fun EventManagerApp() {
             }
         }
         
-        // On app launch: defer sync to allow UI to render first, preventing ANR
-        // Use Dispatchers.IO to ensure sync runs on background thread
+        // On app launch: hand the initial sync to WorkManager, which runs it off the main thread
+        // and drops it when a sync is already pending or running
         LaunchedEffect(Unit) {
-            // Delay initial sync to allow UI to render first
-            kotlinx.coroutines.delay(500) // Small delay to let UI initialize
-            
-            // Run sync on IO dispatcher to prevent blocking main thread
-            kotlinx.coroutines.withContext(kotlinx.coroutines.Dispatchers.IO) {
-                println("App started - triggering initial download-only full sync...")
-                try {
-                    viewModel.performFullSync()
-                } catch (e: Exception) {
-                    println("❌ Sync error: ${e.message}")
-                    e.printStackTrace()
-                    // Update error state on main thread
-                    kotlinx.coroutines.withContext(kotlinx.coroutines.Dispatchers.Main) {
-                        hasError = true
-                        errorMessage = "Sync failed: ${e.message}"
-                    }
-                }
-            }
+            println("App started - requesting initial sync of changed tabs...")
+            viewModel.syncOnLaunch()
         }
         
         // Defer sync operations on tab switch to allow instant UI response
@@ -427,18 +416,9 @@ fun EventManagerApp() {
             // Delay sync to allow page transition animation to start immediately
             kotlinx.coroutines.delay(175)
             
-            println("Tab changed from $previousTab to $selectedTab - triggering deferred targeted sync")
-            when (selectedTab) {
-                0 -> viewModel.syncGuestsWithTargetedUpdates() // Enter Dashboard
-                1 -> viewModel.syncGuestsWithTargetedUpdates() // Enter Guest List
-                2 -> viewModel.syncVolunteersWithTargetedUpdates() // Enter Volunteers
-                3 -> viewModel.syncJobsWithTargetedUpdates() // Enter Jobs
-                4 -> {
-                    viewModel.syncJobsWithTargetedUpdates()
-                    viewModel.syncVolunteersWithTargetedUpdates()
-                    viewModel.syncJobTypesWithTargetedUpdates()
-                } // Enter Benefits
-            }
+            println("Tab changed from $previousTab to $selectedTab - refreshing stale page data")
+            // Only stale datasets are downloaded, and the neighbouring pages are prefetched
+            viewModel.onPageSelected(selectedTab)
         }
 
         Scaffold(
@@ -907,7 +887,10 @@ fun EventManagerApp() {
         SyncStatusDialog(
             isVisible = showSyncStatusDialog,
             onDismiss = { viewModel.dismissSyncStatusDialog() },
-            statusMessage = syncStatusMessage
+            statusMessage = syncStatusMessage,
+            traces = syncTraces,
+            exportPath = syncTraceExportPath,
+            onExportTraces = { viewModel.exportSyncTraces() }
         )
     }
 }
@@ -921,6 +904,7 @@ viewModel: EventManagerViewModel,
     val context = LocalContext.current
     val lastSyncTime by viewModel.lastSyncTime.collectAsState()
     val isSyncing by viewModel.isSyncing.collectAsState()
+    val syncProgress by viewModel.syncProgress.collectAsState()
     
     // Interaction source for press feedback
     val interactionSource = remember { MutableInteractionSource() }
@@ -969,8 +953,21 @@ viewModel: EventManagerViewModel,
                     strokeWidth = 2.dp,
                     color = MaterialTheme.colorScheme.primary
                 )
+                // Streaming syncs show how far the tab being applied is
+                val chunkProgress = syncProgress as? SyncProgressEvent.ChunkApplied
                 Text(
-                    text = context.getString(R.string.syncing),
+                    text = if (chunkProgress != null) {
+                        val tabName = when (chunkProgress.tab) {
+                            SheetsEntityType.GUEST, SheetsEntityType.VOLUNTEER_GUEST_LIST -> context.getString(R.string.sync_tab_guests)
+                            SheetsEntityType.VOLUNTEER -> context.getString(R.string.sync_tab_volunteers)
+                            SheetsEntityType.JOB -> context.getString(R.string.sync_tab_jobs)
+                            SheetsEntityType.JOB_TYPE -> context.getString(R.string.sync_tab_job_types)
+                            SheetsEntityType.VENUE -> context.getString(R.string.sync_tab_venues)
+                        }
+                        context.getString(R.string.syncing_tab_progress, tabName, chunkProgress.applied, chunkProgress.total)
+                    } else {
+                        context.getString(R.string.syncing)
+                    },
                     style = MaterialTheme.typography.labelSmall,
                     color = MaterialTheme.colorScheme.onPrimaryContainer
                 )
@@ -1066,6 +1063,9 @@ fun DashboardScreenWithViewModel(viewModel: EventManagerViewModel) {
     val jobs by viewModel.jobs.collectAsState()
     val jobTypeConfigs by viewModel.jobTypeConfigs.collectAsState()
     val venues by viewModel.venues.collectAsState()
+    val archivedJobs by viewModel.archivedJobs.collectAsState()
+    val occupancyWindow by viewModel.occupancyWindow.collectAsState()
+    val counterNights by viewModel.counterNights.collectAsState()
     val isSyncing by viewModel.isSyncing.collectAsState()
     val coroutineScope = rememberCoroutineScope()
     val context = LocalContext.current
@@ -1110,6 +1110,10 @@ fun DashboardScreenWithViewModel(viewModel: EventManagerViewModel) {
         jobs = jobs,
         venues = venues,
         jobTypeConfigs = jobTypeConfigs,
+        archivedJobs = archivedJobs,
+        onLoadJobHistory = { viewModel.loadJobHistory() },
+        occupancyWindow = occupancyWindow,
+        counterNights = counterNights,
         isSyncing = isSyncing,
         lastSyncTime = settingsManager.getLastSyncTime(),
         repository = viewModel.repository
@@ -1123,6 +1127,10 @@ fun DashboardScreen(
     jobs: List<Job>,
     venues: List<VenueEntity> = emptyList(),
     jobTypeConfigs: List<JobTypeConfig> = emptyList(),
+    archivedJobs: List<Job>? = null,
+    onLoadJobHistory: () -> Unit = {},
+    occupancyWindow: List<OccupancyLog.MinuteBucket> = emptyList(),
+    counterNights: List<CounterNight> = emptyList(),
     isSyncing: Boolean = false,
     lastSyncTime: Long = 0L,
     repository: com.eventmanager.app.data.repository.EventManagerRepository? = null
@@ -1448,6 +1456,10 @@ fun DashboardScreen(
                 jobs = jobs,
                 venues = venues,
                 jobTypeConfigs = jobTypeConfigs,
+                archivedJobs = archivedJobs,
+                onLoadJobHistory = onLoadJobHistory,
+                occupancyWindow = occupancyWindow,
+                counterNights = counterNights,
                 isPhone = isPhone
             )
         }
@@ -6,6 +6,8 @@ import androidx.room.OnConflictStrategy
 import androidx.room.Query
 import androidx.room.Update
 import com.eventmanager.app.data.models.CounterData
+import com.eventmanager.app.data.models.CounterEvent
+import com.eventmanager.app.data.models.CounterNight
 import kotlinx.coroutines.flow.Flow
 
 @Dao
@@ -22,7 +24,46 @@ interface CounterDao {
     @Update
     suspend fun updateCounter(counter: CounterData)
 
+    // Atomic: SQLite computes the new count, so concurrent taps never overwrite each other
+    @Query("UPDATE people_counter SET count = max(0, count + :delta), lastModified = :timestamp WHERE id = 1")
+    suspend fun addToCount(delta: Int, timestamp: Long): Int
+
+    @Query("INSERT OR IGNORE INTO people_counter (id, count, lastModified) VALUES (1, max(0, :count), :timestamp)")
+    suspend fun insertCounterIfMissing(count: Int, timestamp: Long)
+
+    @Query("SELECT count FROM people_counter WHERE id = 1")
+    suspend fun getCount(): Int?
+
     @Query("DELETE FROM people_counter")
     suspend fun deleteCounter()
+
+    // Counter event log, append-only until rolled up into counter_nights
+    @Insert
+    suspend fun insertEvent(event: CounterEvent): Long
+
+    @Query("SELECT * FROM counter_events WHERE timestamp >= :since ORDER BY timestamp, id")
+    suspend fun getEventsSince(since: Long): List<CounterEvent>
+
+    // Keyset paging keeps memory flat however many events a night has
+    @Query("SELECT * FROM counter_events WHERE timestamp < :before AND id > :afterId ORDER BY id LIMIT :limit")
+    suspend fun getEventsBefore(before: Long, afterId: Long, limit: Int): List<CounterEvent>
+
+    @Query("DELETE FROM counter_events WHERE timestamp < :before")
+    suspend fun deleteEventsBefore(before: Long): Int
+
+    @Query("DELETE FROM counter_events")
+    suspend fun deleteAllEvents()
+
+    @Query("SELECT * FROM counter_nights ORDER BY nightStart")
+    fun getNights(): Flow<List<CounterNight>>
+
+    @Query("SELECT * FROM counter_nights WHERE nightStart IN (:nightStarts)")
+    suspend fun getNightsByStart(nightStarts: List<Long>): List<CounterNight>
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertNights(nights: List<CounterNight>)
+
+    @Query("DELETE FROM counter_nights")
+    suspend fun deleteAllNights()
 }
 
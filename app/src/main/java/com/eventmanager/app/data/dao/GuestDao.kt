@@ -18,6 +18,10 @@ interface GuestDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertGuest(guest: Guest): Long
 
+    // Updates rows whose id already exists instead of deleting and re-inserting them
+    @Upsert
+    suspend fun upsertGuests(guests: List<Guest>): List<Long>
+
     @Update
     suspend fun updateGuest(guest: Guest)
 
@@ -27,6 +31,12 @@ interface GuestDao {
     @Query("DELETE FROM guests WHERE id = :id")
     suspend fun deleteGuestById(id: Long)
 
+    @Query("DELETE FROM guests WHERE id IN (:ids)")
+    suspend fun deleteGuestsByIds(ids: List<Long>)
+
+    @Query("SELECT * FROM guests")
+    suspend fun getAllGuestsOnce(): List<Guest>
+
     @Query("SELECT * FROM guests WHERE lastModified > :timestamp")
     suspend fun getGuestsModifiedAfter(timestamp: Long): List<Guest>
 
@@ -0,0 +1,28 @@
+package com.eventmanager.app.data.dao
+
+import androidx.room.*
+import com.eventmanager.app.data.models.ArchivedJob
+import com.eventmanager.app.data.models.VolunteerLastShift
+
+@Dao
+interface JobArchiveDao {
+    @Query("SELECT * FROM jobs_archive ORDER BY date DESC")
+    suspend fun getAllArchivedJobs(): List<ArchivedJob>
+
+    @Query("SELECT DISTINCT season FROM jobs_archive ORDER BY season DESC")
+    suspend fun getSeasons(): List<Int>
+
+    // Latest archived shift of each volunteer, so archiving a season keeps their activity
+    @Query("SELECT volunteerId, MAX(date) AS lastShiftDate FROM jobs_archive GROUP BY volunteerId")
+    suspend fun getLatestShiftDates(): List<VolunteerLastShift>
+
+    @Query("SELECT COUNT(*) FROM jobs_archive")
+    suspend fun getArchivedJobCount(): Int
+
+    // REPLACE on the unique sheetsId index makes archiving the same job twice a no-op
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertArchivedJobs(jobs: List<ArchivedJob>): List<Long>
+
+    @Query("DELETE FROM jobs_archive")
+    suspend fun deleteAllArchivedJobs()
+}
@@ -25,6 +25,9 @@ interface JobDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertJob(job: Job): Long
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertJobs(jobs: List<Job>): List<Long>
+
     @Update
     suspend fun updateJob(job: Job)
 
@@ -34,6 +37,12 @@ interface JobDao {
     @Query("DELETE FROM jobs WHERE id = :id")
     suspend fun deleteJobById(id: Long)
 
+    @Query("DELETE FROM jobs WHERE id IN (:ids)")
+    suspend fun deleteJobsByIds(ids: List<Long>)
+
+    @Query("SELECT * FROM jobs")
+    suspend fun getAllJobsOnce(): List<Job>
+
     @Query("SELECT * FROM jobs WHERE lastModified > :timestamp")
     suspend fun getJobsModifiedAfter(timestamp: Long): List<Job>
 
@@ -70,6 +79,9 @@ interface JobDao {
     @Query("SELECT * FROM jobs WHERE sheetsId = :sheetsId")
     suspend fun getJobBySheetsId(sheetsId: String): Job?
     
+    @Query("SELECT * FROM jobs WHERE sheetsId IN (:sheetsIds)")
+    suspend fun getJobsBySheetsIds(sheetsIds: List<String>): List<Job>
+    
     @Query("DELETE FROM jobs")
     suspend fun deleteAllJobs()
 }
@@ -21,6 +21,9 @@ interface JobTypeConfigDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertJobTypeConfig(config: JobTypeConfig): Long
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertJobTypeConfigs(configs: List<JobTypeConfig>): List<Long>
+
     @Update
     suspend fun updateJobTypeConfig(config: JobTypeConfig)
 
@@ -30,6 +33,12 @@ interface JobTypeConfigDao {
     @Query("DELETE FROM job_type_configs WHERE id = :id")
     suspend fun deleteJobTypeConfigById(id: Long)
 
+    @Query("DELETE FROM job_type_configs WHERE id IN (:ids)")
+    suspend fun deleteJobTypeConfigsByIds(ids: List<Long>)
+
+    @Query("SELECT * FROM job_type_configs")
+    suspend fun getAllJobTypeConfigsOnce(): List<JobTypeConfig>
+
     @Query("UPDATE job_type_configs SET isActive = :isActive WHERE id = :id")
     suspend fun updateJobTypeConfigStatus(id: Long, isActive: Boolean)
 
@@ -0,0 +1,33 @@
+package com.eventmanager.app.data.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import com.eventmanager.app.data.models.SheetsOutboxEntry
+import kotlinx.coroutines.flow.Flow
+
+@Dao
+interface SheetsOutboxDao {
+    @Query("SELECT * FROM sheets_outbox ORDER BY updatedAt ASC LIMIT :limit")
+    suspend fun getPendingEntries(limit: Int): List<SheetsOutboxEntry>
+
+    @Query("SELECT COUNT(*) FROM sheets_outbox")
+    fun getPendingCount(): Flow<Int>
+
+    @Query("SELECT COUNT(*) FROM sheets_outbox")
+    suspend fun getPendingCountOnce(): Int
+
+    // REPLACE on the (entityType, entityId) unique index collapses repeated edits into one entry
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun upsertEntry(entry: SheetsOutboxEntry): Long
+
+    @Query("DELETE FROM sheets_outbox WHERE id IN (:ids)")
+    suspend fun deleteEntries(ids: List<Long>)
+
+    @Query("UPDATE sheets_outbox SET attempts = attempts + 1, lastError = :error WHERE id IN (:ids)")
+    suspend fun markFailed(ids: List<Long>, error: String?)
+
+    @Query("DELETE FROM sheets_outbox")
+    suspend fun deleteAllEntries()
+}
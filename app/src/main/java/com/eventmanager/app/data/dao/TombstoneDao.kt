@@ -0,0 +1,35 @@
+package com.eventmanager.app.data.dao
+
+import androidx.room.Dao
+import androidx.room.Insert
+import androidx.room.OnConflictStrategy
+import androidx.room.Query
+import com.eventmanager.app.data.models.Tombstone
+
+@Dao
+interface TombstoneDao {
+    // REPLACE on the (type, itemId) unique index keeps the latest deletion of an item
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertTombstones(tombstones: List<Tombstone>): List<Long>
+
+    @Query("SELECT * FROM tombstones WHERE type = :type ORDER BY deletionTime ASC")
+    suspend fun getTombstones(type: String): List<Tombstone>
+
+    @Query("SELECT itemId FROM tombstones WHERE type = :type AND itemId IN (:itemIds)")
+    suspend fun findDeletedItemIds(type: String, itemIds: List<String>): List<String>
+
+    @Query("SELECT sheetsId FROM tombstones WHERE type = :type AND sheetsId IN (:sheetsIds)")
+    suspend fun findDeletedSheetsIds(type: String, sheetsIds: List<String>): List<String>
+
+    @Query("SELECT EXISTS(SELECT 1 FROM tombstones WHERE type = :type AND itemId = :itemId)")
+    suspend fun isItemDeleted(type: String, itemId: String): Boolean
+
+    @Query("SELECT EXISTS(SELECT 1 FROM tombstones WHERE type = :type AND sheetsId = :sheetsId)")
+    suspend fun isSheetsIdDeleted(type: String, sheetsId: String): Boolean
+
+    @Query("DELETE FROM tombstones WHERE deletionTime < :cutoffTime")
+    suspend fun deleteOlderThan(cutoffTime: Long): Int
+
+    @Query("DELETE FROM tombstones")
+    suspend fun deleteAllTombstones()
+}
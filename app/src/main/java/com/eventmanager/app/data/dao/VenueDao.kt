@@ -21,6 +21,9 @@ interface VenueDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertVenue(venue: VenueEntity): Long
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    suspend fun insertVenues(venues: List<VenueEntity>): List<Long>
+
     @Update
     suspend fun updateVenue(venue: VenueEntity)
 
@@ -30,6 +33,12 @@ interface VenueDao {
     @Query("DELETE FROM venues WHERE id = :id")
     suspend fun deleteVenueById(id: Long)
 
+    @Query("DELETE FROM venues WHERE id IN (:ids)")
+    suspend fun deleteVenuesByIds(ids: List<Long>)
+
+    @Query("SELECT * FROM venues")
+    suspend fun getAllVenuesOnce(): List<VenueEntity>
+
     @Query("UPDATE venues SET isActive = :isActive WHERE id = :id")
     suspend fun updateVenueStatus(id: Long, isActive: Boolean)
 
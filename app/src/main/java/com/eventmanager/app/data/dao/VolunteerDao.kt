@@ -25,6 +25,10 @@ interface VolunteerDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     suspend fun insertVolunteer(volunteer: Volunteer): Long
 
+    // Updates rows whose id already exists instead of deleting and re-inserting them
+    @Upsert
+    suspend fun upsertVolunteers(volunteers: List<Volunteer>): List<Long>
+
     @Update
     suspend fun updateVolunteer(volunteer: Volunteer)
 
@@ -34,6 +38,12 @@ interface VolunteerDao {
     @Query("DELETE FROM volunteers WHERE id = :id")
     suspend fun deleteVolunteerById(id: Long)
 
+    @Query("DELETE FROM volunteers WHERE id IN (:ids)")
+    suspend fun deleteVolunteersByIds(ids: List<Long>)
+
+    @Query("SELECT * FROM volunteers")
+    suspend fun getAllVolunteersOnce(): List<Volunteer>
+
     @Query("SELECT * FROM volunteers WHERE lastModified > :timestamp")
     suspend fun getVolunteersModifiedAfter(timestamp: Long): List<Volunteer>
 
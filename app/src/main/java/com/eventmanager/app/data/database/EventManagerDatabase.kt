@@ -13,6 +13,9 @@ import com.eventmanager.app.data.dao.JobTypeConfigDao
 import com.eventmanager.app.data.dao.VenueDao
 import com.eventmanager.app.data.dao.VolunteerDao
 import com.eventmanager.app.data.dao.CounterDao
+import com.eventmanager.app.data.dao.SheetsOutboxDao
+import com.eventmanager.app.data.dao.TombstoneDao
+import com.eventmanager.app.data.dao.JobArchiveDao
 import com.eventmanager.app.data.models.Converters
 import com.eventmanager.app.data.models.Guest
 import com.eventmanager.app.data.models.Job
@@ -20,10 +23,15 @@ import com.eventmanager.app.data.models.JobTypeConfig
 import com.eventmanager.app.data.models.VenueEntity
 import com.eventmanager.app.data.models.Volunteer
 import com.eventmanager.app.data.models.CounterData
+import com.eventmanager.app.data.models.SheetsOutboxEntry
+import com.eventmanager.app.data.models.Tombstone
+import com.eventmanager.app.data.models.ArchivedJob
+import com.eventmanager.app.data.models.CounterEvent
+import com.eventmanager.app.data.models.CounterNight
 
 @Database(
-    entities = [Guest::class, Volunteer::class, Job::class, JobTypeConfig::class, VenueEntity::class, CounterData::class],
-    version = 18,
+    entities = [Guest::class, Volunteer::class, Job::class, JobTypeConfig::class, VenueEntity::class, CounterData::class, SheetsOutboxEntry::class, Tombstone::class, ArchivedJob::class, CounterEvent::class, CounterNight::class],
+    version = 26,
     exportSchema = false
 )
 @TypeConverters(Converters::class)
@@ -34,6 +42,9 @@ abstract class EventManagerDatabase : RoomDatabase() {
     abstract fun jobTypeConfigDao(): JobTypeConfigDao
     abstract fun venueDao(): VenueDao
     abstract fun counterDao(): CounterDao
+    abstract fun sheetsOutboxDao(): SheetsOutboxDao
+    abstract fun tombstoneDao(): TombstoneDao
+    abstract fun jobArchiveDao(): JobArchiveDao
 
     companion object {
         @Volatile
@@ -657,6 +668,189 @@ abstract class EventManagerDatabase : RoomDatabase() {
             }
         }
 
+        private val MIGRATION_18_19 = object : Migration(18, 19) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Create sheets_outbox table for pending Google Sheets writes
+                    db.execSQL("""
+                        CREATE TABLE IF NOT EXISTS sheets_outbox (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                            entityType TEXT NOT NULL,
+                            entityId INTEGER NOT NULL,
+                            operation TEXT NOT NULL,
+                            sheetsId TEXT,
+                            attempts INTEGER NOT NULL,
+                            lastError TEXT,
+                            updatedAt INTEGER NOT NULL
+                        )
+                    """)
+                    db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS index_sheets_outbox_entityType_entityId ON sheets_outbox(entityType, entityId)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_sheets_outbox_updatedAt ON sheets_outbox(updatedAt)")
+                    println("Successfully created sheets_outbox table")
+                } catch (e: Exception) {
+                    println("Migration 18_19 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_19_20 = object : Migration(19, 20) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Replace row-number sheetsIds with stable random UUIDs (version 4 format)
+                    val uuid = """
+                        lower(hex(randomblob(4)) || '-' || hex(randomblob(2)) || '-4' ||
+                        substr(hex(randomblob(2)), 2) || '-' ||
+                        substr('89ab', 1 + (abs(random()) % 4), 1) || substr(hex(randomblob(2)), 2) || '-' ||
+                        hex(randomblob(6)))
+                    """
+                    listOf("guests", "volunteers", "jobs", "job_type_configs", "venues").forEach { table ->
+                        db.execSQL("UPDATE $table SET sheetsId = $uuid WHERE sheetsId IS NULL OR length(sheetsId) != 36")
+                    }
+                    println("Successfully assigned stable sheets IDs")
+                } catch (e: Exception) {
+                    println("Migration 19_20 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_20_21 = object : Migration(20, 21) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Index names for the sync upserts, which match downloaded rows by name;
+                    // existing duplicate names are kept rather than deleted
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_guests_name ON guests(name)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_volunteers_name ON volunteers(name)")
+                    println("Successfully added name indices in migration 20_21")
+                } catch (e: Exception) {
+                    println("Migration 20_21 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_21_22 = object : Migration(21, 22) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Create tombstones table replacing the JSON deletion lists in SharedPreferences
+                    db.execSQL("""
+                        CREATE TABLE IF NOT EXISTS tombstones (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                            type TEXT NOT NULL,
+                            itemId TEXT NOT NULL,
+                            sheetsId TEXT,
+                            deletionTime INTEGER NOT NULL
+                        )
+                    """)
+                    db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS index_tombstones_type_itemId ON tombstones(type, itemId)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_tombstones_type_sheetsId ON tombstones(type, sheetsId)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_tombstones_deletionTime ON tombstones(deletionTime)")
+                    println("Successfully created tombstones table")
+                } catch (e: Exception) {
+                    println("Migration 21_22 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_22_23 = object : Migration(22, 23) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Add syncHash column to the tables compared by differential sync
+                    db.execSQL("ALTER TABLE guests ADD COLUMN syncHash INTEGER NOT NULL DEFAULT 0")
+                    db.execSQL("ALTER TABLE volunteers ADD COLUMN syncHash INTEGER NOT NULL DEFAULT 0")
+                    db.execSQL("ALTER TABLE jobs ADD COLUMN syncHash INTEGER NOT NULL DEFAULT 0")
+                    println("Successfully added syncHash columns")
+                } catch (e: Exception) {
+                    println("Migration 22_23 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_23_24 = object : Migration(23, 24) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Create jobs_archive table holding the jobs of past seasons
+                    db.execSQL("""
+                        CREATE TABLE IF NOT EXISTS jobs_archive (
+                            archiveId INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                            jobId INTEGER NOT NULL,
+                            sheetsId TEXT,
+                            volunteerId INTEGER NOT NULL,
+                            jobType TEXT NOT NULL,
+                            jobTypeName TEXT NOT NULL,
+                            venueName TEXT NOT NULL,
+                            date INTEGER NOT NULL,
+                            shiftTime TEXT NOT NULL,
+                            notes TEXT NOT NULL,
+                            lastModified INTEGER NOT NULL,
+                            season INTEGER NOT NULL
+                        )
+                    """)
+                    db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS index_jobs_archive_sheetsId ON jobs_archive(sheetsId)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_jobs_archive_season ON jobs_archive(season)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_jobs_archive_volunteerId_date ON jobs_archive(volunteerId, date)")
+                    println("Successfully created jobs_archive table")
+                } catch (e: Exception) {
+                    println("Migration 23_24 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_24_25 = object : Migration(24, 25) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Create the append-only people counter log and its per-night rollup
+                    db.execSQL("""
+                        CREATE TABLE IF NOT EXISTS counter_events (
+                            id INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL,
+                            timestamp INTEGER NOT NULL,
+                            delta INTEGER NOT NULL,
+                            countAfter INTEGER NOT NULL,
+                            isReset INTEGER NOT NULL
+                        )
+                    """)
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_counter_events_timestamp ON counter_events(timestamp)")
+                    db.execSQL("""
+                        CREATE TABLE IF NOT EXISTS counter_nights (
+                            nightStart INTEGER PRIMARY KEY NOT NULL,
+                            entries INTEGER NOT NULL,
+                            exits INTEGER NOT NULL,
+                            peakOccupancy INTEGER NOT NULL,
+                            peakAt INTEGER NOT NULL,
+                            peakEntriesPerMinute INTEGER NOT NULL,
+                            peakExitsPerMinute INTEGER NOT NULL,
+                            lastEventAt INTEGER NOT NULL
+                        )
+                    """)
+                    println("Successfully created counter_events and counter_nights tables")
+                } catch (e: Exception) {
+                    println("Migration 24_25 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
+        private val MIGRATION_25_26 = object : Migration(25, 26) {
+            override fun migrate(db: SupportSQLiteDatabase) {
+                try {
+                    // Guest and volunteer name indices are no longer unique: a REPLACE insert
+                    // hitting them silently deleted the other row with the same name
+                    db.execSQL("DROP INDEX IF EXISTS index_guests_name")
+                    db.execSQL("DROP INDEX IF EXISTS index_volunteers_name")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_guests_name ON guests(name)")
+                    db.execSQL("CREATE INDEX IF NOT EXISTS index_volunteers_name ON volunteers(name)")
+                    println("Successfully made name indices non-unique in migration 25_26")
+                } catch (e: Exception) {
+                    println("Migration 25_26 failed: ${e.message}")
+                    throw e
+                }
+            }
+        }
+
         fun getDatabase(context: Context): EventManagerDatabase {
             return INSTANCE ?: synchronized(this) {
                 val instance = Room.databaseBuilder(
@@ -664,7 +858,7 @@ abstract class EventManagerDatabase : RoomDatabase() {
                     EventManagerDatabase::class.java,
                     "event_manager_database"
                 )
-                .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13, MIGRATION_13_14, MIGRATION_14_15, MIGRATION_15_16, MIGRATION_16_17, MIGRATION_17_18)
+                .addMigrations(MIGRATION_1_2, MIGRATION_2_3, MIGRATION_3_4, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9, MIGRATION_9_10, MIGRATION_10_11, MIGRATION_11_12, MIGRATION_12_13, MIGRATION_13_14, MIGRATION_14_15, MIGRATION_15_16, MIGRATION_16_17, MIGRATION_17_18, MIGRATION_18_19, MIGRATION_19_20, MIGRATION_20_21, MIGRATION_21_22, MIGRATION_22_23, MIGRATION_23_24, MIGRATION_24_25, MIGRATION_25_26)
                 .fallbackToDestructiveMigration()
                 .build()
                 INSTANCE = instance
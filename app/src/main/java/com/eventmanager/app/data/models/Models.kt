@@ -16,7 +16,8 @@ import java.util.Date
         Index(value = ["volunteerId"]),
         Index(value = ["venueName"]),
         Index(value = ["lastModified"]),
-        Index(value = ["isVolunteerBenefit"])
+        Index(value = ["isVolunteerBenefit"]),
+        Index(value = ["name"])
     ]
 )
 @Parcelize
@@ -31,7 +32,8 @@ data class Guest(
     val notes: String = "",
     val isVolunteerBenefit: Boolean = false,
     val volunteerId: Long? = null, // ID of the volunteer this guest entry represents (for volunteer benefits)
-    val lastModified: Long = System.currentTimeMillis()
+    val lastModified: Long = System.currentTimeMillis(),
+    val syncHash: Long = 0 // Content hash of the row last downloaded from Google Sheets, 0 if unknown
 ) : Parcelable
 
 @Entity(
@@ -40,7 +42,8 @@ data class Guest(
         Index(value = ["sheetsId"]),
         Index(value = ["isActive"]),
         Index(value = ["currentRank"]),
-        Index(value = ["lastModified"])
+        Index(value = ["lastModified"]),
+        Index(value = ["name"])
     ]
 )
 @Parcelize
@@ -57,7 +60,8 @@ data class Volunteer(
     val currentRank: VolunteerRank? = null, // No default rank - must be earned
     val isActive: Boolean = true,
     val lastShiftDate: Long? = null, // Timestamp of last shift
-    val lastModified: Long = System.currentTimeMillis()
+    val lastModified: Long = System.currentTimeMillis(),
+    val syncHash: Long = 0 // Content hash of the row last downloaded from Google Sheets, 0 if unknown
 ) : Parcelable
 
 @Entity(
@@ -85,9 +89,76 @@ data class Job(
     val date: Long, // Store as timestamp
     val shiftTime: ShiftTime,
     val notes: String = "",
-    val lastModified: Long = System.currentTimeMillis()
+    val lastModified: Long = System.currentTimeMillis(),
+    val syncHash: Long = 0 // Content hash of the row last downloaded from Google Sheets, 0 if unknown
 ) : Parcelable
 
+/**
+ * Job of a past season, moved out of the jobs table once it can no longer count for a rank.
+ * Only read for all-time statistics; see JobSeasons for the partitioning.
+ */
+@Entity(
+    tableName = "jobs_archive",
+    indices = [
+        Index(value = ["sheetsId"], unique = true),
+        Index(value = ["season"]),
+        Index(value = ["volunteerId", "date"])
+    ]
+)
+data class ArchivedJob(
+    @PrimaryKey(autoGenerate = true)
+    val archiveId: Long = 0,
+    val jobId: Long = 0, // Id the job had in the jobs table, 0 when read from an archive tab
+    val sheetsId: String?,
+    val volunteerId: Long,
+    val jobType: JobType,
+    val jobTypeName: String,
+    val venueName: String,
+    val date: Long,
+    val shiftTime: ShiftTime,
+    val notes: String = "",
+    val lastModified: Long,
+    val season: Int
+) {
+    // Jobs read from an archive tab get a negative id, so they never collide with the jobs table
+    fun toJob(): Job = Job(
+        id = if (jobId != 0L) jobId else -archiveId,
+        sheetsId = sheetsId,
+        volunteerId = volunteerId,
+        jobType = jobType,
+        jobTypeName = jobTypeName,
+        venueName = venueName,
+        date = date,
+        shiftTime = shiftTime,
+        notes = notes,
+        lastModified = lastModified
+    )
+
+    companion object {
+        fun of(job: Job, season: Int): ArchivedJob = ArchivedJob(
+            jobId = job.id.coerceAtLeast(0),
+            sheetsId = job.sheetsId,
+            volunteerId = job.volunteerId,
+            jobType = job.jobType,
+            jobTypeName = job.jobTypeName,
+            venueName = job.venueName,
+            date = job.date,
+            shiftTime = job.shiftTime,
+            notes = job.notes,
+            lastModified = job.lastModified,
+            season = season
+        )
+    }
+}
+
+/**
+ * Date of the latest archived shift of a volunteer
+ */
+data class VolunteerLastShift(
+    val volunteerId: Long,
+    val lastShiftDate: Long
+)
+
 @Parcelize
 data class Benefit(
     val rank: VolunteerRank?,
@@ -209,6 +280,100 @@ data class CounterData(
     val lastModified: Long = System.currentTimeMillis()
 ) : Parcelable
 
+/**
+ * One change of the people counter, appended and never updated.
+ * [delta] is the change actually applied (a decrement at 0 is not logged), positive for
+ * entries and negative for exits; a reset is logged with [isReset] and counts as neither.
+ */
+@Entity(
+    tableName = "counter_events",
+    indices = [Index(value = ["timestamp"])]
+)
+data class CounterEvent(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val timestamp: Long,
+    val delta: Int,
+    val countAfter: Int,
+    val isReset: Boolean = false
+)
+
+/**
+ * Compacted counter events of one night, which starts at the date change offset.
+ * Rates are people per minute of the busiest minute of the night.
+ */
+@Entity(tableName = "counter_nights")
+data class CounterNight(
+    @PrimaryKey
+    val nightStart: Long,
+    val entries: Int,
+    val exits: Int,
+    val peakOccupancy: Int,
+    val peakAt: Long,
+    val peakEntriesPerMinute: Int,
+    val peakExitsPerMinute: Int,
+    val lastEventAt: Long
+)
+
+/**
+ * Pending Google Sheets write, one row per entity.
+ * Repeated edits of the same entity replace the existing row, so the outbox
+ * always holds the latest intent for each entity.
+ */
+@Entity(
+    tableName = "sheets_outbox",
+    indices = [
+        Index(value = ["entityType", "entityId"], unique = true),
+        Index(value = ["updatedAt"])
+    ]
+)
+data class SheetsOutboxEntry(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val entityType: SheetsEntityType,
+    val entityId: Long,
+    val operation: SheetsOperation,
+    val sheetsId: String? = null, // Row of the entity in Google Sheets when known
+    val attempts: Int = 0,
+    val lastError: String? = null,
+    val updatedAt: Long = System.currentTimeMillis()
+)
+
+enum class SheetsEntityType {
+    GUEST,
+    VOLUNTEER,
+    JOB,
+    JOB_TYPE,
+    VENUE,
+    VOLUNTEER_GUEST_LIST // Whole computed tab, entityId is always 0
+}
+
+enum class SheetsOperation {
+    UPSERT,
+    DELETE
+}
+
+/**
+ * Record of a locally deleted entity, so sync neither downloads it again nor
+ * forgets to remove it from Google Sheets. Compacted by age.
+ */
+@Entity(
+    tableName = "tombstones",
+    indices = [
+        Index(value = ["type", "itemId"], unique = true),
+        Index(value = ["type", "sheetsId"]),
+        Index(value = ["deletionTime"])
+    ]
+)
+data class Tombstone(
+    @PrimaryKey(autoGenerate = true)
+    val id: Long = 0,
+    val type: String, // "guest", "volunteer", "job", "job_type" or "venue"
+    val itemId: String,
+    val sheetsId: String? = null,
+    val deletionTime: Long = System.currentTimeMillis()
+)
+
 enum class ShiftTime {
     BEFORE_MIDNIGHT,
     AFTER_MIDNIGHT
@@ -261,6 +426,18 @@ class Converters {
     @TypeConverter
     fun toGender(gender: String?): Gender? = gender?.let { Gender.valueOf(it) }
 
+    @TypeConverter
+    fun fromSheetsEntityType(type: SheetsEntityType): String = type.name
+
+    @TypeConverter
+    fun toSheetsEntityType(type: String): SheetsEntityType = SheetsEntityType.valueOf(type)
+
+    @TypeConverter
+    fun fromSheetsOperation(operation: SheetsOperation): String = operation.name
+
+    @TypeConverter
+    fun toSheetsOperation(operation: String): SheetsOperation = SheetsOperation.valueOf(operation)
+
     @TypeConverter
     fun fromManualRewards(manualRewards: ManualRewards?): String? {
         return manualRewards?.let {
@@ -1,12 +1,21 @@
 package com.eventmanager.app.data.repository
 
+import androidx.room.withTransaction
 import com.eventmanager.app.data.dao.GuestDao
 import com.eventmanager.app.data.dao.JobDao
 import com.eventmanager.app.data.dao.JobTypeConfigDao
 import com.eventmanager.app.data.dao.VenueDao
 import com.eventmanager.app.data.dao.VolunteerDao
 import com.eventmanager.app.data.dao.CounterDao
+import com.eventmanager.app.data.dao.SheetsOutboxDao
+import com.eventmanager.app.data.dao.JobArchiveDao
+import com.eventmanager.app.data.database.EventManagerDatabase
 import com.eventmanager.app.data.models.*
+import com.eventmanager.app.data.sync.JobSeasons
+import com.eventmanager.app.data.sync.SheetsEntityType
+import com.eventmanager.app.data.sync.SheetsSnapshot
+import com.eventmanager.app.data.sync.SheetsRowIds
+import com.eventmanager.app.data.utils.OccupancyLog
 import kotlinx.coroutines.flow.Flow
 import kotlinx.coroutines.flow.first
 import kotlinx.datetime.Clock
@@ -28,8 +37,15 @@ class EventManagerRepository(
     private val jobDao: JobDao,
     private val jobTypeConfigDao: JobTypeConfigDao,
     private val venueDao: VenueDao,
-    private val counterDao: CounterDao
+    private val counterDao: CounterDao,
+    private val sheetsOutboxDao: SheetsOutboxDao,
+    private val jobArchiveDao: JobArchiveDao,
+    private val database: EventManagerDatabase
 ) {
+    // Sheet "ID" cell -> local id of downloaded volunteers that were stored under another id
+    @Volatile
+    private var sheetVolunteerIds: Map<Long, Long> = emptyMap()
+    
     // Guest operations
     fun getAllGuests(): Flow<List<Guest>> = guestDao.getAllGuests()
     fun getGuestsByVenue(venueName: String): Flow<List<Guest>> = guestDao.getGuestsByVenue(venueName)
@@ -41,7 +57,7 @@ class EventManagerRepository(
         if (existingGuest != null) {
             throw IllegalArgumentException("A guest with the name '${guest.name}' already exists")
         }
-        return guestDao.insertGuest(guest)
+        return guestDao.insertGuest(guest.copy(sheetsId = SheetsRowIds.resolve(guest.sheetsId)))
     }
     
     suspend fun updateGuest(guest: Guest) {
@@ -50,7 +66,7 @@ class EventManagerRepository(
         if (existingGuest != null && existingGuest.id != guest.id) {
             throw IllegalArgumentException("A guest with the name '${guest.name}' already exists")
         }
-        guestDao.updateGuest(guest)
+        guestDao.updateGuest(guest.copy(sheetsId = stableSheetsId(guest.sheetsId) { guestDao.getGuestById(guest.id)?.sheetsId }))
     }
     
     suspend fun deleteGuest(guest: Guest) = guestDao.deleteGuest(guest)
@@ -73,12 +89,12 @@ class EventManagerRepository(
             // Update existing volunteer with new data while preserving ID
             val updated = volunteer.copy(
                 id = existingVolunteer.id,
-                sheetsId = volunteer.sheetsId ?: existingVolunteer.sheetsId
+                sheetsId = SheetsRowIds.resolve(volunteer.sheetsId, existingVolunteer.sheetsId)
             )
             volunteerDao.updateVolunteer(updated)
             existingVolunteer.id
         } else {
-            volunteerDao.insertVolunteer(volunteer)
+            volunteerDao.insertVolunteer(volunteer.copy(sheetsId = SheetsRowIds.resolve(volunteer.sheetsId)))
         }
     }
     
@@ -88,12 +104,15 @@ class EventManagerRepository(
         if (existingVolunteer != null && existingVolunteer.id != volunteer.id) {
             throw IllegalArgumentException("A volunteer with the name '${volunteer.name}' already exists")
         }
-        volunteerDao.updateVolunteer(volunteer)
+        volunteerDao.updateVolunteer(volunteer.copy(sheetsId = stableSheetsId(volunteer.sheetsId) { volunteerDao.getVolunteerById(volunteer.id)?.sheetsId }))
     }
     
     suspend fun deleteVolunteer(volunteer: Volunteer) = volunteerDao.deleteVolunteer(volunteer)
     suspend fun deleteVolunteerById(id: Long) = volunteerDao.deleteVolunteerById(id)
-    suspend fun updateVolunteerStatus(id: Long, isActive: Boolean) = volunteerDao.updateVolunteerStatus(id, isActive)
+    suspend fun updateVolunteerStatus(id: Long, isActive: Boolean) {
+        volunteerDao.updateVolunteerStatus(id, isActive)
+        volunteerDao.updateLastModified(id, System.currentTimeMillis())
+    }
 
     // Job operations
     fun getAllJobs(): Flow<List<Job>> = jobDao.getAllJobs()
@@ -102,18 +121,51 @@ class EventManagerRepository(
     suspend fun getJobById(id: Long): Job? = jobDao.getJobById(id)
     suspend fun getJobBySheetsId(sheetsId: String): Job? = jobDao.getJobBySheetsId(sheetsId)
     fun getJobsByDateRange(startDate: Long, endDate: Long): Flow<List<Job>> = jobDao.getJobsByDateRange(startDate, endDate)
-    suspend fun insertJob(job: Job): Long = jobDao.insertJob(job)
-    suspend fun updateJob(job: Job) = jobDao.updateJob(job)
+    suspend fun insertJob(job: Job): Long = jobDao.insertJob(job.copy(sheetsId = SheetsRowIds.resolve(job.sheetsId)))
+    suspend fun updateJob(job: Job) = jobDao.updateJob(job.copy(sheetsId = stableSheetsId(job.sheetsId) { jobDao.getJobById(job.id)?.sheetsId }))
     suspend fun deleteJob(job: Job) = jobDao.deleteJob(job)
     suspend fun deleteJobById(id: Long) = jobDao.deleteJobById(id)
 
+    // Job archive operations (past seasons, only read for all-time statistics)
+    suspend fun getArchivedJobs(): List<Job> = jobArchiveDao.getAllArchivedJobs().map { it.toJob() }
+    suspend fun getArchivedSeasons(): List<Int> = jobArchiveDao.getSeasons()
+    suspend fun getLatestArchivedShiftDates(): Map<Long, Long> =
+        jobArchiveDao.getLatestShiftDates().associate { it.volunteerId to it.lastShiftDate }
+    
+    /**
+     * Moves [jobs] of past seasons from the jobs table to the archive in one transaction,
+     * matching them by sheets ID. Returns the local jobs removed from the jobs table.
+     */
+    suspend fun moveJobsToArchive(jobs: List<Job>): List<Job> = runInTransaction {
+        val sheetsIds = jobs.mapNotNull { it.sheetsId }
+        val local = sheetsIds.chunked(MAX_BULK_IDS).flatMap { jobDao.getJobsBySheetsIds(it) }
+        val localIds = local.associate { it.sheetsId to it.id }
+        jobArchiveDao.insertArchivedJobs(jobs.map { job ->
+            ArchivedJob.of(job.copy(id = localIds[job.sheetsId] ?: 0L), JobSeasons.seasonOf(job.date))
+        })
+        deleteJobsByIds(local.map { it.id })
+        local
+    }
+    
+    /**
+     * Replaces the archive with the rows of the archive tabs, keeping the local ids of jobs
+     * this device archived itself
+     */
+    suspend fun replaceJobArchive(jobs: List<Job>) = runInTransaction {
+        val localIds = jobArchiveDao.getAllArchivedJobs().associate { it.sheetsId to it.jobId }
+        jobArchiveDao.deleteAllArchivedJobs()
+        jobArchiveDao.insertArchivedJobs(jobs.map { job ->
+            ArchivedJob.of(job.copy(id = localIds[job.sheetsId] ?: 0L), JobSeasons.seasonOf(job.date))
+        })
+    }
+
     // Job Type Config operations
     fun getAllJobTypeConfigs(): Flow<List<JobTypeConfig>> = jobTypeConfigDao.getAllJobTypeConfigs()
     fun getAllActiveJobTypeConfigs(): Flow<List<JobTypeConfig>> = jobTypeConfigDao.getAllActiveJobTypeConfigs()
     suspend fun getJobTypeConfigById(id: Long): JobTypeConfig? = jobTypeConfigDao.getJobTypeConfigById(id)
     suspend fun getJobTypeConfigByName(name: String): JobTypeConfig? = jobTypeConfigDao.getJobTypeConfigByName(name)
-    suspend fun insertJobTypeConfig(config: JobTypeConfig): Long = jobTypeConfigDao.insertJobTypeConfig(config)
-    suspend fun updateJobTypeConfig(config: JobTypeConfig) = jobTypeConfigDao.updateJobTypeConfig(config)
+    suspend fun insertJobTypeConfig(config: JobTypeConfig): Long = jobTypeConfigDao.insertJobTypeConfig(config.copy(sheetsId = SheetsRowIds.resolve(config.sheetsId)))
+    suspend fun updateJobTypeConfig(config: JobTypeConfig) = jobTypeConfigDao.updateJobTypeConfig(config.copy(sheetsId = stableSheetsId(config.sheetsId) { jobTypeConfigDao.getJobTypeConfigById(config.id)?.sheetsId }))
     suspend fun deleteJobTypeConfig(config: JobTypeConfig) = jobTypeConfigDao.deleteJobTypeConfig(config)
     suspend fun deleteJobTypeConfigById(id: Long) = jobTypeConfigDao.deleteJobTypeConfigById(id)
     suspend fun updateJobTypeConfigStatus(id: Long, isActive: Boolean) = jobTypeConfigDao.updateJobTypeConfigStatus(id, isActive)
@@ -125,8 +177,8 @@ class EventManagerRepository(
     fun getAllActiveVenues(): Flow<List<VenueEntity>> = venueDao.getAllActiveVenues()
     suspend fun getVenueById(id: Long): VenueEntity? = venueDao.getVenueById(id)
     suspend fun getVenueByName(name: String): VenueEntity? = venueDao.getVenueByName(name)
-    suspend fun insertVenue(venue: VenueEntity): Long = venueDao.insertVenue(venue)
-    suspend fun updateVenue(venue: VenueEntity) = venueDao.updateVenue(venue)
+    suspend fun insertVenue(venue: VenueEntity): Long = venueDao.insertVenue(venue.copy(sheetsId = SheetsRowIds.resolve(venue.sheetsId)))
+    suspend fun updateVenue(venue: VenueEntity) = venueDao.updateVenue(venue.copy(sheetsId = stableSheetsId(venue.sheetsId) { venueDao.getVenueById(venue.id)?.sheetsId }))
     suspend fun deleteVenue(venue: VenueEntity) = venueDao.deleteVenue(venue)
     suspend fun deleteVenueById(id: Long) = venueDao.deleteVenueById(id)
     suspend fun updateVenueStatus(id: Long, isActive: Boolean) = venueDao.updateVenueStatus(id, isActive)
@@ -137,6 +189,109 @@ class EventManagerRepository(
     suspend fun getVolunteersModifiedAfter(timestamp: Long): List<Volunteer> = volunteerDao.getVolunteersModifiedAfter(timestamp)
     suspend fun getJobsModifiedAfter(timestamp: Long): List<Job> = jobDao.getJobsModifiedAfter(timestamp)
 
+    // Bulk sync operations
+    // Downloaded rows are matched against one snapshot of each table and written with
+    // multi-row statements, instead of a name lookup and an insert per row
+    
+    /**
+     * Stored guests, volunteers and jobs of [tabs], passed as the known rows of a batched
+     * download so rows whose hash did not change are reused instead of decoded
+     */
+    suspend fun getKnownSyncRows(tabs: Set<SheetsEntityType>): SheetsSnapshot = SheetsSnapshot(
+        guests = if (SheetsEntityType.GUEST in tabs) guestDao.getAllGuestsOnce() else emptyList(),
+        volunteers = if (SheetsEntityType.VOLUNTEER in tabs) volunteerDao.getAllVolunteersOnce() else emptyList(),
+        jobs = if (SheetsEntityType.JOB in tabs) jobDao.getAllJobsOnce() else emptyList(),
+        tabs = tabs intersect setOf(SheetsEntityType.GUEST, SheetsEntityType.VOLUNTEER, SheetsEntityType.JOB)
+    )
+    
+    /**
+     * Runs [block] in one Room transaction: observers see a single change and a failed
+     * sync apply leaves the previous data untouched
+     */
+    suspend fun <R> runInTransaction(block: suspend () -> R): R = database.withTransaction { block() }
+    
+    /**
+     * Writes downloaded guests and returns their local ids. Rows matched by sheets ID or name
+     * update that row in place; other rows are inserted under a new id, since the sheet "ID"
+     * cell is the id on the device that wrote it and may belong to another local guest
+     */
+    suspend fun upsertGuests(guests: List<Guest>): List<Long> = runInTransaction {
+        val rows = resolveSyncRows(guests, guestDao.getAllGuestsOnce(), { it.id }, { it.sheetsId }, { it.name }, unmatchedId = { 0L }) { guest, id, sheetsId ->
+            guest.copy(id = id, sheetsId = sheetsId, volunteerId = guest.volunteerId?.let { sheetVolunteerIds[it] ?: it })
+        }
+        writtenIds(rows.map { it.id }, guestDao.upsertGuests(rows))
+    }
+    
+    /**
+     * Writes downloaded volunteers like [upsertGuests] and remembers which local id each sheet
+     * "ID" cell now maps to, so downloaded jobs and benefit guests keep pointing at them
+     */
+    suspend fun upsertVolunteers(volunteers: List<Volunteer>): List<Long> = runInTransaction {
+        val rows = resolveSyncRows(volunteers, volunteerDao.getAllVolunteersOnce(), { it.id }, { it.sheetsId }, { it.name }, unmatchedId = { 0L }) { volunteer, id, sheetsId ->
+            volunteer.copy(id = id, sheetsId = sheetsId)
+        }
+        val ids = writtenIds(rows.map { it.id }, volunteerDao.upsertVolunteers(rows))
+        val localIdByName = rows.map { it.name }.zip(ids).toMap()
+        val seen = volunteers.filter { it.id != 0L }.mapNotNull { volunteer -> localIdByName[volunteer.name]?.let { volunteer.id to it } }
+        sheetVolunteerIds = (sheetVolunteerIds + seen).filter { (sheetId, localId) -> sheetId != localId }
+        ids
+    }
+    
+    suspend fun upsertJobs(jobs: List<Job>) = runInTransaction {
+        val rows = resolveSyncRows(jobs, jobDao.getAllJobsOnce(), { it.id }, { it.sheetsId }, null) { job, id, sheetsId ->
+            job.copy(id = id, sheetsId = sheetsId, volunteerId = sheetVolunteerIds[job.volunteerId] ?: job.volunteerId)
+        }
+        jobDao.insertJobs(rows)
+    }
+    
+    suspend fun upsertJobTypeConfigs(configs: List<JobTypeConfig>) = runInTransaction {
+        val rows = resolveSyncRows(configs, jobTypeConfigDao.getAllJobTypeConfigsOnce(), { it.id }, { it.sheetsId }, { it.name }) { config, id, sheetsId ->
+            config.copy(id = id, sheetsId = sheetsId)
+        }
+        jobTypeConfigDao.insertJobTypeConfigs(rows)
+    }
+    
+    suspend fun upsertVenues(venues: List<VenueEntity>) = runInTransaction {
+        val rows = resolveSyncRows(venues, venueDao.getAllVenuesOnce(), { it.id }, { it.sheetsId }, { it.name }) { venue, id, sheetsId ->
+            venue.copy(id = id, sheetsId = sheetsId)
+        }
+        venueDao.insertVenues(rows)
+    }
+    
+    suspend fun deleteGuestsByIds(ids: List<Long>) = ids.chunked(MAX_BULK_IDS).forEach { guestDao.deleteGuestsByIds(it) }
+    suspend fun deleteVolunteersByIds(ids: List<Long>) = ids.chunked(MAX_BULK_IDS).forEach { volunteerDao.deleteVolunteersByIds(it) }
+    suspend fun deleteJobsByIds(ids: List<Long>) = ids.chunked(MAX_BULK_IDS).forEach { jobDao.deleteJobsByIds(it) }
+    suspend fun deleteJobTypeConfigsByIds(ids: List<Long>) = ids.chunked(MAX_BULK_IDS).forEach { jobTypeConfigDao.deleteJobTypeConfigsByIds(it) }
+    suspend fun deleteVenuesByIds(ids: List<Long>) = ids.chunked(MAX_BULK_IDS).forEach { venueDao.deleteVenuesByIds(it) }
+    
+    // Replace a whole table with downloaded rows (clear + bulk insert in one transaction)
+    // Guests and volunteers are upserted first and only the rows missing from the download are
+    // deleted, so rows that stay keep their local ids (and the jobs and guests pointing at them)
+    suspend fun replaceAllGuests(guests: List<Guest>) = runInTransaction {
+        val kept = upsertGuests(guests).toSet()
+        deleteGuestsByIds(guestDao.getAllGuestsOnce().map { it.id }.filterNot { it in kept })
+    }
+    
+    suspend fun replaceAllVolunteers(volunteers: List<Volunteer>) = runInTransaction {
+        val kept = upsertVolunteers(volunteers).toSet()
+        deleteVolunteersByIds(volunteerDao.getAllVolunteersOnce().map { it.id }.filterNot { it in kept })
+    }
+    
+    suspend fun replaceAllJobs(jobs: List<Job>) = runInTransaction {
+        jobDao.deleteAllJobs()
+        upsertJobs(jobs)
+    }
+    
+    suspend fun replaceAllJobTypeConfigs(configs: List<JobTypeConfig>) = runInTransaction {
+        jobTypeConfigDao.deleteAllJobTypeConfigs()
+        upsertJobTypeConfigs(configs)
+    }
+    
+    suspend fun replaceAllVenues(venues: List<VenueEntity>) = runInTransaction {
+        venueDao.deleteAllVenues()
+        upsertVenues(venues)
+    }
+
     // Get volunteer benefit status with time-based calculations
     suspend fun getVolunteerBenefitStatus(volunteerId: Long): VolunteerBenefitStatus? {
         val volunteer = getVolunteerById(volunteerId) ?: return null
@@ -180,6 +335,7 @@ class EventManagerRepository(
         guestDao.deleteAllGuests()
         volunteerDao.deleteAllVolunteers()
         jobDao.deleteAllJobs()
+        jobArchiveDao.deleteAllArchivedJobs()
         jobTypeConfigDao.deleteAllJobTypeConfigs()
         venueDao.deleteAllVenues()
     }
@@ -300,49 +456,162 @@ class EventManagerRepository(
         }
     }
     
+    /**
+     * Keeps the stable sheets ID of an entity when an update carries a legacy row number
+     * (e.g. a row downloaded before the Sync ID column existed)
+     */
+    private suspend fun stableSheetsId(incoming: String?, stored: suspend () -> String?): String {
+        return if (SheetsRowIds.isStable(incoming)) incoming!! else SheetsRowIds.resolve(incoming, stored())
+    }
+    
+    /**
+     * Matches incoming sync rows to stored rows by stable sheets ID, then by name, using in-memory maps.
+     * Matched rows take over the stored primary key and sheets ID; unmatched rows get [unmatchedId].
+     * Downloaded rows sharing a name are collapsed to the last one, so one sync never writes two
+     * rows with the same name even though the name indexes are not unique.
+     */
+    private fun <T> resolveSyncRows(
+        incoming: List<T>,
+        stored: List<T>,
+        idOf: (T) -> Long,
+        sheetsIdOf: (T) -> String?,
+        nameOf: ((T) -> String)?,
+        unmatchedId: (T) -> Long = idOf,
+        copy: (T, Long, String) -> T
+    ): List<T> {
+        val storedBySheetsId = stored.filter { SheetsRowIds.isStable(sheetsIdOf(it)) }.associateBy { sheetsIdOf(it) }
+        val storedByName = if (nameOf != null) stored.associateBy(nameOf) else emptyMap()
+        val rows = if (nameOf != null) incoming.associateBy(nameOf).values.toList() else incoming
+        if (rows.size < incoming.size) {
+            println("⚠️ Skipped ${incoming.size - rows.size} downloaded rows with duplicate names")
+        }
+        
+        return rows.map { row ->
+            val match = storedBySheetsId[sheetsIdOf(row)] ?: nameOf?.let { storedByName[it(row)] }
+            copy(row, match?.let(idOf) ?: unmatchedId(row), SheetsRowIds.resolve(sheetsIdOf(row), match?.let(sheetsIdOf)))
+        }
+    }
+    
+    /** Local id for each written row: Room's upsert returns -1 for rows it updated in place */
+    private fun writtenIds(rowIds: List<Long>, results: List<Long>): List<Long> =
+        rowIds.zip(results) { id, result -> if (result == -1L) id else result }
+    
     // Counter operations
     fun getCounter(): Flow<CounterData?> = counterDao.getCounter()
     
     suspend fun getCounterOnce(): CounterData? = counterDao.getCounterOnce()
     
     suspend fun updateCounter(count: Int) {
-        val counter = CounterData(
-            id = 1,
-            count = count,
-            lastModified = System.currentTimeMillis()
-        )
-        counterDao.insertOrUpdateCounter(counter)
+        setCounter(count)
     }
     
-    suspend fun incrementCounter(): Int {
-        val currentCounter = counterDao.getCounterOnce() ?: CounterData(id = 1, count = 0)
-        val newCount = currentCounter.count + 1
-        val newCounter = currentCounter.copy(
-            count = newCount,
-            lastModified = System.currentTimeMillis()
-        )
-        counterDao.insertOrUpdateCounter(newCounter)
-        return newCount
+    /**
+     * Adds [delta] to the counter (never below 0) with one atomic UPDATE and returns the new
+     * count, so concurrent writers can no longer overwrite each other's taps. The change is
+     * appended to the counter event log in the same transaction.
+     */
+    suspend fun addToCounter(delta: Int): Int {
+        val event = runInTransaction {
+            val now = System.currentTimeMillis()
+            val before = counterDao.getCount() ?: 0
+            if (counterDao.addToCount(delta, now) == 0) {
+                counterDao.insertCounterIfMissing(delta, now)
+            }
+            logCounterChange(now, before, counterDao.getCount() ?: 0, isReset = false)
+        }
+        publishCounterChange(event)
+        return event.countAfter
     }
     
-    suspend fun decrementCounter(): Int {
-        val currentCounter = counterDao.getCounterOnce() ?: CounterData(id = 1, count = 0)
-        val newCount = maxOf(0, currentCounter.count - 1)
-        val newCounter = currentCounter.copy(
-            count = newCount,
-            lastModified = System.currentTimeMillis()
-        )
-        counterDao.insertOrUpdateCounter(newCounter)
-        return newCount
-    }
+    suspend fun incrementCounter(): Int = addToCounter(1)
+    
+    suspend fun decrementCounter(): Int = addToCounter(-1)
     
     suspend fun resetCounter() {
-        val counter = CounterData(
-            id = 1,
-            count = 0,
-            lastModified = System.currentTimeMillis()
+        setCounter(0)
+    }
+    
+    // Absolute changes are logged as resets: they are neither entries nor exits
+    private suspend fun setCounter(count: Int) {
+        val event = runInTransaction {
+            val now = System.currentTimeMillis()
+            val before = counterDao.getCount() ?: 0
+            counterDao.insertOrUpdateCounter(CounterData(id = 1, count = count, lastModified = now))
+            logCounterChange(now, before, count, isReset = true)
+        }
+        publishCounterChange(event)
+    }
+    
+    private suspend fun logCounterChange(timestamp: Long, before: Int, after: Int, isReset: Boolean): CounterEvent {
+        val event = CounterEvent(timestamp = timestamp, delta = after - before, countAfter = after, isReset = isReset)
+        if (event.delta == 0) return event
+        return event.copy(id = counterDao.insertEvent(event))
+    }
+    
+    // Only committed changes reach the live occupancy window
+    private fun publishCounterChange(event: CounterEvent) {
+        if (event.delta != 0) OccupancyLog.record(event)
+    }
+    
+    // Counter event log operations
+    fun getCounterNights(): Flow<List<CounterNight>> = counterDao.getNights()
+    
+    /**
+     * Refills the live occupancy window from the event log, e.g. after a restart
+     */
+    suspend fun loadOccupancyWindow() {
+        val since = System.currentTimeMillis() - OccupancyLog.WINDOW_MINUTES * 60_000L
+        OccupancyLog.seed(counterDao.getEventsSince(since), counterDao.getCount() ?: 0)
+    }
+    
+    /**
+     * Compacts the events of finished nights into one counter_nights row per night and
+     * deletes them, so the log never holds more than the current night. Runs in one
+     * transaction, so concurrent rollups can never count the same events twice.
+     * Returns the number of events rolled up.
+     */
+    suspend fun rollupCounterEvents(offsetHours: Int, now: Long = System.currentTimeMillis()): Int = runInTransaction {
+        val cutoff = OccupancyLog.nightStartOf(now, offsetHours)
+        val rollup = OccupancyLog.NightRollup(offsetHours)
+        var afterId = 0L
+        while (true) {
+            val page = counterDao.getEventsBefore(cutoff, afterId, COUNTER_ROLLUP_PAGE_SIZE)
+            if (page.isEmpty()) break
+            page.forEach(rollup::add)
+            afterId = page.last().id
+        }
+        if (rollup.isEmpty()) return@runInTransaction 0
+        counterDao.insertNights(rollup.toNights(counterDao.getNightsByStart(rollup.nightStarts)))
+        counterDao.deleteEventsBefore(cutoff)
+    }
+    
+    // Sheets outbox operations
+    suspend fun enqueueSheetsChange(entityType: SheetsEntityType, entityId: Long, operation: SheetsOperation, sheetsId: String? = null) {
+        sheetsOutboxDao.upsertEntry(
+            SheetsOutboxEntry(
+                entityType = entityType,
+                entityId = entityId,
+                operation = operation,
+                sheetsId = sheetsId,
+                updatedAt = System.currentTimeMillis()
+            )
         )
-        counterDao.insertOrUpdateCounter(counter)
+    }
+    
+    suspend fun getPendingSheetsChanges(limit: Int): List<SheetsOutboxEntry> = sheetsOutboxDao.getPendingEntries(limit)
+    
+    fun getPendingSheetsChangeCount(): Flow<Int> = sheetsOutboxDao.getPendingCount()
+    
+    suspend fun getPendingSheetsChangeCountOnce(): Int = sheetsOutboxDao.getPendingCountOnce()
+    
+    suspend fun completeSheetsChanges(ids: List<Long>) = sheetsOutboxDao.deleteEntries(ids)
+    
+    suspend fun failSheetsChanges(ids: List<Long>, error: String?) = sheetsOutboxDao.markFailed(ids, error)
+    
+    companion object {
+        // Stay well below SQLite's bound variable limit (999 on older Android versions)
+        private const val MAX_BULK_IDS = 500
+        
+        private const val COUNTER_ROLLUP_PAGE_SIZE = 2000
     }
 }
-
@@ -1,31 +1,261 @@
 package com.eventmanager.app.data.sync
 
+import kotlinx.coroutines.NonCancellable
 import kotlinx.coroutines.delay
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import java.io.IOException
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.coroutineContext
+
+/**
+ * Priority lane of a Google Sheets request.
+ * INTERACTIVE is for user-initiated work, BACKGROUND for timers and queued uploads.
+ */
+enum class RequestPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
+
+/**
+ * Number of read and write requests an operation sends to the Sheets API
+ */
+data class RequestCost(
+    val reads: Int = 0,
+    val writes: Int = 0
+) {
+    companion object {
+        val READ = RequestCost(reads = 1)
+        val WRITE = RequestCost(writes = 1)
+    }
+}
+
+/**
+ * Coroutine context element carrying the priority lane of the Sheets requests made inside it.
+ * Requests made outside any lane are treated as INTERACTIVE.
+ */
+class SheetsRequestPriority(val priority: RequestPriority) : AbstractCoroutineContextElement(Key) {
+    companion object Key : CoroutineContext.Key<SheetsRequestPriority> {
+        val BACKGROUND = SheetsRequestPriority(RequestPriority.BACKGROUND)
+        val INTERACTIVE = SheetsRequestPriority(RequestPriority.INTERACTIVE)
+    }
+}
+
+/**
+ * Live counters of the request scheduler
+ */
+data class RateLimiterStats(
+    val readTokens: Double = 0.0,
+    val writeTokens: Double = 0.0,
+    val queuedInteractive: Int = 0,
+    val queuedBackground: Int = 0,
+    val grantedReads: Long = 0,
+    val grantedWrites: Long = 0,
+    val throttledRequests: Long = 0,
+    val totalWaitMs: Long = 0,
+    val rateLimitHits: Long = 0
+)
+
+/**
+ * Token bucket refilled continuously at [perMinute] tokens per minute, holding at most [capacity] tokens
+ */
+private class TokenBucket(
+    private val capacity: Double,
+    perMinute: Double
+) {
+    private val refillPerMs = perMinute / 60_000.0
+    private var lastRefill = System.currentTimeMillis()
+    
+    var tokens = capacity
+        private set
+    
+    fun refill(now: Long = System.currentTimeMillis()) {
+        tokens = minOf(capacity, tokens + (now - lastRefill) * refillPerMs)
+        lastRefill = now
+    }
+    
+    /**
+     * Milliseconds until [count] tokens are available above [reserve], 0 if available now
+     */
+    fun waitTimeMs(count: Int, reserve: Double): Long {
+        val missing = count + reserve - tokens
+        return if (missing <= 0) 0L else kotlin.math.ceil(missing / refillPerMs).toLong()
+    }
+    
+    fun take(count: Int) {
+        tokens -= count
+    }
+    
+    fun drain() {
+        tokens = 0.0
+    }
+}
 
 /**
  * Handles API rate limiting for Google Sheets operations
+ *
+ * Every request first takes tokens from a read or write bucket sized below the
+ * per-minute Sheets quota, so we wait a little before sending instead of being
+ * rejected with 429 and backing off. Background requests leave a reserve of tokens
+ * for user-initiated ones and yield while any interactive request is queued.
  */
 object ApiRateLimitHandler {
     private const val MAX_RETRIES = 3
     private const val BASE_DELAY_MS = 1000L
     private const val MAX_DELAY_MS = 10000L
     
+    // The Sheets API allows 60 read and 60 write requests per minute per user,
+    // and every tablet shares the same service account
+    private const val READS_PER_MINUTE = 50.0
+    private const val WRITES_PER_MINUTE = 50.0
+    private const val BUCKET_CAPACITY = 15.0
+    private const val BACKGROUND_RESERVE = 5.0
+    private const val MAX_SINGLE_WAIT_MS = 2000L
+    
+    private val readBucket = TokenBucket(BUCKET_CAPACITY, READS_PER_MINUTE)
+    private val writeBucket = TokenBucket(BUCKET_CAPACITY, WRITES_PER_MINUTE)
+    private val bucketMutex = Mutex()
+    
+    private var queuedInteractive = 0
+    private var queuedBackground = 0
+    
+    private val _stats = MutableStateFlow(RateLimiterStats(readTokens = BUCKET_CAPACITY, writeTokens = BUCKET_CAPACITY))
+    val stats: StateFlow<RateLimiterStats> = _stats.asStateFlow()
+    
     /**
-     * Execute an operation with automatic retry on rate limit errors
+     * Waits until the read and write budgets allow [cost], then consumes it.
+     * The priority comes from the caller's [SheetsRequestPriority], INTERACTIVE by default.
+     */
+    suspend fun acquire(cost: RequestCost, operationName: String = "API operation") {
+        if (cost.reads == 0 && cost.writes == 0) return
+        
+        val priority = coroutineContext[SheetsRequestPriority]?.priority ?: RequestPriority.INTERACTIVE
+        val reserve = if (priority == RequestPriority.BACKGROUND) BACKGROUND_RESERVE else 0.0
+        val startedAt = System.currentTimeMillis()
+        var queued = false
+        
+        try {
+            while (true) {
+                val waitMs = bucketMutex.withLock {
+                    val now = System.currentTimeMillis()
+                    readBucket.refill(now)
+                    writeBucket.refill(now)
+                    
+                    val wait = maxOf(
+                        readBucket.waitTimeMs(cost.reads, reserve),
+                        writeBucket.waitTimeMs(cost.writes, reserve)
+                    )
+                    // Background work also steps aside while user-initiated requests are waiting
+                    val yieldToInteractive = priority == RequestPriority.BACKGROUND && queuedInteractive > 0
+                    
+                    if (wait == 0L && !yieldToInteractive) {
+                        readBucket.take(cost.reads)
+                        writeBucket.take(cost.writes)
+                        val wasQueued = queued
+                        if (queued) {
+                            if (priority == RequestPriority.INTERACTIVE) queuedInteractive-- else queuedBackground--
+                            queued = false
+                        }
+                        val waited = System.currentTimeMillis() - startedAt
+                        if (wasQueued) SyncTracer.record(quotaWaitMs = waited)
+                        publishStats { stats ->
+                            stats.copy(
+                                grantedReads = stats.grantedReads + cost.reads,
+                                grantedWrites = stats.grantedWrites + cost.writes,
+                                throttledRequests = stats.throttledRequests + if (wasQueued) 1 else 0,
+                                totalWaitMs = stats.totalWaitMs + waited
+                            )
+                        }
+                        0L
+                    } else {
+                        if (!queued) {
+                            if (priority == RequestPriority.INTERACTIVE) queuedInteractive++ else queuedBackground++
+                            queued = true
+                            publishStats { it }
+                        }
+                        if (wait == 0L) 100L else minOf(wait, MAX_SINGLE_WAIT_MS)
+                    }
+                }
+                
+                if (waitMs == 0L) break
+                println("⏳ Sheets budget exhausted, $operationName (${priority.name.lowercase()}) queued for ${waitMs}ms")
+                delay(waitMs)
+            }
+        } finally {
+            // Cancelled while queued
+            if (queued) {
+                withContext(NonCancellable) {
+                    bucketMutex.withLock {
+                        if (priority == RequestPriority.INTERACTIVE) queuedInteractive-- else queuedBackground--
+                        publishStats { it }
+                    }
+                }
+            }
+        }
+    }
+    
+    /**
+     * Must be called with [bucketMutex] held
+     */
+    private fun publishStats(update: (RateLimiterStats) -> RateLimiterStats) {
+        _stats.value = update(_stats.value).copy(
+            readTokens = readBucket.tokens,
+            writeTokens = writeBucket.tokens,
+            queuedInteractive = queuedInteractive,
+            queuedBackground = queuedBackground
+        )
+    }
+    
+    /**
+     * The server rejected a request for quota: empty both buckets so every caller
+     * waits for the refill instead of hitting the API again right away
+     */
+    private suspend fun onRateLimitHit() {
+        bucketMutex.withLock {
+            readBucket.drain()
+            writeBucket.drain()
+            publishStats { it.copy(rateLimitHits = it.rateLimitHits + 1) }
+        }
+    }
+    
+    /**
+     * Execute an operation with automatic retry on rate limit errors.
+     * Each attempt first acquires [cost] from the request budgets.
      */
     suspend fun <T> executeWithRetry(
         operation: suspend () -> T,
-        operationName: String = "API operation"
+        operationName: String = "API operation",
+        cost: RequestCost = RequestCost.READ
+    ): T {
+        // Traced as one span, quota waits and retries included
+        val phase = if (cost.writes > 0) SyncPhase.UPLOAD else SyncPhase.DOWNLOAD
+        return SyncTracer.span(phase, operationName) { executeAttempts(operation, operationName, cost) }
+    }
+    
+    private suspend fun <T> executeAttempts(
+        operation: suspend () -> T,
+        operationName: String,
+        cost: RequestCost
     ): T {
         var lastException: Exception? = null
         
         repeat(MAX_RETRIES) { attempt ->
             try {
+                if (attempt > 0) SyncTracer.record(retries = 1)
+                acquire(cost, operationName)
                 return operation()
             } catch (e: Exception) {
                 lastException = e
                 
+                if (isRateLimitError(e)) {
+                    onRateLimitHit()
+                }
+                
                 if (isRateLimitError(e) && attempt < MAX_RETRIES - 1) {
                     val delayMs = calculateDelay(attempt)
                     println("⚠️ Rate limit hit for $operationName (attempt ${attempt + 1}/$MAX_RETRIES). Retrying in ${delayMs}ms...")
@@ -22,11 +22,11 @@ class DataStructureValidator(
      * Expected headers for each sheet type
      */
     private val expectedHeaders = mapOf(
-        "guests" to listOf("Name", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified"),
-        "volunteers" to listOf("ID", "Name", "Abbreviation", "Email", "Phone", "Date of Birth", "Rank", "Active", "Last Modified"),
-        "jobs" to listOf("Volunteer ID", "Shift Type", "Venue", "Date", "Shift Time", "Notes", "Last Modified"),
-        "job_types" to listOf("Name", "Status", "Shift Type", "Orion Type", "Requires Time", "Description", "Last Modified"),
-        "venues" to listOf("Name", "Description", "Active", "Last Modified")
+        "guests" to SheetsHeaders.GUESTS,
+        "volunteers" to SheetsHeaders.VOLUNTEERS,
+        "jobs" to SheetsHeaders.JOBS,
+        "job_types" to SheetsHeaders.JOB_TYPES,
+        "venues" to SheetsHeaders.VENUES
     )
     
     /**
@@ -69,15 +69,15 @@ class DataStructureValidator(
         try {
             val expectedHeaders = expectedHeaders[sheetType] ?: return@withContext SheetValidationResult.Error(sheetName = sheetName, message = "Unknown sheet type: $sheetType")
             
-            val sheetsService = googleSheetsService.getSheetsService()
-            if (sheetsService == null) {
+            val backend = googleSheetsService.getBackend()
+            if (backend == null) {
                 return@withContext SheetValidationResult.Error(sheetName = sheetName, message = "Sheets service not initialized")
             }
             
             val spreadsheetId = settingsManager.getSpreadsheetId()
             val range = "${sheetName}!A1:${getLastColumn(expectedHeaders.size)}1"
             
-            val response = sheetsService.spreadsheets().values().get(spreadsheetId, range).execute()
+            val response = backend.get(spreadsheetId, range)
             val actualHeaders = response.getValues()?.firstOrNull()?.map { it.toString() } ?: emptyList()
             
             val headerValidation = validateHeaders(expectedHeaders, actualHeaders)
@@ -197,8 +197,8 @@ class DataStructureValidator(
         try {
             val expectedHeaders = expectedHeaders[sheetType] ?: return@withContext SheetValidationResult.Error(sheetName = sheetName, message = "Unknown sheet type: $sheetType")
             
-            val sheetsService = googleSheetsService.getSheetsService()
-            if (sheetsService == null) {
+            val backend = googleSheetsService.getBackend()
+            if (backend == null) {
                 return@withContext SheetValidationResult.Error(sheetName = sheetName, message = "Sheets service not initialized")
             }
             
@@ -214,11 +214,11 @@ class DataStructureValidator(
             val range = "${sheetName}!A1:${getLastColumn(expectedHeaders.size)}1"
             val valueRange = ValueRange().setValues(listOf(expectedHeaders))
             
-            sheetsService.spreadsheets().values().update(
+            backend.update(
                 spreadsheetId,
                 range,
                 valueRange
-            ).setValueInputOption("RAW").execute()
+            )
             
             // Validate again after fixing
             val revalidationResult = validateSheet(sheetType, sheetName)
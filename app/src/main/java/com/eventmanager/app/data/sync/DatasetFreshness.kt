@@ -0,0 +1,43 @@
+package com.eventmanager.app.data.sync
+
+import com.eventmanager.app.data.models.SheetsEntityType
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Dataset Freshness
+ *
+ * Remembers when each tab was last downloaded in this process. Within the TTL a tab is
+ * fresh and page changes do not touch the network. Past the TTL, the _Meta revision of the
+ * tab decides: a revision this device already applied only renews the tab, a moved one
+ * means a download. The revision probed for a tab is kept until that tab is downloaded,
+ * as it is then known to be applied.
+ */
+object DatasetFreshness {
+
+    private val fetchedAt = ConcurrentHashMap<SheetsEntityType, Long>()
+    private val probedTokens = ConcurrentHashMap<SheetsEntityType, String>()
+
+    fun isFresh(tab: SheetsEntityType, ttlMs: Long, now: Long = System.currentTimeMillis()): Boolean =
+        now - (fetchedAt[tab] ?: 0L) < ttlMs
+
+    fun markFresh(tabs: Collection<SheetsEntityType>, now: Long = System.currentTimeMillis()) {
+        tabs.forEach { fetchedAt[it] = now }
+    }
+
+    /**
+     * Records the remote revision read for [tab] just before it is downloaded
+     */
+    fun recordProbe(tab: SheetsEntityType, token: String) {
+        probedTokens[tab] = token
+    }
+
+    /**
+     * Revision probed before the download of [tab] that just completed, null if none
+     */
+    fun takeProbe(tab: SheetsEntityType): String? = probedTokens.remove(tab)
+
+    fun invalidateAll() {
+        fetchedAt.clear()
+        probedTokens.clear()
+    }
+}
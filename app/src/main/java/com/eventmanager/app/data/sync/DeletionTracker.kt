@@ -2,24 +2,51 @@ package com.eventmanager.app.data.sync
 
 import android.content.Context
 import android.content.SharedPreferences
+import com.eventmanager.app.data.dao.TombstoneDao
+import com.eventmanager.app.data.database.EventManagerDatabase
+import com.eventmanager.app.data.models.Tombstone
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
 import kotlinx.coroutines.withContext
 import org.json.JSONArray
-import org.json.JSONObject
 
 /**
  * Tracks deleted items to prevent them from being re-downloaded during sync
- * and to ensure they are properly deleted from Google Sheets
+ * and to ensure they are properly deleted from Google Sheets.
+ *
+ * Deletions are stored as tombstones in an indexed Room table keyed by (type, id)
+ * and (type, sheetsId). Deletion lists left in SharedPreferences by older versions
+ * are imported on first use, and tombstones older than [COMPACTION_AGE_DAYS] are
+ * dropped once per app start.
  */
 class DeletionTracker(private val context: Context) {
     private val prefs: SharedPreferences = context.getSharedPreferences("deletion_tracker", Context.MODE_PRIVATE)
+    private val tombstoneDao: TombstoneDao = EventManagerDatabase.getDatabase(context).tombstoneDao()
     
     companion object {
-        private const val KEY_DELETED_GUESTS = "deleted_guests"
-        private const val KEY_DELETED_VOLUNTEERS = "deleted_volunteers"
-        private const val KEY_DELETED_JOBS = "deleted_jobs"
-        private const val KEY_DELETED_JOB_TYPES = "deleted_job_types"
-        private const val KEY_DELETED_VENUES = "deleted_venues"
+        const val TYPE_GUEST = "guest"
+        const val TYPE_VOLUNTEER = "volunteer"
+        const val TYPE_JOB = "job"
+        const val TYPE_JOB_TYPE = "job_type"
+        const val TYPE_VENUE = "venue"
+        
+        private const val COMPACTION_AGE_DAYS = 30
+        private const val MAX_LOOKUP_IDS = 500 // Stays below SQLite's bound variable limit
+        
+        // Legacy SharedPreferences keys, read once to import old deletion lists
+        private val LEGACY_KEYS = listOf(
+            "deleted_guests",
+            "deleted_volunteers",
+            "deleted_jobs",
+            "deleted_job_types",
+            "deleted_venues"
+        )
+        
+        private val setupMutex = Mutex()
+        
+        @Volatile
+        private var isSetUp = false
     }
     
     data class DeletedItem(
@@ -29,147 +56,178 @@ class DeletionTracker(private val context: Context) {
         val type: String
     )
     
-    suspend fun trackGuestDeletion(guestId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) = withContext(Dispatchers.IO) {
-        val deletedItem = DeletedItem(guestId, sheetsId, deletionTime, "guest")
-        addDeletedItem(KEY_DELETED_GUESTS, deletedItem)
+    /**
+     * Deleted IDs and sheets IDs of one item type, for constant-time checks while merging
+     */
+    class DeletedKeys(
+        val ids: Set<String>,
+        val sheetsIds: Set<String>
+    ) {
+        val size: Int get() = ids.size
+        
+        fun contains(id: String, sheetsId: String?): Boolean =
+            id in ids || (sheetsId != null && sheetsId in sheetsIds)
+        
+        companion object {
+            val EMPTY = DeletedKeys(emptySet(), emptySet())
+        }
     }
     
-    suspend fun trackVolunteerDeletion(volunteerId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) = withContext(Dispatchers.IO) {
-        val deletedItem = DeletedItem(volunteerId, sheetsId, deletionTime, "volunteer")
-        addDeletedItem(KEY_DELETED_VOLUNTEERS, deletedItem)
-    }
+    suspend fun trackGuestDeletion(guestId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) =
+        trackDeletions(listOf(DeletedItem(guestId, sheetsId, deletionTime, TYPE_GUEST)))
     
-    suspend fun trackJobDeletion(jobId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) = withContext(Dispatchers.IO) {
-        val deletedItem = DeletedItem(jobId, sheetsId, deletionTime, "job")
-        addDeletedItem(KEY_DELETED_JOBS, deletedItem)
-    }
+    suspend fun trackVolunteerDeletion(volunteerId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) =
+        trackDeletions(listOf(DeletedItem(volunteerId, sheetsId, deletionTime, TYPE_VOLUNTEER)))
     
-    suspend fun trackJobTypeDeletion(jobTypeId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) = withContext(Dispatchers.IO) {
-        val deletedItem = DeletedItem(jobTypeId, sheetsId, deletionTime, "job_type")
-        addDeletedItem(KEY_DELETED_JOB_TYPES, deletedItem)
-    }
+    suspend fun trackJobDeletion(jobId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) =
+        trackDeletions(listOf(DeletedItem(jobId, sheetsId, deletionTime, TYPE_JOB)))
     
-    suspend fun trackVenueDeletion(venueId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) = withContext(Dispatchers.IO) {
-        val deletedItem = DeletedItem(venueId, sheetsId, deletionTime, "venue")
-        addDeletedItem(KEY_DELETED_VENUES, deletedItem)
-    }
+    suspend fun trackJobTypeDeletion(jobTypeId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) =
+        trackDeletions(listOf(DeletedItem(jobTypeId, sheetsId, deletionTime, TYPE_JOB_TYPE)))
+    
+    suspend fun trackVenueDeletion(venueId: String, sheetsId: String?, deletionTime: Long = System.currentTimeMillis()) =
+        trackDeletions(listOf(DeletedItem(venueId, sheetsId, deletionTime, TYPE_VENUE)))
     
-    private fun addDeletedItem(key: String, deletedItem: DeletedItem) {
-        val existingJson = prefs.getString(key, "[]") ?: "[]"
-        val jsonArray = JSONArray(existingJson)
+    /**
+     * Records several deletions in one insert, e.g. after a bulk delete
+     */
+    suspend fun trackDeletions(items: List<DeletedItem>) = withContext(Dispatchers.IO) {
+        if (items.isEmpty()) return@withContext
+        ensureSetUp()
+        tombstoneDao.insertTombstones(items.map { it.toTombstone() })
         
-        val itemJson = JSONObject().apply {
-            put("id", deletedItem.id)
-            put("sheetsId", deletedItem.sheetsId ?: "")
-            put("deletionTime", deletedItem.deletionTime)
-            put("type", deletedItem.type)
+        if (items.size == 1) {
+            println("Tracked deletion: ${items[0].type} with ID ${items[0].id}")
+        } else {
+            println("Tracked ${items.size} deletions")
         }
-        
-        jsonArray.put(itemJson)
-        prefs.edit().putString(key, jsonArray.toString()).apply()
-        
-        println("Tracked deletion: ${deletedItem.type} with ID ${deletedItem.id}")
     }
     
-    suspend fun getDeletedGuests(): List<DeletedItem> = withContext(Dispatchers.IO) {
-        getDeletedItems(KEY_DELETED_GUESTS)
-    }
+    suspend fun getDeletedGuests(): List<DeletedItem> = getDeletedItems(TYPE_GUEST)
     
-    suspend fun getDeletedVolunteers(): List<DeletedItem> = withContext(Dispatchers.IO) {
-        getDeletedItems(KEY_DELETED_VOLUNTEERS)
-    }
+    suspend fun getDeletedVolunteers(): List<DeletedItem> = getDeletedItems(TYPE_VOLUNTEER)
+    
+    suspend fun getDeletedJobs(): List<DeletedItem> = getDeletedItems(TYPE_JOB)
+    
+    suspend fun getDeletedJobTypes(): List<DeletedItem> = getDeletedItems(TYPE_JOB_TYPE)
     
-    suspend fun getDeletedJobs(): List<DeletedItem> = withContext(Dispatchers.IO) {
-        getDeletedItems(KEY_DELETED_JOBS)
+    suspend fun getDeletedVenues(): List<DeletedItem> = getDeletedItems(TYPE_VENUE)
+    
+    suspend fun getDeletedItems(itemType: String): List<DeletedItem> = withContext(Dispatchers.IO) {
+        ensureSetUp()
+        tombstoneDao.getTombstones(itemType).map { it.toDeletedItem() }
     }
     
-    suspend fun getDeletedJobTypes(): List<DeletedItem> = withContext(Dispatchers.IO) {
-        getDeletedItems(KEY_DELETED_JOB_TYPES)
+    /**
+     * All deleted keys of a type, loaded with one query
+     */
+    suspend fun getDeletedKeys(itemType: String): DeletedKeys = withContext(Dispatchers.IO) {
+        ensureSetUp()
+        val tombstones = tombstoneDao.getTombstones(itemType)
+        DeletedKeys(
+            ids = tombstones.mapTo(HashSet(tombstones.size * 2)) { it.itemId },
+            sheetsIds = tombstones.mapNotNullTo(HashSet(tombstones.size * 2)) { it.sheetsId }
+        )
     }
     
-    suspend fun getDeletedVenues(): List<DeletedItem> = withContext(Dispatchers.IO) {
-        getDeletedItems(KEY_DELETED_VENUES)
+    /**
+     * Subset of [itemIds] that were deleted
+     */
+    suspend fun getDeletedIds(itemType: String, itemIds: Collection<String>): Set<String> = withContext(Dispatchers.IO) {
+        ensureSetUp()
+        itemIds.distinct().chunked(MAX_LOOKUP_IDS).flatMapTo(HashSet()) { chunk ->
+            tombstoneDao.findDeletedItemIds(itemType, chunk)
+        }
     }
     
-    private fun getDeletedItems(key: String): List<DeletedItem> {
-        val jsonString = prefs.getString(key, "[]") ?: "[]"
-        val jsonArray = JSONArray(jsonString)
-        val items = mutableListOf<DeletedItem>()
-        
-        for (i in 0 until jsonArray.length()) {
-            val itemJson = jsonArray.getJSONObject(i)
-            items.add(
-                DeletedItem(
-                    id = itemJson.getString("id"),
-                    sheetsId = if (itemJson.getString("sheetsId").isEmpty()) null else itemJson.getString("sheetsId"),
-                    deletionTime = itemJson.getLong("deletionTime"),
-                    type = itemJson.getString("type")
-                )
-            )
+    /**
+     * Subset of [sheetsIds] whose items were deleted
+     */
+    suspend fun getDeletedSheetsIds(itemType: String, sheetsIds: Collection<String>): Set<String> = withContext(Dispatchers.IO) {
+        ensureSetUp()
+        sheetsIds.distinct().chunked(MAX_LOOKUP_IDS).flatMapTo(HashSet()) { chunk ->
+            tombstoneDao.findDeletedSheetsIds(itemType, chunk)
         }
-        
-        return items
     }
     
     suspend fun isItemDeleted(itemId: String, itemType: String): Boolean = withContext(Dispatchers.IO) {
-        val key = when (itemType) {
-            "guest" -> KEY_DELETED_GUESTS
-            "volunteer" -> KEY_DELETED_VOLUNTEERS
-            "job" -> KEY_DELETED_JOBS
-            "job_type" -> KEY_DELETED_JOB_TYPES
-            "venue" -> KEY_DELETED_VENUES
-            else -> return@withContext false
-        }
-        
-        val deletedItems = getDeletedItems(key)
-        deletedItems.any { it.id == itemId }
+        ensureSetUp()
+        tombstoneDao.isItemDeleted(itemType, itemId)
     }
     
     suspend fun isItemDeletedBySheetsId(sheetsId: String, itemType: String): Boolean = withContext(Dispatchers.IO) {
-        val key = when (itemType) {
-            "guest" -> KEY_DELETED_GUESTS
-            "volunteer" -> KEY_DELETED_VOLUNTEERS
-            "job" -> KEY_DELETED_JOBS
-            "job_type" -> KEY_DELETED_JOB_TYPES
-            "venue" -> KEY_DELETED_VENUES
-            else -> return@withContext false
-        }
-        
-        val deletedItems = getDeletedItems(key)
-        deletedItems.any { it.sheetsId == sheetsId }
+        ensureSetUp()
+        tombstoneDao.isSheetsIdDeleted(itemType, sheetsId)
     }
     
-    suspend fun clearOldDeletions(olderThanDays: Int = 30) = withContext(Dispatchers.IO) {
+    suspend fun clearOldDeletions(olderThanDays: Int = COMPACTION_AGE_DAYS) = withContext(Dispatchers.IO) {
         val cutoffTime = System.currentTimeMillis() - (olderThanDays * 24 * 60 * 60 * 1000L)
+        val removed = tombstoneDao.deleteOlderThan(cutoffTime)
+        println("Cleared $removed deletion records older than $olderThanDays days")
+    }
+    
+    suspend fun clearAllDeletions() = withContext(Dispatchers.IO) {
+        ensureSetUp()
+        tombstoneDao.deleteAllTombstones()
+        println("Cleared all deletion records")
+    }
+    
+    /**
+     * Imports the legacy SharedPreferences lists and compacts old tombstones, once per process
+     */
+    private suspend fun ensureSetUp() {
+        if (isSetUp) return
+        setupMutex.withLock {
+            if (isSetUp) return
+            importLegacyDeletions()
+            clearOldDeletions()
+            isSetUp = true
+        }
+    }
+    
+    private suspend fun importLegacyDeletions() {
+        val legacyKeys = LEGACY_KEYS.filter { prefs.contains(it) }
+        if (legacyKeys.isEmpty()) return
         
-        val keys = listOf(KEY_DELETED_GUESTS, KEY_DELETED_VOLUNTEERS, KEY_DELETED_JOBS, KEY_DELETED_JOB_TYPES, KEY_DELETED_VENUES)
-        
-        keys.forEach { key ->
-            val deletedItems = getDeletedItems(key)
-            val recentItems = deletedItems.filter { it.deletionTime > cutoffTime }
-            
-            val jsonArray = JSONArray()
-            recentItems.forEach { item ->
-                val itemJson = JSONObject().apply {
-                    put("id", item.id)
-                    put("sheetsId", item.sheetsId ?: "")
-                    put("deletionTime", item.deletionTime)
-                    put("type", item.type)
+        val items = legacyKeys.flatMap { key ->
+            try {
+                val jsonArray = JSONArray(prefs.getString(key, "[]") ?: "[]")
+                (0 until jsonArray.length()).map { i ->
+                    val itemJson = jsonArray.getJSONObject(i)
+                    DeletedItem(
+                        id = itemJson.getString("id"),
+                        sheetsId = itemJson.optString("sheetsId").ifEmpty { null },
+                        deletionTime = itemJson.getLong("deletionTime"),
+                        type = itemJson.getString("type")
+                    )
                 }
-                jsonArray.put(itemJson)
+            } catch (e: Exception) {
+                println("Skipping unreadable legacy deletion list $key: ${e.message}")
+                emptyList()
             }
-            
-            prefs.edit().putString(key, jsonArray.toString()).apply()
         }
         
-        println("Cleared old deletion records older than $olderThanDays days")
+        // Older entries first, so the latest deletion of an item wins on REPLACE
+        tombstoneDao.insertTombstones(items.sortedBy { it.deletionTime }.map { it.toTombstone() })
+        
+        val editor = prefs.edit()
+        legacyKeys.forEach { editor.remove(it) }
+        editor.apply()
+        
+        println("Imported ${items.size} legacy deletion records into the tombstones table")
     }
     
-    suspend fun clearAllDeletions() = withContext(Dispatchers.IO) {
-        val keys = listOf(KEY_DELETED_GUESTS, KEY_DELETED_VOLUNTEERS, KEY_DELETED_JOBS, KEY_DELETED_JOB_TYPES)
-        keys.forEach { key ->
-            prefs.edit().putString(key, "[]").apply()
-        }
-        println("Cleared all deletion records")
-    }
+    private fun DeletedItem.toTombstone() = Tombstone(
+        type = type,
+        itemId = id,
+        sheetsId = sheetsId?.takeIf { it.isNotEmpty() },
+        deletionTime = deletionTime
+    )
+    
+    private fun Tombstone.toDeletedItem() = DeletedItem(
+        id = itemId,
+        sheetsId = sheetsId,
+        deletionTime = deletionTime,
+        type = type
+    )
 }
@@ -2,6 +2,7 @@ package com.eventmanager.app.data.sync
 
 import com.eventmanager.app.data.models.*
 import com.eventmanager.app.data.repository.EventManagerRepository
+import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
 
@@ -17,6 +18,9 @@ import kotlinx.coroutines.withContext
  * 3. Deleted items (in MAIN_DB but not in TEMP_DB)
  * 
  * This allows targeted UI updates instead of full-page reloads.
+ * 
+ * Guests, volunteers and jobs store the content hash of the row they were downloaded
+ * from, so unchanged rows are recognized with a single comparison.
  */
 class DifferentialSyncService(
     private val repository: EventManagerRepository
@@ -29,10 +33,21 @@ class DifferentialSyncService(
         val new: List<T> = emptyList(),
         val modified: List<T> = emptyList(),
         val deleted: List<T> = emptyList(),
-        val unchanged: List<T> = emptyList()
+        val unchanged: List<T> = emptyList(),
+        val rehashed: List<T> = emptyList() // Unchanged content whose stored row hash must be refreshed
     ) {
         val totalChanges: Int get() = new.size + modified.size + deleted.size
         val hasChanges: Boolean get() = totalChanges > 0
+        
+        /**
+         * Splits the rows to write in chunks of at most [size], deletions first so that
+         * rows re-added under the same name are never deleted afterwards
+         */
+        fun chunked(size: Int): List<SyncChanges<T>> =
+            deleted.chunked(size).map { SyncChanges<T>(deleted = it) } +
+            new.chunked(size).map { SyncChanges<T>(new = it) } +
+            modified.chunked(size).map { SyncChanges<T>(modified = it) } +
+            rehashed.chunked(size).map { SyncChanges<T>(rehashed = it) }
     }
     
     /**
@@ -50,6 +65,14 @@ class DifferentialSyncService(
             guests.hasChanges || volunteers.hasChanges || jobs.hasChanges || 
             jobTypeConfigs.hasChanges || venues.hasChanges
         
+        fun changedTabs(): Set<SheetsEntityType> = buildSet {
+            if (guests.hasChanges) add(SheetsEntityType.GUEST)
+            if (volunteers.hasChanges) add(SheetsEntityType.VOLUNTEER)
+            if (jobs.hasChanges) add(SheetsEntityType.JOB)
+            if (jobTypeConfigs.hasChanges) add(SheetsEntityType.JOB_TYPE)
+            if (venues.hasChanges) add(SheetsEntityType.VENUE)
+        }
+        
         fun summary(): String = buildString {
             append("Guests: ${guests.new.size} new, ${guests.modified.size} modified, ${guests.deleted.size} deleted")
             append(" | Volunteers: ${volunteers.new.size} new, ${volunteers.modified.size} modified, ${volunteers.deleted.size} deleted")
@@ -65,21 +88,26 @@ class DifferentialSyncService(
      * Compare TEMP_DB guests with MAIN_DB guests
      */
     suspend fun compareGuests(tempGuests: List<Guest>, mainGuests: List<Guest>): SyncChanges<Guest> =
-        withContext(Dispatchers.Default) {
+        comparing(SheetsEntityType.GUEST) {
             val mainMap = mainGuests.associateBy { it.sheetsId ?: "${it.name}_${it.venueName}_${it.invitations}" }
             val tempMap = tempGuests.associateBy { it.sheetsId ?: "${it.name}_${it.venueName}_${it.invitations}" }
             
             val new = mutableListOf<Guest>()
             val modified = mutableListOf<Guest>()
             val unchanged = mutableListOf<Guest>()
+            val rehashed = mutableListOf<Guest>()
             
-            // Find new and modified items in TEMP_DB
+            // Find new and modified items in TEMP_DB; equal row hashes skip the field comparison
             for ((key, tempGuest) in tempMap) {
                 val mainGuest = mainMap[key]
                 if (mainGuest == null) {
                     new.add(tempGuest)
+                } else if (tempGuest.syncHash != 0L && tempGuest.syncHash == mainGuest.syncHash) {
+                    unchanged.add(tempGuest)
                 } else if (hasGuestChanged(mainGuest, tempGuest)) {
                     modified.add(tempGuest)
+                } else if (tempGuest.syncHash != mainGuest.syncHash) {
+                    rehashed.add(tempGuest)
                 } else {
                     unchanged.add(tempGuest)
                 }
@@ -91,7 +119,7 @@ class DifferentialSyncService(
                 !tempMap.containsKey(key)
             }
             
-            SyncChanges(new, modified, deleted, unchanged)
+            SyncChanges(new, modified, deleted, unchanged, rehashed)
         }
     
     private fun hasGuestChanged(old: Guest, new: Guest): Boolean =
@@ -107,21 +135,26 @@ class DifferentialSyncService(
      * Compare TEMP_DB volunteers with MAIN_DB volunteers
      */
     suspend fun compareVolunteers(tempVolunteers: List<Volunteer>, mainVolunteers: List<Volunteer>): SyncChanges<Volunteer> =
-        withContext(Dispatchers.Default) {
+        comparing(SheetsEntityType.VOLUNTEER) {
             val mainMap = mainVolunteers.associateBy { it.sheetsId ?: "${it.name}_${it.email}_${it.phoneNumber}" }
             val tempMap = tempVolunteers.associateBy { it.sheetsId ?: "${it.name}_${it.email}_${it.phoneNumber}" }
             
             val new = mutableListOf<Volunteer>()
             val modified = mutableListOf<Volunteer>()
             val unchanged = mutableListOf<Volunteer>()
+            val rehashed = mutableListOf<Volunteer>()
             
-            // Find new and modified items in TEMP_DB
+            // Find new and modified items in TEMP_DB; equal row hashes skip the field comparison
             for ((key, tempVolunteer) in tempMap) {
                 val mainVolunteer = mainMap[key]
                 if (mainVolunteer == null) {
                     new.add(tempVolunteer)
+                } else if (tempVolunteer.syncHash != 0L && tempVolunteer.syncHash == mainVolunteer.syncHash) {
+                    unchanged.add(tempVolunteer)
                 } else if (hasVolunteerChanged(mainVolunteer, tempVolunteer)) {
                     modified.add(tempVolunteer)
+                } else if (tempVolunteer.syncHash != mainVolunteer.syncHash) {
+                    rehashed.add(tempVolunteer)
                 } else {
                     unchanged.add(tempVolunteer)
                 }
@@ -133,7 +166,7 @@ class DifferentialSyncService(
                 !tempMap.containsKey(key)
             }
             
-            SyncChanges(new, modified, deleted, unchanged)
+            SyncChanges(new, modified, deleted, unchanged, rehashed)
         }
     
     private fun hasVolunteerChanged(old: Volunteer, new: Volunteer): Boolean =
@@ -153,21 +186,26 @@ class DifferentialSyncService(
      * Compare TEMP_DB jobs with MAIN_DB jobs
      */
     suspend fun compareJobs(tempJobs: List<Job>, mainJobs: List<Job>): SyncChanges<Job> =
-        withContext(Dispatchers.Default) {
+        comparing(SheetsEntityType.JOB) {
             val mainMap = mainJobs.associateBy { it.sheetsId ?: "${it.volunteerId}_${it.jobTypeName}_${it.date}_${it.venueName}_${it.shiftTime}" }
             val tempMap = tempJobs.associateBy { it.sheetsId ?: "${it.volunteerId}_${it.jobTypeName}_${it.date}_${it.venueName}_${it.shiftTime}" }
             
             val new = mutableListOf<Job>()
             val modified = mutableListOf<Job>()
             val unchanged = mutableListOf<Job>()
+            val rehashed = mutableListOf<Job>()
             
-            // Find new and modified items in TEMP_DB
+            // Find new and modified items in TEMP_DB; equal row hashes skip the field comparison
             for ((key, tempJob) in tempMap) {
                 val mainJob = mainMap[key]
                 if (mainJob == null) {
                     new.add(tempJob)
+                } else if (tempJob.syncHash != 0L && tempJob.syncHash == mainJob.syncHash) {
+                    unchanged.add(tempJob)
                 } else if (hasJobChanged(mainJob, tempJob)) {
                     modified.add(tempJob)
+                } else if (tempJob.syncHash != mainJob.syncHash) {
+                    rehashed.add(tempJob)
                 } else {
                     unchanged.add(tempJob)
                 }
@@ -179,7 +217,7 @@ class DifferentialSyncService(
                 !tempMap.containsKey(key)
             }
             
-            SyncChanges(new, modified, deleted, unchanged)
+            SyncChanges(new, modified, deleted, unchanged, rehashed)
         }
     
     private fun hasJobChanged(old: Job, new: Job): Boolean =
@@ -197,7 +235,7 @@ class DifferentialSyncService(
      * Compare TEMP_DB job type configs with MAIN_DB configs
      */
     suspend fun compareJobTypeConfigs(tempConfigs: List<JobTypeConfig>, mainConfigs: List<JobTypeConfig>): SyncChanges<JobTypeConfig> =
-        withContext(Dispatchers.Default) {
+        comparing(SheetsEntityType.JOB_TYPE) {
             val mainMap = mainConfigs.associateBy { it.sheetsId ?: it.name }
             val tempMap = tempConfigs.associateBy { it.sheetsId ?: it.name }
             
@@ -242,7 +280,7 @@ class DifferentialSyncService(
      * Compare TEMP_DB venues with MAIN_DB venues
      */
     suspend fun compareVenues(tempVenues: List<VenueEntity>, mainVenues: List<VenueEntity>): SyncChanges<VenueEntity> =
-        withContext(Dispatchers.Default) {
+        comparing(SheetsEntityType.VENUE) {
             val mainMap = mainVenues.associateBy { it.sheetsId ?: it.name }
             val tempMap = tempVenues.associateBy { it.sheetsId ?: it.name }
             
@@ -280,32 +318,61 @@ class DifferentialSyncService(
     
     /**
      * Apply all changes to the database (merge TEMP_DB → MAIN_DB)
+     * Everything is written in one transaction with bulk statements per table
      */
     suspend fun applyChanges(result: DifferentialSyncResult) = withContext(Dispatchers.IO) {
-        // Apply guest changes
-        result.guests.new.forEach { repository.insertGuest(it) }
-        result.guests.modified.forEach { repository.updateGuest(it) }
-        result.guests.deleted.forEach { repository.deleteGuest(it) }
-        
-        // Apply volunteer changes
-        result.volunteers.new.forEach { repository.insertVolunteer(it) }
-        result.volunteers.modified.forEach { repository.updateVolunteer(it) }
-        result.volunteers.deleted.forEach { repository.deleteVolunteer(it) }
-        
-        // Apply job changes
-        result.jobs.new.forEach { repository.insertJob(it) }
-        result.jobs.modified.forEach { repository.updateJob(it) }
-        result.jobs.deleted.forEach { repository.deleteJob(it) }
-        
-        // Apply job type config changes
-        result.jobTypeConfigs.new.forEach { repository.insertJobTypeConfig(it) }
-        result.jobTypeConfigs.modified.forEach { repository.updateJobTypeConfig(it) }
-        result.jobTypeConfigs.deleted.forEach { repository.deleteJobTypeConfig(it) }
-        
-        // Apply venue changes
-        result.venues.new.forEach { repository.insertVenue(it) }
-        result.venues.modified.forEach { repository.updateVenue(it) }
-        result.venues.deleted.forEach { repository.deleteVenue(it) }
+        SyncTracer.span(SyncPhase.APPLY, "All tabs") {
+        repository.runInTransaction {
+            applyJobTypeConfigChanges(result.jobTypeConfigs)
+            applyVenueChanges(result.venues)
+            applyGuestChanges(result.guests)
+            applyVolunteerChanges(result.volunteers)
+            applyJobChanges(result.jobs)
+        }
+        }
     }
+    
+    suspend fun applyGuestChanges(changes: SyncChanges<Guest>) = applying(SheetsEntityType.GUEST, changes) {
+        repository.deleteGuestsByIds(changes.deleted.map { it.id })
+        repository.upsertGuests(changes.new + changes.modified + changes.rehashed)
+    }
+    
+    suspend fun applyVolunteerChanges(changes: SyncChanges<Volunteer>) = applying(SheetsEntityType.VOLUNTEER, changes) {
+        repository.deleteVolunteersByIds(changes.deleted.map { it.id })
+        repository.upsertVolunteers(changes.new + changes.modified + changes.rehashed)
+    }
+    
+    suspend fun applyJobChanges(changes: SyncChanges<Job>) = applying(SheetsEntityType.JOB, changes) {
+        repository.deleteJobsByIds(changes.deleted.map { it.id })
+        repository.upsertJobs(changes.new + changes.modified + changes.rehashed)
+    }
+    
+    suspend fun applyJobTypeConfigChanges(changes: SyncChanges<JobTypeConfig>) = applying(SheetsEntityType.JOB_TYPE, changes) {
+        repository.deleteJobTypeConfigsByIds(changes.deleted.map { it.id })
+        repository.upsertJobTypeConfigs(changes.new + changes.modified)
+    }
+    
+    suspend fun applyVenueChanges(changes: SyncChanges<VenueEntity>) = applying(SheetsEntityType.VENUE, changes) {
+        repository.deleteVenuesByIds(changes.deleted.map { it.id })
+        repository.upsertVenues(changes.new + changes.modified)
+    }
+    
+    /**
+     * Runs a comparison off the main thread as a COMPARE span of the current sync trace
+     */
+    private suspend fun <T> comparing(entityType: SheetsEntityType, compare: suspend CoroutineScope.() -> SyncChanges<T>): SyncChanges<T> =
+        SyncTracer.span(SyncPhase.COMPARE, entityType.name) {
+            withContext(Dispatchers.Default, compare).also { changes ->
+                SyncTracer.record(rows = changes.totalChanges + changes.unchanged.size + changes.rehashed.size)
+            }
+        }
+    
+    /**
+     * Writes the changes of one table in a transaction, as an APPLY span of the current sync trace
+     */
+    private suspend fun <T> applying(entityType: SheetsEntityType, changes: SyncChanges<T>, apply: suspend () -> Unit) =
+        SyncTracer.span(SyncPhase.APPLY, entityType.name) {
+            SyncTracer.record(rows = changes.totalChanges + changes.rehashed.size)
+            repository.runInTransaction { apply() }
+        }
 }
-
@@ -12,12 +12,15 @@ package com.eventmanager.app.data.sync
  * 4. Download the service account JSON key file
  * 5. Place the JSON file in app/src/main/assets/ as "service_account_key.json"
  * 6. Update the SPREADSHEET_ID below with your actual spreadsheet ID
- *    - "Guest List" (columns: Name, Invitations, Venue, Notes, Volunteer Benefit, Last Modified)
- *    - "Volunteers" (columns: ID, Name, Abbreviation, Email, Phone, Date of Birth, Gender, Rank, Active, Last Modified)
- *    - "Shifts" (columns: Volunteer ID, Shift Type, Venue, Date, Shift Time, Notes, Last Modified)
- *    - "Shift Types" (columns: Name, Status, Shift Type, Orion Type, Requires Time, Description, Last Modified)
+ *    - "Guest List" (columns: Name, Invitations, Venue, Notes, Volunteer Benefit, Last Modified, Sync ID)
+ *    - "Volunteers" (columns: ID, Name, Abbreviation, Email, Phone, Date of Birth, Gender, Rank, Active, Last Modified, Sync ID)
+ *    - "Shifts" (columns: Volunteer ID, Shift Type, Venue, Date, Shift Time, Notes, Last Modified, Sync ID)
+ *    - "Shift Types" (columns: Name, Status, Shift Type, Orion Type, Requires Time, Benefit System, Manual Rewards, Description, Last Modified, Sync ID)
  *    - "Volunteer Guest List" (columns: Name, Last Name Abbreviation, Invitations, Venue, Notes, Volunteer Benefit, Last Modified)
- *    - "Venues" (columns: Name, Description, Active, Last Modified)
+ *    - "Venues" (columns: Name, Description, Active, Last Modified, Sync ID)
+ *    The Sync ID column is filled by the app; it identifies each row independently of its position.
+ *    A hidden "_Meta" tab (columns: Tab, Revision, Stamp) is created by the app; each upload bumps
+ *    the revision of the tab it wrote, so scheduled syncs only download tabs that changed.
  */
 object GoogleSheetsConfig { 
     // Replace with your actual Google Spreadsheet ID
@@ -2,9 +2,6 @@
 
 import android.content.Context
 import com.google.auth.oauth2.ServiceAccountCredentials
-import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport
-import com.google.api.client.json.gson.GsonFactory
-import com.google.api.services.sheets.v4.Sheets
 import com.google.api.services.sheets.v4.SheetsScopes
 import com.google.api.services.sheets.v4.model.*
 import com.google.auth.oauth2.GoogleCredentials
@@ -13,12 +10,17 @@ import com.eventmanager.app.data.models.BenefitSystemType
 import com.eventmanager.app.data.models.ManualRewards
 import com.eventmanager.app.data.sync.GoogleSheetsConfig
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.withContext
 import java.io.IOException
 import java.security.GeneralSecurityException
 import java.net.UnknownHostException
 
-class GoogleSheetsService(private val context: Context) {
+class GoogleSheetsService(
+    private val context: Context,
+    private val backendOverride: SheetsBackend? = null
+) {
     
     /**
      * Creates a user-friendly error message for network connectivity issues
@@ -43,81 +45,84 @@ class GoogleSheetsService(private val context: Context) {
             "Failed to $operation: ${errorMessage}"
         }
     }
-    private var sheetsService: Sheets? = null
+    
+    companion object {
+        // Column count of each tab, the last column holds the row's Sync ID
+        private const val GUEST_COLUMNS = 7
+        private const val VOLUNTEER_COLUMNS = 11
+        private const val JOB_COLUMNS = 8
+        private const val JOB_TYPE_COLUMNS = 10
+        private const val VENUE_COLUMNS = 5
+    }
+    
+    private var backend: SheetsBackend? = null
     private val settingsManager = SettingsManager(context)
     private val fileManager = FileManager(context)
+    private val sheetIds = java.util.concurrent.ConcurrentHashMap<String, Int>()
+    private val tabRevisions = java.util.concurrent.ConcurrentHashMap<String, TabRevision>()
+    private val tabIndexes = java.util.concurrent.ConcurrentHashMap<String, TabIndex>()
+    private val metaTabs: MutableSet<String> = java.util.concurrent.ConcurrentHashMap.newKeySet()
 
-    suspend fun initializeSheetsService() = withContext(Dispatchers.IO) {
+    /**
+     * Attaches this service to the shared Sheets client. Cheap after the first call:
+     * the client, transport and credentials are kept warm by [SheetsClientHolder].
+     */
+    suspend fun initializeSheetsService() = SyncTracer.span(SyncPhase.AUTH, "Sheets client") {
+        withContext(Dispatchers.IO) {
         try {
-            val httpTransport = GoogleNetHttpTransport.newTrustedTransport()
-            val jsonFactory = GsonFactory.getDefaultInstance()
+            // Tests and load runs inject their own backend, no credentials needed
+            if (backendOverride != null) {
+                if (backend == null) {
+                    println("Google Sheets service using injected backend: ${backendOverride::class.java.simpleName}")
+                }
+                backend = backendOverride
+                return@withContext
+            }
             
             // Use the uploaded service account key file
             val keyFilePath = fileManager.getServiceAccountKeyPath()
             if (keyFilePath == null) {
+                backend = null
+                SheetsClientHolder.invalidate()
                 throw IOException("Service account key file not found. Please upload it in Settings.")
             }
             
-            // Use the modern GoogleCredentials approach
-            println("Initializing Google Sheets service with service account...")
+            val wasInitialized = backend != null
+            backend = SheetsClientHolder.getBackend(keyFilePath)
             
-            // Convert ServiceAccountCredentials to HttpRequestInitializer
-            val requestInitializer = com.google.api.client.googleapis.auth.oauth2.GoogleCredential.fromStream(
-                java.io.FileInputStream(keyFilePath)
-            ).createScoped(listOf(GoogleSheetsConfig.SCOPES))
-            
-            sheetsService = Sheets.Builder(httpTransport, jsonFactory, requestInitializer)
-                .setApplicationName("Event Manager App")
-                .build()
-            
-            println("Google Sheets service initialized successfully")
+            if (!wasInitialized) {
+                println("Google Sheets service initialized successfully")
+            }
         } catch (e: GeneralSecurityException) {
             throw IOException("Failed to initialize Google Sheets service: ${e.message}", e)
         } catch (e: Exception) {
             throw IOException(createNetworkErrorMessage("initialize Google Sheets service", e), e)
         }
+        }
     }
 
     // Single Guest Operations (App Priority)
     suspend fun addGuestToSheets(guest: Guest, venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        guest.name,
-                        guest.invitations.toString(),
-                        guest.venueName,
-                        guest.notes,
-                        if (guest.isVolunteerBenefit) "Yes" else "No",
-                        guest.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.append(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getGuestListSheet()}!A:F",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to add guest to Google Sheets - no response received")
-                    }
+                    forgetPushedDigest(settingsManager.getGuestListSheet())
+                    val sheetsId = SheetsRowIds.resolve(guest.sheetsId)
+                    val values = guestRow(guest, sheetsId)
                     
-                    // Update the guest with the sheets ID (row number)
-                    val sheetsId = response.updates?.updatedRange?.let { range ->
-                        val match = Regex(".*!A(\\d+):F\\d+").find(range)
-                        match?.groupValues?.get(1)?.toIntOrNull()
-                    }?.toString() ?: "1"
+                    appendTabRow(SheetsEntityType.GUEST, values)
+                        ?: throw IOException("Failed to add guest to Google Sheets - no response received")
                     
-                    println("Successfully added guest to Google Sheets: ${guest.name} (Row: $sheetsId)")
+                    bumpTabRevision(SheetsEntityType.GUEST)
+                    println("Successfully added guest to Google Sheets: ${guest.name} (Sync ID: $sheetsId)")
                     sheetsId
                 },
-                operationName = "add guest to sheets"
+                operationName = "add guest to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to add guest to sheets: ${e.message}")
@@ -182,7 +187,7 @@ class GoogleSheetsService(private val context: Context) {
 
     suspend fun updateGuestInSheets(guest: Guest, venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
@@ -192,31 +197,16 @@ class GoogleSheetsService(private val context: Context) {
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        guest.name,
-                        guest.invitations.toString(),
-                        guest.venueName,
-                        guest.notes,
-                        if (guest.isVolunteerBenefit) "Yes" else "No",
-                        guest.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    val rowNumber = guest.sheetsId.toIntOrNull() ?: throw IOException("Invalid sheets ID")
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.update(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getGuestListSheet()}!A$rowNumber:F$rowNumber",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to update guest in Google Sheets - no response received")
-                    }
+                    forgetPushedDigest(settingsManager.getGuestListSheet())
+                    val values = guestRow(guest, guest.sheetsId)
+                    updateTabRow(SheetsEntityType.GUEST, guest.sheetsId, values)
+                        ?: throw IOException("Guest ${guest.sheetsId} not found in Google Sheets")
                     
+                    bumpTabRevision(SheetsEntityType.GUEST)
                     println("Successfully updated guest in Google Sheets: ${guest.name}")
                 },
-                operationName = "update guest in sheets"
+                operationName = "update guest in sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to update guest in sheets: ${e.message}")
@@ -227,45 +217,35 @@ class GoogleSheetsService(private val context: Context) {
     // Guest List Operations
     suspend fun syncGuestsToSheets(guests: List<Guest>, venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
+            // Only upload regular guests here; volunteer benefits go to their own sheet
+            val values = guests.filter { !it.isVolunteerBenefit }.map { guest ->
+                guestRow(guest, guest.sheetsId ?: "")
+            }
+            val sheetName = settingsManager.getGuestListSheet()
+            
+            // The whole payload is skipped when it is identical to the last one pushed
+            val digest = SheetsDeltaEngine.digest(SheetsHeaders.GUESTS, values)
+            if (isAlreadyPushed(sheetName, digest)) return@withContext
+            
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                // First, clear the entire sheet to prevent duplicate last rows
-                clearSheetRange("${settingsManager.getGuestListSheet()}!A:Z")
-                println("🧹 Cleared entire guests sheet to prevent duplicates")
-                
-                // Only upload regular guests here; volunteer benefits go to their own sheet
-                val values = guests.filter { !it.isVolunteerBenefit }.map { guest ->
-                    listOf(
-                        guest.name,
-                        guest.invitations.toString(),
-                        guest.venueName,
-                        guest.notes,
-                        "No",
-                        guest.lastModified.toString()
-                    )
-                }
-                
-                val valueRange = ValueRange()
-                    .setValues(listOf(listOf("Name", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified")) + values)
-                
-                val response = sheetsService?.spreadsheets()?.values()?.update(
-                    settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getGuestListSheet()}!A1",
-                    valueRange
-                )?.setValueInputOption("RAW")?.execute()
-                
-                
-                if (response == null) {
-                    throw IOException("Failed to update guests in Google Sheets - no response received")
-                }
-                
-                println("Successfully synced ${values.size} regular guests to Google Sheets")
+                // Only rows that differ from the tab as it is now are written
+                val delta = uploadTabDelta(
+                    entityType = SheetsEntityType.GUEST,
+                    sheetName = sheetName,
+                    header = SheetsHeaders.GUESTS,
+                    rows = values,
+                    digest = digest
+                ) { row -> row[GUEST_COLUMNS - 1] }
+                
+                println("Successfully synced ${values.size} regular guests to Google Sheets (${delta.writes.size} rows written)")
                 },
-                operationName = "sync guests to sheets"
+                operationName = "sync guests to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to sync guests to sheets: ${e.message}")
@@ -283,38 +263,41 @@ class GoogleSheetsService(private val context: Context) {
      */
     suspend fun syncVolunteerGuestListToSheets(volunteerGuests: List<Guest>, venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
+            val values = volunteerGuests.map { guest ->
+                listOf(
+                    guest.name,
+                    guest.lastNameAbbreviation,
+                    guest.invitations.toString(),
+                    guest.venueName,
+                    guest.notes,
+                    "Yes",
+                    guest.lastModified.toString()
+                )
+            }
+            val sheetName = settingsManager.getVolunteerGuestListSheet()
+            val header = listOf("Name", "Last Name Abbreviation", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified")
+            
+            // The whole payload is skipped when it is identical to the last one pushed
+            val digest = SheetsDeltaEngine.digest(header, values)
+            if (isAlreadyPushed(sheetName, digest)) return@withContext
+            
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    // Clear the entire volunteer guest list sheet before upload
-                    clearSheetRange("${settingsManager.getVolunteerGuestListSheet()}!A:Z")
-                    println("🧹 Cleared entire volunteer guest list sheet to prevent duplicates")
-                    val values = volunteerGuests.map { guest ->
-                        listOf(
-                            guest.name,
-                            guest.lastNameAbbreviation,
-                            guest.invitations.toString(),
-                            guest.venueName,
-                            guest.notes,
-                            "Yes",
-                            guest.lastModified.toString()
-                        )
-                    }
-                    val valueRange = ValueRange()
-                        .setValues(listOf(listOf("Name", "Last Name Abbreviation", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified")) + values)
-                    val response = sheetsService?.spreadsheets()?.values()?.update(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getVolunteerGuestListSheet()}!A1",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    if (response == null) {
-                        throw IOException("Failed to update volunteer guest list in Google Sheets - no response received")
-                    }
-                    println("Successfully synced ${values.size} volunteer guest entries to Google Sheets")
+                    // Only rows that differ from the tab as it is now are written
+                    val delta = uploadTabDelta(
+                        entityType = SheetsEntityType.VOLUNTEER_GUEST_LIST,
+                        sheetName = sheetName,
+                        header = header,
+                        rows = values,
+                        digest = digest
+                    ) { row -> "${row[0]}|${row[1]}" }
+                    println("Successfully synced ${values.size} volunteer guest entries to Google Sheets (${delta.writes.size} rows written)")
                 },
-                operationName = "sync volunteer guest list to sheets"
+                operationName = "sync volunteer guest list to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to sync volunteer guest list to sheets: ${e.message}")
@@ -326,10 +309,10 @@ class GoogleSheetsService(private val context: Context) {
         }
     }
 
-    suspend fun syncGuestsFromSheets(): List<Guest> = withContext(Dispatchers.IO) {
+    suspend fun syncGuestsFromSheets(known: List<Guest> = emptyList()): List<Guest> = withContext(Dispatchers.IO) {
         try {
             println("Syncing guests from sheets...")
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
@@ -337,45 +320,25 @@ class GoogleSheetsService(private val context: Context) {
                 operation = {
                 val spreadsheetId = settingsManager.getSpreadsheetId()
                 val sheetName = settingsManager.getGuestListSheet()
-                val range = "${sheetName}!A2:F"
+                val range = "${sheetName}!A1:G"
                 
                 println("Reading from spreadsheet: $spreadsheetId, range: $range")
                 
-                val response = sheetsService?.spreadsheets()?.values()?.get(
+                val response = backend?.get(
                     spreadsheetId,
                     range
-                )?.execute()
+                )
                 
                 if (response == null) {
                     throw IOException("Failed to retrieve guests from Google Sheets - no response received")
                 }
                 
                 val values = response.getValues() ?: emptyList()
-                println("Retrieved ${values.size} guest rows from sheets")
+                println("Retrieved ${dataRows(values).size} guest rows from sheets")
                 
-                val guests = values.mapIndexedNotNull { index, row ->
-                    if (row.size >= 6) {
-                        try {
-                            val rowNumber = index + 2 // +2 because we start from row 2 (after header)
-                            val guest = Guest(
-                                sheetsId = rowNumber.toString(),
-                                name = row[0].toString(),
-                                invitations = row[1].toString().toIntOrNull() ?: 1,
-                                venueName = row[2].toString(),
-                                notes = row[3].toString(),
-                                isVolunteerBenefit = row[4].toString().equals("Yes", ignoreCase = true),
-                                lastModified = row[5].toString().toLongOrNull() ?: System.currentTimeMillis()
-                            )
-                            guest
-                        } catch (e: Exception) {
-                            println("Failed to parse guest row ${index + 2}: ${e.message}")
-                            null
-                        }
-                    } else {
-                        println("Skipping guest row ${index + 2} - insufficient columns: ${row.size}")
-                        null
-                    }
-                }
+                checkPushedDigest(sheetName, values, GUEST_COLUMNS)
+                rememberDownloadedTab(SheetsEntityType.GUEST, values)
+                val guests = parsing(SheetsEntityType.GUEST) { parseGuestRows(values, known) }
                 
                 println("Successfully parsed ${guests.size} guests")
                 guests
@@ -395,55 +358,25 @@ class GoogleSheetsService(private val context: Context) {
     // Single Volunteer Operations (App Priority)
     suspend fun addVolunteerToSheets(volunteer: Volunteer) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        volunteer.id.toString(),
-                        volunteer.name,
-                        volunteer.lastNameAbbreviation,
-                        volunteer.email,
-                        volunteer.phoneNumber,
-                        volunteer.dateOfBirth,
-                        volunteer.gender?.let { gender ->
-                            when (gender) {
-                                Gender.FEMALE -> "Female"
-                                Gender.MALE -> "Male"
-                                Gender.NON_BINARY -> "Non-binary"
-                                Gender.OTHER -> "Other"
-                                Gender.PREFER_NOT_TO_DISCLOSE -> "Prefer not to disclose"
-                            }
-                        } ?: "",
-                        volunteer.currentRank?.name ?: "No Rank",
-                        if (volunteer.isActive) "Yes" else "No",
-                        volunteer.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.append(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getVolunteerSheet()}!A:J",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to add volunteer to Google Sheets - no response received")
-                    }
+                    forgetPushedDigest(settingsManager.getVolunteerSheet())
+                    val sheetsId = SheetsRowIds.resolve(volunteer.sheetsId)
+                    val values = volunteerRow(volunteer, sheetsId)
                     
-                    // Update the volunteer with the sheets ID (row number)
-                    val sheetsId = response.updates?.updatedRange?.let { range ->
-                        val match = Regex(".*!A(\\d+):J\\d+").find(range)
-                        match?.groupValues?.get(1)?.toIntOrNull()
-                    }?.toString() ?: "1"
+                    appendTabRow(SheetsEntityType.VOLUNTEER, values)
+                        ?: throw IOException("Failed to add volunteer to Google Sheets - no response received")
                     
-                    println("Successfully added volunteer to Google Sheets: ${volunteer.name} (Row: $sheetsId)")
+                    bumpTabRevision(SheetsEntityType.VOLUNTEER)
+                    println("Successfully added volunteer to Google Sheets: ${volunteer.name} (Sync ID: $sheetsId)")
                     sheetsId
                 },
-                operationName = "add volunteer to sheets"
+                operationName = "add volunteer to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to add volunteer to sheets: ${e.message}")
@@ -453,7 +386,7 @@ class GoogleSheetsService(private val context: Context) {
     
     suspend fun updateVolunteerInSheets(volunteer: Volunteer) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
@@ -463,43 +396,16 @@ class GoogleSheetsService(private val context: Context) {
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        volunteer.id.toString(),
-                        volunteer.name,
-                        volunteer.lastNameAbbreviation,
-                        volunteer.email,
-                        volunteer.phoneNumber,
-                        volunteer.dateOfBirth,
-                        volunteer.gender?.let { gender ->
-                            when (gender) {
-                                Gender.FEMALE -> "Female"
-                                Gender.MALE -> "Male"
-                                Gender.NON_BINARY -> "Non-binary"
-                                Gender.OTHER -> "Other"
-                                Gender.PREFER_NOT_TO_DISCLOSE -> "Prefer not to disclose"
-                            }
-                        } ?: "",
-                        volunteer.currentRank?.name ?: "No Rank",
-                        if (volunteer.isActive) "Yes" else "No",
-                        volunteer.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    val rowNumber = volunteer.sheetsId.toIntOrNull() ?: throw IOException("Invalid sheets ID")
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.update(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getVolunteerSheet()}!A$rowNumber:J$rowNumber",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to update volunteer in Google Sheets - no response received")
-                    }
+                    forgetPushedDigest(settingsManager.getVolunteerSheet())
+                    val values = volunteerRow(volunteer, volunteer.sheetsId)
+                    updateTabRow(SheetsEntityType.VOLUNTEER, volunteer.sheetsId, values)
+                        ?: throw IOException("Volunteer ${volunteer.sheetsId} not found in Google Sheets")
                     
+                    bumpTabRevision(SheetsEntityType.VOLUNTEER)
                     println("Successfully updated volunteer in Google Sheets: ${volunteer.name}")
                 },
-                operationName = "update volunteer in sheets"
+                operationName = "update volunteer in sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to update volunteer in sheets: ${e.message}")
@@ -510,55 +416,34 @@ class GoogleSheetsService(private val context: Context) {
     // Volunteer Operations
     suspend fun syncVolunteersToSheets(volunteers: List<Volunteer>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
+            val values = volunteers.map { volunteer ->
+                volunteerRow(volunteer, volunteer.sheetsId ?: "")
+            }
+            val sheetName = settingsManager.getVolunteerSheet()
+            
+            // The whole payload is skipped when it is identical to the last one pushed
+            val digest = SheetsDeltaEngine.digest(SheetsHeaders.VOLUNTEERS, values)
+            if (isAlreadyPushed(sheetName, digest)) return@withContext
+            
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                // First, clear the entire sheet to prevent duplicate last rows
-                clearSheetRange("${settingsManager.getVolunteerSheet()}!A:Z")
-                println("🧹 Cleared entire volunteers sheet to prevent duplicates")
-                
-                val values = volunteers.map { volunteer ->
-                    listOf(
-                        volunteer.id.toString(),
-                        volunteer.name,
-                        volunteer.lastNameAbbreviation,
-                        volunteer.email,
-                        volunteer.phoneNumber,
-                        volunteer.dateOfBirth,
-                        volunteer.gender?.let { gender ->
-                            when (gender) {
-                                Gender.FEMALE -> "Female"
-                                Gender.MALE -> "Male"
-                                Gender.NON_BINARY -> "Non-binary"
-                                Gender.OTHER -> "Other"
-                                Gender.PREFER_NOT_TO_DISCLOSE -> "Prefer not to disclose"
-                            }
-                        } ?: "",
-                        volunteer.currentRank?.name ?: "No Rank",
-                        if (volunteer.isActive) "Yes" else "No",
-                        volunteer.lastModified.toString()
-                    )
-                }
-                
-                val valueRange = ValueRange()
-                    .setValues(listOf(listOf("ID", "Name", "Abbreviation", "Email", "Phone", "Date of Birth", "Gender", "Rank", "Active", "Last Modified")) + values)
-                
-                val response = sheetsService?.spreadsheets()?.values()?.update(
-                    settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getVolunteerSheet()}!A1",
-                    valueRange
-                )?.setValueInputOption("RAW")?.execute()
-                
-                if (response == null) {
-                    throw IOException("Failed to update volunteers in Google Sheets - no response received")
-                }
-                
-                println("Successfully synced ${volunteers.size} volunteers to Google Sheets")
+                // Only rows that differ from the tab as it is now are written
+                val delta = uploadTabDelta(
+                    entityType = SheetsEntityType.VOLUNTEER,
+                    sheetName = sheetName,
+                    header = SheetsHeaders.VOLUNTEERS,
+                    rows = values,
+                    digest = digest
+                ) { row -> row[VOLUNTEER_COLUMNS - 1] }
+                
+                println("Successfully synced ${volunteers.size} volunteers to Google Sheets (${delta.writes.size} rows written)")
                 },
-                operationName = "sync volunteers to sheets"
+                operationName = "sync volunteers to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to sync volunteers to sheets: ${e.message}")
@@ -570,92 +455,29 @@ class GoogleSheetsService(private val context: Context) {
         }
     }
 
-    suspend fun syncVolunteersFromSheets(): List<Volunteer> = withContext(Dispatchers.IO) {
+    suspend fun syncVolunteersFromSheets(known: List<Volunteer> = emptyList()): List<Volunteer> = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                val response = sheetsService?.spreadsheets()?.values()?.get(
+                val response = backend?.get(
                     settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getVolunteerSheet()}!A2:J"
-                )?.execute()
+                    "${settingsManager.getVolunteerSheet()}!A1:K"
+                )
                 
                 if (response == null) {
                     throw IOException("Failed to retrieve volunteers from Google Sheets - no response received")
                 }
                 
                 val values = response.getValues() ?: emptyList()
-                println("Retrieved ${values.size} volunteer rows from sheets")
+                println("Retrieved ${dataRows(values).size} volunteer rows from sheets")
                 
-                val volunteers = values.mapIndexedNotNull { index, row ->
-                    if (row.size >= 10) {
-                        try {
-                            val rowNumber = index + 2 // +2 because we start from row 2 (after header)
-                            val volunteer = Volunteer(
-                                id = row[0].toString().toLongOrNull() ?: 0L,
-                                sheetsId = rowNumber.toString(),
-                                name = row[1].toString(),
-                                lastNameAbbreviation = row[2].toString(),
-                                email = row[3].toString(),
-                                phoneNumber = row[4].toString(),
-                                dateOfBirth = row[5].toString(),
-                                gender = try {
-                                    val genderString = row[6].toString()
-                                    if (genderString.isBlank()) {
-                                        null
-                                    } else {
-                                        when (genderString) {
-                                            "Female" -> Gender.FEMALE
-                                            "Male" -> Gender.MALE
-                                            "Non-binary" -> Gender.NON_BINARY
-                                            "Other" -> Gender.OTHER
-                                            "Prefer not to disclose" -> Gender.PREFER_NOT_TO_DISCLOSE
-                                            else -> null
-                                        }
-                                    }
-                                } catch (e: Exception) {
-                                    println("Failed to parse volunteer gender '${row[6]}' for volunteer '${row[1]}', setting to null")
-                                    null
-                                },
-                                currentRank = try {
-                                    val rankString = row[7].toString()
-                                    if (rankString == "No Rank" || rankString.isBlank()) {
-                                        null
-                                    } else {
-                                        VolunteerRank.valueOf(rankString)
-                                    }
-                                } catch (e: Exception) {
-                                    println("Failed to parse volunteer rank '${row[7]}' for volunteer '${row[1]}', setting to null")
-                                    null
-                                },
-                                isActive = try {
-                                    row[8].toString().equals("Yes", ignoreCase = true)
-                                } catch (e: Exception) {
-                                    println("Failed to parse volunteer active status for volunteer '${row[1]}', setting to true")
-                                    true
-                                },
-                                lastModified = try {
-                                    row[9].toString().toLongOrNull() ?: System.currentTimeMillis()
-                                } catch (e: Exception) {
-                                    println("Failed to parse volunteer last modified for volunteer '${row[1]}', setting to current time")
-                                    System.currentTimeMillis()
-                                }
-                            )
-                            volunteer
-                        } catch (e: Exception) {
-                            println("Failed to parse volunteer row ${index + 2}: ${e.message}")
-                            println("Row data: ${row.joinToString(", ")}")
-                            null
-                        }
-                    } else {
-                        println("Skipping volunteer row ${index + 2} - insufficient columns: ${row.size} (expected 10)")
-                        println("Row data: ${row.joinToString(", ")}")
-                        null
-                    }
-                }
+                checkPushedDigest(settingsManager.getVolunteerSheet(), values, VOLUNTEER_COLUMNS)
+                rememberDownloadedTab(SheetsEntityType.VOLUNTEER, values)
+                val volunteers = parsing(SheetsEntityType.VOLUNTEER) { parseVolunteerRows(values, known) }
                 
                 println("Successfully parsed ${volunteers.size} volunteers")
                 volunteers
@@ -675,44 +497,25 @@ class GoogleSheetsService(private val context: Context) {
     // Single Job Operations (App Priority)
     suspend fun addJobToSheets(job: Job, venues: List<VenueEntity>): String? = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             val sheetsId = ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        job.volunteerId.toString(),
-                        job.jobTypeName,
-                        job.venueName,
-                        job.date.toString(),
-                        job.shiftTime.name,
-                        job.notes,
-                        job.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.append(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getJobsSheet()}!A:G",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to add job to Google Sheets - no response received")
-                    }
+                    forgetPushedDigest(settingsManager.getJobsSheet())
+                    val sheetsId = SheetsRowIds.resolve(job.sheetsId)
+                    val values = jobRow(job, sheetsId)
                     
-                    // Update the job with the sheets ID (row number)
-                    val sheetsId = response.updates?.updatedRange?.let { range ->
-                        val match = Regex(".*!A(\\d+):G\\d+").find(range)
-                        match?.groupValues?.get(1)?.toIntOrNull()
-                    }?.toString() ?: "1"
+                    appendTabRow(SheetsEntityType.JOB, values)
+                        ?: throw IOException("Failed to add job to Google Sheets - no response received")
                     
-                    println("Successfully added job to Google Sheets: ${job.jobTypeName} (Row: $sheetsId)")
+                    bumpTabRevision(SheetsEntityType.JOB)
+                    println("Successfully added job to Google Sheets: ${job.jobTypeName} (Sync ID: $sheetsId)")
                     sheetsId
                 },
-                operationName = "add job to sheets"
+                operationName = "add job to sheets",
+                cost = RequestCost.WRITE
             )
             
             sheetsId
@@ -724,7 +527,7 @@ class GoogleSheetsService(private val context: Context) {
     
     suspend fun updateJobInSheets(job: Job, venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
@@ -734,32 +537,16 @@ class GoogleSheetsService(private val context: Context) {
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        job.volunteerId.toString(),
-                        job.jobTypeName,
-                        job.venueName,
-                        job.date.toString(),
-                        job.shiftTime.name,
-                        job.notes,
-                        job.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    val rowNumber = job.sheetsId.toIntOrNull() ?: throw IOException("Invalid sheets ID")
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.update(
-                        settingsManager.getSpreadsheetId(),
-                        "${settingsManager.getJobsSheet()}!A$rowNumber:G$rowNumber",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to update job in Google Sheets - no response received")
-                    }
+                    forgetPushedDigest(settingsManager.getJobsSheet())
+                    val values = jobRow(job, job.sheetsId)
+                    updateTabRow(SheetsEntityType.JOB, job.sheetsId, values)
+                        ?: throw IOException("Job ${job.sheetsId} not found in Google Sheets")
                     
+                    bumpTabRevision(SheetsEntityType.JOB)
                     println("Successfully updated job in Google Sheets: ${job.jobTypeName}")
                 },
-                operationName = "update job in sheets"
+                operationName = "update job in sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to update job in sheets: ${e.message}")
@@ -770,48 +557,36 @@ class GoogleSheetsService(private val context: Context) {
     // Job Operations
     suspend fun syncJobsToSheets(jobs: List<Job>, venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
-            println("🔄 Syncing ${jobs.size} jobs to Google Sheets (OVERWRITE MODE)...")
+            println("🔄 Syncing ${jobs.size} jobs to Google Sheets (DELTA MODE)...")
+            
+            val values = jobs.map { job ->
+                jobRow(job, job.sheetsId ?: "")
+            }
+            val sheetName = settingsManager.getJobsSheet()
+            
+            // The whole payload is skipped when it is identical to the last one pushed
+            val digest = SheetsDeltaEngine.digest(SheetsHeaders.JOBS, values)
+            if (isAlreadyPushed(sheetName, digest)) return@withContext
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                // First, clear the entire sheet to prevent duplicate last rows
-                clearSheetRange("${settingsManager.getJobsSheet()}!A:Z")
-                println("🧹 Cleared entire jobs sheet to prevent duplicates")
-                
-                val values = jobs.map { job ->
-                    listOf(
-                        job.volunteerId.toString(),
-                        job.jobTypeName, // Use the personalized job type name
-                        job.venueName,
-                        job.date.toString(),
-                        job.shiftTime.name,
-                        job.notes,
-                        job.lastModified.toString()
-                    )
-                }
-                
-                val valueRange = ValueRange()
-                    .setValues(listOf(listOf("Volunteer ID", "Job Type", "Venue", "Date", "Shift Time", "Notes", "Last Modified")) + values)
-                
-                println("📤 Sending ${values.size + 1} rows (including header) to Google Sheets...")
-                
-                val response = sheetsService?.spreadsheets()?.values()?.update(
-                    settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getJobsSheet()}!A1",
-                    valueRange
-                )?.setValueInputOption("RAW")?.execute()
-                
-                if (response == null) {
-                    throw IOException("Failed to update jobs in Google Sheets - no response received")
-                }
-                
-                println("✅ Successfully synced ${jobs.size} jobs to Google Sheets (overwrote entire sheet)")
+                // Only rows that differ from the tab as it is now are written
+                val delta = uploadTabDelta(
+                    entityType = SheetsEntityType.JOB,
+                    sheetName = sheetName,
+                    header = SheetsHeaders.JOBS,
+                    rows = values,
+                    digest = digest
+                ) { row -> row[JOB_COLUMNS - 1] }
+                
+                println("✅ Successfully synced ${jobs.size} jobs to Google Sheets (${delta.writes.size} rows written)")
                 },
-                operationName = "sync jobs to sheets"
+                operationName = "sync jobs to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("❌ Failed to sync jobs to sheets: ${e.message}")
@@ -823,56 +598,29 @@ class GoogleSheetsService(private val context: Context) {
         }
     }
 
-    suspend fun syncJobsFromSheets(_jobTypeConfigs: List<JobTypeConfig> = emptyList()): List<Job> = withContext(Dispatchers.IO) {
+    suspend fun syncJobsFromSheets(_jobTypeConfigs: List<JobTypeConfig> = emptyList(), known: List<Job> = emptyList()): List<Job> = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                val response = sheetsService?.spreadsheets()?.values()?.get(
+                val response = backend?.get(
                     settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getJobsSheet()}!A2:G"
-                )?.execute()
+                    "${settingsManager.getJobsSheet()}!A1:H"
+                )
                 
                 if (response == null) {
                     throw IOException("Failed to retrieve jobs from Google Sheets - no response received")
                 }
                 
                 val values = response.getValues() ?: emptyList()
-                println("Retrieved ${values.size} job rows from sheets")
+                println("Retrieved ${dataRows(values).size} job rows from sheets")
                 
-                val jobs = values.mapIndexedNotNull { index, row ->
-                    if (row.size >= 7) {
-                        try {
-                            val rowNumber = index + 2 // +2 because we start from row 2 (after header)
-                            val jobTypeName = row[1].toString()
-                            
-                            // For custom job types, always use OTHER as the enum value
-                            // The actual job type name is stored in jobTypeName field
-                            val jobType = JobType.OTHER
-                            
-                            Job(
-                                sheetsId = rowNumber.toString(),
-                                volunteerId = row[0].toString().toLongOrNull() ?: 0L,
-                                jobType = jobType,
-                                jobTypeName = jobTypeName, // Store the actual job type name
-                                venueName = row[2].toString(),
-                                date = row[3].toString().toLongOrNull() ?: System.currentTimeMillis(),
-                                shiftTime = ShiftTime.valueOf(row[4].toString()),
-                                notes = row[5].toString(),
-                                lastModified = row[6].toString().toLongOrNull() ?: System.currentTimeMillis()
-                            )
-                        } catch (e: Exception) {
-                            println("Failed to parse job row ${index + 2}: ${e.message}")
-                            null
-                        }
-                    } else {
-                        println("Skipping job row ${index + 2} - insufficient columns: ${row.size}")
-                        null
-                    }
-                }
+                checkPushedDigest(settingsManager.getJobsSheet(), values, JOB_COLUMNS)
+                rememberDownloadedTab(SheetsEntityType.JOB, values)
+                val jobs = parsing(SheetsEntityType.JOB) { parseJobRows(values, known) }
                 
                 println("Successfully parsed ${jobs.size} jobs")
                 jobs
@@ -899,44 +647,25 @@ class GoogleSheetsService(private val context: Context) {
     // Single Job Type Operations (App Priority)
     suspend fun addJobTypeToSheets(config: JobTypeConfig) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        config.name,
-                        if (config.isActive) "Active" else "Inactive",
-                        if (config.isShiftJob) "Yes" else "No",
-                        if (config.isOrionJob) "Yes" else "No",
-                        if (config.requiresShiftTime) "Yes" else "No",
-                        config.description,
-                        config.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.append(
-                        settingsManager.getSpreadsheetId(),
-                        "JobTypes!A:G",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
+                    forgetPushedDigest("JobTypes")
+                    val sheetsId = SheetsRowIds.resolve(config.sheetsId)
+                    val values = jobTypeRow(config, sheetsId)
                     
-                    if (response == null) {
-                        throw IOException("Failed to add job type to Google Sheets - no response received")
-                    }
+                    appendTabRow(SheetsEntityType.JOB_TYPE, values)
+                        ?: throw IOException("Failed to add job type to Google Sheets - no response received")
                     
-                    // Update the job type with the sheets ID (row number)
-                    val sheetsId = response.updates?.updatedRange?.let { range ->
-                        val match = Regex(".*!A(\\d+):G\\d+").find(range)
-                        match?.groupValues?.get(1)?.toIntOrNull()
-                    }?.toString() ?: "1"
-                    
-                    println("Successfully added job type to Google Sheets: ${config.name} (Row: $sheetsId)")
+                    bumpTabRevision(SheetsEntityType.JOB_TYPE)
+                    println("Successfully added job type to Google Sheets: ${config.name} (Sync ID: $sheetsId)")
                     sheetsId
                 },
-                operationName = "add job type to sheets"
+                operationName = "add job type to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to add job type to sheets: ${e.message}")
@@ -946,7 +675,7 @@ class GoogleSheetsService(private val context: Context) {
     
     suspend fun updateJobTypeInSheets(config: JobTypeConfig) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
@@ -956,32 +685,16 @@ class GoogleSheetsService(private val context: Context) {
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val values = listOf(
-                        config.name,
-                        if (config.isActive) "Active" else "Inactive",
-                        if (config.isShiftJob) "Yes" else "No",
-                        if (config.isOrionJob) "Yes" else "No",
-                        if (config.requiresShiftTime) "Yes" else "No",
-                        config.description,
-                        config.lastModified.toString()
-                    )
-                    
-                    val valueRange = ValueRange().setValues(listOf(values))
-                    val rowNumber = config.sheetsId.toIntOrNull() ?: throw IOException("Invalid sheets ID")
-                    
-                    val response = sheetsService?.spreadsheets()?.values()?.update(
-                        settingsManager.getSpreadsheetId(),
-                        "JobTypes!A$rowNumber:G$rowNumber",
-                        valueRange
-                    )?.setValueInputOption("RAW")?.execute()
-                    
-                    if (response == null) {
-                        throw IOException("Failed to update job type in Google Sheets - no response received")
-                    }
+                    forgetPushedDigest("JobTypes")
+                    val values = jobTypeRow(config, config.sheetsId)
+                    updateTabRow(SheetsEntityType.JOB_TYPE, config.sheetsId, values)
+                        ?: throw IOException("Job type ${config.sheetsId} not found in Google Sheets")
                     
+                    bumpTabRevision(SheetsEntityType.JOB_TYPE)
                     println("Successfully updated job type in Google Sheets: ${config.name}")
                 },
-                operationName = "update job type in sheets"
+                operationName = "update job type in sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("Failed to update job type in sheets: ${e.message}")
@@ -989,55 +702,115 @@ class GoogleSheetsService(private val context: Context) {
         }
     }
 
+    /**
+     * Builds a Guests row in the current 7-column layout
+     */
+    private fun guestRow(guest: Guest, sheetsId: String): List<String> {
+        return listOf(
+            guest.name,
+            guest.invitations.toString(),
+            guest.venueName,
+            guest.notes,
+            if (guest.isVolunteerBenefit) "Yes" else "No",
+            guest.lastModified.toString(),
+            sheetsId
+        )
+    }
+    
+    /**
+     * Builds a Volunteers row in the current 11-column layout
+     */
+    private fun volunteerRow(volunteer: Volunteer, sheetsId: String): List<String> {
+        return listOf(
+            volunteer.id.toString(),
+            volunteer.name,
+            volunteer.lastNameAbbreviation,
+            volunteer.email,
+            volunteer.phoneNumber,
+            volunteer.dateOfBirth,
+            volunteer.gender?.let { gender ->
+                when (gender) {
+                    Gender.FEMALE -> "Female"
+                    Gender.MALE -> "Male"
+                    Gender.NON_BINARY -> "Non-binary"
+                    Gender.OTHER -> "Other"
+                    Gender.PREFER_NOT_TO_DISCLOSE -> "Prefer not to disclose"
+                }
+            } ?: "",
+            volunteer.currentRank?.name ?: "No Rank",
+            if (volunteer.isActive) "Yes" else "No",
+            volunteer.lastModified.toString(),
+            sheetsId
+        )
+    }
+    
+    /**
+     * Builds a Jobs row in the current 8-column layout
+     */
+    private fun jobRow(job: Job, sheetsId: String): List<String> {
+        return listOf(
+            job.volunteerId.toString(),
+            job.jobTypeName, // Use the personalized job type name
+            job.venueName,
+            job.date.toString(),
+            job.shiftTime.name,
+            job.notes,
+            job.lastModified.toString(),
+            sheetsId
+        )
+    }
+    
+    /**
+     * Builds a JobTypes row in the current 10-column layout
+     */
+    private fun jobTypeRow(config: JobTypeConfig, sheetsId: String): List<String> {
+        return listOf(
+            config.name,
+            if (config.isActive) "Active" else "Inactive",
+            if (config.isShiftJob) "Yes" else "No",
+            if (config.isOrionJob) "Yes" else "No",
+            if (config.requiresShiftTime) "Yes" else "No",
+            config.benefitSystemType.name,
+            config.manualRewards?.let { rewards ->
+                "${rewards.durationDays}|${rewards.freeDrinks}|${rewards.barDiscountPercentage}|${rewards.freeEntry}|${rewards.invites}|${rewards.otherNotes}"
+            } ?: "",
+            config.description,
+            config.lastModified.toString(),
+            sheetsId
+        )
+    }
+    
     // Job Type Config Operations
     suspend fun syncJobTypeConfigsToSheets(jobTypeConfigs: List<JobTypeConfig>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
-            println("🔄 Syncing ${jobTypeConfigs.size} job types to Google Sheets (OVERWRITE MODE)...")
+            println("🔄 Syncing ${jobTypeConfigs.size} job types to Google Sheets (DELTA MODE)...")
+            
+            val values = jobTypeConfigs.map { config -> jobTypeRow(config, config.sheetsId ?: "") }
+            val sheetName = "JobTypes"
+            
+            // The whole payload is skipped when it is identical to the last one pushed
+            val digest = SheetsDeltaEngine.digest(SheetsHeaders.JOB_TYPES, values)
+            if (isAlreadyPushed(sheetName, digest)) return@withContext
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                // First, clear the entire sheet to prevent duplicate last rows
-                clearSheetRange("JobTypes!A:Z")
-                println("🧹 Cleared entire job types sheet to prevent duplicates")
-                
-                val values = jobTypeConfigs.map { config ->
-                    listOf(
-                        config.name,
-                        if (config.isActive) "Active" else "Inactive",
-                        if (config.isShiftJob) "Yes" else "No",
-                        if (config.isOrionJob) "Yes" else "No",
-                        if (config.requiresShiftTime) "Yes" else "No",
-                        config.benefitSystemType.name,
-                        config.manualRewards?.let { rewards ->
-                            "${rewards.durationDays}|${rewards.freeDrinks}|${rewards.barDiscountPercentage}|${rewards.freeEntry}|${rewards.invites}|${rewards.otherNotes}"
-                        } ?: "",
-                        config.description,
-                        config.lastModified.toString()
-                    )
-                }
-                
-                val valueRange = ValueRange()
-                    .setValues(listOf(listOf("Name", "Status", "Shift Type", "Orion Type", "Requires Time", "Benefit System", "Manual Rewards", "Description", "Last Modified")) + values)
-                
-                println("📤 Sending ${values.size + 1} rows (including header) to Google Sheets...")
-                
-                val response = sheetsService?.spreadsheets()?.values()?.update(
-                    settingsManager.getSpreadsheetId(),
-                    "JobTypes!A1",
-                    valueRange
-                )?.setValueInputOption("RAW")?.execute()
-                
-                if (response == null) {
-                    throw IOException("Failed to update job type configs in Google Sheets - no response received")
-                }
-                
-                println("✅ Successfully synced ${jobTypeConfigs.size} job types to Google Sheets (overwrote entire sheet)")
+                // Only rows that differ from the tab as it is now are written
+                val delta = uploadTabDelta(
+                    entityType = SheetsEntityType.JOB_TYPE,
+                    sheetName = sheetName,
+                    header = SheetsHeaders.JOB_TYPES,
+                    rows = values,
+                    digest = digest
+                ) { row -> row[JOB_TYPE_COLUMNS - 1] }
+                
+                println("✅ Successfully synced ${jobTypeConfigs.size} job types to Google Sheets (${delta.writes.size} rows written)")
                 },
-                operationName = "sync job type configs to sheets"
+                operationName = "sync job type configs to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("❌ Failed to sync job type configs to sheets: ${e.message}")
@@ -1051,94 +824,27 @@ class GoogleSheetsService(private val context: Context) {
 
     suspend fun syncJobTypeConfigsFromSheets(): List<JobTypeConfig> = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                val response = sheetsService?.spreadsheets()?.values()?.get(
+                val response = backend?.get(
                     settingsManager.getSpreadsheetId(),
-                    "JobTypes!A2:I"
-                )?.execute()
+                    "JobTypes!A1:J"
+                )
                 
                 if (response == null) {
                     throw IOException("Failed to retrieve job type configs from Google Sheets - no response received")
                 }
                 
                 val values = response.getValues() ?: emptyList()
-                println("Retrieved ${values.size} job type config rows from sheets")
+                println("Retrieved ${dataRows(values).size} job type config rows from sheets")
                 
-                val configs = values.mapIndexedNotNull { index, row ->
-                    if (row.size >= 9) {
-                        try {
-                            // Parse benefit system type
-                            val benefitSystemType = try {
-                                BenefitSystemType.valueOf(row[5].toString())
-                            } catch (e: Exception) {
-                                BenefitSystemType.STELLAR // Default to STELLAR for backward compatibility
-                            }
-                            
-                            // Parse manual rewards
-                            val manualRewards = if (row[6].toString().isNotEmpty()) {
-                                try {
-                                    val parts = row[6].toString().split("|")
-                                    if (parts.size == 6) {
-                                        ManualRewards(
-                                            durationDays = parts[0].toIntOrNull() ?: 1,
-                                            freeDrinks = parts[1].toIntOrNull() ?: 0,
-                                            barDiscountPercentage = parts[2].toIntOrNull() ?: 0,
-                                            freeEntry = parts[3].toBooleanStrictOrNull() ?: false,
-                                            invites = parts[4].toIntOrNull() ?: 0,
-                                            otherNotes = parts[5]
-                                        )
-                                    } else null
-                                } catch (e: Exception) {
-                                    println("Failed to parse manual rewards for row ${index + 2}: ${e.message}")
-                                    null
-                                }
-                            } else null
-                            
-                            JobTypeConfig(
-                                id = 0, // Will be set by database
-                                name = row[0].toString(),
-                                isActive = row[1].toString().equals("Active", ignoreCase = true),
-                                isShiftJob = row[2].toString().equals("Yes", ignoreCase = true),
-                                isOrionJob = row[3].toString().equals("Yes", ignoreCase = true),
-                                requiresShiftTime = row[4].toString().equals("Yes", ignoreCase = true),
-                                benefitSystemType = benefitSystemType,
-                                manualRewards = manualRewards,
-                                description = row[7].toString(),
-                                lastModified = row[8].toString().toLongOrNull() ?: System.currentTimeMillis()
-                            )
-                        } catch (e: Exception) {
-                            println("Failed to parse job type config row ${index + 2}: ${e.message}")
-                            null
-                        }
-                    } else if (row.size >= 7) {
-                        // Backward compatibility for old format (7 columns)
-                        try {
-                            JobTypeConfig(
-                                id = 0, // Will be set by database
-                                name = row[0].toString(),
-                                isActive = row[1].toString().equals("Active", ignoreCase = true),
-                                isShiftJob = row[2].toString().equals("Yes", ignoreCase = true),
-                                isOrionJob = row[3].toString().equals("Yes", ignoreCase = true),
-                                requiresShiftTime = row[4].toString().equals("Yes", ignoreCase = true),
-                                benefitSystemType = BenefitSystemType.STELLAR, // Default for old format
-                                manualRewards = null, // No manual rewards in old format
-                                description = row[5].toString(),
-                                lastModified = row[6].toString().toLongOrNull() ?: System.currentTimeMillis()
-                            )
-                        } catch (e: Exception) {
-                            println("Failed to parse job type config row ${index + 2} (old format): ${e.message}")
-                            null
-                        }
-                    } else {
-                        println("Skipping job type config row ${index + 2} - insufficient columns: ${row.size}")
-                        null
-                    }
-                }
+                checkPushedDigest("JobTypes", values, JOB_TYPE_COLUMNS)
+                rememberDownloadedTab(SheetsEntityType.JOB_TYPE, values)
+                val configs = parsing(SheetsEntityType.JOB_TYPE) { parseJobTypeConfigRows(values) }
                 
                 println("Successfully parsed ${configs.size} job type configs")
                 configs
@@ -1158,45 +864,42 @@ class GoogleSheetsService(private val context: Context) {
     // Venue Operations
     suspend fun syncVenuesToSheets(venues: List<VenueEntity>) = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
-            println("🔄 Syncing ${venues.size} venues to Google Sheets (OVERWRITE MODE)...")
+            println("🔄 Syncing ${venues.size} venues to Google Sheets (DELTA MODE)...")
+            
+            val values = venues.map { venue ->
+                listOf(
+                    venue.name,
+                    venue.description,
+                    if (venue.isActive) "Active" else "Inactive",
+                    venue.lastModified.toString(),
+                    venue.sheetsId ?: ""
+                )
+            }
+            val sheetName = settingsManager.getVenuesSheet()
+            
+            // The whole payload is skipped when it is identical to the last one pushed
+            val digest = SheetsDeltaEngine.digest(SheetsHeaders.VENUES, values)
+            if (isAlreadyPushed(sheetName, digest)) return@withContext
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                // First, clear the entire sheet to prevent duplicate last rows
-                clearSheetRange("${settingsManager.getVenuesSheet()}!A:Z")
-                println("🧹 Cleared entire venues sheet to prevent duplicates")
-                
-                val values = venues.map { venue ->
-                    listOf(
-                        venue.name,
-                        venue.description,
-                        if (venue.isActive) "Active" else "Inactive",
-                        venue.lastModified.toString()
-                    )
-                }
-                
-                val valueRange = ValueRange()
-                    .setValues(listOf(listOf("Name", "Description", "Status", "Last Modified")) + values)
-                
-                println("📤 Sending ${values.size + 1} rows (including header) to Google Sheets...")
-                
-                val response = sheetsService?.spreadsheets()?.values()?.update(
-                    settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getVenuesSheet()}!A1",
-                    valueRange
-                )?.setValueInputOption("RAW")?.execute()
-                
-                if (response == null) {
-                    throw IOException("Failed to update venues in Google Sheets - no response received")
-                }
-                
-                println("✅ Successfully synced ${venues.size} venues to Google Sheets (overwrote entire sheet)")
+                // Only rows that differ from the tab as it is now are written
+                val delta = uploadTabDelta(
+                    entityType = SheetsEntityType.VENUE,
+                    sheetName = sheetName,
+                    header = SheetsHeaders.VENUES,
+                    rows = values,
+                    digest = digest
+                ) { row -> row[VENUE_COLUMNS - 1] }
+                
+                println("✅ Successfully synced ${venues.size} venues to Google Sheets (${delta.writes.size} rows written)")
                 },
-                operationName = "sync venues to sheets"
+                operationName = "sync venues to sheets",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
             println("❌ Failed to sync venues to sheets: ${e.message}")
@@ -1210,45 +913,27 @@ class GoogleSheetsService(private val context: Context) {
 
     suspend fun syncVenuesFromSheets(): List<VenueEntity> = withContext(Dispatchers.IO) {
         try {
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                val response = sheetsService?.spreadsheets()?.values()?.get(
+                val response = backend?.get(
                     settingsManager.getSpreadsheetId(),
-                    "${settingsManager.getVenuesSheet()}!A2:D"
-                )?.execute()
+                    "${settingsManager.getVenuesSheet()}!A1:E"
+                )
                 
                 if (response == null) {
                     throw IOException("Failed to retrieve venues from Google Sheets - no response received")
                 }
                 
                 val values = response.getValues() ?: emptyList()
-                println("Retrieved ${values.size} venue rows from sheets")
+                println("Retrieved ${dataRows(values).size} venue rows from sheets")
                 
-                val venues = values.mapIndexedNotNull { index, row ->
-                    if (row.size >= 4) {
-                        try {
-                            val rowNumber = index + 2 // +2 because we start from row 2 (after header)
-                            VenueEntity(
-                                id = 0, // Will be set by database
-                                sheetsId = rowNumber.toString(),
-                                name = row[0].toString(),
-                                description = row[1].toString(),
-                                isActive = row[2].toString().equals("Active", ignoreCase = true),
-                                lastModified = row[3].toString().toLongOrNull() ?: System.currentTimeMillis()
-                            )
-                        } catch (e: Exception) {
-                            println("Failed to parse venue row ${index + 2}: ${e.message}")
-                            null
-                        }
-                    } else {
-                        println("Skipping venue row ${index + 2} - insufficient columns: ${row.size}")
-                        null
-                    }
-                }
+                checkPushedDigest(settingsManager.getVenuesSheet(), values, VENUE_COLUMNS)
+                rememberDownloadedTab(SheetsEntityType.VENUE, values)
+                val venues = parsing(SheetsEntityType.VENUE) { parseVenueRows(values) }
                 
                 println("Successfully parsed ${venues.size} venues")
                 venues
@@ -1288,79 +973,403 @@ class GoogleSheetsService(private val context: Context) {
         return Triple(guests, volunteers, jobs)
     }
     
-    // Public access methods for validators
-    fun getSheetsService() = sheetsService
-    fun getContext() = context
-    
-    // Test method to verify API connection
-    suspend fun testConnection(): Boolean = withContext(Dispatchers.IO) {
+    /**
+     * Downloads every configured tab, or only [tabs], with a single batchGet request.
+     * Ranges are requested in a fixed order so each ValueRange maps back to its tab,
+     * which lets a full pull cost one round trip and one share of quota.
+     * Guest, volunteer and job rows whose hash matches an entity in [known] reuse that
+     * entity instead of being decoded again.
+     */
+    suspend fun syncAllTabsFromSheets(
+        tabs: Set<SheetsEntityType> = SheetsRevisions.TABS.toSet(),
+        known: SheetsSnapshot = SheetsSnapshot(tabs = emptySet())
+    ): SheetsSnapshot = withContext(Dispatchers.IO) {
         try {
-            println("=== TESTING GOOGLE SHEETS CONNECTION ===")
-            
-            if (sheetsService == null) {
-                println("Sheets service is null, initializing...")
+            if (backend == null) {
                 initializeSheetsService()
             }
             
-            val spreadsheetId = settingsManager.getSpreadsheetId()
-            println("Spreadsheet ID: $spreadsheetId")
-            
-            if (spreadsheetId.isBlank() || spreadsheetId == "YOUR_SPREADSHEET_ID_HERE") {
-                throw IOException("Spreadsheet ID is not configured properly. Please set it in Settings.")
+            ApiRateLimitHandler.executeWithRetry(
+                operation = {
+                    val spreadsheetId = settingsManager.getSpreadsheetId()
+                    val requested = SheetsRevisions.TABS.filter { it in tabs }
+                    if (requested.isEmpty()) {
+                        return@executeWithRetry SheetsSnapshot(tabs = emptySet())
+                    }
+                    val ranges = requested.map { entityType ->
+                        val (sheetName, header) = tabOf(entityType)!!
+                        "${a1(sheetName)}!A1:${SheetsDeltaEngine.columnLetter(header.size)}"
+                    }
+                    
+                    println("Batch reading ${ranges.size} ranges from spreadsheet: $spreadsheetId")
+                    
+                    val response = backend?.batchGet(spreadsheetId, ranges)
+                    
+                    if (response == null) {
+                        throw IOException("Failed to batch retrieve data from Google Sheets - no response received")
+                    }
+                    
+                    val valueRanges = response.valueRanges ?: emptyList()
+                    if (valueRanges.size != ranges.size) {
+                        throw IOException("Batch read returned ${valueRanges.size} ranges, expected ${ranges.size}")
+                    }
+                    
+                    val tabValues = requested.zip(valueRanges) { entityType, valueRange ->
+                        val (sheetName, header) = tabOf(entityType)!!
+                        val values = valueRange.getValues() ?: emptyList()
+                        checkPushedDigest(sheetName, values, header.size)
+                        rememberDownloadedTab(entityType, values)
+                        entityType to values
+                    }.toMap()
+                    
+                    // Tabs are independent, so they are parsed concurrently
+                    val snapshot = coroutineScope {
+                        fun <T> parseAsync(entityType: SheetsEntityType, parse: suspend (List<List<Any>>) -> List<T>) =
+                            async(Dispatchers.Default) { tabValues[entityType]?.let { values -> parsing(entityType) { parse(values) } } ?: emptyList() }
+                        
+                        val guests = parseAsync(SheetsEntityType.GUEST) { parseGuestRows(it, known.guests) }
+                        val volunteers = parseAsync(SheetsEntityType.VOLUNTEER) { parseVolunteerRows(it, known.volunteers) }
+                        val jobs = parseAsync(SheetsEntityType.JOB) { parseJobRows(it, known.jobs) }
+                        val jobTypeConfigs = parseAsync(SheetsEntityType.JOB_TYPE) { parseJobTypeConfigRows(it) }
+                        val venues = parseAsync(SheetsEntityType.VENUE) { parseVenueRows(it) }
+                        
+                        SheetsSnapshot(
+                            guests = guests.await(),
+                            volunteers = volunteers.await(),
+                            jobs = jobs.await(),
+                            jobTypeConfigs = jobTypeConfigs.await(),
+                            venues = venues.await(),
+                            tabs = requested.toSet()
+                        )
+                    }
+                    
+                    println("Successfully parsed batch: ${snapshot.summary()}")
+                    snapshot
+                },
+                operationName = "batch sync all tabs from sheets"
+            )
+        } catch (e: Exception) {
+            println("Failed to batch sync from sheets: ${e.message}")
+            if (e.message?.contains("429") == true || e.message?.contains("Rate limit") == true) {
+                throw IOException(ApiRateLimitHandler.getBriefRateLimitMessage(), e)
+            } else {
+                throw IOException(createNetworkErrorMessage("sync data from Google Sheets", e), e)
             }
-            
-            // Try to get spreadsheet metadata
-            println("Attempting to connect to spreadsheet...")
-            val spreadsheet = sheetsService?.spreadsheets()?.get(spreadsheetId)?.execute()
-            if (spreadsheet != null) {
-                println("✅ Successfully connected to spreadsheet: ${spreadsheet.properties?.title}")
-                
-                // Test reading from each sheet
-                val guestSheetName = settingsManager.getGuestListSheet()
-                val volunteerSheetName = settingsManager.getVolunteerSheet()
-                val jobsSheetName = settingsManager.getJobsSheet()
-                
-                println("Testing sheet access...")
-                println("- Guest sheet: $guestSheetName")
-                println("- Volunteer sheet: $volunteerSheetName")
-                println("- Jobs sheet: $jobsSheetName")
-                
-                // Test guest sheet access
-                try {
-                    val guestResponse = sheetsService?.spreadsheets()?.values()?.get(
-                        spreadsheetId, "${guestSheetName}!A1:F1"
-                    )?.execute()
-                    println("✅ Guest sheet accessible, headers: ${guestResponse?.getValues()?.firstOrNull()}")
-                } catch (e: Exception) {
-                    println("❌ Guest sheet error: ${e.message}")
-                }
-                
-                // Test volunteer sheet access
-                try {
-                    val volunteerResponse = sheetsService?.spreadsheets()?.values()?.get(
-                        spreadsheetId, "${volunteerSheetName}!A1:H1"
-                    )?.execute()
-                    println("✅ Volunteer sheet accessible, headers: ${volunteerResponse?.getValues()?.firstOrNull()}")
-                } catch (e: Exception) {
-                    println("❌ Volunteer sheet error: ${e.message}")
-                }
-                
-                // Test jobs sheet access
-                try {
-                    val jobsResponse = sheetsService?.spreadsheets()?.values()?.get(
-                        spreadsheetId, "${jobsSheetName}!A1:G1"
-                    )?.execute()
-                    println("✅ Jobs sheet accessible, headers: ${jobsResponse?.getValues()?.firstOrNull()}")
-                } catch (e: Exception) {
-                    println("❌ Jobs sheet error: ${e.message}")
-                }
-                
-                // Test JobTypes sheet access
-                try {
-                    val jobTypesResponse = sheetsService?.spreadsheets()?.values()?.get(
-                        spreadsheetId, "JobTypes!A1:G1"
-                    )?.execute()
-                    println("✅ JobTypes sheet accessible, headers: ${jobTypesResponse?.getValues()?.firstOrNull()}")
+        }
+    }
+
+    /**
+     * Reads the Sync ID cell of a row, falling back to the row number for rows
+     * written before the Sync ID column existed
+     */
+    private fun syncIdOf(decoder: SheetsRowDecoder, row: List<Any>, column: Int, rowNumber: Int): String {
+        return decoder.string(row, column).takeIf { SheetsRowIds.isStable(it) } ?: rowNumber.toString()
+    }
+    
+    /**
+     * Decodes the rows of one tab as a PARSE span of the current sync trace
+     */
+    private suspend fun <T> parsing(entityType: SheetsEntityType, parse: suspend () -> List<T>): List<T> =
+        SyncTracer.span(SyncPhase.PARSE, entityType.name) {
+            parse().also { SyncTracer.record(rows = it.size) }
+        }
+    
+    /**
+     * Data rows of a tab read from A1, i.e. without its header row
+     */
+    private fun dataRows(values: List<List<Any>>): List<List<Any>> =
+        if (values.isEmpty()) values else values.subList(1, values.size)
+    
+    /**
+     * Sheets ID to entity index of the local rows that have a content hash, for [parseGuestRows] and siblings
+     */
+    private fun <T> hashedById(known: List<T>, sheetsIdOf: (T) -> String?, hashOf: (T) -> Long): Map<String, T> =
+        known.filter { hashOf(it) != 0L }.mapNotNull { entity -> sheetsIdOf(entity)?.let { it to entity } }.toMap()
+    
+    /**
+     * Parses a guest tab read from A1 into Guest entities. Rows whose content hash matches
+     * a [known] local guest with the same Sync ID reuse that guest instead of being decoded.
+     */
+    private suspend fun parseGuestRows(values: List<List<Any>>, known: List<Guest> = emptyList()): List<Guest> {
+        val decoder = SheetsRowDecoder("Guests", values.firstOrNull(), SheetsHeaders.GUESTS)
+        decoder.requireColumns()
+        val name = decoder.column("Name")
+        val invitations = decoder.column("Invitations")
+        val venue = decoder.column("Venue")
+        val notes = decoder.column("Notes")
+        val volunteerBenefit = decoder.column("Volunteer Benefit")
+        val lastModified = decoder.column("Last Modified")
+        val syncId = decoder.column(SheetsRowIds.HEADER)
+        val hashColumns = decoder.hashColumns("Last Modified", SheetsRowIds.HEADER)
+        val knownById = hashedById(known, { it.sheetsId }, { it.syncHash })
+        
+        return decoder.decodeAll(dataRows(values)) { row, rowNumber ->
+            val hash = decoder.contentHash(row, hashColumns)
+            knownById[decoder.string(row, syncId)]?.takeIf { it.syncHash == hash }?.let { return@decodeAll it }
+            
+            val guestName = decoder.string(row, name)
+            if (guestName.isBlank()) return@decodeAll null
+            Guest(
+                sheetsId = syncIdOf(decoder, row, syncId, rowNumber),
+                name = guestName,
+                invitations = decoder.int(row, invitations) ?: 1,
+                venueName = decoder.string(row, venue),
+                notes = decoder.string(row, notes),
+                isVolunteerBenefit = decoder.flag(row, volunteerBenefit, "Yes"),
+                lastModified = decoder.long(row, lastModified) ?: System.currentTimeMillis(),
+                syncHash = hash
+            )
+        }
+    }
+
+    /**
+     * Parses a volunteer tab read from A1 into Volunteer entities, reusing unchanged [known] volunteers
+     */
+    private suspend fun parseVolunteerRows(values: List<List<Any>>, known: List<Volunteer> = emptyList()): List<Volunteer> {
+        val decoder = SheetsRowDecoder("Volunteers", values.firstOrNull(), SheetsHeaders.VOLUNTEERS)
+        decoder.requireColumns()
+        val id = decoder.column("ID")
+        val name = decoder.column("Name")
+        val abbreviation = decoder.column("Abbreviation")
+        val email = decoder.column("Email")
+        val phone = decoder.column("Phone")
+        val dateOfBirth = decoder.column("Date of Birth")
+        val gender = decoder.column("Gender")
+        val rank = decoder.column("Rank")
+        val active = decoder.column("Active")
+        val lastModified = decoder.column("Last Modified")
+        val syncId = decoder.column(SheetsRowIds.HEADER)
+        val hashColumns = decoder.hashColumns("Last Modified", SheetsRowIds.HEADER)
+        val knownById = hashedById(known, { it.sheetsId }, { it.syncHash })
+        
+        return decoder.decodeAll(dataRows(values)) { row, rowNumber ->
+            val hash = decoder.contentHash(row, hashColumns)
+            knownById[decoder.string(row, syncId)]?.takeIf { it.syncHash == hash }?.let { return@decodeAll it }
+            
+            val volunteerName = decoder.string(row, name)
+            if (volunteerName.isBlank()) return@decodeAll null
+            Volunteer(
+                id = decoder.long(row, id) ?: 0L,
+                sheetsId = syncIdOf(decoder, row, syncId, rowNumber),
+                name = volunteerName,
+                lastNameAbbreviation = decoder.string(row, abbreviation),
+                email = decoder.string(row, email),
+                phoneNumber = decoder.string(row, phone),
+                dateOfBirth = decoder.string(row, dateOfBirth),
+                gender = when (decoder.string(row, gender)) {
+                    "Female" -> Gender.FEMALE
+                    "Male" -> Gender.MALE
+                    "Non-binary" -> Gender.NON_BINARY
+                    "Other" -> Gender.OTHER
+                    "Prefer not to disclose" -> Gender.PREFER_NOT_TO_DISCLOSE
+                    else -> null
+                },
+                // Unknown ranks are dropped rather than rejecting the volunteer
+                currentRank = decoder.string(row, rank).let { rankString ->
+                    VolunteerRank.values().firstOrNull { it.name == rankString }
+                },
+                isActive = decoder.flag(row, active, "Yes"),
+                lastModified = decoder.long(row, lastModified) ?: System.currentTimeMillis(),
+                syncHash = hash
+            )
+        }
+    }
+
+    /**
+     * Parses a shift tab read from A1 into Job entities, reusing unchanged [known] jobs
+     */
+    private suspend fun parseJobRows(values: List<List<Any>>, known: List<Job> = emptyList()): List<Job> {
+        val decoder = SheetsRowDecoder("Jobs", values.firstOrNull(), SheetsHeaders.JOBS)
+        decoder.requireColumns()
+        val volunteerId = decoder.column("Volunteer ID")
+        val jobType = decoder.column("Job Type")
+        val venue = decoder.column("Venue")
+        val date = decoder.column("Date")
+        val shiftTime = decoder.column("Shift Time")
+        val notes = decoder.column("Notes")
+        val lastModified = decoder.column("Last Modified")
+        val syncId = decoder.column(SheetsRowIds.HEADER)
+        val hashColumns = decoder.hashColumns("Last Modified", SheetsRowIds.HEADER)
+        val knownById = hashedById(known, { it.sheetsId }, { it.syncHash })
+        
+        return decoder.decodeAll(dataRows(values)) { row, rowNumber ->
+            val hash = decoder.contentHash(row, hashColumns)
+            knownById[decoder.string(row, syncId)]?.takeIf { it.syncHash == hash }?.let { return@decodeAll it }
+            
+            val jobTypeName = decoder.string(row, jobType)
+            if (jobTypeName.isBlank()) return@decodeAll null
+            Job(
+                sheetsId = syncIdOf(decoder, row, syncId, rowNumber),
+                volunteerId = decoder.long(row, volunteerId) ?: 0L,
+                // For custom job types, always use OTHER as the enum value
+                // The actual job type name is stored in jobTypeName field
+                jobType = JobType.OTHER,
+                jobTypeName = jobTypeName,
+                venueName = decoder.string(row, venue),
+                date = decoder.long(row, date) ?: System.currentTimeMillis(),
+                shiftTime = ShiftTime.valueOf(decoder.string(row, shiftTime)),
+                notes = decoder.string(row, notes),
+                lastModified = decoder.long(row, lastModified) ?: System.currentTimeMillis(),
+                syncHash = hash
+            )
+        }
+    }
+
+    /**
+     * Parses a job type tab read from A1. Sheets without a recognized header and with
+     * 7-column rows are read in the old format, without benefit system and manual rewards.
+     */
+    private suspend fun parseJobTypeConfigRows(values: List<List<Any>>): List<JobTypeConfig> {
+        val decoder = SheetsRowDecoder("JobTypes", values.firstOrNull(), SheetsHeaders.JOB_TYPES)
+        decoder.requireColumns()
+        val name = decoder.column("Name")
+        val status = decoder.column("Status")
+        val shiftType = decoder.column("Shift Type")
+        val orionType = decoder.column("Orion Type")
+        val requiresTime = decoder.column("Requires Time")
+        val benefitSystem = decoder.column("Benefit System")
+        val manualRewards = decoder.column("Manual Rewards")
+        val description = decoder.column("Description")
+        val lastModified = decoder.column("Last Modified")
+        val syncId = decoder.column(SheetsRowIds.HEADER)
+        
+        return decoder.decodeAll(dataRows(values)) { row, rowNumber ->
+            val jobTypeName = decoder.string(row, name)
+            if (jobTypeName.isBlank()) return@decodeAll null
+            val oldFormat = !decoder.hasHeader && row.size < 9
+            
+            val rewardsText = if (oldFormat) "" else decoder.string(row, manualRewards)
+            val parsedRewards = rewardsText.split("|").takeIf { rewardsText.isNotEmpty() && it.size == 6 }?.let { parts ->
+                ManualRewards(
+                    durationDays = parts[0].toIntOrNull() ?: 1,
+                    freeDrinks = parts[1].toIntOrNull() ?: 0,
+                    barDiscountPercentage = parts[2].toIntOrNull() ?: 0,
+                    freeEntry = parts[3].toBooleanStrictOrNull() ?: false,
+                    invites = parts[4].toIntOrNull() ?: 0,
+                    otherNotes = parts[5]
+                )
+            }
+            
+            JobTypeConfig(
+                id = 0, // Will be set by database
+                sheetsId = if (oldFormat) null else syncIdOf(decoder, row, syncId, rowNumber),
+                name = jobTypeName,
+                isActive = decoder.flag(row, status, "Active"),
+                isShiftJob = decoder.flag(row, shiftType, "Yes"),
+                isOrionJob = decoder.flag(row, orionType, "Yes"),
+                requiresShiftTime = decoder.flag(row, requiresTime, "Yes"),
+                // Default to STELLAR for backward compatibility
+                benefitSystemType = if (oldFormat) BenefitSystemType.STELLAR else
+                    BenefitSystemType.values().firstOrNull { it.name == decoder.string(row, benefitSystem) } ?: BenefitSystemType.STELLAR,
+                manualRewards = parsedRewards,
+                description = decoder.string(row, if (oldFormat) 5 else description),
+                lastModified = decoder.long(row, if (oldFormat) 6 else lastModified) ?: System.currentTimeMillis()
+            )
+        }
+    }
+
+    /**
+     * Parses a venue tab read from A1 into VenueEntity entities
+     */
+    private suspend fun parseVenueRows(values: List<List<Any>>): List<VenueEntity> {
+        val decoder = SheetsRowDecoder("Venues", values.firstOrNull(), SheetsHeaders.VENUES)
+        decoder.requireColumns()
+        val name = decoder.column("Name")
+        val description = decoder.column("Description")
+        val status = decoder.column("Status")
+        val lastModified = decoder.column("Last Modified")
+        val syncId = decoder.column(SheetsRowIds.HEADER)
+        
+        return decoder.decodeAll(dataRows(values)) { row, rowNumber ->
+            val venueName = decoder.string(row, name)
+            if (venueName.isBlank()) return@decodeAll null
+            VenueEntity(
+                id = 0, // Will be set by database
+                sheetsId = syncIdOf(decoder, row, syncId, rowNumber),
+                name = venueName,
+                description = decoder.string(row, description),
+                isActive = decoder.flag(row, status, "Active"),
+                lastModified = decoder.long(row, lastModified) ?: System.currentTimeMillis()
+            )
+        }
+    }
+    
+    // Public access methods for validators
+    fun getBackend() = backend
+    fun getContext() = context
+    
+    // Test method to verify API connection
+    suspend fun testConnection(): Boolean = withContext(Dispatchers.IO) {
+        try {
+            println("=== TESTING GOOGLE SHEETS CONNECTION ===")
+            
+            if (backend == null) {
+                println("Sheets service is null, initializing...")
+                initializeSheetsService()
+            }
+            
+            val spreadsheetId = settingsManager.getSpreadsheetId()
+            println("Spreadsheet ID: $spreadsheetId")
+            
+            if (spreadsheetId.isBlank() || spreadsheetId == "YOUR_SPREADSHEET_ID_HERE") {
+                throw IOException("Spreadsheet ID is not configured properly. Please set it in Settings.")
+            }
+            
+            // Metadata plus one header read per tab
+            ApiRateLimitHandler.acquire(RequestCost(reads = 5), "test connection")
+            
+            // Try to get spreadsheet metadata
+            println("Attempting to connect to spreadsheet...")
+            val spreadsheet = backend?.getSpreadsheet(spreadsheetId)
+            if (spreadsheet != null) {
+                println("✅ Successfully connected to spreadsheet: ${spreadsheet.properties?.title}")
+                
+                // Test reading from each sheet
+                val guestSheetName = settingsManager.getGuestListSheet()
+                val volunteerSheetName = settingsManager.getVolunteerSheet()
+                val jobsSheetName = settingsManager.getJobsSheet()
+                
+                println("Testing sheet access...")
+                println("- Guest sheet: $guestSheetName")
+                println("- Volunteer sheet: $volunteerSheetName")
+                println("- Jobs sheet: $jobsSheetName")
+                
+                // Test guest sheet access
+                try {
+                    val guestResponse = backend?.get(
+                        spreadsheetId, "${guestSheetName}!A1:F1"
+                    )
+                    println("✅ Guest sheet accessible, headers: ${guestResponse?.getValues()?.firstOrNull()}")
+                } catch (e: Exception) {
+                    println("❌ Guest sheet error: ${e.message}")
+                }
+                
+                // Test volunteer sheet access
+                try {
+                    val volunteerResponse = backend?.get(
+                        spreadsheetId, "${volunteerSheetName}!A1:H1"
+                    )
+                    println("✅ Volunteer sheet accessible, headers: ${volunteerResponse?.getValues()?.firstOrNull()}")
+                } catch (e: Exception) {
+                    println("❌ Volunteer sheet error: ${e.message}")
+                }
+                
+                // Test jobs sheet access
+                try {
+                    val jobsResponse = backend?.get(
+                        spreadsheetId, "${jobsSheetName}!A1:G1"
+                    )
+                    println("✅ Jobs sheet accessible, headers: ${jobsResponse?.getValues()?.firstOrNull()}")
+                } catch (e: Exception) {
+                    println("❌ Jobs sheet error: ${e.message}")
+                }
+                
+                // Test JobTypes sheet access
+                try {
+                    val jobTypesResponse = backend?.get(
+                        spreadsheetId, "JobTypes!A1:G1"
+                    )
+                    println("✅ JobTypes sheet accessible, headers: ${jobTypesResponse?.getValues()?.firstOrNull()}")
                 } catch (e: Exception) {
                     println("❌ JobTypes sheet error: ${e.message}")
                 }
@@ -1409,6 +1418,8 @@ class GoogleSheetsService(private val context: Context) {
                 return@withContext diagnostics
             }
             
+            ApiRateLimitHandler.acquire(RequestCost(reads = 5), "validate sheet format")
+            
             val spreadsheetId = settingsManager.getSpreadsheetId()
             val guestSheet = settingsManager.getGuestListSheet()
             val volunteerSheet = settingsManager.getVolunteerSheet()
@@ -1419,9 +1430,9 @@ class GoogleSheetsService(private val context: Context) {
             
             // Test Guest List sheet
             try {
-                val guestResponse = getSheetsService()?.spreadsheets()?.values()?.get(
+                val guestResponse = backend?.get(
                     spreadsheetId, "${guestSheet}!A1:F1"
-                )?.execute()
+                )
                 
                 if (guestResponse?.values?.isNotEmpty() == true) {
                     sheetTests["Guest List"] = "✅ Found with ${guestResponse.values!!.size} header rows"
@@ -1434,9 +1445,9 @@ class GoogleSheetsService(private val context: Context) {
             
             // Test Volunteers sheet
             try {
-                val volunteerResponse = getSheetsService()?.spreadsheets()?.values()?.get(
+                val volunteerResponse = backend?.get(
                     spreadsheetId, "${volunteerSheet}!A1:H1"
-                )?.execute()
+                )
                 
                 if (volunteerResponse?.values?.isNotEmpty() == true) {
                     sheetTests["Volunteers"] = "✅ Found with ${volunteerResponse.values!!.size} header rows"
@@ -1449,9 +1460,9 @@ class GoogleSheetsService(private val context: Context) {
             
             // Test Jobs sheet
             try {
-                val jobsResponse = getSheetsService()?.spreadsheets()?.values()?.get(
+                val jobsResponse = backend?.get(
                     spreadsheetId, "${jobsSheet}!A1:G1"
-                )?.execute()
+                )
                 
                 if (jobsResponse?.values?.isNotEmpty() == true) {
                     sheetTests["Shifts"] = "✅ Found with ${jobsResponse.values!!.size} header rows"
@@ -1464,9 +1475,9 @@ class GoogleSheetsService(private val context: Context) {
             
             // Test JobTypes sheet
             try {
-                val jobTypesResponse = getSheetsService()?.spreadsheets()?.values()?.get(
+                val jobTypesResponse = backend?.get(
                     spreadsheetId, "JobTypes!A1:G1"
-                )?.execute()
+                )
                 
                 if (jobTypesResponse?.values?.isNotEmpty() == true) {
                     sheetTests["JobTypes"] = "✅ Found with ${jobTypesResponse.values!!.size} header rows"
@@ -1480,9 +1491,9 @@ class GoogleSheetsService(private val context: Context) {
             // Test Venues sheet
             try {
                 val venuesSheet = settingsManager.getVenuesSheet()
-                val venuesResponse = getSheetsService()?.spreadsheets()?.values()?.get(
+                val venuesResponse = backend?.get(
                     spreadsheetId, "${venuesSheet}!A1:D1"
-                )?.execute()
+                )
                 
                 if (venuesResponse?.values?.isNotEmpty() == true) {
                     sheetTests["Venues"] = "✅ Found with ${venuesResponse.values!!.size} header rows"
@@ -1600,373 +1611,838 @@ class GoogleSheetsService(private val context: Context) {
     }
     
     // Deletion methods for Google Sheets
-    suspend fun deleteGuestFromSheets(guestId: String, sheetsId: String?) = withContext(Dispatchers.IO) {
+    suspend fun deleteGuestFromSheets(guestId: String, sheetsId: String?) =
+        deleteRowsFromSheets(SheetsEntityType.GUEST, listOfNotNull(sheetsId))
+    
+    suspend fun deleteVolunteerFromSheets(volunteerId: String, sheetsId: String?) =
+        deleteRowsFromSheets(SheetsEntityType.VOLUNTEER, listOfNotNull(sheetsId))
+    
+    suspend fun deleteJobFromSheets(jobId: String, sheetsId: String?) =
+        deleteRowsFromSheets(SheetsEntityType.JOB, listOfNotNull(sheetsId))
+    
+    suspend fun deleteJobTypeFromSheets(jobTypeId: String, sheetsId: String?) =
+        deleteRowsFromSheets(SheetsEntityType.JOB_TYPE, listOfNotNull(sheetsId))
+    
+    suspend fun deleteVenueFromSheets(venueId: String, sheetsId: String?) =
+        deleteRowsFromSheets(SheetsEntityType.VENUE, listOfNotNull(sheetsId))
+    
+    /**
+     * Deletes the rows holding the given sheets IDs from the tab of [entityType] with a
+     * single batchUpdate. Rows are located through the cached tab index (see [locateRows]),
+     * so a delete costs no read while the tab revision has not moved.
+     * Returns the number of deleted rows.
+     */
+    suspend fun deleteRowsFromSheets(entityType: SheetsEntityType, sheetsIds: Collection<String>): Int = withContext(Dispatchers.IO) {
+        val (sheetName, header) = tabOf(entityType) ?: return@withContext 0
+        if (sheetsIds.isEmpty()) {
+            println("Cannot delete from $sheetName - no sheetsId provided")
+            return@withContext 0
+        }
+        
         try {
-            if (sheetsId == null) {
-                println("Cannot delete guest from sheets - no sheetsId provided")
-                return@withContext
-            }
-            
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val spreadsheetId = settingsManager.getSpreadsheetId()
-                    val sheetName = settingsManager.getGuestListSheet()
+                    val (index, located) = locateRows(entityType, sheetName, header, sheetsIds)
+                    val rowIndexes = located.values.distinct().sortedDescending()
                     
-                    // Find the row number for this guest
-                    val range = "${sheetName}!A2:F"
-                    val response = sheetsService?.spreadsheets()?.values()?.get(spreadsheetId, range)?.execute()
-                    val values = response?.getValues() ?: emptyList()
-                    
-                    val rowIndex = values.indexOfFirst { row ->
-                        row.isNotEmpty() && row[0].toString() == sheetsId
+                    if (rowIndexes.isEmpty()) {
+                        println("No rows to delete from $sheetName - ${sheetsIds.size} IDs not found")
+                        return@executeWithRetry 0
                     }
                     
-                    if (rowIndex != -1) {
-                        val actualRowNumber = rowIndex + 2 // +2 because we start from row 2 and arrays are 0-indexed
-                        
-                        // Get the sheet ID first
-                        val spreadsheet = sheetsService?.spreadsheets()?.get(spreadsheetId)?.execute()
-                        val sheet = spreadsheet?.sheets?.find { it.properties?.title == sheetName }
-                        val sheetId = sheet?.properties?.sheetId
-                        
-                        if (sheetId != null) {
-                            println("Deleting guest from sheet: $sheetName, sheetId: $sheetId, row: $actualRowNumber")
-                        
-                        // Actually delete the row using batchUpdate
-                        val deleteRequest = Request()
-                            .setDeleteDimension(
-                                DeleteDimensionRequest()
-                                    .setRange(
-                                        DimensionRange()
-                                            .setSheetId(sheetId)
-                                            .setDimension("ROWS")
-                                            .setStartIndex(actualRowNumber - 1) // 0-based index
-                                            .setEndIndex(actualRowNumber) // Delete one row
-                                    )
+                    val sheetId = sheetIdOf(sheetName)
+                    
+                    // Bottom-up, so each deletion leaves the rows still to delete in place
+                    val requests = rowIndexes.map { rowIndex ->
+                        Request().setDeleteDimension(
+                            DeleteDimensionRequest().setRange(
+                                DimensionRange()
+                                    .setSheetId(sheetId)
+                                    .setDimension("ROWS")
+                                    .setStartIndex(rowIndex + 1) // data row 0 is sheet row 2, 0-based index 1
+                                    .setEndIndex(rowIndex + 2)
                             )
-                        
-                        val batchUpdateRequest = BatchUpdateSpreadsheetRequest()
-                            .setRequests(listOf(deleteRequest))
-                        
-                        val result = sheetsService?.spreadsheets()?.batchUpdate(spreadsheetId, batchUpdateRequest)?.execute()
-                        println("Delete result: ${result?.replies?.size} replies")
-                        
-                        // Verify the deletion by checking if the row still exists
-                        Thread.sleep(1000) // Wait a moment for the deletion to propagate
-                        val verifyRange = "${sheetName}!A2:F"
-                        val verifyResponse = sheetsService?.spreadsheets()?.values()?.get(spreadsheetId, verifyRange)?.execute()
-                        val verifyValues = verifyResponse?.getValues() ?: emptyList()
-                        
-                        val stillExists = verifyValues.any { row ->
-                            row.isNotEmpty() && row[0].toString() == sheetsId
-                        }
-                        
-                        if (stillExists) {
-                            println("WARNING: Guest with sheetsId $sheetsId still exists after deletion attempt")
-                            println("Attempting alternative deletion method...")
-                            
-                            // Alternative method: Clear the row and shift remaining rows up
-                            try {
-                                // First, clear the row
-                                val clearRange = "${sheetName}!A${actualRowNumber}:F${actualRowNumber}"
-                                val clearValueRange = ValueRange().setValues(listOf(listOf("", "", "", "", "", "")))
-                                
-                                sheetsService?.spreadsheets()?.values()?.update(
-                                    spreadsheetId,
-                                    clearRange,
-                                    clearValueRange
-                                )?.setValueInputOption("RAW")?.execute()
-                                
-                                // Then delete the empty row
-                                val deleteRequest2 = Request()
-                                    .setDeleteDimension(
-                                        DeleteDimensionRequest()
-                                            .setRange(
-                                                DimensionRange()
-                                                    .setSheetId(sheetId)
-                                                    .setDimension("ROWS")
-                                                    .setStartIndex(actualRowNumber - 1)
-                                                    .setEndIndex(actualRowNumber)
-                                            )
-                                    )
-                                
-                                val batchUpdateRequest2 = BatchUpdateSpreadsheetRequest()
-                                    .setRequests(listOf(deleteRequest2))
-                                
-                                sheetsService?.spreadsheets()?.batchUpdate(spreadsheetId, batchUpdateRequest2)?.execute()
-                                
-                                println("Alternative deletion method completed")
-                            } catch (e: Exception) {
-                                println("Alternative deletion method also failed: ${e.message}")
-                            }
-                        } else {
-                            println("Successfully deleted guest with sheetsId $sheetsId from row $actualRowNumber")
-                        }
-                        } else {
-                            println("Could not find sheet ID for sheet: $sheetName")
-                        }
-                    } else {
-                        println("Guest with sheetsId $sheetsId not found in sheets")
+                        )
+                    }
+                    
+                    try {
+                        backend?.batchUpdateSpreadsheet(
+                            settingsManager.getSpreadsheetId(),
+                            BatchUpdateSpreadsheetRequest().setRequests(requests)
+                        ) ?: throw IOException("Failed to delete rows from $sheetName - no response received")
+                    } catch (e: Exception) {
+                        // The remote state is unknown after a failed write
+                        forgetPushedDigest(sheetName)
+                        forgetTabIndex(sheetName)
+                        throw e
                     }
+                    
+                    forgetPushedDigest(sheetName)
+                    bumpTabRevision(entityType)
+                    rememberTabIndex(entityType, sheetName, index.withoutRows(rowIndexes))
+                    
+                    println("🗑️ Deleted ${rowIndexes.size} rows from $sheetName")
+                    rowIndexes.size
                 },
-                operationName = "delete guest from sheets"
+                operationName = "delete rows from $sheetName",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
-            println("Failed to delete guest from sheets: ${e.message}")
+            println("Failed to delete rows from $sheetName: ${e.message}")
             if (e.message?.contains("429") == true || e.message?.contains("Rate limit") == true) {
                 throw IOException(ApiRateLimitHandler.getBriefRateLimitMessage(), e)
             } else {
-                throw IOException(createNetworkErrorMessage("delete guest from Google Sheets", e), e)
+                throw IOException(createNetworkErrorMessage("delete rows from Google Sheets", e), e)
             }
         }
     }
     
-    suspend fun deleteVolunteerFromSheets(volunteerId: String, sheetsId: String?) = withContext(Dispatchers.IO) {
+    /**
+     * Incremental upload: writes only the given entities to their tab.
+     * Rows whose Sync ID is already on the tab are overwritten in place, the others are
+     * appended to the table (see [writeTabRows]). Returns the number of rows written.
+     */
+    suspend fun upsertGuestRowsToSheets(guests: List<Guest>): Int =
+        upsertRowsToSheets(SheetsEntityType.GUEST, guests.filter { !it.isVolunteerBenefit }.map { guestRow(it, it.sheetsId ?: "") })
+    
+    suspend fun upsertVolunteerRowsToSheets(volunteers: List<Volunteer>): Int =
+        upsertRowsToSheets(SheetsEntityType.VOLUNTEER, volunteers.map { volunteerRow(it, it.sheetsId ?: "") })
+    
+    suspend fun upsertJobRowsToSheets(jobs: List<Job>): Int =
+        upsertRowsToSheets(SheetsEntityType.JOB, jobs.map { jobRow(it, it.sheetsId ?: "") })
+    
+    private suspend fun upsertRowsToSheets(entityType: SheetsEntityType, rows: List<List<String>>): Int = withContext(Dispatchers.IO) {
+        val (sheetName, header) = tabOf(entityType) ?: return@withContext 0
+        if (rows.isEmpty()) return@withContext 0
+        
         try {
-            if (sheetsId == null) {
-                println("Cannot delete volunteer from sheets - no sheetsId provided")
-                return@withContext
-            }
-            
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
-                operation = {
-                    val spreadsheetId = settingsManager.getSpreadsheetId()
-                    val sheetName = settingsManager.getVolunteersSheet()
-                    
-                    // Find the row number for this volunteer
-                    val range = "${sheetName}!A2:F"
-                    val response = sheetsService?.spreadsheets()?.values()?.get(spreadsheetId, range)?.execute()
-                    val values = response?.getValues() ?: emptyList()
-                    
-                    val rowIndex = values.indexOfFirst { row ->
-                        row.isNotEmpty() && row[0].toString() == sheetsId
-                    }
-                    
-                    if (rowIndex != -1) {
-                        val actualRowNumber = rowIndex + 2 // +2 because we start from row 2 and arrays are 0-indexed
-                        
-                        // Get the sheet ID first
-                        val spreadsheet = sheetsService?.spreadsheets()?.get(spreadsheetId)?.execute()
-                        val sheet = spreadsheet?.sheets?.find { it.properties?.title == sheetName }
-                        val sheetId = sheet?.properties?.sheetId
-                        
-                        if (sheetId != null) {
-                            println("Deleting volunteer from sheet: $sheetName, sheetId: $sheetId, row: $actualRowNumber")
-                        
-                        // Actually delete the row using batchUpdate
-                        val deleteRequest = Request()
-                            .setDeleteDimension(
-                                DeleteDimensionRequest()
-                                    .setRange(
-                                        DimensionRange()
-                                            .setSheetId(sheetId)
-                                            .setDimension("ROWS")
-                                            .setStartIndex(actualRowNumber - 1) // 0-based index
-                                            .setEndIndex(actualRowNumber) // Delete one row
-                                    )
-                            )
-                        
-                        val batchUpdateRequest = BatchUpdateSpreadsheetRequest()
-                            .setRequests(listOf(deleteRequest))
-                        
-                        val result = sheetsService?.spreadsheets()?.batchUpdate(spreadsheetId, batchUpdateRequest)?.execute()
-                        println("Delete result: ${result?.replies?.size} replies")
-                        
-                        println("Successfully deleted volunteer with sheetsId $sheetsId from row $actualRowNumber")
-                        } else {
-                            println("Could not find sheet ID for sheet: $sheetName")
-                        }
-                    } else {
-                        println("Volunteer with sheetsId $sheetsId not found in sheets")
-                    }
-                },
-                operationName = "delete volunteer from sheets"
+                operation = { writeTabRows(entityType, sheetName, header, rows, listOfNotNull(revisionUpdate(entityType))) },
+                operationName = "upload changed rows to $sheetName",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
-            println("Failed to delete volunteer from sheets: ${e.message}")
+            println("Failed to upload changed rows to $sheetName: ${e.message}")
             if (e.message?.contains("429") == true || e.message?.contains("Rate limit") == true) {
                 throw IOException(ApiRateLimitHandler.getBriefRateLimitMessage(), e)
             } else {
-                throw IOException(createNetworkErrorMessage("delete volunteer from Google Sheets", e), e)
+                throw IOException(createNetworkErrorMessage("upload changed rows to Google Sheets", e), e)
             }
         }
     }
     
-    suspend fun deleteJobFromSheets(jobId: String, sheetsId: String?) = withContext(Dispatchers.IO) {
+    /**
+     * Writes [rows], built in the order of [header], to [sheetName]. Rows whose Sync ID is on
+     * the tab are overwritten in place, located through the tab index (see [locateRows]),
+     * with one values().batchUpdate that also carries the [extra] ranges. The other rows are
+     * added with values().append, which lets Sheets find the end of the table, so rows
+     * appended by other devices meanwhile are never overwritten. Cells are placed under the
+     * tab's own headers (see [SheetsTabLayout]). [entityType] is null for tabs without a
+     * revision, whose index is read for every write. Returns the number of rows written.
+     */
+    private suspend fun writeTabRows(
+        entityType: SheetsEntityType?,
+        sheetName: String,
+        header: List<String>,
+        rows: List<List<String>>,
+        extra: List<ValueRange> = emptyList()
+    ): Int {
+        val width = header.size
+        
+        // Last occurrence wins if the same entity is passed twice
+        val byId = LinkedHashMap<String, List<String>>()
+        val appends = mutableListOf<List<String>>()
+        rows.map { SheetsDeltaEngine.normalize(it, width) }.forEach { row ->
+            if (SheetsRowIds.isStable(row.last())) byId[row.last()] = row else appends.add(row)
+        }
+        
+        val (index, located) = locateRows(entityType, sheetName, header, byId.keys)
+        val layout = index.layout
+        val lastColumn = SheetsDeltaEngine.columnLetter(layout.width)
+        val updates = mutableListOf<SheetsDeltaEngine.RowWrite>()
+        byId.values.forEach { row ->
+            val rowIndex = located[row.last()]
+            if (rowIndex != null) updates.add(SheetsDeltaEngine.RowWrite(rowIndex, row)) else appends.add(row)
+        }
+        
+        val data = SheetsDeltaEngine.toBlocks(updates).map { block ->
+            val firstRow = block.firstRowIndex + 2 // +2 because data starts at row 2 (after header)
+            val lastRow = firstRow + block.rows.size - 1
+            ValueRange().setRange("${a1(sheetName)}!A$firstRow:$lastColumn$lastRow").setValues(block.rows.map { layout.arrange(it) })
+        } + extra
+        
+        var written = index
         try {
-            if (sheetsId == null) {
-                println("Cannot delete job from sheets - no sheetsId provided")
-                return@withContext
+            // Appended first, so the revision sent with the updates never shows without them
+            if (appends.isNotEmpty()) {
+                val response = backend?.append(settingsManager.getSpreadsheetId(), "${a1(sheetName)}!A:$lastColumn", ValueRange().setValues(appends.map { layout.arrange(it) }))
+                    ?: throw IOException("Failed to append rows to $sheetName - no response received")
+                written = appendedTo(written, response, appends.map { it.last() })
+            }
+            if (data.isNotEmpty()) {
+                if (appends.isNotEmpty()) ApiRateLimitHandler.acquire(RequestCost.WRITE, "update rows of $sheetName")
+                val request = BatchUpdateValuesRequest()
+                    .setValueInputOption("RAW")
+                    .setData(data)
+                backend?.batchUpdate(settingsManager.getSpreadsheetId(), request)
+                    ?: throw IOException("Failed to upload changes to $sheetName - no response received")
             }
-            
-            if (sheetsService == null) {
+        } catch (e: Exception) {
+            forgetTabIndex(sheetName)
+            throw e
+        } finally {
+            // The tab no longer holds the last full payload pushed, whether or not the write failed
+            forgetPushedDigest(sheetName)
+        }
+        
+        rememberTabIndex(entityType, sheetName, written)
+        println("📤 $sheetName incremental upload: ${updates.size} rows updated, ${appends.size} appended")
+        return updates.size + appends.size
+    }
+    
+    /**
+     * Appends one row of [entityType], built in its default column order, under the tab's own headers
+     */
+    private suspend fun appendTabRow(entityType: SheetsEntityType, row: List<String>): AppendValuesResponse? {
+        val (sheetName, header) = tabOf(entityType) ?: return null
+        val index = tabIndex(entityType, sheetName, header)
+        val response = try {
+            backend?.append(
+                settingsManager.getSpreadsheetId(),
+                "${a1(sheetName)}!A:${SheetsDeltaEngine.columnLetter(index.layout.width)}",
+                ValueRange().setValues(listOf(index.layout.arrange(row)))
+            )
+        } catch (e: Exception) {
+            forgetTabIndex(sheetName)
+            throw e
+        }
+        response?.let { rememberTabIndex(entityType, sheetName, appendedTo(index, it, listOf(row.last()))) }
+        return response
+    }
+    
+    /**
+     * Overwrites the row of [entityType] holding [sheetsId] with [row], built in the default
+     * column order, under the tab's own headers. Returns null when no row holds [sheetsId].
+     */
+    private suspend fun updateTabRow(entityType: SheetsEntityType, sheetsId: String, row: List<String>): UpdateValuesResponse? {
+        val (sheetName, header) = tabOf(entityType) ?: return null
+        val (index, located) = locateRows(entityType, sheetName, header, listOf(sheetsId))
+        val rowNumber = located[sheetsId]?.plus(2) ?: return null
+        val lastColumn = SheetsDeltaEngine.columnLetter(index.layout.width)
+        return try {
+            backend?.update(
+                settingsManager.getSpreadsheetId(),
+                "${a1(sheetName)}!A$rowNumber:$lastColumn$rowNumber",
+                ValueRange().setValues(listOf(index.layout.arrange(row)))
+            ) ?: throw IOException("Failed to update row of $sheetName - no response received")
+        } catch (e: Exception) {
+            forgetTabIndex(sheetName)
+            throw e
+        }
+    }
+    
+    /**
+     * Moves jobs of past seasons out of the Jobs tab: each job is written to the archive tab
+     * of its season (see [JobSeasons]), created on first use, then its row is deleted from
+     * the Jobs tab. Rows are written before they are deleted, so a failed move is simply
+     * repeated by the next sync. Returns the number of moved jobs.
+     */
+    suspend fun archiveJobsToSeasonTabs(jobs: List<Job>): Int = withContext(Dispatchers.IO) {
+        val archived = jobs.filter { SheetsRowIds.isStable(it.sheetsId) }
+        if (archived.isEmpty()) return@withContext 0
+        val jobsSheet = settingsManager.getJobsSheet()
+        val seasons = archived.groupBy { JobSeasons.seasonOf(it.date) }.toSortedMap()
+        
+        try {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val spreadsheetId = settingsManager.getSpreadsheetId()
-                    val sheetName = settingsManager.getJobsSheet()
-                    
-                    // sheetsId is the row number, so use it directly
-                    val actualRowNumber = sheetsId.toIntOrNull()
-                    if (actualRowNumber == null) {
-                        println("Invalid sheetsId format: $sheetsId (expected row number)")
-                        throw IOException("Invalid sheetsId format: $sheetsId (expected row number)")
-                    }
-                    
-                    // Get the sheet ID first
-                    val spreadsheet = sheetsService?.spreadsheets()?.get(spreadsheetId)?.execute()
-                    val sheet = spreadsheet?.sheets?.find { it.properties?.title == sheetName }
-                    val sheetId = sheet?.properties?.sheetId
-                    
-                    if (sheetId != null) {
-                        println("Deleting job from sheet: $sheetName, sheetId: $sheetId, row: $actualRowNumber")
-                        
-                        // Actually delete the row using batchUpdate
-                        val deleteRequest = Request()
-                            .setDeleteDimension(
-                                DeleteDimensionRequest()
-                                    .setRange(
-                                        DimensionRange()
-                                            .setSheetId(sheetId)
-                                            .setDimension("ROWS")
-                                            .setStartIndex(actualRowNumber - 1) // 0-based index
-                                            .setEndIndex(actualRowNumber) // Delete one row
-                                    )
-                            )
-                        
-                        val batchUpdateRequest = BatchUpdateSpreadsheetRequest()
-                            .setRequests(listOf(deleteRequest))
-                        
-                        val result = sheetsService?.spreadsheets()?.batchUpdate(spreadsheetId, batchUpdateRequest)?.execute()
-                        println("Delete result: ${result?.replies?.size} replies")
-                        
-                        println("Successfully deleted job with sheetsId $sheetsId from row $actualRowNumber")
-                    } else {
-                        println("Could not find sheet ID for sheet: $sheetName")
-                        throw IOException("Could not find sheet ID for sheet: $sheetName")
+                    val titles = readTabTitles()
+                    seasons.forEach { (season, seasonJobs) ->
+                        val title = JobSeasons.archiveTabName(jobsSheet, season)
+                        if (title !in titles) createJobArchiveTab(title)
+                        writeTabRows(null, title, SheetsHeaders.JOBS, seasonJobs.map { jobRow(it, it.sheetsId ?: "") })
                     }
                 },
-                operationName = "delete job from sheets"
+                operationName = "archive past seasons of $jobsSheet",
+                cost = RequestCost.WRITE
             )
         } catch (e: Exception) {
-            println("Failed to delete job from sheets: ${e.message}")
+            println("Failed to archive past seasons of $jobsSheet: ${e.message}")
             if (e.message?.contains("429") == true || e.message?.contains("Rate limit") == true) {
                 throw IOException(ApiRateLimitHandler.getBriefRateLimitMessage(), e)
             } else {
-                throw IOException(createNetworkErrorMessage("delete job from Google Sheets", e), e)
+                throw IOException(createNetworkErrorMessage("archive past seasons in Google Sheets", e), e)
             }
         }
+        
+        deleteRowsFromSheets(SheetsEntityType.JOB, archived.mapNotNull { it.sheetsId })
+        println("🗄️ Archived ${archived.size} jobs of seasons ${seasons.keys.joinToString()} out of $jobsSheet")
+        archived.size
     }
     
-    suspend fun deleteJobTypeFromSheets(jobTypeId: String, sheetsId: String?) = withContext(Dispatchers.IO) {
+    /**
+     * Downloads every archive tab of the Jobs tab with one batchGet, for the all-time statistics.
+     * Costs one metadata read when there is no archive yet.
+     */
+    suspend fun syncArchivedJobsFromSheets(): List<Job> = withContext(Dispatchers.IO) {
         try {
-            if (sheetsId == null) {
-                println("Cannot delete job type from sheets - no sheetsId provided")
-                return@withContext
-            }
-            
-            if (sheetsService == null) {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
             ApiRateLimitHandler.executeWithRetry(
                 operation = {
-                    val spreadsheetId = settingsManager.getSpreadsheetId()
-                    val sheetName = settingsManager.getJobTypesSheet()
-                    
-                    // Find the row number for this job type
-                    val range = "${sheetName}!A2:F"
-                    val response = sheetsService?.spreadsheets()?.values()?.get(spreadsheetId, range)?.execute()
-                    val values = response?.getValues() ?: emptyList()
-                    
-                    val rowIndex = values.indexOfFirst { row ->
-                        row.isNotEmpty() && row[0].toString() == sheetsId
+                    val jobsSheet = settingsManager.getJobsSheet()
+                    val titles = readTabTitles().filter { JobSeasons.seasonOfTab(jobsSheet, it) != null }.sorted()
+                    if (titles.isEmpty()) {
+                        println("ℹ️ No archive tabs of $jobsSheet yet")
+                        return@executeWithRetry emptyList<Job>()
                     }
                     
-                    if (rowIndex != -1) {
-                        val actualRowNumber = rowIndex + 2 // +2 because we start from row 2 and arrays are 0-indexed
-                        
-                        // Get the sheet ID first
-                        val spreadsheet = sheetsService?.spreadsheets()?.get(spreadsheetId)?.execute()
-                        val sheet = spreadsheet?.sheets?.find { it.properties?.title == sheetName }
-                        val sheetId = sheet?.properties?.sheetId
-                        
-                        if (sheetId != null) {
-                            println("Deleting job type from sheet: $sheetName, sheetId: $sheetId, row: $actualRowNumber")
-                        
-                        // Actually delete the row using batchUpdate
-                        val deleteRequest = Request()
-                            .setDeleteDimension(
-                                DeleteDimensionRequest()
-                                    .setRange(
-                                        DimensionRange()
-                                            .setSheetId(sheetId)
-                                            .setDimension("ROWS")
-                                            .setStartIndex(actualRowNumber - 1) // 0-based index
-                                            .setEndIndex(actualRowNumber) // Delete one row
-                                    )
-                            )
-                        
-                        val batchUpdateRequest = BatchUpdateSpreadsheetRequest()
-                            .setRequests(listOf(deleteRequest))
-                        
-                        val result = sheetsService?.spreadsheets()?.batchUpdate(spreadsheetId, batchUpdateRequest)?.execute()
-                        println("Delete result: ${result?.replies?.size} replies")
-                        
-                        println("Successfully deleted job type with sheetsId $sheetsId from row $actualRowNumber")
-                        } else {
-                            println("Could not find sheet ID for sheet: $sheetName")
-                        }
-                    } else {
-                        println("Job type with sheetsId $sheetsId not found in sheets")
+                    val lastColumn = SheetsDeltaEngine.columnLetter(JOB_COLUMNS)
+                    val response = backend?.batchGet(settingsManager.getSpreadsheetId(), titles.map { "${a1(it)}!A1:$lastColumn" })
+                        ?: throw IOException("Failed to retrieve archived jobs from Google Sheets - no response received")
+                    
+                    val jobs = response.valueRanges.orEmpty().flatMap { valueRange ->
+                        parsing(SheetsEntityType.JOB) { parseJobRows(valueRange.getValues() ?: emptyList()) }
                     }
+                    println("Successfully parsed ${jobs.size} archived jobs from ${titles.size} season tabs")
+                    jobs
                 },
-                operationName = "delete job type from sheets"
+                operationName = "sync archived jobs from sheets"
             )
         } catch (e: Exception) {
-            println("Failed to delete job type from sheets: ${e.message}")
+            println("Failed to sync archived jobs from sheets: ${e.message}")
             if (e.message?.contains("429") == true || e.message?.contains("Rate limit") == true) {
                 throw IOException(ApiRateLimitHandler.getBriefRateLimitMessage(), e)
             } else {
-                throw IOException(createNetworkErrorMessage("delete job type from Google Sheets", e), e)
+                throw IOException(createNetworkErrorMessage("load job history from Google Sheets", e), e)
             }
         }
     }
     
     /**
-     * Clear a specific range in a Google Sheet to prevent duplicate data
+     * Creates an archive tab with the Jobs header. A tab created meanwhile by another device
+     * is left as it is.
      */
-    private suspend fun clearSheetRange(range: String) = withContext(Dispatchers.IO) {
+    private suspend fun createJobArchiveTab(title: String) {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        ApiRateLimitHandler.acquire(RequestCost(writes = 2), "create $title tab")
         try {
-            if (sheetsService == null) {
+            val addSheet = Request().setAddSheet(AddSheetRequest().setProperties(SheetProperties().setTitle(title)))
+            backend?.batchUpdateSpreadsheet(spreadsheetId, BatchUpdateSpreadsheetRequest().setRequests(listOf(addSheet)))
+                ?: throw IOException("Failed to create $title tab - no response received")
+        } catch (e: Exception) {
+            if (e.message?.contains("already exists") == true) return
+            throw e
+        }
+        
+        val lastColumn = SheetsDeltaEngine.columnLetter(JOB_COLUMNS)
+        backend?.update(spreadsheetId, "${a1(title)}!A1:${lastColumn}1", ValueRange().setValues(listOf(SheetsHeaders.JOBS)))
+            ?: throw IOException("Failed to initialize $title tab - no response received")
+        println("🗄️ Created archive tab $title")
+    }
+    
+    /**
+     * Tab name and column count holding rows of [entityType], null for derived tabs
+     */
+    private fun tabOf(entityType: SheetsEntityType): Pair<String, List<String>>? = when (entityType) {
+        SheetsEntityType.GUEST -> settingsManager.getGuestListSheet() to SheetsHeaders.GUESTS
+        SheetsEntityType.VOLUNTEER -> settingsManager.getVolunteerSheet() to SheetsHeaders.VOLUNTEERS
+        SheetsEntityType.JOB -> settingsManager.getJobsSheet() to SheetsHeaders.JOBS
+        SheetsEntityType.JOB_TYPE -> "JobTypes" to SheetsHeaders.JOB_TYPES
+        SheetsEntityType.VENUE -> settingsManager.getVenuesSheet() to SheetsHeaders.VENUES
+        SheetsEntityType.VOLUNTEER_GUEST_LIST -> null
+    }
+    
+    /**
+     * Reads the revision of every tab from the _Meta tab in one small request.
+     * Returns null when the spreadsheet has no _Meta tab yet; it is created by the first upload.
+     */
+    suspend fun readTabRevisions(): Map<SheetsEntityType, TabRevision>? = withContext(Dispatchers.IO) {
+        try {
+            if (backend == null) {
                 initializeSheetsService()
             }
             
-            val clearRequest = ClearValuesRequest()
-            val response = sheetsService?.spreadsheets()?.values()?.clear(
-                settingsManager.getSpreadsheetId(),
-                range,
-                clearRequest
-            )?.execute()
-            
-            if (response == null) {
-                throw IOException("Failed to clear sheet range $range - no response received")
+            ApiRateLimitHandler.executeWithRetry(
+                operation = { readRevisionRows() },
+                operationName = "read tab revisions"
+            )
+        } catch (e: Exception) {
+            println("Failed to read tab revisions: ${e.message}")
+            if (e.message?.contains("429") == true || e.message?.contains("Rate limit") == true) {
+                throw IOException(ApiRateLimitHandler.getBriefRateLimitMessage(), e)
+            } else {
+                throw IOException(createNetworkErrorMessage("check Google Sheets for changes", e), e)
+            }
+        }
+    }
+    
+    private fun readRevisionRows(): Map<SheetsEntityType, TabRevision>? {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        val response = try {
+            backend?.get(spreadsheetId, SheetsRevisions.RANGE)
+                ?: throw IOException("Failed to read tab revisions - no response received")
+        } catch (e: Exception) {
+            if (SheetsRevisions.isMissingTab(e)) {
+                println("ℹ️ No ${SheetsRevisions.META_SHEET} tab yet - remote changes cannot be probed")
+                metaTabs.remove(spreadsheetId)
+                return null
+            }
+            throw e
+        }
+        
+        val revisions = SheetsRevisions.parse(response.getValues() ?: emptyList())
+        metaTabs.add(spreadsheetId)
+        revisions.forEach { (entityType, revision) -> tabRevisions["$spreadsheetId/${entityType.name}"] = revision }
+        return revisions
+    }
+    
+    /**
+     * Creates the hidden _Meta tab with a zero revision per tab, unless it already exists
+     */
+    private suspend fun ensureMetaTab() {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        if (spreadsheetId in metaTabs) return
+        
+        ApiRateLimitHandler.acquire(RequestCost.READ, "read tab revisions")
+        if (readRevisionRows() != null) return
+        
+        ApiRateLimitHandler.acquire(RequestCost(writes = 2), "create ${SheetsRevisions.META_SHEET} tab")
+        try {
+            val addSheet = Request().setAddSheet(
+                AddSheetRequest().setProperties(SheetProperties().setTitle(SheetsRevisions.META_SHEET).setHidden(true))
+            )
+            backend?.batchUpdateSpreadsheet(spreadsheetId, BatchUpdateSpreadsheetRequest().setRequests(listOf(addSheet)))
+                ?: throw IOException("Failed to create ${SheetsRevisions.META_SHEET} tab - no response received")
+        } catch (e: Exception) {
+            // Another device created it in the meantime, its revisions must not be reset
+            if (e.message?.contains("already exists") == true) {
+                metaTabs.add(spreadsheetId)
+                return
+            }
+            throw e
+        }
+        
+        val initial = TabRevision(0L, "")
+        val rows = listOf(SheetsRevisions.HEADER) + SheetsRevisions.TABS.map { SheetsRevisions.row(it, initial) }
+        val lastColumn = SheetsDeltaEngine.columnLetter(SheetsRevisions.WIDTH)
+        backend?.update(
+            spreadsheetId,
+            "${SheetsRevisions.META_SHEET}!A1:$lastColumn${rows.size}",
+            ValueRange().setValues(rows)
+        ) ?: throw IOException("Failed to initialize ${SheetsRevisions.META_SHEET} tab - no response received")
+        
+        metaTabs.add(spreadsheetId)
+        println("🏷️ Created ${SheetsRevisions.META_SHEET} tab for tab revisions")
+    }
+    
+    /**
+     * Value range bumping the revision of [entityType], to be written after or together
+     * with its rows. Null for tabs without a revision or when _Meta is unavailable;
+     * the upload itself never fails because of its revision.
+     */
+    private suspend fun revisionUpdate(entityType: SheetsEntityType): ValueRange? {
+        val rowNumber = SheetsRevisions.rowNumberOf(entityType) ?: return null
+        return try {
+            ensureMetaTab()
+            val key = "${settingsManager.getSpreadsheetId()}/${entityType.name}"
+            val previous = tabRevisions[key]
+            val next = SheetsRevisions.next(previous)
+            tabRevisions[key] = next
+            // This device's own write moves the revision: its tab index stays current, as the
+            // write updates the index as well (or drops it when it fails)
+            tabOf(entityType)?.let { (sheetName, _) ->
+                tabIndexes.computeIfPresent(tabKey(sheetName)) { _, index ->
+                    if (index.revision == previous?.token) index.at(next.token) else index
+                }
             }
+            val lastColumn = SheetsDeltaEngine.columnLetter(SheetsRevisions.WIDTH)
+            ValueRange()
+                .setRange("${SheetsRevisions.META_SHEET}!A$rowNumber:$lastColumn$rowNumber")
+                .setValues(listOf(SheetsRevisions.row(entityType, next)))
+        } catch (e: Exception) {
+            println("⚠️ Could not prepare revision of $entityType: ${e.message}")
+            null
+        }
+    }
+    
+    /**
+     * Bumps the revision of [entityType] on its own, for writes that cannot carry it
+     */
+    private suspend fun bumpTabRevision(entityType: SheetsEntityType) {
+        val update = revisionUpdate(entityType) ?: return
+        try {
+            ApiRateLimitHandler.acquire(RequestCost.WRITE, "bump revision of $entityType")
+            backend?.update(settingsManager.getSpreadsheetId(), update.range, update)
+        } catch (e: Exception) {
+            println("⚠️ Could not bump revision of $entityType: ${e.message}")
+        }
+    }
+    
+    /**
+     * Numeric sheetId of a tab, needed by row deletions. All tabs are cached from a
+     * single metadata read, so the lookup costs nothing after the first delete.
+     */
+    private suspend fun sheetIdOf(sheetName: String): Int {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        sheetIds["$spreadsheetId/$sheetName"]?.let { return it }
+        
+        readTabTitles()
+        return sheetIds["$spreadsheetId/$sheetName"] ?: throw IOException("Could not find sheet ID for sheet: $sheetName")
+    }
+    
+    /**
+     * Reads the titles of all tabs with one metadata request, caching their sheetIds
+     */
+    private suspend fun readTabTitles(): Set<String> {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        ApiRateLimitHandler.acquire(RequestCost.READ, "read spreadsheet metadata")
+        val spreadsheet = backend?.getSpreadsheet(spreadsheetId)
+            ?: throw IOException("Failed to read spreadsheet metadata - no response received")
+        val titles = mutableSetOf<String>()
+        spreadsheet.sheets?.forEach { sheet ->
+            val title = sheet.properties?.title
+            val sheetId = sheet.properties?.sheetId
+            if (title != null && sheetId != null) {
+                sheetIds["$spreadsheetId/$title"] = sheetId
+                titles.add(title)
+            }
+        }
+        return titles
+    }
+    
+    /**
+     * Tab name as written in an A1 range, quoted so names with spaces or digits parse
+     */
+    private fun a1(sheetName: String): String = "'${sheetName.replace("'", "''")}'"
+    
+    /**
+     * Header and data rows of a tab, as read right before an upload
+     */
+    private data class TabContent(
+        val header: List<String>?,
+        val rows: List<List<String>>
+    )
+    
+    /**
+     * Column layout and Sync IDs of the data rows of a tab, tagged with the token of the
+     * tab revision it was read at. Updates return a new index, so a cached one never changes.
+     */
+    private class TabIndex(
+        val layout: SheetsTabLayout,
+        private val ids: List<String>,
+        val revision: String?
+    ) {
+        private val index: Map<String, Int> by lazy {
+            val index = HashMap<String, Int>(ids.size * 2)
+            ids.forEachIndexed { rowIndex, id -> if (id.isNotEmpty()) index.putIfAbsent(id, rowIndex) }
+            index
+        }
+        
+        /**
+         * Data row index of a sheets ID; legacy IDs are row numbers
+         */
+        fun rowIndexOf(sheetsId: String): Int? {
+            return if (SheetsRowIds.isStable(sheetsId)) {
+                index[sheetsId]
+            } else {
+                sheetsId.toIntOrNull()?.minus(2)?.takeIf { it in ids.indices }
+            }
+        }
+        
+        fun at(revision: String?) = TabIndex(layout, ids, revision)
+        
+        /**
+         * Index after the data rows at [rowIndexes] were deleted
+         */
+        fun withoutRows(rowIndexes: Collection<Int>): TabIndex {
+            val removed = rowIndexes.toSet()
+            return TabIndex(layout, ids.filterIndexed { rowIndex, _ -> rowIndex !in removed }, revision)
+        }
+        
+        /**
+         * Index after [rowIds] were written from data row [firstRowIndex] on
+         */
+        fun withRows(firstRowIndex: Int, rowIds: List<String>): TabIndex {
+            val next = ids.toMutableList()
+            while (next.size < firstRowIndex + rowIds.size) next.add("")
+            rowIds.forEachIndexed { offset, id -> next[firstRowIndex + offset] = id }
+            return TabIndex(layout, next, revision)
+        }
+    }
+    
+    private fun tabKey(sheetName: String): String = "${settingsManager.getSpreadsheetId()}/$sheetName"
+    
+    private fun revisionToken(entityType: SheetsEntityType): String? =
+        tabRevisions["${settingsManager.getSpreadsheetId()}/${entityType.name}"]?.token
+    
+    /**
+     * Index of a tab for row-addressed writes: the cached one while the revision of the tab
+     * is the one it was read at, otherwise a fresh read. A revision moved by another device
+     * is seen by the next readTabRevisions of a sync.
+     */
+    private suspend fun tabIndex(entityType: SheetsEntityType?, sheetName: String, header: List<String>): TabIndex =
+        cachedTabIndex(entityType, sheetName) ?: readTabIndex(entityType, sheetName, header)
+    
+    private fun cachedTabIndex(entityType: SheetsEntityType?, sheetName: String): TabIndex? {
+        if (entityType == null) return null
+        return tabIndexes[tabKey(sheetName)]?.takeIf { it.revision == revisionToken(entityType) }
+    }
+    
+    /**
+     * Data row indexes of [sheetsIds] on a tab, from the cached index when it holds them all.
+     * When one is missing, the tab may have changed unseen, so the index is read again once;
+     * IDs still missing after that are not on the tab.
+     */
+    private suspend fun locateRows(
+        entityType: SheetsEntityType?,
+        sheetName: String,
+        header: List<String>,
+        sheetsIds: Collection<String>
+    ): Pair<TabIndex, Map<String, Int>> {
+        fun locate(index: TabIndex) = sheetsIds.mapNotNull { id -> index.rowIndexOf(id)?.let { id to it } }.toMap()
+        
+        cachedTabIndex(entityType, sheetName)?.let { cached ->
+            val located = locate(cached)
+            if (located.size == sheetsIds.size) return cached to located
+        }
+        val index = readTabIndex(entityType, sheetName, header)
+        return index to locate(index)
+    }
+    
+    /**
+     * Reads the header row and the Sync ID column of a tab in one request. The Sync ID
+     * column is read where the default layout has it; when the header puts it elsewhere,
+     * that column is read with a second request. The result is cached for [entityType].
+     */
+    private suspend fun readTabIndex(entityType: SheetsEntityType?, sheetName: String, header: List<String>): TabIndex {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        val guessed = SheetsTabLayout.default(header).syncIdColumn
+        
+        ApiRateLimitHandler.acquire(RequestCost.READ, "read $sheetName Sync IDs")
+        val response = backend?.batchGet(
+            spreadsheetId,
+            listOf("${a1(sheetName)}!1:1", "${a1(sheetName)}!${guessed}2:$guessed")
+        ) ?: throw IOException("Failed to read $sheetName Sync IDs from Google Sheets - no response received")
+        
+        val ranges = response.valueRanges ?: emptyList()
+        val layout = SheetsTabLayout.of(sheetName, ranges.getOrNull(0)?.getValues()?.firstOrNull(), header)
+        var column = ranges.getOrNull(1)?.getValues() ?: emptyList()
+        
+        if (layout.syncIdColumn != guessed) {
+            ApiRateLimitHandler.acquire(RequestCost.READ, "read $sheetName Sync IDs")
+            val moved = layout.syncIdColumn
+            column = backend?.get(spreadsheetId, "${a1(sheetName)}!${moved}2:$moved")?.getValues()
+                ?: throw IOException("Failed to read $sheetName Sync IDs from Google Sheets - no response received")
+        }
+        
+        val index = TabIndex(layout, column.map { SheetsRowDecoder.cellText(it.firstOrNull()) }, null)
+        rememberTabIndex(entityType, sheetName, index)
+        return index
+    }
+    
+    /**
+     * Caches [index] for the tab at its current revision; tabs without a revision are not cached
+     */
+    private fun rememberTabIndex(entityType: SheetsEntityType?, sheetName: String, index: TabIndex) {
+        if (entityType == null) return
+        tabIndexes[tabKey(sheetName)] = index.at(revisionToken(entityType))
+    }
+    
+    /**
+     * Drops the cached index of a tab, e.g. after a failed write left its content unknown
+     */
+    private fun forgetTabIndex(sheetName: String) {
+        tabIndexes.remove(tabKey(sheetName))
+    }
+    
+    /**
+     * Rebuilds the index of a downloaded tab (read from A1) for free, so the writes that
+     * follow a sync need no read. Dropped when the Sync ID column is outside the download.
+     */
+    private fun rememberDownloadedTab(entityType: SheetsEntityType, values: List<List<Any>>) {
+        val (sheetName, header) = tabOf(entityType) ?: return
+        val layout = try {
+            SheetsTabLayout.of(sheetName, values.firstOrNull(), header)
+        } catch (e: IllegalStateException) {
+            null
+        }
+        if (layout == null || layout.syncIdIndex >= header.size) {
+            forgetTabIndex(sheetName)
+            return
+        }
+        val ids = dataRows(values).map { SheetsRowDecoder.cellText(it.getOrNull(layout.syncIdIndex)) }
+        rememberTabIndex(entityType, sheetName, TabIndex(layout, ids, null))
+    }
+    
+    /**
+     * Index after an append: Sheets reports the range it wrote, which tells where the rows
+     * landed even if other devices appended rows meanwhile. Dropped when the range is unknown.
+     */
+    private fun appendedTo(index: TabIndex, response: AppendValuesResponse, rowIds: List<String>): TabIndex {
+        val range = response.updates?.updatedRange
+        val firstRow = range?.substringAfterLast('!')?.takeWhile { it != ':' }?.dropWhile { it.isLetter() }?.toIntOrNull()
+        return if (firstRow != null && firstRow >= 2) {
+            index.withRows(firstRow - 2, rowIds)
+        } else {
+            TabIndex(index.layout, emptyList(), index.revision)
+        }
+    }
+    
+    /**
+     * Checks a tab just downloaded (read from A1) against the payload this device last pushed:
+     * when someone else changed the tab since, the next upload must not be skipped
+     */
+    private fun checkPushedDigest(sheetName: String, values: List<List<Any>>, width: Int) {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        val pushed = settingsManager.getPushedTabDigest(spreadsheetId, sheetName) ?: return
+        val header = values.firstOrNull()?.let { SheetsDeltaEngine.normalize(it, width) } ?: emptyList()
+        if (pushed != SheetsDeltaEngine.digest(header, dataRows(values).map { SheetsDeltaEngine.normalize(it, width) })) {
+            settingsManager.clearPushedTabDigest(spreadsheetId, sheetName)
+        }
+    }
+    
+    /**
+     * True when [digest] is the payload last uploaded to [sheetName] of the current spreadsheet
+     */
+    private fun isAlreadyPushed(sheetName: String, digest: String): Boolean {
+        val pushed = settingsManager.getPushedTabDigest(settingsManager.getSpreadsheetId(), sheetName) == digest
+        if (pushed) {
+            println("⏭️ $sheetName payload unchanged since the last upload - skipped")
+        }
+        return pushed
+    }
+    
+    private fun forgetPushedDigest(sheetName: String) {
+        settingsManager.clearPushedTabDigest(settingsManager.getSpreadsheetId(), sheetName)
+    }
+    
+    /**
+     * Reads the header and data rows of a tab, limited to the columns we own
+     */
+    private suspend fun readTabRows(sheetName: String, width: Int): TabContent {
+        ApiRateLimitHandler.acquire(RequestCost.READ, "read $sheetName")
+        val lastColumn = SheetsDeltaEngine.columnLetter(width)
+        val response = backend?.get(
+            settingsManager.getSpreadsheetId(),
+            "${a1(sheetName)}!A1:$lastColumn"
+        ) ?: throw IOException("Failed to read $sheetName from Google Sheets - no response received")
+        
+        val values = response.getValues() ?: emptyList()
+        return TabContent(
+            header = values.firstOrNull()?.let { SheetsDeltaEngine.normalize(it, width) },
+            rows = dataRows(values).map { SheetsDeltaEngine.normalize(it, width) }
+        )
+    }
+    
+    /**
+     * Uploads a tab as a row-level delta against its content, read right before the upload:
+     * other devices may have added or removed rows since this device last saw the tab, and
+     * trailing rows are blanked up to the tab's real row count. Changed, appended and removed
+     * rows are sent together in one values().batchUpdate, so the tab is never cleared and the
+     * written rows follow the size of the edit.
+     */
+    private suspend fun uploadTabDelta(
+        entityType: SheetsEntityType,
+        sheetName: String,
+        header: List<String>,
+        rows: List<List<String>>,
+        digest: String? = null,
+        keyOf: (List<String>) -> String
+    ): SheetsDeltaEngine.RowDelta {
+        val width = header.size
+        val lastColumn = SheetsDeltaEngine.columnLetter(width)
+        val remote = readTabRows(sheetName, width)
+        
+        val delta = SheetsDeltaEngine.computeDelta(
+            remoteHeader = remote.header,
+            header = header,
+            remoteRows = remote.rows,
+            localRows = rows,
+            width = width,
+            keyOf = keyOf
+        )
+        
+        if (delta.isEmpty) {
+            digest?.let { settingsManager.savePushedTabDigest(settingsManager.getSpreadsheetId(), sheetName, it) }
+            println("✅ $sheetName already up to date - nothing to upload")
+            return delta
+        }
+        
+        val data = mutableListOf<ValueRange>()
+        if (delta.headerChanged) {
+            data.add(ValueRange().setRange("${a1(sheetName)}!A1:${lastColumn}1").setValues(listOf(header)))
+        }
+        SheetsDeltaEngine.toBlocks(delta.writes).forEach { block ->
+            val firstRow = block.firstRowIndex + 2 // +2 because data starts at row 2 (after header)
+            val lastRow = firstRow + block.rows.size - 1
+            data.add(ValueRange().setRange("${a1(sheetName)}!A$firstRow:$lastColumn$lastRow").setValues(block.rows))
+        }
+        // Sent with the rows, so the new revision never becomes visible without them
+        revisionUpdate(entityType)?.let { data.add(it) }
+        
+        println("📤 $sheetName delta: ${delta.updatedRows} updated, ${delta.appendedRows} appended, ${delta.removedRows} removed, ${delta.movedRows} moved (${data.size} ranges)")
+        
+        try {
+            val request = BatchUpdateValuesRequest()
+                .setValueInputOption("RAW")
+                .setData(data)
             
-            println("✅ Cleared sheet range: $range")
+            backend?.batchUpdate(settingsManager.getSpreadsheetId(), request)
+                ?: throw IOException("Failed to upload changes to $sheetName - no response received")
         } catch (e: Exception) {
-            println("❌ Failed to clear sheet range $range: ${e.message}")
-            // Don't throw here - clearing is best effort, we can still proceed with upload
+            // The remote state is unknown after a failed write, so the next upload must not be skipped
+            forgetPushedDigest(sheetName)
+            throw e
+        } finally {
+            // Moved and removed rows shift the others, so the tab is indexed again when next needed
+            forgetTabIndex(sheetName)
         }
+        
+        digest?.let { settingsManager.savePushedTabDigest(settingsManager.getSpreadsheetId(), sheetName, it) }
+        return delta
+    }
+}
+
+/**
+ * Typed result of a single batched download of Google Sheets tabs.
+ * Lists of tabs that are not in [tabs] were not downloaded and are empty.
+ */
+data class SheetsSnapshot(
+    val guests: List<Guest> = emptyList(),
+    val volunteers: List<Volunteer> = emptyList(),
+    val jobs: List<Job> = emptyList(),
+    val jobTypeConfigs: List<JobTypeConfig> = emptyList(),
+    val venues: List<VenueEntity> = emptyList(),
+    val tabs: Set<SheetsEntityType> = SheetsRevisions.TABS.toSet()
+) {
+    fun isEmpty(): Boolean =
+        guests.isEmpty() && volunteers.isEmpty() && jobs.isEmpty() &&
+        jobTypeConfigs.isEmpty() && venues.isEmpty()
+    
+    fun summary(): String =
+        "${guests.size} guests, ${volunteers.size} volunteers, ${jobs.size} jobs, ${jobTypeConfigs.size} job types, ${venues.size} venues"
+    
+    fun rowCount(entityType: SheetsEntityType): Int = when (entityType) {
+        SheetsEntityType.GUEST -> guests.size
+        SheetsEntityType.VOLUNTEER -> volunteers.size
+        SheetsEntityType.JOB -> jobs.size
+        SheetsEntityType.JOB_TYPE -> jobTypeConfigs.size
+        SheetsEntityType.VENUE -> venues.size
+        SheetsEntityType.VOLUNTEER_GUEST_LIST -> 0
     }
-}
\ No newline at end of file
+}
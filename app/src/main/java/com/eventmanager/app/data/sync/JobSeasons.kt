@@ -0,0 +1,44 @@
+package com.eventmanager.app.data.sync
+
+import java.util.Calendar
+
+/**
+ * Job Seasons
+ *
+ * Partitions jobs by season, one season per calendar year. The hot partition (the jobs
+ * table and the Jobs tab) keeps every season that can still count for a rank:
+ * BenefitCalculator looks back two years at most, ORION lasting a year after the job and
+ * VETERAN the year after that. Older seasons move to the jobs_archive table and to one
+ * archive tab per season named after the Jobs tab ("Shifts 2023"), which syncs never read;
+ * they are only loaded when the statistics ask for all-time history.
+ */
+object JobSeasons {
+
+    // Every job of an archived season is at least this old
+    private const val HOT_MONTHS = 24
+
+    fun seasonOf(date: Long): Int = Calendar.getInstance().apply { timeInMillis = date }.get(Calendar.YEAR)
+
+    /**
+     * Start of the oldest hot season: jobs dated before it belong to the archive
+     */
+    fun hotSince(now: Long = System.currentTimeMillis()): Long =
+        Calendar.getInstance().apply {
+            timeInMillis = now
+            add(Calendar.MONTH, -HOT_MONTHS)
+            set(get(Calendar.YEAR), Calendar.JANUARY, 1, 0, 0, 0)
+            set(Calendar.MILLISECOND, 0)
+        }.timeInMillis
+
+    fun isArchived(date: Long, now: Long = System.currentTimeMillis()): Boolean = date < hotSince(now)
+
+    fun archiveTabName(jobsSheet: String, season: Int): String = "$jobsSheet $season"
+
+    /**
+     * Season of an archive tab of [jobsSheet], null for any other tab
+     */
+    fun seasonOfTab(jobsSheet: String, title: String): Int? {
+        if (!title.startsWith("$jobsSheet ")) return null
+        return title.substring(jobsSheet.length + 1).takeIf { it.length == 4 }?.toIntOrNull()
+    }
+}
@@ -0,0 +1,128 @@
+package com.eventmanager.app.data.sync
+
+import com.eventmanager.app.data.models.Guest
+import com.eventmanager.app.data.models.Job
+import com.eventmanager.app.data.models.JobTypeConfig
+import com.eventmanager.app.data.models.VenueEntity
+import com.eventmanager.app.data.models.Volunteer
+
+/**
+ * How a downloaded row that matches a local row is resolved
+ */
+enum class ConflictPolicy {
+    APP_WINS,    // Local rows are kept, only new remote rows are added
+    SHEETS_WINS, // Remote rows always replace their local match
+    NEWEST_WINS  // Remote rows replace their local match when their lastModified is newer
+}
+
+/**
+ * Merge Engine
+ *
+ * Merges downloaded rows into local rows in linear time. Local rows are indexed once per
+ * match key (sheets ID first, then a natural key such as the name), each remote row is a
+ * hash lookup instead of a scan of the local list, and tombstoned rows are skipped.
+ * The result is a change set meant for a single bulk apply.
+ */
+class MergeEngine<T : Any>(
+    private val matchKeys: List<(T) -> Any?>,
+    private val lastModifiedOf: (T) -> Long,
+    private val adoptLocalId: (remote: T, local: T) -> T,
+    private val policy: ConflictPolicy,
+    private val isDeleted: (T) -> Boolean = { false }
+) {
+
+    data class ChangeSet<T>(
+        val inserts: List<T>, // Remote rows without a local match
+        val updates: List<T>, // Remote rows replacing their local match, carrying the local ID
+        val kept: List<T>,    // Local rows matched by a remote row and left as they are
+        val skippedDeleted: Int
+    ) {
+        val upserts: List<T> get() = inserts + updates
+
+        fun summary(): String =
+            "+${inserts.size} ~${updates.size} (${kept.size} kept, $skippedDeleted deleted locally)"
+    }
+
+    fun merge(local: List<T>, remote: List<T>): ChangeSet<T> {
+        // The first local row of each key wins, as a front-to-back scan would
+        val indexes = matchKeys.map { keyOf ->
+            val index = HashMap<Any, T>(local.size * 2)
+            local.forEach { row -> keyOf(row)?.let { index.putIfAbsent(it, row) } }
+            index
+        }
+
+        val inserts = mutableListOf<T>()
+        val updates = mutableListOf<T>()
+        val kept = mutableListOf<T>()
+        var skippedDeleted = 0
+
+        for (row in remote) {
+            if (isDeleted(row)) {
+                skippedDeleted++
+                continue
+            }
+
+            val match = matchKeys.indices.firstNotNullOfOrNull { i ->
+                matchKeys[i](row)?.let { indexes[i][it] }
+            }
+            when {
+                match == null -> inserts.add(row)
+                replaces(row, match) -> updates.add(adoptLocalId(row, match))
+                else -> kept.add(match)
+            }
+        }
+
+        return ChangeSet(inserts, updates, kept, skippedDeleted)
+    }
+
+    private fun replaces(remote: T, local: T): Boolean = when (policy) {
+        ConflictPolicy.APP_WINS -> false
+        ConflictPolicy.SHEETS_WINS -> true
+        ConflictPolicy.NEWEST_WINS -> lastModifiedOf(remote) > lastModifiedOf(local)
+    }
+
+    companion object {
+        private fun sheetsKey(sheetsId: String?): String? = sheetsId?.takeIf { it.isNotEmpty() }
+
+        fun forGuests(policy: ConflictPolicy, deleted: DeletionTracker.DeletedKeys) = MergeEngine<Guest>(
+            matchKeys = listOf({ sheetsKey(it.sheetsId) }, { it.name }),
+            lastModifiedOf = { it.lastModified },
+            adoptLocalId = { remote, local -> remote.copy(id = local.id) },
+            policy = policy,
+            isDeleted = { deleted.contains(it.id.toString(), it.sheetsId) }
+        )
+
+        fun forVolunteers(policy: ConflictPolicy, deleted: DeletionTracker.DeletedKeys) = MergeEngine<Volunteer>(
+            matchKeys = listOf({ sheetsKey(it.sheetsId) }, { it.name }),
+            lastModifiedOf = { it.lastModified },
+            adoptLocalId = { remote, local -> remote.copy(id = local.id) },
+            policy = policy,
+            isDeleted = { deleted.contains(it.id.toString(), it.sheetsId) }
+        )
+
+        // Jobs have no name: the same volunteer, date and job type identify a job without sheets ID
+        fun forJobs(policy: ConflictPolicy, deleted: DeletionTracker.DeletedKeys) = MergeEngine<Job>(
+            matchKeys = listOf({ sheetsKey(it.sheetsId) }, { Triple(it.volunteerId, it.date, it.jobTypeName) }),
+            lastModifiedOf = { it.lastModified },
+            adoptLocalId = { remote, local -> remote.copy(id = local.id) },
+            policy = policy,
+            isDeleted = { deleted.contains(it.id.toString(), it.sheetsId) }
+        )
+
+        fun forJobTypes(policy: ConflictPolicy, deleted: DeletionTracker.DeletedKeys) = MergeEngine<JobTypeConfig>(
+            matchKeys = listOf({ sheetsKey(it.sheetsId) }, { it.name }),
+            lastModifiedOf = { it.lastModified },
+            adoptLocalId = { remote, local -> remote.copy(id = local.id) },
+            policy = policy,
+            isDeleted = { deleted.contains(it.id.toString(), it.sheetsId) }
+        )
+
+        fun forVenues(policy: ConflictPolicy, deleted: DeletionTracker.DeletedKeys) = MergeEngine<VenueEntity>(
+            matchKeys = listOf({ sheetsKey(it.sheetsId) }, { it.name }),
+            lastModifiedOf = { it.lastModified },
+            adoptLocalId = { remote, local -> remote.copy(id = local.id) },
+            policy = policy,
+            isDeleted = { deleted.contains(it.id.toString(), it.sheetsId) }
+        )
+    }
+}
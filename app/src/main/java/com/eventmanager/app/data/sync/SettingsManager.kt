@@ -20,10 +20,15 @@ class SettingsManager(context: Context) {
         private const val KEY_SYNC_ENABLED = "sync_enabled"
         private const val KEY_AUTO_SYNC = "auto_sync"
         private const val KEY_SYNC_INTERVAL = "sync_interval"
+        private const val KEY_DATASET_TTL = "dataset_ttl_seconds"
         private const val KEY_DEBUG_MODE = "debug_mode"
         private const val KEY_ANIMATED_BACKGROUND = "animated_background"
         private const val KEY_PAGE_ANIMATIONS = "page_animations"
         private const val KEY_LAST_SYNC_TIME = "last_sync_time"
+        private const val KEY_UPLOAD_WATERMARK_PREFIX = "upload_watermark_"
+        private const val KEY_SEEN_REVISION_PREFIX = "seen_tab_revision_"
+        private const val KEY_LAST_FULL_DOWNLOAD_TIME = "last_full_download_time"
+        private const val KEY_PUSHED_DIGEST_PREFIX = "pushed_tab_digest_"
         private const val KEY_LANGUAGE = "language"
         private const val KEY_THEME_MODE = "theme_mode"
         private const val KEY_COLOR_THEME = "color_theme"
@@ -46,6 +51,11 @@ class SettingsManager(context: Context) {
     }
     
     fun saveSpreadsheetId(id: String) {
+        if (id != getSpreadsheetId()) {
+            // A different spreadsheet has none of our rows yet
+            clearUploadWatermarks()
+            clearSeenTabRevisions()
+        }
         prefs.edit().putString(KEY_SPREADSHEET_ID, id).apply()
     }
     
@@ -54,6 +64,10 @@ class SettingsManager(context: Context) {
     }
     
     fun saveGuestListSheet(sheet: String) {
+        if (sheet != getGuestListSheet()) {
+            clearUploadWatermarks()
+            clearSeenTabRevisions()
+        }
         prefs.edit().putString(KEY_GUEST_LIST_SHEET, sheet).apply()
     }
     
@@ -62,6 +76,10 @@ class SettingsManager(context: Context) {
     }
     
     fun saveVolunteerSheet(sheet: String) {
+        if (sheet != getVolunteerSheet()) {
+            clearUploadWatermarks()
+            clearSeenTabRevisions()
+        }
         prefs.edit().putString(KEY_VOLUNTEER_SHEET, sheet).apply()
     }
     
@@ -70,6 +88,10 @@ class SettingsManager(context: Context) {
     }
     
     fun saveJobsSheet(sheet: String) {
+        if (sheet != getJobsSheet()) {
+            clearUploadWatermarks()
+            clearSeenTabRevisions()
+        }
         prefs.edit().putString(KEY_JOBS_SHEET, sheet).apply()
     }
     
@@ -98,6 +120,7 @@ class SettingsManager(context: Context) {
     }
 
     fun saveVenuesSheet(sheet: String) {
+        if (sheet != getVenuesSheet()) clearSeenTabRevisions()
         prefs.edit().putString(KEY_VENUES_SHEET, sheet).apply()
     }
     
@@ -126,6 +149,15 @@ class SettingsManager(context: Context) {
         prefs.edit().putInt(KEY_SYNC_INTERVAL, intervalMinutes).apply()
     }
     
+    // How long a downloaded dataset counts as fresh for page changes
+    fun getDatasetTtlSeconds(): Int {
+        return prefs.getInt(KEY_DATASET_TTL, 120) // 2 minutes default
+    }
+    
+    fun saveDatasetTtlSeconds(seconds: Int) {
+        prefs.edit().putInt(KEY_DATASET_TTL, seconds).apply()
+    }
+    
     fun getAutoSyncEnabled(): Boolean {
         return prefs.getBoolean(KEY_AUTO_SYNC, true)
     }
@@ -167,6 +199,60 @@ class SettingsManager(context: Context) {
         prefs.edit().putLong(KEY_LAST_SYNC_TIME, timestamp).apply()
     }
     
+    // Upload watermarks: rows of a table modified after its watermark have not been pushed yet
+    fun getUploadWatermark(table: String): Long {
+        return prefs.getLong(KEY_UPLOAD_WATERMARK_PREFIX + table, 0L) // 0 = never uploaded, push everything
+    }
+    
+    fun saveUploadWatermark(table: String, timestamp: Long) {
+        prefs.edit().putLong(KEY_UPLOAD_WATERMARK_PREFIX + table, timestamp).apply()
+    }
+    
+    fun clearUploadWatermarks() {
+        val editor = prefs.edit()
+        prefs.all.keys.filter { it.startsWith(KEY_UPLOAD_WATERMARK_PREFIX) }.forEach { editor.remove(it) }
+        editor.apply()
+    }
+    
+    // Seen tab revisions: the _Meta revision of each tab last downloaded and applied locally
+    fun getSeenTabRevision(tab: String): String? {
+        return prefs.getString(KEY_SEEN_REVISION_PREFIX + tab, null) // null = never applied, download it
+    }
+    
+    fun saveSeenTabRevisions(revisions: Map<String, String>) {
+        val editor = prefs.edit()
+        revisions.forEach { (tab, token) -> editor.putString(KEY_SEEN_REVISION_PREFIX + tab, token) }
+        editor.apply()
+    }
+    
+    fun clearSeenTabRevisions() {
+        val editor = prefs.edit()
+        prefs.all.keys.filter { it.startsWith(KEY_SEEN_REVISION_PREFIX) }.forEach { editor.remove(it) }
+        editor.remove(KEY_LAST_FULL_DOWNLOAD_TIME)
+        editor.apply()
+    }
+    
+    fun getLastFullDownloadTime(): Long {
+        return prefs.getLong(KEY_LAST_FULL_DOWNLOAD_TIME, 0L)
+    }
+    
+    fun saveLastFullDownloadTime(timestamp: Long) {
+        prefs.edit().putLong(KEY_LAST_FULL_DOWNLOAD_TIME, timestamp).apply()
+    }
+    
+    // Pushed tab digests: digest of the whole payload last uploaded to a tab, per spreadsheet
+    fun getPushedTabDigest(spreadsheetId: String, sheetName: String): String? {
+        return prefs.getString("$KEY_PUSHED_DIGEST_PREFIX$spreadsheetId/$sheetName", null)
+    }
+    
+    fun savePushedTabDigest(spreadsheetId: String, sheetName: String, digest: String) {
+        prefs.edit().putString("$KEY_PUSHED_DIGEST_PREFIX$spreadsheetId/$sheetName", digest).apply()
+    }
+    
+    fun clearPushedTabDigest(spreadsheetId: String, sheetName: String) {
+        prefs.edit().remove("$KEY_PUSHED_DIGEST_PREFIX$spreadsheetId/$sheetName").apply()
+    }
+    
     // Language Configuration
     fun getLanguage(): String {
         return prefs.getString(KEY_LANGUAGE, "en") ?: "en" // Default to English
@@ -0,0 +1,124 @@
+package com.eventmanager.app.data.sync
+
+import com.google.api.services.sheets.v4.Sheets
+import com.google.api.services.sheets.v4.model.*
+
+/**
+ * Sheets Backend
+ *
+ * The subset of the Google Sheets API used by the sync code. GoogleSheetsService only
+ * talks to this interface, so the whole sync stack can run against the real API
+ * ([GoogleSheetsBackend]) or, in the JVM tests, against the in-memory FakeSheetsBackend
+ * passed to its constructor.
+ *
+ * Calls are blocking and must be made from Dispatchers.IO.
+ * Values are always written with the RAW input option and read unformatted.
+ */
+interface SheetsBackend {
+    fun get(spreadsheetId: String, range: String): ValueRange
+
+    fun batchGet(spreadsheetId: String, ranges: List<String>): BatchGetValuesResponse
+
+    fun update(spreadsheetId: String, range: String, body: ValueRange): UpdateValuesResponse
+
+    fun append(spreadsheetId: String, range: String, body: ValueRange): AppendValuesResponse
+
+    fun clear(spreadsheetId: String, range: String): ClearValuesResponse
+
+    fun batchUpdate(spreadsheetId: String, request: BatchUpdateValuesRequest): BatchUpdateValuesResponse
+
+    fun getSpreadsheet(spreadsheetId: String): Spreadsheet
+
+    fun batchUpdateSpreadsheet(spreadsheetId: String, request: BatchUpdateSpreadsheetRequest): BatchUpdateSpreadsheetResponse
+}
+
+/**
+ * Production backend, delegating to the Google Sheets API client
+ */
+class GoogleSheetsBackend(private val sheets: Sheets) : SheetsBackend {
+
+    private companion object {
+        // Numbers arrive as numbers instead of locale formatted text; dates typed by hand stay readable
+        const val VALUE_RENDER_OPTION = "UNFORMATTED_VALUE"
+        const val DATE_TIME_RENDER_OPTION = "FORMATTED_STRING"
+    }
+
+    override fun get(spreadsheetId: String, range: String): ValueRange =
+        sheets.spreadsheets().values().get(spreadsheetId, range)
+            .setValueRenderOption(VALUE_RENDER_OPTION)
+            .setDateTimeRenderOption(DATE_TIME_RENDER_OPTION)
+            .execute()
+
+    override fun batchGet(spreadsheetId: String, ranges: List<String>): BatchGetValuesResponse =
+        sheets.spreadsheets().values().batchGet(spreadsheetId).setRanges(ranges)
+            .setValueRenderOption(VALUE_RENDER_OPTION)
+            .setDateTimeRenderOption(DATE_TIME_RENDER_OPTION)
+            .execute()
+
+    override fun update(spreadsheetId: String, range: String, body: ValueRange): UpdateValuesResponse =
+        sheets.spreadsheets().values().update(spreadsheetId, range, body)
+            .setValueInputOption("RAW")
+            .execute()
+
+    override fun append(spreadsheetId: String, range: String, body: ValueRange): AppendValuesResponse =
+        sheets.spreadsheets().values().append(spreadsheetId, range, body)
+            .setValueInputOption("RAW")
+            .execute()
+
+    override fun clear(spreadsheetId: String, range: String): ClearValuesResponse =
+        sheets.spreadsheets().values().clear(spreadsheetId, range, ClearValuesRequest()).execute()
+
+    override fun batchUpdate(spreadsheetId: String, request: BatchUpdateValuesRequest): BatchUpdateValuesResponse =
+        sheets.spreadsheets().values().batchUpdate(spreadsheetId, request).execute()
+
+    override fun getSpreadsheet(spreadsheetId: String): Spreadsheet =
+        sheets.spreadsheets().get(spreadsheetId).execute()
+
+    override fun batchUpdateSpreadsheet(spreadsheetId: String, request: BatchUpdateSpreadsheetRequest): BatchUpdateSpreadsheetResponse =
+        sheets.spreadsheets().batchUpdate(spreadsheetId, request).execute()
+}
+
+/**
+ * Counts the requests, rows and cell text of every call into the current sync trace span
+ */
+class TracingSheetsBackend(private val delegate: SheetsBackend) : SheetsBackend {
+
+    override fun get(spreadsheetId: String, range: String): ValueRange =
+        delegate.get(spreadsheetId, range).also { recordValues(it.getValues()) }
+
+    override fun batchGet(spreadsheetId: String, ranges: List<String>): BatchGetValuesResponse =
+        delegate.batchGet(spreadsheetId, ranges).also { response ->
+            recordValues(response.valueRanges.orEmpty().flatMap { it.getValues().orEmpty() })
+        }
+
+    override fun update(spreadsheetId: String, range: String, body: ValueRange): UpdateValuesResponse =
+        delegate.update(spreadsheetId, range, body).also { recordValues(body.getValues()) }
+
+    override fun append(spreadsheetId: String, range: String, body: ValueRange): AppendValuesResponse =
+        delegate.append(spreadsheetId, range, body).also { recordValues(body.getValues()) }
+
+    override fun clear(spreadsheetId: String, range: String): ClearValuesResponse =
+        delegate.clear(spreadsheetId, range).also { SyncTracer.record(requests = 1) }
+
+    override fun batchUpdate(spreadsheetId: String, request: BatchUpdateValuesRequest): BatchUpdateValuesResponse =
+        delegate.batchUpdate(spreadsheetId, request).also {
+            recordValues(request.data.orEmpty().flatMap { it.getValues().orEmpty() })
+        }
+
+    override fun getSpreadsheet(spreadsheetId: String): Spreadsheet =
+        delegate.getSpreadsheet(spreadsheetId).also { SyncTracer.record(requests = 1) }
+
+    override fun batchUpdateSpreadsheet(spreadsheetId: String, request: BatchUpdateSpreadsheetRequest): BatchUpdateSpreadsheetResponse =
+        delegate.batchUpdateSpreadsheet(spreadsheetId, request).also {
+            SyncTracer.record(rows = request.requests.orEmpty().size, requests = 1)
+        }
+
+    private fun recordValues(values: List<List<Any>>?) {
+        val rows = values.orEmpty()
+        SyncTracer.record(
+            rows = rows.size,
+            bytes = rows.sumOf { row -> row.sumOf { cell -> cell.toString().length.toLong() } },
+            requests = 1
+        )
+    }
+}
@@ -0,0 +1,128 @@
+package com.eventmanager.app.data.sync
+
+import com.google.api.client.googleapis.auth.oauth2.GoogleCredential
+import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport
+import com.google.api.client.http.javanet.NetHttpTransport
+import com.google.api.client.json.gson.GsonFactory
+import com.google.api.services.sheets.v4.Sheets
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import java.io.File
+import java.io.FileInputStream
+
+/**
+ * Sheets Client Holder
+ *
+ * Process-wide, long-lived Google Sheets client.
+ *
+ * 1. The HTTP transport is created once (TLS trust store loaded once) and shared, so
+ *    keep-alive connections to the Sheets API are reused across syncs
+ * 2. The service account key is parsed once per key file version (path, size, modification time);
+ *    uploading a new key rebuilds the client on next use
+ * 3. The access token is refreshed in the background a few minutes before it expires,
+ *    so sync calls never wait for an OAuth round-trip
+ */
+object SheetsClientHolder {
+
+    private const val APPLICATION_NAME = "Event Manager App"
+    private const val REFRESH_MARGIN_SECONDS = 5 * 60L
+    private const val MIN_REFRESH_DELAY_SECONDS = 60L
+    private const val REFRESH_RETRY_DELAY_MS = 30_000L
+
+    private class Client(
+        val keyVersion: String,
+        val credential: GoogleCredential,
+        val backend: SheetsBackend,
+        val refreshJob: kotlinx.coroutines.Job
+    )
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val mutex = Mutex()
+
+    @Volatile
+    private var client: Client? = null
+
+    private val httpTransport: NetHttpTransport by lazy {
+        println("🔌 Creating shared Google Sheets HTTP transport")
+        GoogleNetHttpTransport.newTrustedTransport()
+    }
+
+    /**
+     * Returns the shared backend for the given service account key, building it on first use
+     * or when the key file has changed since the last build
+     */
+    suspend fun getBackend(keyFilePath: String): SheetsBackend = withContext(Dispatchers.IO) {
+        val keyVersion = keyVersionOf(keyFilePath)
+        client?.takeIf { it.keyVersion == keyVersion }?.let { return@withContext it.backend }
+
+        mutex.withLock {
+            client?.takeIf { it.keyVersion == keyVersion }?.let { return@withLock it.backend }
+
+            client?.refreshJob?.cancel()
+
+            println("🔌 Building Google Sheets client for service account key")
+            val credential = FileInputStream(keyFilePath).use { input ->
+                GoogleCredential.fromStream(input, httpTransport, GsonFactory.getDefaultInstance())
+            }.createScoped(listOf(GoogleSheetsConfig.SCOPES))
+
+            val sheets = Sheets.Builder(httpTransport, GsonFactory.getDefaultInstance(), credential)
+                .setApplicationName(APPLICATION_NAME)
+                .build()
+
+            val newClient = Client(
+                keyVersion = keyVersion,
+                credential = credential,
+                backend = TracingSheetsBackend(GoogleSheetsBackend(sheets)),
+                refreshJob = startTokenRefresh(credential)
+            )
+            client = newClient
+            newClient.backend
+        }
+    }
+
+    /**
+     * Drops the cached client, e.g. after the service account key was deleted
+     */
+    fun invalidate() {
+        client?.refreshJob?.cancel()
+        client = null
+        println("🔌 Google Sheets client invalidated")
+    }
+
+    /**
+     * Keeps the access token fresh: refreshes right away, then again shortly before each expiry
+     */
+    private fun startTokenRefresh(credential: GoogleCredential) = scope.launch {
+        while (isActive) {
+            val expiresIn = credential.expiresInSeconds
+            if (expiresIn != null && expiresIn > REFRESH_MARGIN_SECONDS) {
+                delay(maxOf(expiresIn - REFRESH_MARGIN_SECONDS, MIN_REFRESH_DELAY_SECONDS) * 1000)
+                continue
+            }
+
+            try {
+                if (credential.refreshToken()) {
+                    println("🔑 Google Sheets access token refreshed (expires in ${credential.expiresInSeconds}s)")
+                } else {
+                    delay(REFRESH_RETRY_DELAY_MS)
+                }
+            } catch (e: Exception) {
+                // Offline or transient failure: the client still refreshes on demand when a call needs it
+                println("🔑 Background token refresh failed: ${e.message}")
+                delay(REFRESH_RETRY_DELAY_MS)
+            }
+        }
+    }
+
+    private fun keyVersionOf(keyFilePath: String): String {
+        val file = File(keyFilePath)
+        return "${file.absolutePath}:${file.length()}:${file.lastModified()}"
+    }
+}
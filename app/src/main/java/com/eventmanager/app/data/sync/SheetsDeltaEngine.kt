@@ -0,0 +1,203 @@
+package com.eventmanager.app.data.sync
+
+/**
+ * Sheets Delta Engine
+ *
+ * Computes the minimal set of row writes needed to turn the remote content
+ * of a tab, as read right before the upload, into the current local content.
+ *
+ * Rows are aligned by a key instead of by position:
+ * 1. Rows whose key and content are unchanged are not touched
+ * 2. Rows whose key exists remotely but content changed are rewritten in place
+ * 3. New rows first fill the slots freed by removed rows, then get appended
+ * 4. Remaining holes are filled by moving rows from the end of the tab,
+ *    and the now unused trailing rows are blanked
+ *
+ * The tab therefore never goes through an empty state, and the number of
+ * written rows scales with the size of the edit instead of the size of the table.
+ */
+object SheetsDeltaEngine {
+
+    /**
+     * A single row to write, [rowIndex] is 0-based among data rows (sheet row = rowIndex + 2)
+     */
+    data class RowWrite(
+        val rowIndex: Int,
+        val values: List<String>
+    )
+
+    /**
+     * Result of a delta computation
+     */
+    data class RowDelta(
+        val writes: List<RowWrite> = emptyList(),
+        val headerChanged: Boolean = false,
+        val updatedRows: Int = 0,
+        val appendedRows: Int = 0,
+        val removedRows: Int = 0,
+        val movedRows: Int = 0
+    ) {
+        val isEmpty: Boolean get() = writes.isEmpty() && !headerChanged
+    }
+
+    /**
+     * A contiguous block of row writes, suitable for a single ValueRange
+     */
+    data class RowBlock(
+        val firstRowIndex: Int,
+        val rows: List<List<String>>
+    )
+
+    /**
+     * Computes the row writes needed to go from [remoteRows] to [localRows].
+     * Both lists contain data rows only (no header). Rows are normalized to [width] columns.
+     */
+    fun computeDelta(
+        remoteHeader: List<String>?,
+        header: List<String>,
+        remoteRows: List<List<String>>,
+        localRows: List<List<String>>,
+        width: Int,
+        keyOf: (List<String>) -> String
+    ): RowDelta {
+        val remote = remoteRows.map { normalize(it, width) }
+        val local = localRows.map { normalize(it, width) }
+        val headerChanged = remoteHeader == null || normalize(remoteHeader, width) != normalize(header, width)
+
+        // Index remote positions by key; duplicates are consumed in order
+        val remoteByKey = HashMap<String, ArrayDeque<Int>>()
+        remote.forEachIndexed { index, row ->
+            remoteByKey.getOrPut(keyOf(row)) { ArrayDeque() }.addLast(index)
+        }
+
+        // final position -> content for every kept local row
+        val placed = HashMap<Int, List<String>>()
+        val claimed = BooleanArray(remote.size)
+        val newRows = mutableListOf<List<String>>()
+        val writes = HashMap<Int, List<String>>()
+        var updatedRows = 0
+
+        for (row in local) {
+            val position = remoteByKey[keyOf(row)]?.removeFirstOrNull()
+            if (position == null) {
+                newRows.add(row)
+                continue
+            }
+            claimed[position] = true
+            placed[position] = row
+            if (remote[position] != row) {
+                writes[position] = row
+                updatedRows++
+            }
+        }
+
+        val removedRows = claimed.count { !it }
+        val holes = ArrayDeque((0 until remote.size).filter { !claimed[it] })
+
+        // New rows go into freed slots first, then after the end of the tab
+        var appendedRows = 0
+        var nextAppendIndex = remote.size
+        for (row in newRows) {
+            val position = holes.removeFirstOrNull()
+            if (position != null) {
+                placed[position] = row
+                writes[position] = row
+            } else {
+                placed[nextAppendIndex] = row
+                writes[nextAppendIndex] = row
+                nextAppendIndex++
+                appendedRows++
+            }
+        }
+
+        // Compact: move rows living beyond the final size into the remaining holes
+        val finalSize = local.size
+        var movedRows = 0
+        val tailPositions = placed.keys.filter { it >= finalSize }.sortedDescending()
+        for (from in tailPositions) {
+            val to = holes.removeFirstOrNull() ?: break
+            if (to >= finalSize) {
+                holes.addFirst(to)
+                break
+            }
+            val row = placed.remove(from) ?: continue
+            placed[to] = row
+            writes.remove(from)
+            writes[to] = row
+            movedRows++
+        }
+
+        // Blank every previously used row past the final size
+        val blank = List(width) { "" }
+        for (position in finalSize until remote.size) {
+            writes[position] = blank
+        }
+
+        return RowDelta(
+            writes = writes.entries.sortedBy { it.key }.map { RowWrite(it.key, it.value) },
+            headerChanged = headerChanged,
+            updatedRows = updatedRows,
+            appendedRows = appendedRows,
+            removedRows = removedRows,
+            movedRows = movedRows
+        )
+    }
+
+    /**
+     * Groups sorted row writes into contiguous blocks
+     */
+    fun toBlocks(writes: List<RowWrite>): List<RowBlock> {
+        val blocks = mutableListOf<RowBlock>()
+        var start = -1
+        var current = mutableListOf<List<String>>()
+        for (write in writes.sortedBy { it.rowIndex }) {
+            if (start >= 0 && write.rowIndex == start + current.size) {
+                current.add(write.values)
+            } else {
+                if (start >= 0) blocks.add(RowBlock(start, current))
+                start = write.rowIndex
+                current = mutableListOf(write.values)
+            }
+        }
+        if (start >= 0) blocks.add(RowBlock(start, current))
+        return blocks
+    }
+
+    /**
+     * Pads or truncates a row to exactly [width] string cells
+     */
+    fun normalize(row: List<Any?>, width: Int): List<String> {
+        return List(width) { index -> SheetsRowDecoder.cellText(row.getOrNull(index)) }
+    }
+
+    /**
+     * Digest of a whole tab payload: its header and the multiset of its non-blank rows.
+     * Row order is ignored, as the delta upload does not keep rows in local order,
+     * so a downloaded tab digests like the rows that were uploaded to it.
+     */
+    fun digest(header: List<String>, rows: List<List<String>>): String {
+        var rowSum = 0L
+        var rowCount = 0
+        rows.forEach { row ->
+            if (row.any { it.isNotEmpty() }) {
+                rowSum += SheetsRowDecoder.fnvHash(row.asSequence())
+                rowCount++
+            }
+        }
+        return "$rowCount:${java.lang.Long.toHexString(SheetsRowDecoder.fnvHash(header.asSequence()) * 31 + rowSum)}"
+    }
+
+    /**
+     * Returns the column letter for a 1-based column count (1 -> A, 10 -> J)
+     */
+    fun columnLetter(width: Int): String {
+        var n = width
+        val builder = StringBuilder()
+        while (n > 0) {
+            val rem = (n - 1) % 26
+            builder.insert(0, ('A' + rem))
+            n = (n - 1) / 26
+        }
+        return builder.toString()
+    }
+}
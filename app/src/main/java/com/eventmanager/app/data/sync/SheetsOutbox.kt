@@ -0,0 +1,171 @@
+package com.eventmanager.app.data.sync
+
+import android.content.Context
+import com.eventmanager.app.data.models.*
+import com.eventmanager.app.data.repository.EventManagerRepository
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.channels.Channel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.isActive
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+
+/**
+ * Sheets Outbox
+ *
+ * Persistent queue of pending Google Sheets writes, stored in the sheets_outbox table.
+ *
+ * 1. Edits are committed to Room first, then recorded here (one entry per entity,
+ *    repeated edits of the same entity collapse into a single entry)
+ * 2. A background drainer waits for a short quiet period, then flushes pending
+ *    entries in batches: one delta upload per affected tab, whatever the number of edits
+ * 3. Failed flushes keep their entries and are retried with backoff, so edits made
+ *    offline reach Google Sheets once the connection is back
+ */
+class SheetsOutbox(
+    private val context: Context,
+    private val repository: EventManagerRepository,
+    private val twoWaySyncService: TwoWaySyncService
+) {
+
+    companion object {
+        private const val BATCH_SIZE = 200
+        private const val DEBOUNCE_MS = 1500L
+        private const val BASE_RETRY_DELAY_MS = 5_000L
+        private const val MAX_RETRY_DELAY_MS = 5 * 60_000L
+
+        // Shared by every outbox instance, as the background sync worker drains the same table
+        private val drainMutex = Mutex()
+    }
+
+    private val settingsManager = SettingsManager(context)
+    private val wakeUp = Channel<Unit>(Channel.CONFLATED)
+    private var drainerJob: kotlinx.coroutines.Job? = null
+
+    /**
+     * Number of entities still waiting to be written to Google Sheets
+     */
+    val pendingCount: Flow<Int> = repository.getPendingSheetsChangeCount()
+
+    /**
+     * Records a pending write and wakes the drainer
+     */
+    suspend fun enqueue(entityType: SheetsEntityType, entityId: Long, operation: SheetsOperation, sheetsId: String? = null) {
+        repository.enqueueSheetsChange(entityType, entityId, operation, sheetsId)
+        wakeUp.trySend(Unit)
+    }
+
+    suspend fun enqueueGuest(guest: Guest, operation: SheetsOperation = SheetsOperation.UPSERT) =
+        enqueue(SheetsEntityType.GUEST, guest.id, operation, guest.sheetsId)
+
+    suspend fun enqueueVolunteer(volunteer: Volunteer, operation: SheetsOperation = SheetsOperation.UPSERT) =
+        enqueue(SheetsEntityType.VOLUNTEER, volunteer.id, operation, volunteer.sheetsId)
+
+    suspend fun enqueueJob(job: Job, operation: SheetsOperation = SheetsOperation.UPSERT) =
+        enqueue(SheetsEntityType.JOB, job.id, operation, job.sheetsId)
+
+    suspend fun enqueueJobType(config: JobTypeConfig, operation: SheetsOperation = SheetsOperation.UPSERT) =
+        enqueue(SheetsEntityType.JOB_TYPE, config.id, operation, config.sheetsId)
+
+    suspend fun enqueueVenue(venue: VenueEntity, operation: SheetsOperation = SheetsOperation.UPSERT) =
+        enqueue(SheetsEntityType.VENUE, venue.id, operation, venue.sheetsId)
+
+    suspend fun enqueueVolunteerGuestList() =
+        enqueue(SheetsEntityType.VOLUNTEER_GUEST_LIST, 0L, SheetsOperation.UPSERT)
+
+    /**
+     * Starts the background drainer. Entries left over from a previous session are flushed right away.
+     */
+    fun start(scope: CoroutineScope) {
+        if (drainerJob?.isActive == true) return
+
+        // Queued uploads run in the background lane of the request scheduler
+        drainerJob = scope.launch(Dispatchers.IO + SheetsRequestPriority.BACKGROUND) {
+            var failures = 0
+            wakeUp.trySend(Unit)
+            while (isActive) {
+                wakeUp.receive()
+                // Let quick successive saves collapse into the same flush
+                delay(DEBOUNCE_MS)
+
+                if (drain()) {
+                    failures = 0
+                } else {
+                    failures++
+                    val retryDelay = minOf(BASE_RETRY_DELAY_MS * (1L shl minOf(failures - 1, 10)), MAX_RETRY_DELAY_MS)
+                    println("📮 Outbox flush failed ($failures in a row), retrying in ${retryDelay / 1000}s")
+                    delay(retryDelay)
+                    wakeUp.trySend(Unit)
+                }
+            }
+        }
+        println("📮 Sheets outbox drainer started")
+    }
+
+    fun stop() {
+        drainerJob?.cancel()
+        drainerJob = null
+    }
+
+    /**
+     * Flushes every pending entry. Returns false if at least one tab failed to upload;
+     * the entries of that tab stay in the outbox for the next attempt.
+     */
+    suspend fun drain(): Boolean = SyncTracer.trace("outbox drain") {
+        withContext(Dispatchers.IO) {
+        drainMutex.withLock {
+            if (!settingsManager.isConfigured()) {
+                println("📮 Google Sheets not configured, keeping ${repository.getPendingSheetsChangeCountOnce()} pending changes")
+                return@withLock true
+            }
+
+            var success = true
+            while (success) {
+                val batch = repository.getPendingSheetsChanges(BATCH_SIZE)
+                if (batch.isEmpty()) break
+
+                println("📮 Flushing ${batch.size} pending changes from outbox")
+
+                // One upload per tab covers every pending entry of that tab
+                batch.groupBy { it.entityType }.forEach { (entityType, entries) ->
+                    val ids = entries.map { it.id }
+                    try {
+                        flushTab(entityType, entries)
+                        repository.completeSheetsChanges(ids)
+                        println("📮 Flushed ${entries.size} ${entityType.name} changes")
+                    } catch (e: Exception) {
+                        println("📮 Failed to flush ${entityType.name} changes: ${e.message}")
+                        repository.failSheetsChanges(ids, e.message)
+                        success = false
+                    }
+                }
+            }
+            success
+        }
+        }
+    }
+
+    private suspend fun flushTab(entityType: SheetsEntityType, entries: List<SheetsOutboxEntry>) {
+        // Deleted rows are removed by ID first, so the tab upload below has nothing to shift
+        val deletedIds = entries
+            .filter { it.operation == SheetsOperation.DELETE }
+            .mapNotNull { it.sheetsId }
+            .filter { SheetsRowIds.isStable(it) }
+        if (deletedIds.isNotEmpty()) {
+            twoWaySyncService.deleteRowsFromSheets(entityType, deletedIds)
+        }
+
+        when (entityType) {
+            SheetsEntityType.GUEST -> twoWaySyncService.backupGuestsToSheets()
+            SheetsEntityType.VOLUNTEER -> twoWaySyncService.backupVolunteersToSheets()
+            SheetsEntityType.JOB -> twoWaySyncService.backupJobsToSheets()
+            SheetsEntityType.JOB_TYPE -> twoWaySyncService.backupJobTypesToSheets()
+            SheetsEntityType.VENUE -> twoWaySyncService.backupVenuesToSheets()
+            SheetsEntityType.VOLUNTEER_GUEST_LIST -> twoWaySyncService.backupVolunteerGuestListToSheets()
+        }
+    }
+}
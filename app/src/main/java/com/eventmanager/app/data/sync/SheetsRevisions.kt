@@ -0,0 +1,79 @@
+package com.eventmanager.app.data.sync
+
+import com.eventmanager.app.data.models.SheetsEntityType
+import java.util.UUID
+
+/**
+ * Revision of one tab as recorded in the _Meta tab
+ */
+data class TabRevision(
+    val counter: Long,
+    val stamp: String
+) {
+    // Compact form kept on the device to remember the last applied revision
+    val token: String get() = "$counter|$stamp"
+}
+
+/**
+ * Sheets Revisions
+ *
+ * Layout of the hidden _Meta tab: one row per downloaded tab, in the fixed order of [TABS],
+ * holding a revision counter and the stamp of the last write. Every upload bumps the row
+ * of the tab it wrote, so devices can tell which tabs changed from one tiny read instead
+ * of downloading them all. The stamp is unique per write, so two devices bumping from
+ * the same counter still produce different revisions.
+ */
+object SheetsRevisions {
+
+    const val META_SHEET = "_Meta"
+    const val WIDTH = 3
+
+    val HEADER = listOf("Tab", "Revision", "Stamp")
+
+    val TABS = listOf(
+        SheetsEntityType.GUEST,
+        SheetsEntityType.VOLUNTEER,
+        SheetsEntityType.JOB,
+        SheetsEntityType.JOB_TYPE,
+        SheetsEntityType.VENUE
+    )
+
+    // Identifies this app process in the stamps it writes
+    private val writerId = UUID.randomUUID().toString().take(8)
+
+    /**
+     * Range holding the revision rows of every tab, header excluded
+     */
+    val RANGE: String = "$META_SHEET!A2:C${TABS.size + 1}"
+
+    /**
+     * Sheet row number (1-based, header is row 1) of the revision of [entityType], null for untracked tabs
+     */
+    fun rowNumberOf(entityType: SheetsEntityType): Int? =
+        TABS.indexOf(entityType).takeIf { it >= 0 }?.plus(2)
+
+    /**
+     * Parses the rows read from [RANGE]; rows without a numeric counter are left out
+     */
+    fun parse(values: List<List<Any>>): Map<SheetsEntityType, TabRevision> {
+        val revisions = mutableMapOf<SheetsEntityType, TabRevision>()
+        TABS.forEachIndexed { index, entityType ->
+            val row = values.getOrNull(index) ?: return@forEachIndexed
+            val counter = row.getOrNull(1)?.toString()?.toLongOrNull() ?: return@forEachIndexed
+            revisions[entityType] = TabRevision(counter, row.getOrNull(2)?.toString() ?: "")
+        }
+        return revisions
+    }
+
+    fun next(current: TabRevision?): TabRevision =
+        TabRevision((current?.counter ?: 0L) + 1, "${System.currentTimeMillis()}-$writerId")
+
+    fun row(entityType: SheetsEntityType, revision: TabRevision): List<Any> =
+        listOf(entityType.name, revision.counter, revision.stamp)
+
+    /**
+     * True when a read failed because the spreadsheet has no _Meta tab
+     */
+    fun isMissingTab(e: Exception): Boolean =
+        e.message?.contains("Unable to parse range", ignoreCase = true) == true
+}
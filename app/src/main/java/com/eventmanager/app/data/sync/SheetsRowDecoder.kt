@@ -0,0 +1,251 @@
+package com.eventmanager.app.data.sync
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.coroutineScope
+import java.math.BigDecimal
+
+/**
+ * Header rows written by the app, in their default column order
+ */
+object SheetsHeaders {
+
+    val GUESTS = listOf("Name", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified", SheetsRowIds.HEADER)
+
+    val VOLUNTEERS = listOf("ID", "Name", "Abbreviation", "Email", "Phone", "Date of Birth", "Gender", "Rank", "Active", "Last Modified", SheetsRowIds.HEADER)
+
+    val JOBS = listOf("Volunteer ID", "Job Type", "Venue", "Date", "Shift Time", "Notes", "Last Modified", SheetsRowIds.HEADER)
+
+    val JOB_TYPES = listOf("Name", "Status", "Shift Type", "Orion Type", "Requires Time", "Benefit System", "Manual Rewards", "Description", "Last Modified", SheetsRowIds.HEADER)
+
+    val VENUES = listOf("Name", "Description", "Status", "Last Modified", SheetsRowIds.HEADER)
+}
+
+/**
+ * Sheets Row Decoder
+ *
+ * Decodes the rows of one downloaded tab. Column positions are resolved once from the
+ * header row, so columns moved or inserted in the spreadsheet still land in the right
+ * fields. When the header row is not recognized, columns keep their default position.
+ * Cells are read as returned by an UNFORMATTED_VALUE request (numbers as numbers), large
+ * tabs are decoded in parallel chunks, and skipped rows are counted in a [Report]
+ * instead of being logged one by one.
+ */
+class SheetsRowDecoder(
+    private val tabName: String,
+    header: List<Any>?,
+    private val defaultHeader: List<String>
+) {
+
+    companion object {
+        private const val CHUNK_SIZE = 2000
+
+        private const val FNV_OFFSET = -3750763034362895579L // 0xcbf29ce484222325
+        private const val FNV_PRIME = 1099511628211L
+        private const val CELL_SEPARATOR = 0x1FL
+
+        /**
+         * Text of a cell: integral numbers without decimals or exponent, everything else as is
+         */
+        fun cellText(cell: Any?): String = when (cell) {
+            null -> ""
+            is String -> cell
+            is BigDecimal -> cell.stripTrailingZeros().toPlainString()
+            is Double -> if (cell % 1.0 == 0.0 && !cell.isInfinite()) cell.toLong().toString() else cell.toString()
+            else -> cell.toString()
+        }
+
+        /**
+         * 64-bit FNV-1a hash of [cells], each one followed by a separator so that moving
+         * text across a cell boundary changes the hash. Shared by the row content hash and
+         * the tab payload digest so both hash cells the same way.
+         */
+        fun fnvHash(cells: Sequence<String>): Long {
+            var hash = FNV_OFFSET
+            for (text in cells) {
+                for (i in text.indices) {
+                    hash = (hash xor text[i].code.toLong()) * FNV_PRIME
+                }
+                hash = (hash xor CELL_SEPARATOR) * FNV_PRIME
+            }
+            return hash
+        }
+
+        private fun key(text: String): String = text.trim().lowercase()
+    }
+
+    private val headerIndex = HashMap<String, Int>()
+
+    /**
+     * True when the first row of the tab contains at least one known column name
+     */
+    val hasHeader: Boolean
+
+    var report = Report(tabName)
+        private set
+
+    init {
+        header?.forEachIndexed { index, cell -> headerIndex.putIfAbsent(key(cellText(cell)), index) }
+        hasHeader = defaultHeader.any { key(it) in headerIndex }
+    }
+
+    /**
+     * Index of the [name] column, -1 when a recognized header row does not contain it
+     */
+    fun column(name: String): Int =
+        if (hasHeader) headerIndex[key(name)] ?: -1 else defaultHeader.indexOf(name)
+
+    /**
+     * Fails the decode of the tab when a recognized header row lacks one of the default
+     * columns. Its cells would be read as defaults, and the next upload would write those
+     * over the real data. The Sync ID column may be missing, as older tabs predate it.
+     */
+    fun requireColumns() {
+        if (!hasHeader) return
+        val missing = defaultHeader.filter { it != SheetsRowIds.HEADER && key(it) !in headerIndex }
+        if (missing.isNotEmpty()) {
+            throw IllegalStateException(
+                "$tabName tab has no ${missing.joinToString(", ") { "\"$it\"" }} column; restore its header in the spreadsheet before syncing"
+            )
+        }
+    }
+
+    fun string(row: List<Any>, column: Int): String = cellText(cellAt(row, column))
+
+    fun long(row: List<Any>, column: Int): Long? = when (val cell = cellAt(row, column)) {
+        null -> null
+        is Number -> cell.toLong()
+        else -> cell.toString().trim().toLongOrNull()
+    }
+
+    fun int(row: List<Any>, column: Int): Int? = when (val cell = cellAt(row, column)) {
+        null -> null
+        is Number -> cell.toInt()
+        else -> cell.toString().trim().toIntOrNull()
+    }
+
+    /**
+     * True for boolean cells that are TRUE and for text cells equal to [trueText]
+     */
+    fun flag(row: List<Any>, column: Int, trueText: String): Boolean = when (val cell = cellAt(row, column)) {
+        null -> false
+        is Boolean -> cell
+        else -> cell.toString().trim().equals(trueText, ignoreCase = true)
+    }
+
+    /**
+     * Columns that make up the content hash of a row: every known column except [excluded]
+     */
+    fun hashColumns(vararg excluded: String): IntArray =
+        defaultHeader.filter { it !in excluded }.map { column(it) }.toIntArray()
+
+    /**
+     * 64-bit FNV-1a hash of the text of [columns], taken in their default order so moving
+     * columns in the spreadsheet does not change it. Never 0, which marks an unknown hash.
+     */
+    fun contentHash(row: List<Any>, columns: IntArray): Long {
+        val hash = fnvHash(columns.asSequence().map { cellText(cellAt(row, it)) })
+        return if (hash == 0L) 1L else hash
+    }
+
+    private fun cellAt(row: List<Any>, column: Int): Any? =
+        if (column >= 0 && column < row.size) row[column] else null
+
+    /**
+     * Decodes data rows, the first one being sheet row 2. [decode] returns null for rows
+     * missing required cells and may throw on malformed cells; both are counted in [report].
+     */
+    suspend fun <T : Any> decodeAll(rows: List<List<Any>>, decode: (row: List<Any>, rowNumber: Int) -> T?): List<T> {
+        val chunks = if (rows.size <= CHUNK_SIZE) {
+            listOf(decodeChunk(rows, 0, decode))
+        } else {
+            coroutineScope {
+                (rows.indices step CHUNK_SIZE).map { start ->
+                    async(Dispatchers.Default) {
+                        decodeChunk(rows.subList(start, minOf(start + CHUNK_SIZE, rows.size)), start, decode)
+                    }
+                }.awaitAll()
+            }
+        }
+
+        val decoded = ArrayList<T>(chunks.sumOf { it.first.size })
+        val merged = Report(tabName)
+        chunks.forEach { (items, chunkReport) ->
+            decoded.addAll(items)
+            merged.add(chunkReport)
+        }
+        report = merged
+        if (merged.skipped > 0) {
+            println("⚠️ ${merged.summary()}")
+        }
+        return decoded
+    }
+
+    private fun <T : Any> decodeChunk(
+        rows: List<List<Any>>,
+        offset: Int,
+        decode: (row: List<Any>, rowNumber: Int) -> T?
+    ): Pair<List<T>, Report> {
+        val items = ArrayList<T>(rows.size)
+        val chunkReport = Report(tabName)
+        rows.forEachIndexed { index, row ->
+            val rowNumber = offset + index + 2 // Data starts on sheet row 2, after the header
+            if (row.isEmpty()) {
+                chunkReport.blank++
+                return@forEachIndexed
+            }
+            try {
+                val item = decode(row, rowNumber)
+                if (item != null) items.add(item) else chunkReport.skip(rowNumber, "missing required cells", null)
+            } catch (e: Exception) {
+                chunkReport.skip(rowNumber, e.javaClass.simpleName, e.message)
+            }
+        }
+        chunkReport.decoded = items.size
+        return items to chunkReport
+    }
+
+    /**
+     * Outcome of decoding one tab: counts per skip reason and the first skipped row numbers
+     */
+    class Report(val tabName: String) {
+
+        var decoded = 0
+        var blank = 0
+        var skipped = 0
+            private set
+
+        private val reasons = LinkedHashMap<String, Int>()
+        private val firstMessages = LinkedHashMap<String, String>()
+        private val sampleRows = ArrayList<Int>()
+
+        fun skip(rowNumber: Int, reason: String, message: String?) {
+            skipped++
+            reasons[reason] = (reasons[reason] ?: 0) + 1
+            if (message != null) firstMessages.putIfAbsent(reason, message)
+            if (sampleRows.size < MAX_SAMPLE_ROWS) sampleRows.add(rowNumber)
+        }
+
+        fun add(other: Report) {
+            decoded += other.decoded
+            blank += other.blank
+            skipped += other.skipped
+            other.reasons.forEach { (reason, count) -> reasons[reason] = (reasons[reason] ?: 0) + count }
+            other.firstMessages.forEach { (reason, message) -> firstMessages.putIfAbsent(reason, message) }
+            other.sampleRows.forEach { if (sampleRows.size < MAX_SAMPLE_ROWS) sampleRows.add(it) }
+        }
+
+        fun summary(): String {
+            val details = reasons.entries.joinToString(", ") { (reason, count) ->
+                firstMessages[reason]?.let { "$reason x$count (e.g. $it)" } ?: "$reason x$count"
+            }
+            val rows = if (sampleRows.isEmpty()) "" else "; rows ${sampleRows.joinToString(", ")}" + if (skipped > sampleRows.size) ", ..." else ""
+            return "$tabName: $decoded rows decoded, $skipped skipped ($details$rows), $blank blank"
+        }
+
+        private companion object {
+            const val MAX_SAMPLE_ROWS = 10
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.eventmanager.app.data.sync
+
+import java.util.UUID
+
+/**
+ * Sheets Row IDs
+ *
+ * Stable, client-generated identifiers stored in the sheetsId field of each entity
+ * and in the trailing "Sync ID" column of its tab. Unlike the old row-number
+ * sheetsId, they survive rows being inserted, moved or deleted in the spreadsheet.
+ */
+object SheetsRowIds {
+
+    const val HEADER = "Sync ID"
+
+    fun newId(): String = UUID.randomUUID().toString()
+
+    /**
+     * True for client-generated IDs, false for empty values and legacy row numbers
+     */
+    fun isStable(id: String?): Boolean {
+        if (id == null || id.length != 36) return false
+        return try {
+            UUID.fromString(id)
+            true
+        } catch (e: IllegalArgumentException) {
+            false
+        }
+    }
+
+    /**
+     * Keeps [incoming] if it is stable, otherwise falls back to [stored], otherwise generates a new ID
+     */
+    fun resolve(incoming: String?, stored: String? = null): String = when {
+        isStable(incoming) -> incoming!!
+        isStable(stored) -> stored!!
+        else -> newId()
+    }
+}
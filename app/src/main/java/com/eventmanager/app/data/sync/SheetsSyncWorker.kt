@@ -0,0 +1,252 @@
+package com.eventmanager.app.data.sync
+
+import android.app.NotificationChannel
+import android.app.NotificationManager
+import android.content.Context
+import android.os.Build
+import androidx.core.app.NotificationCompat
+import androidx.work.BackoffPolicy
+import androidx.work.Constraints
+import androidx.work.CoroutineWorker
+import androidx.work.ExistingPeriodicWorkPolicy
+import androidx.work.ExistingWorkPolicy
+import androidx.work.ForegroundInfo
+import androidx.work.NetworkType
+import androidx.work.OneTimeWorkRequest
+import androidx.work.OneTimeWorkRequestBuilder
+import androidx.work.OutOfQuotaPolicy
+import androidx.work.PeriodicWorkRequestBuilder
+import androidx.work.WorkInfo
+import androidx.work.WorkManager
+import androidx.work.WorkerParameters
+import androidx.work.workDataOf
+import com.eventmanager.app.R
+import com.eventmanager.app.data.database.EventManagerDatabase
+import com.eventmanager.app.data.repository.EventManagerRepository
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.withContext
+import java.util.concurrent.TimeUnit
+
+/**
+ * Sheets Sync Worker
+ *
+ * Scheduled sync from Google Sheets run by WorkManager, so it keeps going when the activity
+ * is gone and is not restarted by configuration changes.
+ *
+ * 1. Pending outbox entries are pushed first, so a download never overwrites them
+ * 2. Periodic runs probe the tab revisions and download only the changed tabs
+ * 3. Failures are retried with exponential backoff, up to [MAX_ATTEMPTS] runs; the last
+ *    one still ends as success, carrying [KEY_ERROR], so the chained schedule goes on
+ *
+ * Intervals shorter than the 15 minute WorkManager minimum are run as a chain of one-time
+ * requests, each enqueuing the next. The UI follows runs through [workInfos]: progress
+ * carries the current stage, and the outcome is the last progress of a run.
+ */
+class SheetsSyncWorker(
+    appContext: Context,
+    params: WorkerParameters
+) : CoroutineWorker(appContext, params) {
+
+    companion object {
+        const val TAG = "sheets_sync"
+        private const val PERIODIC_WORK = "sheets_sync_periodic"
+        private const val CHAINED_WORK = "sheets_sync_chained"
+        private const val NOW_WORK = "sheets_sync_now"
+
+        // Input
+        private const val KEY_REPEAT_MINUTES = "repeat_minutes"
+        private const val KEY_INTERACTIVE = "interactive"
+
+        // Progress and output
+        const val KEY_STAGE = "stage"
+        const val KEY_MESSAGE = "message"
+        const val KEY_DATA_CHANGED = "data_changed"
+        const val KEY_ERROR = "error"
+
+        const val STAGE_UPLOADING = "uploading"
+        const val STAGE_DOWNLOADING = "downloading"
+        const val STAGE_DONE = "done"
+        const val STAGE_FAILED = "failed"
+
+        private const val MIN_PERIODIC_MINUTES = 15
+        private const val MAX_ATTEMPTS = 5
+        private const val BACKOFF_SECONDS = 30L
+
+        private const val NOTIFICATION_CHANNEL = "sheets_sync"
+        private const val NOTIFICATION_ID = 4201
+
+        private val networkConstraints = Constraints.Builder()
+            .setRequiredNetworkType(NetworkType.CONNECTED)
+            .build()
+
+        /**
+         * Schedules the recurring sync every [intervalMinutes]. An existing schedule keeps its
+         * timing unless [replace] is set, e.g. after the interval was changed in the settings.
+         */
+        fun schedule(context: Context, intervalMinutes: Int, replace: Boolean = false) {
+            val workManager = WorkManager.getInstance(context)
+            if (intervalMinutes >= MIN_PERIODIC_MINUTES) {
+                workManager.cancelUniqueWork(CHAINED_WORK)
+                val request = PeriodicWorkRequestBuilder<SheetsSyncWorker>(intervalMinutes.toLong(), TimeUnit.MINUTES)
+                    .setConstraints(networkConstraints)
+                    .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                    .addTag(TAG)
+                    .build()
+                workManager.enqueueUniquePeriodicWork(PERIODIC_WORK, ExistingPeriodicWorkPolicy.UPDATE, request)
+            } else {
+                workManager.cancelUniqueWork(PERIODIC_WORK)
+                val policy = if (replace) ExistingWorkPolicy.REPLACE else ExistingWorkPolicy.KEEP
+                workManager.enqueueUniqueWork(CHAINED_WORK, policy, chainedRequest(intervalMinutes))
+            }
+            println("🗓️ Background sync scheduled every $intervalMinutes minutes")
+        }
+
+        /**
+         * Runs a sync as soon as possible, e.g. on app launch. Requests made while one is
+         * already pending or running are dropped, as that run covers them.
+         */
+        fun syncNow(context: Context) {
+            val request = OneTimeWorkRequestBuilder<SheetsSyncWorker>()
+                .setExpedited(OutOfQuotaPolicy.RUN_AS_NON_EXPEDITED_WORK_REQUEST)
+                .setConstraints(networkConstraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .setInputData(workDataOf(KEY_INTERACTIVE to true))
+                .addTag(TAG)
+                .build()
+            WorkManager.getInstance(context).enqueueUniqueWork(NOW_WORK, ExistingWorkPolicy.KEEP, request)
+        }
+
+        fun cancel(context: Context) {
+            val workManager = WorkManager.getInstance(context)
+            workManager.cancelUniqueWork(PERIODIC_WORK)
+            workManager.cancelUniqueWork(CHAINED_WORK)
+        }
+
+        /**
+         * State and progress of every scheduled and immediate sync run
+         */
+        fun workInfos(context: Context): Flow<List<WorkInfo>> =
+            WorkManager.getInstance(context).getWorkInfosByTagFlow(TAG)
+
+        private fun chainedRequest(intervalMinutes: Int): OneTimeWorkRequest =
+            OneTimeWorkRequestBuilder<SheetsSyncWorker>()
+                .setInitialDelay(intervalMinutes.toLong(), TimeUnit.MINUTES)
+                .setConstraints(networkConstraints)
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, BACKOFF_SECONDS, TimeUnit.SECONDS)
+                .setInputData(workDataOf(KEY_REPEAT_MINUTES to intervalMinutes))
+                .addTag(TAG)
+                .build()
+    }
+
+    override suspend fun doWork(): Result {
+        // Launch syncs are awaited by the user, scheduled ones yield to user-initiated requests
+        val lane = if (inputData.getBoolean(KEY_INTERACTIVE, false)) SheetsRequestPriority.INTERACTIVE else SheetsRequestPriority.BACKGROUND
+        return withContext(lane) { SyncTracer.trace("background sync") { sync() } }
+    }
+
+    private suspend fun sync(): Result {
+        val settingsManager = SettingsManager(applicationContext)
+        val database = EventManagerDatabase.getDatabase(applicationContext)
+        val repository = EventManagerRepository(
+            database.guestDao(),
+            database.volunteerDao(),
+            database.jobDao(),
+            database.jobTypeConfigDao(),
+            database.venueDao(),
+            database.counterDao(),
+            database.sheetsOutboxDao(),
+            database.jobArchiveDao(),
+            database
+        )
+        rollupCounterEvents(repository, settingsManager)
+
+        if (!settingsManager.isConfigured()) {
+            println("Google Sheets not configured, skipping background sync")
+            scheduleNext()
+            return Result.success()
+        }
+
+        val googleSheetsService = GoogleSheetsService(applicationContext)
+        val syncManager = SyncManager(applicationContext, repository, googleSheetsService)
+        val outbox = SheetsOutbox(applicationContext, repository, TwoWaySyncService(applicationContext, repository, googleSheetsService))
+
+        println("🔄 Background sync started (attempt ${runAttemptCount + 1})")
+        setProgress(workDataOf(KEY_STAGE to STAGE_UPLOADING))
+        if (!outbox.drain()) {
+            println("⚠️ Some queued changes could not be uploaded before sync, they stay in the outbox")
+        }
+
+        setProgress(workDataOf(KEY_STAGE to STAGE_DOWNLOADING))
+        return when (val result = syncManager.performChangedTabsSync()) {
+            is SyncResult.Success -> {
+                val outcome = workDataOf(
+                    KEY_STAGE to STAGE_DONE,
+                    KEY_MESSAGE to result.message,
+                    KEY_DATA_CHANGED to result.dataChanged
+                )
+                setProgress(outcome)
+                println("✅ Background sync: ${result.message}")
+                scheduleNext()
+                Result.success(outcome)
+            }
+            is SyncResult.Error -> {
+                val outcome = workDataOf(KEY_STAGE to STAGE_FAILED, KEY_ERROR to result.message)
+                setProgress(outcome)
+                if (runAttemptCount + 1 < MAX_ATTEMPTS) {
+                    println("⚠️ Background sync failed, retrying with backoff: ${result.message}")
+                    Result.retry()
+                } else {
+                    println("❌ Background sync failed after $MAX_ATTEMPTS attempts: ${result.message}")
+                    // A failure would also fail the next chained run, which is appended to this one
+                    scheduleNext()
+                    Result.success(outcome)
+                }
+            }
+        }
+    }
+
+    /**
+     * Local housekeeping that runs with every scheduled sync, configured or not: the people
+     * counter log is compacted once its nights are over
+     */
+    private suspend fun rollupCounterEvents(repository: EventManagerRepository, settingsManager: SettingsManager) {
+        try {
+            val rolledUp = repository.rollupCounterEvents(settingsManager.getDateChangeOffsetHours())
+            if (rolledUp > 0) println("🧮 Rolled up $rolledUp people counter events into nightly summaries")
+        } catch (e: Exception) {
+            println("⚠️ People counter rollup failed: ${e.message}")
+        }
+    }
+
+    /**
+     * Enqueues the next run of a chained schedule; appended, so it waits for this run to end
+     */
+    private fun scheduleNext() {
+        val repeatMinutes = inputData.getInt(KEY_REPEAT_MINUTES, 0)
+        if (repeatMinutes <= 0) return
+        WorkManager.getInstance(applicationContext)
+            .enqueueUniqueWork(CHAINED_WORK, ExistingWorkPolicy.APPEND_OR_REPLACE, chainedRequest(repeatMinutes))
+    }
+
+    /**
+     * Expedited runs show this notification before Android 12, where they run as foreground work
+     */
+    override suspend fun getForegroundInfo(): ForegroundInfo {
+        val notificationManager = applicationContext.getSystemService(Context.NOTIFICATION_SERVICE) as NotificationManager
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            notificationManager.createNotificationChannel(
+                NotificationChannel(
+                    NOTIFICATION_CHANNEL,
+                    applicationContext.getString(R.string.sync_notification_channel),
+                    NotificationManager.IMPORTANCE_LOW
+                )
+            )
+        }
+        val notification = NotificationCompat.Builder(applicationContext, NOTIFICATION_CHANNEL)
+            .setSmallIcon(android.R.drawable.stat_notify_sync)
+            .setContentTitle(applicationContext.getString(R.string.sync_notification_title))
+            .setOngoing(true)
+            .build()
+        return ForegroundInfo(NOTIFICATION_ID, notification)
+    }
+}
@@ -0,0 +1,71 @@
+package com.eventmanager.app.data.sync
+
+import com.google.api.client.util.Data
+
+/**
+ * Sheets Tab Layout
+ *
+ * Column positions of a tab as its header row holds them, resolved with the same mapping
+ * as [SheetsRowDecoder.column]. Row-addressed writes and Sync ID lookups go through it,
+ * so a tab whose columns were moved or which has extra columns is written under the right
+ * headers. Cells of columns the app does not own are left untouched.
+ */
+class SheetsTabLayout private constructor(
+    val defaultHeader: List<String>,
+    private val positions: IntArray // Tab column of each default column
+) {
+
+    companion object {
+
+        /**
+         * Layout of a tab in the default column order, e.g. an empty tab
+         */
+        fun default(defaultHeader: List<String>): SheetsTabLayout =
+            SheetsTabLayout(defaultHeader, IntArray(defaultHeader.size) { it })
+
+        /**
+         * Layout of the tab [tabName] whose first row is [header]. Fails when a recognized
+         * header lacks one of the default columns, as a row written without it would put
+         * cells under the wrong headers or could not be found again.
+         */
+        fun of(tabName: String, header: List<Any>?, defaultHeader: List<String>): SheetsTabLayout {
+            val decoder = SheetsRowDecoder(tabName, header, defaultHeader)
+            if (!decoder.hasHeader) return default(defaultHeader)
+
+            decoder.requireColumns()
+            if (decoder.column(SheetsRowIds.HEADER) < 0) {
+                throw IllegalStateException(
+                    "$tabName tab has no \"${SheetsRowIds.HEADER}\" column; upload the whole tab once to add it before editing single rows"
+                )
+            }
+            return SheetsTabLayout(defaultHeader, defaultHeader.map { decoder.column(it) }.toIntArray())
+        }
+    }
+
+    /**
+     * Number of tab columns spanned by the default columns, starting at column A
+     */
+    val width: Int = (positions.maxOrNull() ?: -1) + 1
+
+    /**
+     * Zero-based tab column of the Sync ID column
+     */
+    val syncIdIndex: Int
+        get() = positions[defaultHeader.indexOf(SheetsRowIds.HEADER)]
+
+    /**
+     * Column letter of the Sync ID column
+     */
+    val syncIdColumn: String
+        get() = SheetsDeltaEngine.columnLetter(syncIdIndex + 1)
+
+    /**
+     * Spreads a row built in the default column order over the tab's columns. Columns the
+     * app does not own are sent as JSON null, which the Sheets API skips instead of clearing.
+     */
+    fun arrange(row: List<String>): List<Any> {
+        val cells = MutableList<Any>(width) { Data.NULL_STRING }
+        positions.forEachIndexed { index, column -> cells[column] = row.getOrElse(index) { "" } }
+        return cells
+    }
+}
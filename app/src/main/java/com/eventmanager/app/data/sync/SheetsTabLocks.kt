@@ -0,0 +1,138 @@
+package com.eventmanager.app.data.sync
+
+import com.eventmanager.app.data.models.SheetsEntityType
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlinx.coroutines.withContext
+import kotlin.coroutines.coroutineContext
+
+/**
+ * Sheets Tab Locks
+ *
+ * Read/write locks per Google Sheets tab. Any number of operations may read a tab at once,
+ * an operation writing a tab has it alone, and operations on different tabs run side by
+ * side, so a long Jobs backup no longer holds up a guest list pull.
+ *
+ * An operation takes all of its tabs at once, so two operations can never deadlock.
+ * Waiting operations are served INTERACTIVE lane first, then in arrival order; a waiting
+ * operation is never overtaken on its own tabs by a later one of the same or a lower lane.
+ * At most [MAX_ACTIVE_OPERATIONS] operations hold locks at a time, and their requests
+ * still go through the shared budget of [ApiRateLimitHandler].
+ */
+object SheetsTabLocks {
+
+    // Beyond this, extra operations would only queue in the rate limiter
+    private const val MAX_ACTIVE_OPERATIONS = 3
+
+    enum class Mode { READ, WRITE }
+
+    private class TabState {
+        var readers = 0
+        var writer = false
+    }
+
+    private class Waiter(
+        val tabs: Set<SheetsEntityType>,
+        val mode: Mode,
+        val priority: RequestPriority,
+        val sequence: Long
+    ) {
+        val signal = CompletableDeferred<Unit>()
+        var granted = false
+    }
+
+    private val lock = Mutex()
+    private val states = HashMap<SheetsEntityType, TabState>()
+    private val waiters = ArrayList<Waiter>()
+    private var activeOperations = 0
+    private var nextSequence = 0L
+
+    suspend fun <T> read(tabs: Set<SheetsEntityType>, block: suspend () -> T): T = withTabs(tabs, Mode.READ, block)
+
+    suspend fun <T> write(tabs: Set<SheetsEntityType>, block: suspend () -> T): T = withTabs(tabs, Mode.WRITE, block)
+
+    /**
+     * Runs [block] holding [tabs] in [mode]. The lane comes from the caller's [SheetsRequestPriority].
+     */
+    suspend fun <T> withTabs(tabs: Set<SheetsEntityType>, mode: Mode, block: suspend () -> T): T {
+        val priority = coroutineContext[SheetsRequestPriority]?.priority ?: RequestPriority.INTERACTIVE
+        val waiter = lock.withLock {
+            Waiter(tabs, mode, priority, nextSequence++).also {
+                waiters.add(it)
+                dispatch()
+            }
+        }
+
+        if (!waiter.granted) {
+            println("🔒 Waiting for ${mode.name.lowercase()} lock on ${tabs.joinToString()} (${priority.name.lowercase()})")
+        }
+        try {
+            waiter.signal.await()
+        } catch (e: CancellationException) {
+            // Cancelled while queued, or granted at the very moment of the cancellation
+            withContext(NonCancellable) {
+                lock.withLock {
+                    if (waiter.granted) release(waiter) else waiters.remove(waiter)
+                    dispatch()
+                }
+            }
+            throw e
+        }
+
+        try {
+            return block()
+        } finally {
+            withContext(NonCancellable) {
+                lock.withLock {
+                    release(waiter)
+                    dispatch()
+                }
+            }
+        }
+    }
+
+    /**
+     * Grants every waiter that can run now. Must be called with [lock] held.
+     */
+    private fun dispatch() {
+        // Tabs wanted by a waiter that is still queued are closed to the waiters behind it
+        val reserved = HashSet<SheetsEntityType>()
+        val queue = waiters.sortedWith(compareBy<Waiter>({ it.priority.ordinal }, { it.sequence }))
+        for (waiter in queue) {
+            if (activeOperations >= MAX_ACTIVE_OPERATIONS) break
+            if (waiter.tabs.none { it in reserved } && waiter.tabs.all { isFree(it, waiter.mode) }) {
+                grant(waiter)
+            } else {
+                reserved.addAll(waiter.tabs)
+            }
+        }
+        waiters.removeAll { it.granted }
+    }
+
+    private fun isFree(tab: SheetsEntityType, mode: Mode): Boolean {
+        val state = states[tab] ?: return true
+        return !state.writer && (mode == Mode.READ || state.readers == 0)
+    }
+
+    private fun grant(waiter: Waiter) {
+        waiter.tabs.forEach { tab ->
+            val state = states.getOrPut(tab) { TabState() }
+            if (waiter.mode == Mode.WRITE) state.writer = true else state.readers++
+        }
+        activeOperations++
+        waiter.granted = true
+        waiter.signal.complete(Unit)
+    }
+
+    private fun release(waiter: Waiter) {
+        waiter.tabs.forEach { tab ->
+            val state = states[tab] ?: return@forEach
+            if (waiter.mode == Mode.WRITE) state.writer = false else state.readers--
+            if (!state.writer && state.readers == 0) states.remove(tab)
+        }
+        activeOperations--
+    }
+}
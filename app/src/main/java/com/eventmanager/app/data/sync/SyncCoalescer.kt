@@ -0,0 +1,79 @@
+package com.eventmanager.app.data.sync
+
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlin.coroutines.coroutineContext
+
+/**
+ * Sync Coalescer
+ *
+ * Runs sync operations keyed by dataset with latest-wins semantics. A request for a key
+ * with nothing in flight starts right away. A request arriving while that key is running
+ * queues one trailing run, and every further request joins that same trailing run, which
+ * starts only once the current one is over and so reads the newest local data. A burst of
+ * requests therefore costs at most two runs per key, and none of them is dropped.
+ *
+ * Runs live in their own scope: a caller that stops waiting does not cancel a run other
+ * callers share. The caller's [SheetsRequestPriority] and sync trace are carried over to the
+ * run it starts; a run started outside any trace is traced under its key.
+ * A key must always be used for the same operation, as joined callers get its result.
+ */
+object SyncCoalescer {
+
+    private class Lane {
+        var running: Deferred<*>? = null
+        var queued: Deferred<*>? = null
+    }
+
+    private val scope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+    private val lock = Mutex()
+    private val lanes = HashMap<String, Lane>()
+
+    suspend fun <T> run(key: String, block: suspend () -> T): T {
+        val priority = coroutineContext[SheetsRequestPriority] ?: EmptyCoroutineContext
+        val trace = SyncTracer.currentContext()
+        val run = lock.withLock {
+            val lane = lanes.getOrPut(key) { Lane() }
+            lane.queued?.let {
+                println("🔁 $key already queued - joining the trailing run")
+                return@withLock it
+            }
+
+            val previous = lane.running
+            lateinit var next: Deferred<T>
+            next = scope.async(priority + trace, start = CoroutineStart.LAZY) {
+                // A failed or cancelled previous run does not stop the trailing one
+                previous?.join()
+                lock.withLock {
+                    if (lane.queued === next) lane.queued = null
+                    lane.running = next
+                }
+                try {
+                    SyncTracer.trace(key) { block() }
+                } finally {
+                    lock.withLock {
+                        if (lane.running === next) lane.running = null
+                    }
+                }
+            }
+            if (previous == null) {
+                lane.running = next
+            } else {
+                println("🔁 $key in flight - queued one trailing run")
+                lane.queued = next
+            }
+            next.start()
+            next
+        }
+
+        @Suppress("UNCHECKED_CAST")
+        return (run as Deferred<T>).await()
+    }
+}
@@ -6,6 +6,7 @@ import com.eventmanager.app.data.models.Volunteer
 import com.eventmanager.app.data.models.Guest
 import com.eventmanager.app.data.models.Job
 import com.eventmanager.app.data.models.JobTypeConfig
+import com.eventmanager.app.data.models.SheetsEntityType
 import com.eventmanager.app.data.models.VenueEntity
 import kotlinx.coroutines.flow.first
 
@@ -36,6 +37,22 @@ class SyncManager(
         }
     }
     
+    /**
+     * SCHEDULED SYNC MODE: Probe the tab revisions and download only the tabs that changed
+     */
+    suspend fun performChangedTabsSync(): SyncResult {
+        return try {
+            val changedTabs = twoWaySyncService.syncChangedFromGoogleSheets()
+            if (changedTabs.isEmpty()) {
+                SyncResult.Success("No remote changes", dataChanged = false)
+            } else {
+                SyncResult.Success("Synced ${changedTabs.size} changed tabs")
+            }
+        } catch (e: Exception) {
+            SyncResult.Error("Changed-tabs sync failed: ${e.message}")
+        }
+    }
+    
     /**
      * DIFFERENTIAL SYNC MODE: Download from Google Sheets and update only what changed
      * This is the new efficient sync that avoids full-page UI reloads
@@ -131,12 +148,12 @@ class SyncManager(
     }
     
     /**
-     * BACKUP MODE: Upload entire local dataset to Google Sheets
-     * This overwrites the corresponding Google Sheet tab completely
+     * BACKUP MODE: Upload local changes to Google Sheets
+     * Only rows modified or deleted since the last upload are sent (full upload on first run)
      */
     suspend fun performBackupToSheets(): SyncResult {
         return try {
-            twoWaySyncService.backupToGoogleSheets()
+            twoWaySyncService.backupChangesToGoogleSheets()
             SyncResult.Success("Backup to Google Sheets completed successfully")
         } catch (e: Exception) {
             SyncResult.Error("Backup failed: ${e.message}")
@@ -240,6 +257,28 @@ class SyncManager(
         )
     }
     
+    /**
+     * Sheets tab behind each dataset of [getPageSyncMapping]
+     */
+    private val datasetTabs = mapOf(
+        "guests" to SheetsEntityType.GUEST,
+        "volunteers" to SheetsEntityType.VOLUNTEER,
+        "jobs" to SheetsEntityType.JOB,
+        "job_types" to SheetsEntityType.JOB_TYPE
+    )
+    
+    /**
+     * FRESHNESS: Tabs of [tabs] that are stale and worth downloading (see TwoWaySyncService.staleTabs)
+     */
+    suspend fun getStaleTabs(tabs: Set<SheetsEntityType>): Set<SheetsEntityType> {
+        return try {
+            twoWaySyncService.staleTabs(tabs)
+        } catch (e: Exception) {
+            println("⚠️ Freshness check failed, treating ${tabs.joinToString()} as stale: ${e.message}")
+            tabs
+        }
+    }
+    
     /**
      * Determine which datasets need to be synced based on page changes
      */
@@ -262,21 +301,26 @@ class SyncManager(
      */
     suspend fun performSmartPageChangeSync(currentPage: String, newPage: String): SyncResult {
         return try {
-            val datasetsToSync = getDatasetsToSync(currentPage, newPage)
+            // Datasets downloaded recently, or unchanged remotely, are not fetched again
+            val pageDatasets = getDatasetsToSync(currentPage, newPage)
+            val staleTabs = getStaleTabs(pageDatasets.mapNotNull { datasetTabs[it] }.toSet())
+            val datasetsToSync = pageDatasets.filter { datasetTabs[it] in staleTabs }.toSet()
             
             if (datasetsToSync.isEmpty()) {
-                return SyncResult.Success("No sync needed for page change: $currentPage → $newPage")
+                return SyncResult.Success("No sync needed for page change: $currentPage → $newPage", dataChanged = false)
             }
             
             println("Smart page change sync: $currentPage → $newPage, syncing: $datasetsToSync")
             
-            // Sync only relevant datasets
-            datasetsToSync.forEach { dataset ->
-                when (dataset) {
-                    "guests" -> twoWaySyncService.syncGuestsOnly()
-                    "volunteers" -> twoWaySyncService.syncVolunteersOnly()
-                    "jobs" -> twoWaySyncService.syncJobsOnly()
-                    "job_types" -> twoWaySyncService.syncJobTypesOnly()
+            // Sync only relevant datasets, traced as one operation
+            SyncTracer.trace("page change: $currentPage → $newPage") {
+                datasetsToSync.forEach { dataset ->
+                    when (dataset) {
+                        "guests" -> twoWaySyncService.syncGuestsOnly()
+                        "volunteers" -> twoWaySyncService.syncVolunteersOnly()
+                        "jobs" -> twoWaySyncService.syncJobsOnly()
+                        "job_types" -> twoWaySyncService.syncJobTypesOnly()
+                    }
                 }
             }
             
@@ -291,7 +335,7 @@ class SyncManager(
  * Result of a sync operation
  */
 sealed class SyncResult {
-    data class Success(val message: String) : SyncResult()
+    data class Success(val message: String, val dataChanged: Boolean = true) : SyncResult()
     data class Error(val message: String) : SyncResult()
     
     val isSuccess: Boolean get() = this is Success
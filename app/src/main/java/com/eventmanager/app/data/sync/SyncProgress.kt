@@ -0,0 +1,59 @@
+package com.eventmanager.app.data.sync
+
+import com.eventmanager.app.data.models.Job
+import com.eventmanager.app.data.models.SheetsEntityType
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.SharedFlow
+import kotlinx.coroutines.flow.asSharedFlow
+
+/**
+ * Progress of a streaming differential sync, tab by tab and chunk by chunk
+ */
+sealed class SyncProgressEvent {
+    data class Started(val tabs: List<SheetsEntityType>) : SyncProgressEvent()
+
+    data class TabDownloaded(val tab: SheetsEntityType, val rows: Int) : SyncProgressEvent()
+
+    /**
+     * One chunk of [tab] is committed to the database. [chunk] holds only the changes of
+     * that chunk, so the UI can show them right away.
+     */
+    data class ChunkApplied(
+        val tab: SheetsEntityType,
+        val chunk: DifferentialSyncService.DifferentialSyncResult,
+        val applied: Int,
+        val total: Int
+    ) : SyncProgressEvent()
+
+    data class TabApplied(val tab: SheetsEntityType, val changes: Int) : SyncProgressEvent()
+
+    /**
+     * Jobs of past seasons moved to the archive after a download: they leave the jobs list
+     * but were not deleted
+     */
+    data class JobsArchived(val jobs: List<Job>) : SyncProgressEvent()
+
+    data class Finished(val changedTabs: Set<SheetsEntityType>) : SyncProgressEvent()
+
+    data class Failed(val message: String) : SyncProgressEvent()
+}
+
+/**
+ * Sync Progress
+ *
+ * Process-wide stream of [SyncProgressEvent]s. Differential syncs publish here whoever
+ * started them, so every screen sees partial results of a shared, coalesced run. Without
+ * subscribers events are dropped; a slow subscriber holds the sync back after
+ * [BUFFERED_EVENTS] events instead of letting chunks pile up in memory.
+ */
+object SyncProgress {
+
+    private const val BUFFERED_EVENTS = 16
+
+    private val _events = MutableSharedFlow<SyncProgressEvent>(extraBufferCapacity = BUFFERED_EVENTS)
+    val events: SharedFlow<SyncProgressEvent> = _events.asSharedFlow()
+
+    suspend fun emit(event: SyncProgressEvent) {
+        _events.emit(event)
+    }
+}
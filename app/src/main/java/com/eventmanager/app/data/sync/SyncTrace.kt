@@ -0,0 +1,351 @@
+package com.eventmanager.app.data.sync
+
+import android.content.Context
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ThreadContextElement
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import kotlinx.coroutines.withContext
+import org.json.JSONArray
+import org.json.JSONObject
+import java.io.File
+import java.io.IOException
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+import kotlin.coroutines.coroutineContext
+
+/**
+ * Phase of a sync operation. OTHER is the time of a trace not covered by any span.
+ */
+enum class SyncPhase(val label: String) {
+    AUTH("Auth"),
+    DOWNLOAD("Download"),
+    PARSE("Parsing"),
+    COMPARE("Comparison"),
+    APPLY("Database apply"),
+    GUEST_LIST("Volunteer guest list"),
+    UPLOAD("Upload"),
+    OTHER("Other")
+}
+
+/**
+ * One finished span. [selfMs] excludes the time covered by nested spans, so the self times
+ * of a trace add up to its duration. Bytes are counted from the cell text sent or received.
+ */
+data class SyncSpanRecord(
+    val phase: SyncPhase,
+    val label: String,
+    val depth: Int,
+    val startOffsetMs: Long,
+    val durationMs: Long,
+    val selfMs: Long,
+    val rows: Long,
+    val bytes: Long,
+    val requests: Int,
+    val retries: Int,
+    val quotaWaitMs: Long,
+    val error: String?
+)
+
+/**
+ * Totals of one phase over a trace
+ */
+data class SyncPhaseTotal(
+    val phase: SyncPhase,
+    val durationMs: Long,
+    val rows: Long,
+    val bytes: Long,
+    val requests: Int,
+    val retries: Int,
+    val quotaWaitMs: Long
+)
+
+/**
+ * One finished sync operation with all of its spans, in start order
+ */
+data class SyncTraceRecord(
+    val id: Long,
+    val name: String,
+    val lane: RequestPriority,
+    val startedAt: Long,
+    val durationMs: Long,
+    val error: String?,
+    val spans: List<SyncSpanRecord>
+) {
+    val isSuccess: Boolean get() = error == null
+
+    /**
+     * Per-phase breakdown, slowest phase first
+     */
+    fun phaseTotals(): List<SyncPhaseTotal> = spans.groupBy { it.phase }
+        .map { (phase, spans) ->
+            SyncPhaseTotal(
+                phase = phase,
+                durationMs = spans.sumOf { it.selfMs },
+                rows = spans.sumOf { it.rows },
+                bytes = spans.sumOf { it.bytes },
+                requests = spans.sumOf { it.requests },
+                retries = spans.sumOf { it.retries },
+                quotaWaitMs = spans.sumOf { it.quotaWaitMs }
+            )
+        }
+        .sortedByDescending { it.durationMs }
+}
+
+/**
+ * Sync Tracer
+ *
+ * Structured tracing of sync operations. [trace] opens a trace around an operation and
+ * [span] records one phase of it; both travel in the coroutine context, so spans opened in
+ * TwoWaySyncService, GoogleSheetsService or the rate limiter attach to the trace of the
+ * operation they run for, and are ignored outside any trace. Counters are added to the
+ * innermost open span with [record], which also works from the blocking Sheets backend.
+ *
+ * The last [MAX_HISTORY] traces are kept in [history] and can be written to a JSON file
+ * with [export] for offline analysis.
+ */
+object SyncTracer {
+
+    private const val MAX_HISTORY = 50
+    private const val MAX_EXPORT_FILES = 10
+    private const val EXPORT_DIR = "sync_traces"
+
+    private class ActiveTrace(val id: Long, val name: String, val lane: RequestPriority) {
+        val startedAt = System.currentTimeMillis()
+        val spans = ArrayList<SyncSpanRecord>()
+        @Volatile var ended = false
+    }
+
+    private class ActiveSpan(val trace: ActiveTrace, val parent: ActiveSpan?, val phase: SyncPhase, val label: String) {
+        val depth: Int = (parent?.depth ?: -1) + 1
+        val startedAt = System.currentTimeMillis()
+        val rows = AtomicLong()
+        val bytes = AtomicLong()
+        val requests = AtomicInteger()
+        val retries = AtomicInteger()
+        val quotaWaitMs = AtomicLong()
+        val children = ArrayList<Pair<Long, Long>>()
+
+        /**
+         * Wall time covered by the nested spans, counting concurrent ones once
+         */
+        fun childMs(): Long = synchronized(children) {
+            var covered = 0L
+            var end = Long.MIN_VALUE
+            children.sortedBy { it.first }.forEach { (start, stop) ->
+                if (stop > end) {
+                    covered += stop - maxOf(start, end)
+                    end = stop
+                }
+            }
+            covered
+        }
+    }
+
+    // Mirrors the span of the coroutine running on this thread, for blocking callers of record()
+    private val current = ThreadLocal<ActiveSpan?>()
+
+    private class SpanElement(val span: ActiveSpan) : ThreadContextElement<ActiveSpan?> {
+        companion object Key : CoroutineContext.Key<SpanElement>
+
+        override val key: CoroutineContext.Key<SpanElement> get() = Key
+
+        override fun updateThreadContext(context: CoroutineContext): ActiveSpan? {
+            val previous = current.get()
+            current.set(span)
+            return previous
+        }
+
+        override fun restoreThreadContext(context: CoroutineContext, oldState: ActiveSpan?) {
+            current.set(oldState)
+        }
+    }
+
+    private val nextId = AtomicLong()
+    private val _history = MutableStateFlow<List<SyncTraceRecord>>(emptyList())
+    val history: StateFlow<List<SyncTraceRecord>> = _history.asStateFlow()
+
+    /**
+     * Runs [block] as the sync operation [name]. Inside another trace that is still open,
+     * [block] simply becomes part of it.
+     */
+    suspend fun <T> trace(name: String, block: suspend () -> T): T {
+        if (coroutineContext[SpanElement]?.span?.trace?.ended == false) return block()
+
+        val lane = coroutineContext[SheetsRequestPriority]?.priority ?: RequestPriority.INTERACTIVE
+        val trace = ActiveTrace(nextId.incrementAndGet(), name, lane)
+        val root = ActiveSpan(trace, null, SyncPhase.OTHER, name)
+        var error: Throwable? = null
+        try {
+            return withContext(SpanElement(root)) { block() }
+        } catch (e: Throwable) {
+            error = e
+            throw e
+        } finally {
+            finish(root, error)
+        }
+    }
+
+    /**
+     * Records [block] as a [phase] span of the current trace
+     */
+    suspend fun <T> span(phase: SyncPhase, label: String, block: suspend () -> T): T {
+        val parent = coroutineContext[SpanElement]?.span
+        if (parent == null || parent.trace.ended) return block()
+
+        val span = ActiveSpan(parent.trace, parent, phase, label)
+        var error: Throwable? = null
+        try {
+            return withContext(SpanElement(span)) { block() }
+        } catch (e: Throwable) {
+            error = e
+            throw e
+        } finally {
+            end(span, error)
+        }
+    }
+
+    /**
+     * Adds counters to the innermost open span; does nothing outside a trace
+     */
+    fun record(rows: Int = 0, bytes: Long = 0, requests: Int = 0, retries: Int = 0, quotaWaitMs: Long = 0) {
+        val span = current.get() ?: return
+        if (rows != 0) span.rows.addAndGet(rows.toLong())
+        if (bytes != 0L) span.bytes.addAndGet(bytes)
+        if (requests != 0) span.requests.addAndGet(requests)
+        if (retries != 0) span.retries.addAndGet(retries)
+        if (quotaWaitMs != 0L) span.quotaWaitMs.addAndGet(quotaWaitMs)
+    }
+
+    /**
+     * Trace context of the caller, for work it hands over to another scope
+     */
+    suspend fun currentContext(): CoroutineContext = coroutineContext[SpanElement] ?: EmptyCoroutineContext
+
+    fun clearHistory() {
+        _history.value = emptyList()
+    }
+
+    private fun end(span: ActiveSpan, error: Throwable?): Long {
+        val endedAt = System.currentTimeMillis()
+        val durationMs = endedAt - span.startedAt
+        span.parent?.let { parent -> synchronized(parent.children) { parent.children.add(span.startedAt to endedAt) } }
+        val record = SyncSpanRecord(
+            phase = span.phase,
+            label = span.label,
+            depth = span.depth,
+            startOffsetMs = span.startedAt - span.trace.startedAt,
+            durationMs = durationMs,
+            selfMs = (durationMs - span.childMs()).coerceAtLeast(0),
+            rows = span.rows.get(),
+            bytes = span.bytes.get(),
+            requests = span.requests.get(),
+            retries = span.retries.get(),
+            quotaWaitMs = span.quotaWaitMs.get(),
+            error = error?.message
+        )
+        synchronized(span.trace.spans) { span.trace.spans.add(record) }
+        return durationMs
+    }
+
+    private fun finish(root: ActiveSpan, error: Throwable?) {
+        val trace = root.trace
+        val durationMs = end(root, error)
+        trace.ended = true
+        // Operations that had nothing to do leave no phase behind and are not kept
+        if (error == null && root.children.isEmpty()) return
+
+        val record = SyncTraceRecord(
+            id = trace.id,
+            name = trace.name,
+            lane = trace.lane,
+            startedAt = trace.startedAt,
+            durationMs = durationMs,
+            error = error?.message,
+            spans = synchronized(trace.spans) { trace.spans.sortedBy { it.startOffsetMs } }
+        )
+        synchronized(_history) {
+            _history.value = (_history.value + record).takeLast(MAX_HISTORY)
+        }
+
+        val breakdown = record.phaseTotals()
+            .filter { it.durationMs > 0 }
+            .joinToString { "${it.phase.label} ${it.durationMs}ms" }
+        println("🧭 ${if (record.isSuccess) "Sync" else "Failed sync"} '${trace.name}' took ${durationMs}ms: $breakdown")
+    }
+
+    /**
+     * Writes the trace history to a timestamped JSON file and returns it. Files are kept next
+     * to the debug logs, so they can be pulled from the device the same way.
+     */
+    suspend fun export(context: Context): File = withContext(Dispatchers.IO) {
+        try {
+            val cacheDir = context.externalCacheDir?.takeIf { it.exists() } ?: context.cacheDir
+            val directory = File(cacheDir, EXPORT_DIR).apply { mkdirs() }
+            val timestamp = SimpleDateFormat("yyyy-MM-dd_HH-mm-ss", Locale.US).format(Date())
+            val file = File(directory, "sync_traces_$timestamp.json")
+
+            val traces = JSONArray()
+            history.value.forEach { traces.put(toJson(it)) }
+            val document = JSONObject()
+                .put("exportedAt", System.currentTimeMillis())
+                .put("traces", traces)
+            file.writeText(document.toString(2))
+
+            // Keep the most recent exports only
+            directory.listFiles { f -> f.name.startsWith("sync_traces_") }
+                ?.sortedByDescending { it.name }
+                ?.drop(MAX_EXPORT_FILES)
+                ?.forEach { it.delete() }
+
+            println("🧭 Exported ${history.value.size} sync traces to ${file.absolutePath}")
+            file
+        } catch (e: Exception) {
+            throw IOException("Failed to export sync traces: ${e.message}", e)
+        }
+    }
+
+    private fun toJson(trace: SyncTraceRecord): JSONObject {
+        val phases = JSONObject()
+        trace.phaseTotals().forEach { total ->
+            phases.put(total.phase.name, JSONObject()
+                .put("durationMs", total.durationMs)
+                .put("rows", total.rows)
+                .put("bytes", total.bytes)
+                .put("requests", total.requests)
+                .put("retries", total.retries)
+                .put("quotaWaitMs", total.quotaWaitMs))
+        }
+        val spans = JSONArray()
+        trace.spans.forEach { span ->
+            spans.put(JSONObject()
+                .put("phase", span.phase.name)
+                .put("label", span.label)
+                .put("depth", span.depth)
+                .put("startOffsetMs", span.startOffsetMs)
+                .put("durationMs", span.durationMs)
+                .put("selfMs", span.selfMs)
+                .put("rows", span.rows)
+                .put("bytes", span.bytes)
+                .put("requests", span.requests)
+                .put("retries", span.retries)
+                .put("quotaWaitMs", span.quotaWaitMs)
+                .put("error", span.error ?: JSONObject.NULL))
+        }
+        return JSONObject()
+            .put("id", trace.id)
+            .put("name", trace.name)
+            .put("lane", trace.lane.name)
+            .put("startedAt", trace.startedAt)
+            .put("durationMs", trace.durationMs)
+            .put("error", trace.error ?: JSONObject.NULL)
+            .put("phases", phases)
+            .put("spans", spans)
+    }
+}
@@ -4,10 +4,10 @@ import android.content.Context
 import com.eventmanager.app.data.models.*
 import com.eventmanager.app.data.repository.EventManagerRepository
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
 import kotlinx.coroutines.flow.first
 import kotlinx.coroutines.withContext
-import kotlinx.coroutines.sync.Mutex
-import kotlinx.coroutines.sync.withLock
 import java.io.IOException
 
 /**
@@ -15,7 +15,7 @@ import java.io.IOException
  * 1. Backup Mode: Local Changes → Google Sheets (overwrite entire dataset)
  * 2. Sync Mode: Google Sheets → App (download and replace local data)
  * 3. Page Change Sync: Download current + new page only
- * 4. Manual/Scheduled Sync: Download entire dataset
+ * 4. Manual Sync: Download entire dataset; Scheduled Sync: download only tabs whose revision moved
  * 5. No merge logic - simple overwrite behavior
  * 6. Differential Sync: Efficient UI updates via data comparison
  */
@@ -25,22 +25,57 @@ class TwoWaySyncService(
     private val googleSheetsService: GoogleSheetsService
 ) {
     
+    companion object {
+        // Upload watermark keys, one per table with a modified-since query
+        private const val WATERMARK_GUESTS = "guests"
+        private const val WATERMARK_VOLUNTEERS = "volunteers"
+        private const val WATERMARK_JOBS = "jobs"
+        
+        // Scheduled syncs download everything at least this often, to pick up edits made by hand in the spreadsheet
+        private const val FULL_REFRESH_INTERVAL_MS = 30 * 60 * 1000L
+        
+        // SyncCoalescer keys: requests for a key already in flight collapse into one trailing run
+        private const val UPLOAD_ALL = "upload:ALL"
+        private const val UPLOAD_CHANGES = "upload:CHANGES"
+        private const val DOWNLOAD_ALL = "download:ALL"
+        private const val DOWNLOAD_CHANGED = "download:CHANGED"
+        
+        private fun uploadKey(entityType: SheetsEntityType) = "upload:${entityType.name}"
+        
+        private fun downloadKey(tabs: Set<SheetsEntityType>) = "download:${tabs.map { it.name }.sorted().joinToString("+")}"
+        
+        private fun differentialKey(entityType: SheetsEntityType?) = "differential:${entityType?.name ?: "ALL"}"
+        
+        private const val JOB_HISTORY = "download:JOB_HISTORY"
+        
+        // Spreadsheet whose archive tabs were downloaded by this process
+        @Volatile
+        private var jobHistorySpreadsheet: String? = null
+        
+        // Streaming differential sync: guests are what the door needs first
+        private val STREAMING_ORDER = listOf(
+            SheetsEntityType.GUEST,
+            SheetsEntityType.VOLUNTEER,
+            SheetsEntityType.JOB_TYPE,
+            SheetsEntityType.VENUE,
+            SheetsEntityType.JOB
+        )
+        
+        // Rows written per transaction; each chunk is shown in the UI as soon as it is committed
+        private const val APPLY_CHUNK_SIZE = 200
+    }
+    
     private val settingsManager = SettingsManager(context)
     private val differentialSyncService = DifferentialSyncService(repository)
-    
-    // Simple synchronization to prevent concurrent backup operations
-    @Volatile
-    private var isBackingUp = false
-    
-    // Global mutex to serialize Google Sheets operations across pages/features
-    private val sheetsOpMutex = Mutex()
+    private val deletionTracker = DeletionTracker(context)
     
     /**
      * BACKUP MODE: Upload entire local dataset to Google Sheets
      * This overwrites the corresponding Google Sheet tab completely
      */
-    suspend fun backupToGoogleSheets() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun backupToGoogleSheets() = SyncCoalescer.run(UPLOAD_ALL) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(SheetsRevisions.TABS.toSet()) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
@@ -48,6 +83,9 @@ class TwoWaySyncService(
             
             googleSheetsService.initializeSheetsService()
             
+            // Everything read from here on is covered by this backup
+            val startedAt = System.currentTimeMillis()
+            
             // Get all local data
             val guests = repository.getAllGuests().first()
             val volunteers = repository.getAllVolunteers().first() // Get ALL volunteers (active and inactive)
@@ -65,6 +103,10 @@ class TwoWaySyncService(
             googleSheetsService.syncJobsToSheets(jobs, venues)
             googleSheetsService.syncVenuesToSheets(venues)
             
+            listOf(WATERMARK_GUESTS, WATERMARK_VOLUNTEERS, WATERMARK_JOBS).forEach { table ->
+                settingsManager.saveUploadWatermark(table, startedAt)
+            }
+            
             // Update last sync time
             updateLastSyncTime()
             
@@ -75,14 +117,113 @@ class TwoWaySyncService(
             throw IOException("Backup failed: ${e.message}", e)
         }
         }
+        }
+    }
+    
+    /**
+     * INCREMENTAL BACKUP MODE: Upload only what changed since the last upload
+     * Guests, volunteers and jobs modified after their table's upload watermark are written
+     * in place by Sync ID, and rows deleted since then are removed using the deletion log.
+     * A table that was never uploaded gets a full upload; job types and venues are small
+     * and always go through the regular delta upload.
+     */
+    suspend fun backupChangesToGoogleSheets() = SyncCoalescer.run(UPLOAD_CHANGES) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(SheetsRevisions.TABS.toSet()) {
+        try {
+            if (!isGoogleSheetsConfigured()) {
+                throw IOException("Google Sheets not configured")
+            }
+            
+            googleSheetsService.initializeSheetsService()
+            
+            println("Starting incremental backup to Google Sheets...")
+            
+            val jobTypeConfigs = repository.getAllJobTypeConfigs().first()
+            val venues = repository.getAllVenues().first()
+            googleSheetsService.syncJobTypeConfigsToSheets(jobTypeConfigs)
+            
+            uploadChangesSince(
+                table = WATERMARK_GUESTS,
+                entityType = SheetsEntityType.GUEST,
+                deletedItems = { deletionTracker.getDeletedGuests() },
+                modifiedAfter = { repository.getGuestsModifiedAfter(it) },
+                uploadAll = { googleSheetsService.syncGuestsToSheets(repository.getAllGuests().first(), venues) },
+                uploadRows = { googleSheetsService.upsertGuestRowsToSheets(it) }
+            )
+            uploadChangesSince(
+                table = WATERMARK_VOLUNTEERS,
+                entityType = SheetsEntityType.VOLUNTEER,
+                deletedItems = { deletionTracker.getDeletedVolunteers() },
+                modifiedAfter = { repository.getVolunteersModifiedAfter(it) },
+                uploadAll = { googleSheetsService.syncVolunteersToSheets(repository.getAllVolunteers().first()) },
+                uploadRows = { googleSheetsService.upsertVolunteerRowsToSheets(it) }
+            )
+            uploadChangesSince(
+                table = WATERMARK_JOBS,
+                entityType = SheetsEntityType.JOB,
+                deletedItems = { deletionTracker.getDeletedJobs() },
+                modifiedAfter = { repository.getJobsModifiedAfter(it) },
+                uploadAll = { googleSheetsService.syncJobsToSheets(repository.getAllJobs().first(), venues) },
+                uploadRows = { googleSheetsService.upsertJobRowsToSheets(it) }
+            )
+            
+            googleSheetsService.syncVenuesToSheets(venues)
+            
+            // Update last sync time
+            updateLastSyncTime()
+            
+            println("Incremental backup to Google Sheets completed successfully")
+            
+        } catch (e: Exception) {
+            println("Incremental backup to Google Sheets failed: ${e.message}")
+            throw IOException("Backup failed: ${e.message}", e)
+        }
+        }
+        }
+    }
+    
+    /**
+     * Uploads one table from its watermark and moves the watermark to the start of this upload.
+     * The watermark is only saved once the upload went through, so a failure resends the same rows.
+     */
+    private suspend fun <T> uploadChangesSince(
+        table: String,
+        entityType: SheetsEntityType,
+        deletedItems: suspend () -> List<DeletionTracker.DeletedItem>,
+        modifiedAfter: suspend (Long) -> List<T>,
+        uploadAll: suspend () -> Unit,
+        uploadRows: suspend (List<T>) -> Int
+    ) {
+        val startedAt = System.currentTimeMillis()
+        val watermark = settingsManager.getUploadWatermark(table)
+        
+        if (watermark == 0L) {
+            println("📤 No upload watermark for $table yet - uploading the whole table")
+            uploadAll()
+        } else {
+            val deletedIds = deletedItems()
+                .filter { it.deletionTime > watermark }
+                .mapNotNull { it.sheetsId }
+                .filter { SheetsRowIds.isStable(it) }
+            val deleted = if (deletedIds.isNotEmpty()) googleSheetsService.deleteRowsFromSheets(entityType, deletedIds) else 0
+            
+            val modified = modifiedAfter(watermark)
+            val written = if (modified.isNotEmpty()) uploadRows(modified) else 0
+            println("📤 $table: ${modified.size} modified since last upload ($written rows written), $deleted rows deleted")
+        }
+        
+        settingsManager.saveUploadWatermark(table, startedAt)
     }
     
     /**
      * SYNC MODE: Download entire dataset from Google Sheets and replace local data
      * This is used for manual sync and scheduled sync
      */
-    suspend fun syncFromGoogleSheets() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun syncFromGoogleSheets() = SyncCoalescer.run(DOWNLOAD_ALL) {
+        withContext(Dispatchers.IO) {
+        var downloadedJobs = emptyList<Job>()
+        SheetsTabLocks.read(SheetsRevisions.TABS.toSet()) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
@@ -92,12 +233,23 @@ class TwoWaySyncService(
             
             println("Starting sync from Google Sheets...")
             
+            // Revisions are read before the data, so the data applied is at least as new as them
+            val startedAt = System.currentTimeMillis()
+            val revisions = try {
+                googleSheetsService.readTabRevisions()
+            } catch (e: Exception) {
+                println("⚠️ Could not read tab revisions, the next scheduled sync will download everything: ${e.message}")
+                null
+            }
+            
             // Download all data from sheets
-            val remoteJobTypeConfigs = googleSheetsService.syncJobTypeConfigsFromSheets()
-            val remoteGuests = googleSheetsService.syncGuestsFromSheets()
-            val remoteVolunteers = googleSheetsService.syncVolunteersFromSheets()
-            val remoteJobs = googleSheetsService.syncJobsFromSheets(remoteJobTypeConfigs)
-            val remoteVenues = googleSheetsService.syncVenuesFromSheets()
+            // All tabs are fetched in a single batchGet round trip
+            val snapshot = googleSheetsService.syncAllTabsFromSheets(known = repository.getKnownSyncRows(SheetsRevisions.TABS.toSet()))
+            val remoteJobTypeConfigs = snapshot.jobTypeConfigs
+            val remoteGuests = snapshot.guests
+            val remoteVolunteers = snapshot.volunteers
+            val remoteJobs = snapshot.jobs
+            val remoteVenues = snapshot.venues
             
             println("Downloaded from sheets: ${remoteGuests.size} guests, ${remoteVolunteers.size} volunteers, ${remoteJobs.size} jobs, ${remoteJobTypeConfigs.size} job types, ${remoteVenues.size} venues")
             
@@ -108,96 +260,192 @@ class TwoWaySyncService(
             if (!hasRemoteData) {
                 println("⚠️ No data found in Google Sheets - keeping existing local data")
                 println("This might be a first-time setup or the sheets are empty.")
-                return@withContext
+                return@read
             }
             
             println("📥 Remote data found - merging with local data...")
             
-            // Merge job type configs
-            repository.clearAllJobTypeConfigs()
-            for (config in remoteJobTypeConfigs) {
-                repository.insertJobTypeConfig(config)
-            }
+            applySnapshot(snapshot)
+            downloadedJobs = remoteJobs
+            revisions?.let { rememberAppliedRevisions(it, snapshot.tabs) }
+            settingsManager.saveLastFullDownloadTime(startedAt)
             
-            // Merge venues
-            repository.clearAllVenues()
-            for (venue in remoteVenues) {
-                repository.insertVenue(venue)
-            }
+            println("✅ Successfully replaced local data with ${remoteGuests.size} guests, ${remoteVolunteers.size} volunteers, ${remoteJobs.size} jobs, ${remoteJobTypeConfigs.size} job types from Google Sheets")
             
-            // Merge guests
-            repository.clearAllGuests()
-            for (guest in remoteGuests) {
-                repository.insertGuest(guest)
-            }
+            // Update last sync time
+            updateLastSyncTime()
             
-            // Merge volunteers (preserve local volunteers not in remote data)
-            val localVolunteers = repository.getAllVolunteers().first()
-            val remoteVolunteersMap = remoteVolunteers.associateBy { it.sheetsId }
+            println("Sync from Google Sheets completed successfully")
             
-            // Update or insert remote volunteers
-            for (volunteer in remoteVolunteers) {
-                val existingVolunteer = localVolunteers.find { it.sheetsId == volunteer.sheetsId }
-                if (existingVolunteer != null) {
-                    repository.updateVolunteer(volunteer)
-                } else {
-                    repository.insertVolunteer(volunteer)
-                }
+        } catch (e: Exception) {
+            println("Sync from Google Sheets failed: ${e.message}")
+            throw IOException("Sync failed: ${e.message}", e)
+        }
+        }
+        archivePastSeasons(downloadedJobs)
+        }
+    }
+    
+    /**
+     * SCHEDULED SYNC: Probe the _Meta tab revisions first, then download only the tabs whose
+     * revision moved since this device last applied them, so a poll without remote changes
+     * costs one small read. Everything is downloaded when the spreadsheet has no revisions yet
+     * or the last full download is older than FULL_REFRESH_INTERVAL_MS.
+     * 
+     * @return the tabs that were downloaded and applied, empty when nothing changed
+     */
+    suspend fun syncChangedFromGoogleSheets(): Set<SheetsEntityType> =
+        SyncCoalescer.run(DOWNLOAD_CHANGED) {
+        withContext(Dispatchers.IO) {
+        var downloadedJobs = emptyList<Job>()
+        val changedTabs = SheetsTabLocks.read(SheetsRevisions.TABS.toSet()) {
+        try {
+            if (!isGoogleSheetsConfigured()) {
+                throw IOException("Google Sheets not configured")
             }
             
-            // Keep local volunteers that don't exist in remote data
-            val localVolunteersToKeep = localVolunteers.filter { localVolunteer ->
-                localVolunteer.sheetsId == null || remoteVolunteersMap[localVolunteer.sheetsId] == null
+            googleSheetsService.initializeSheetsService()
+            
+            val startedAt = System.currentTimeMillis()
+            val revisions = googleSheetsService.readTabRevisions()
+            val fullRefreshDue = startedAt - settingsManager.getLastFullDownloadTime() >= FULL_REFRESH_INTERVAL_MS
+            
+            val changedTabs = if (revisions == null || fullRefreshDue) {
+                SheetsRevisions.TABS.toSet()
+            } else {
+                SheetsRevisions.TABS.filter { revisions[it]?.token != settingsManager.getSeenTabRevision(it.name) }.toSet()
             }
             
-            // Re-insert local volunteers that weren't in remote data
-            for (volunteer in localVolunteersToKeep) {
-                try {
-                    repository.insertVolunteer(volunteer)
-                    println("Preserved local volunteer: ${volunteer.name} (ID: ${volunteer.id}, Active: ${volunteer.isActive})")
-                } catch (e: Exception) {
-                    println("Failed to preserve local volunteer ${volunteer.name}: ${e.message}")
-                }
+            if (changedTabs.isEmpty()) {
+                println("✅ No remote changes since last sync - nothing to download")
+                updateLastSyncTime()
+                return@read emptySet<SheetsEntityType>()
             }
             
-            println("Preserved ${localVolunteersToKeep.size} local volunteers not found in remote data")
+            println("📥 Downloading ${changedTabs.size} changed tabs: ${changedTabs.joinToString()}${if (fullRefreshDue) " (full refresh)" else ""}")
+            val snapshot = googleSheetsService.syncAllTabsFromSheets(changedTabs, repository.getKnownSyncRows(changedTabs))
             
-            // Merge jobs
-            repository.clearAllJobs()
-            for (job in remoteJobs) {
-                repository.insertJob(job)
+            // Same safety check as the full sync: an entirely empty spreadsheet never wipes local data
+            if (snapshot.tabs.size == SheetsRevisions.TABS.size && snapshot.isEmpty()) {
+                println("⚠️ No data found in Google Sheets - keeping existing local data")
+                return@read emptySet<SheetsEntityType>()
             }
             
-            println("✅ Successfully replaced local data with ${remoteGuests.size} guests, ${remoteVolunteers.size} volunteers, ${remoteJobs.size} jobs, ${remoteJobTypeConfigs.size} job types from Google Sheets")
+            applySnapshot(snapshot)
+            downloadedJobs = snapshot.jobs
+            revisions?.let { rememberAppliedRevisions(it, snapshot.tabs) }
+            if (snapshot.tabs.size == SheetsRevisions.TABS.size) {
+                settingsManager.saveLastFullDownloadTime(startedAt)
+            }
             
-            // Update last sync time
             updateLastSyncTime()
-            
-            println("Sync from Google Sheets completed successfully")
+            println("✅ Applied changed tabs from Google Sheets: ${snapshot.summary()}")
+            snapshot.tabs
             
         } catch (e: Exception) {
-            println("Sync from Google Sheets failed: ${e.message}")
+            println("Sync of changed tabs from Google Sheets failed: ${e.message}")
             throw IOException("Sync failed: ${e.message}", e)
         }
         }
+        archivePastSeasons(downloadedJobs)
+        changedTabs
+        }
+    }
+    
+    /**
+     * Applies the downloaded tabs of a snapshot in one transaction with bulk writes per table.
+     * Tabs that were not downloaded are left untouched.
+     */
+    private suspend fun applySnapshot(snapshot: SheetsSnapshot) {
+        val tabs = snapshot.tabs
+        val localVolunteers = if (SheetsEntityType.VOLUNTEER in tabs) repository.getAllVolunteers().first() else emptyList()
+        
+        SyncTracer.span(SyncPhase.APPLY, tabs.joinToString("+") { it.name }) {
+            SyncTracer.record(rows = snapshot.guests.size + snapshot.volunteers.size + snapshot.jobs.size + snapshot.jobTypeConfigs.size + snapshot.venues.size)
+            repository.runInTransaction {
+                if (SheetsEntityType.JOB_TYPE in tabs) repository.replaceAllJobTypeConfigs(snapshot.jobTypeConfigs)
+                if (SheetsEntityType.VENUE in tabs) repository.replaceAllVenues(snapshot.venues)
+                if (SheetsEntityType.GUEST in tabs) repository.replaceAllGuests(snapshot.guests)
+                
+                // Merge volunteers (local volunteers not in remote data are left untouched)
+                if (SheetsEntityType.VOLUNTEER in tabs) repository.upsertVolunteers(snapshot.volunteers)
+                
+                if (SheetsEntityType.JOB in tabs) repository.replaceAllJobs(snapshot.jobs)
+            }
+        }
+        DatasetFreshness.markFresh(tabs)
+        
+        if (SheetsEntityType.VOLUNTEER in tabs) {
+            val remoteSheetsIds = snapshot.volunteers.mapNotNull { it.sheetsId }.toSet()
+            val remoteNames = snapshot.volunteers.map { it.name }.toSet()
+            val preservedVolunteers = localVolunteers.count { it.sheetsId !in remoteSheetsIds && it.name !in remoteNames }
+            println("Preserved $preservedVolunteers local volunteers not found in remote data")
+        }
+    }
+    
+    /**
+     * Records the revisions of the tabs just applied, so the next probe skips them until they move
+     */
+    private fun rememberAppliedRevisions(revisions: Map<SheetsEntityType, TabRevision>, tabs: Set<SheetsEntityType>) {
+        settingsManager.saveSeenTabRevisions(
+            revisions.filterKeys { it in tabs }.map { (entityType, revision) -> entityType.name to revision.token }.toMap()
+        )
+    }
+    
+    /**
+     * PAGE FRESHNESS: Tabs of [tabs] that a page change should download. Tabs downloaded within
+     * the dataset TTL are skipped without any request; past it, one _Meta read tells which of
+     * them moved since this device applied them, and the others are renewed for another TTL.
+     * Without revisions to compare, every expired tab is returned.
+     */
+    suspend fun staleTabs(tabs: Set<SheetsEntityType>): Set<SheetsEntityType> = withContext(Dispatchers.IO) {
+        val ttlMs = settingsManager.getDatasetTtlSeconds() * 1000L
+        val expired = tabs.filter { !DatasetFreshness.isFresh(it, ttlMs) }.toSet()
+        if (expired.isEmpty() || !isGoogleSheetsConfigured()) return@withContext emptySet<SheetsEntityType>()
+        
+        val revisions = try {
+            SyncTracer.trace("freshness probe") { googleSheetsService.readTabRevisions() }
+        } catch (e: Exception) {
+            println("⚠️ Could not read tab revisions, downloading expired tabs: ${e.message}")
+            null
+        } ?: return@withContext expired
+        
+        val (moved, unchanged) = expired.partition { revisions[it]?.token != settingsManager.getSeenTabRevision(it.name) }
+        DatasetFreshness.markFresh(unchanged)
+        moved.forEach { tab -> revisions[tab]?.let { DatasetFreshness.recordProbe(tab, it.token) } }
+        println("🕒 Page tabs: ${moved.size} stale (${moved.joinToString()}), ${tabs.size - moved.size} fresh")
+        moved.toSet()
+    }
+    
+    /**
+     * Marks tabs just downloaded on their own as fresh, and their probed revision as applied
+     */
+    private fun markDownloaded(tabs: Set<SheetsEntityType>) {
+        DatasetFreshness.markFresh(tabs)
+        val applied = tabs.mapNotNull { tab -> DatasetFreshness.takeProbe(tab)?.let { tab.name to it } }.toMap()
+        if (applied.isNotEmpty()) {
+            settingsManager.saveSeenTabRevisions(applied)
+        }
     }
     
     /**
      * DIFFERENTIAL SYNC MODE: Download from Google Sheets and update only what changed
      * This is the new efficient sync that avoids full-page UI reloads
      * 
-     * Steps:
-     * 1. Download all remote data from Google Sheets (TEMP_DB)
-     * 2. Get current local data (MAIN_DB)
-     * 3. Compare TEMP_DB vs MAIN_DB to identify changes
-     * 4. Return sync result with detailed change information
-     * 5. UI will apply only the targeted updates
+     * Steps, tab by tab in [STREAMING_ORDER] so the guest list is usable first:
+     * 1. Download the remote rows (TEMP_DB): guests alone in a first small request, the
+     *    other tabs in one batch downloaded meanwhile
+     * 2. Compare them with the local rows (MAIN_DB)
+     * 3. Apply the changes in chunks of [APPLY_CHUNK_SIZE] rows, each in its own transaction
+     * 4. Publish every applied chunk on [SyncProgress], so the UI shows it right away
      * 
      * @return DifferentialSyncResult containing new, modified, and deleted items
      */
-    suspend fun syncFromGoogleSheetsWithDifferentialUpdate(): DifferentialSyncService.DifferentialSyncResult = 
+    suspend fun syncFromGoogleSheetsWithDifferentialUpdate(): DifferentialSyncService.DifferentialSyncResult =
+        SyncCoalescer.run(differentialKey(null)) {
         withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+        var downloadedJobs = emptyList<Job>()
+        val result = SheetsTabLocks.read(SheetsRevisions.TABS.toSet()) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
@@ -206,83 +454,175 @@ class TwoWaySyncService(
             googleSheetsService.initializeSheetsService()
             
             println("🔄 Starting differential sync from Google Sheets...")
-            
-            // STEP 1: Download all data from sheets (TEMP_DB)
-            val remoteJobTypeConfigs = googleSheetsService.syncJobTypeConfigsFromSheets()
-            val remoteGuests = googleSheetsService.syncGuestsFromSheets()
-            val remoteVolunteers = googleSheetsService.syncVolunteersFromSheets()
-            val remoteJobs = googleSheetsService.syncJobsFromSheets(remoteJobTypeConfigs)
-            val remoteVenues = googleSheetsService.syncVenuesFromSheets()
-            
-            println("📥 Downloaded from sheets: ${remoteGuests.size} guests, ${remoteVolunteers.size} volunteers, ${remoteJobs.size} jobs, ${remoteJobTypeConfigs.size} job types, ${remoteVenues.size} venues")
-            
-            // Safety check: Only proceed if we have remote data to prevent data loss
-            val hasRemoteData = remoteGuests.isNotEmpty() || remoteVolunteers.isNotEmpty() || 
-                               remoteJobs.isNotEmpty() || remoteJobTypeConfigs.isNotEmpty() || remoteVenues.isNotEmpty()
-            
-            if (!hasRemoteData) {
-                println("⚠️ No data found in Google Sheets - returning empty differential result")
-                return@withContext DifferentialSyncService.DifferentialSyncResult()
-            }
-            
-            // STEP 2: Get current local data (MAIN_DB)
-            val mainGuests = repository.getAllGuests().first()
-            val mainVolunteers = repository.getAllVolunteers().first()
-            val mainJobs = repository.getAllJobs().first()
-            val mainJobTypeConfigs = repository.getAllJobTypeConfigs().first()
-            val mainVenues = repository.getAllVenues().first()
-            
-            println("📊 Current local data: ${mainGuests.size} guests, ${mainVolunteers.size} volunteers, ${mainJobs.size} jobs, ${mainJobTypeConfigs.size} job types, ${mainVenues.size} venues")
-            
-            // STEP 3: Compare TEMP_DB vs MAIN_DB
-            val guestChanges = differentialSyncService.compareGuests(remoteGuests, mainGuests)
-            val volunteerChanges = differentialSyncService.compareVolunteers(remoteVolunteers, mainVolunteers)
-            val jobChanges = differentialSyncService.compareJobs(remoteJobs, mainJobs)
-            val jobTypeChanges = differentialSyncService.compareJobTypeConfigs(remoteJobTypeConfigs, mainJobTypeConfigs)
-            val venueChanges = differentialSyncService.compareVenues(remoteVenues, mainVenues)
-            
-            // STEP 4: Build result with detailed change information
-            val result = DifferentialSyncService.DifferentialSyncResult(
-                guests = guestChanges,
-                volunteers = volunteerChanges,
-                jobs = jobChanges,
-                jobTypeConfigs = jobTypeChanges,
-                venues = venueChanges,
-                syncTime = System.currentTimeMillis()
-            )
-            
-            println("📋 Changes detected: ${result.summary()}")
-            
-            // STEP 5: Apply changes to database (merge TEMP_DB → MAIN_DB)
-            if (result.hasAnyChanges()) {
-                differentialSyncService.applyChanges(result)
-                println("✅ Applied ${result.guests.totalChanges + result.volunteers.totalChanges + result.jobs.totalChanges + result.jobTypeConfigs.totalChanges + result.venues.totalChanges} changes to local database")
-            } else {
-                println("ℹ️ No changes detected - data is already in sync")
+            SyncProgress.emit(SyncProgressEvent.Started(STREAMING_ORDER))
+            
+            coroutineScope {
+                // STEP 1: Download (TEMP_DB); the other tabs arrive while guests are applied
+                val guestTabs = setOf(SheetsEntityType.GUEST)
+                val otherTabs = STREAMING_ORDER.toSet() - SheetsEntityType.GUEST
+                val guestDownload = async { googleSheetsService.syncAllTabsFromSheets(guestTabs, repository.getKnownSyncRows(guestTabs)) }
+                val otherDownload = async { googleSheetsService.syncAllTabsFromSheets(otherTabs, repository.getKnownSyncRows(otherTabs)) }
+                
+                val remoteGuests = guestDownload.await().guests
+                SyncProgress.emit(SyncProgressEvent.TabDownloaded(SheetsEntityType.GUEST, remoteGuests.size))
+                
+                // Safety check: an empty spreadsheet must not wipe local data
+                val others = if (remoteGuests.isEmpty()) otherDownload.await() else null
+                if (others != null && others.isEmpty()) {
+                    println("⚠️ No data found in Google Sheets - returning empty differential result")
+                    SyncProgress.emit(SyncProgressEvent.Finished(emptySet()))
+                    return@coroutineScope DifferentialSyncService.DifferentialSyncResult()
+                }
+                
+                // STEPS 2-4, guests first
+                val guestChanges = streamTab(SheetsEntityType.GUEST, remoteGuests, repository.getAllGuests().first(),
+                    differentialSyncService::compareGuests, differentialSyncService::applyGuestChanges) { DifferentialSyncService.DifferentialSyncResult(guests = it) }
+                
+                val snapshot = others ?: otherDownload.await()
+                println("📥 Downloaded from sheets: ${remoteGuests.size} guests, ${snapshot.summary()}")
+                STREAMING_ORDER.filter { it != SheetsEntityType.GUEST }.forEach { tab ->
+                    SyncProgress.emit(SyncProgressEvent.TabDownloaded(tab, snapshot.rowCount(tab)))
+                }
+                
+                val volunteerChanges = streamTab(SheetsEntityType.VOLUNTEER, snapshot.volunteers, repository.getAllVolunteers().first(),
+                    differentialSyncService::compareVolunteers, differentialSyncService::applyVolunteerChanges) { DifferentialSyncService.DifferentialSyncResult(volunteers = it) }
+                val jobTypeChanges = streamTab(SheetsEntityType.JOB_TYPE, snapshot.jobTypeConfigs, repository.getAllJobTypeConfigs().first(),
+                    differentialSyncService::compareJobTypeConfigs, differentialSyncService::applyJobTypeConfigChanges) { DifferentialSyncService.DifferentialSyncResult(jobTypeConfigs = it) }
+                val venueChanges = streamTab(SheetsEntityType.VENUE, snapshot.venues, repository.getAllVenues().first(),
+                    differentialSyncService::compareVenues, differentialSyncService::applyVenueChanges) { DifferentialSyncService.DifferentialSyncResult(venues = it) }
+                val jobChanges = streamTab(SheetsEntityType.JOB, snapshot.jobs, repository.getAllJobs().first(),
+                    differentialSyncService::compareJobs, differentialSyncService::applyJobChanges) { DifferentialSyncService.DifferentialSyncResult(jobs = it) }
+                downloadedJobs = snapshot.jobs
+                
+                val result = DifferentialSyncService.DifferentialSyncResult(
+                    guests = guestChanges,
+                    volunteers = volunteerChanges,
+                    jobs = jobChanges,
+                    jobTypeConfigs = jobTypeChanges,
+                    venues = venueChanges,
+                    syncTime = System.currentTimeMillis()
+                )
+                println("📋 Changes applied: ${result.summary()}")
+                
+                DatasetFreshness.markFresh(STREAMING_ORDER)
+                
+                // Update last sync time
+                updateLastSyncTime()
+                
+                SyncProgress.emit(SyncProgressEvent.Finished(result.changedTabs()))
+                println("✅ Differential sync completed successfully")
+                
+                // Return result for UI to use for targeted updates
+                result
             }
-            
-            // Update last sync time
-            updateLastSyncTime()
-            
-            println("✅ Differential sync completed successfully")
-            
-            // Return result for UI to use for targeted updates
-            result
-            
         } catch (e: Exception) {
             println("❌ Differential sync failed: ${e.message}")
             e.printStackTrace()
+            SyncProgress.emit(SyncProgressEvent.Failed(e.message ?: "Differential sync failed"))
             throw IOException("Differential sync failed: ${e.message}", e)
         }
         }
+        archivePastSeasons(downloadedJobs)
+        result
+        }
+    }
+    
+    /**
+     * JOB HISTORY: Jobs of the archived seasons, for all-time statistics. The archive tabs are
+     * downloaded once per process and spreadsheet, replacing the local archive; after that,
+     * or while offline, the local archive is returned as it is.
+     */
+    suspend fun loadJobHistory(): List<Job> = withContext(Dispatchers.IO) {
+        val spreadsheetId = settingsManager.getSpreadsheetId()
+        if (isGoogleSheetsConfigured() && jobHistorySpreadsheet != spreadsheetId) {
+            try {
+                SyncCoalescer.run(JOB_HISTORY) {
+                    SheetsTabLocks.read(setOf(SheetsEntityType.JOB)) {
+                        googleSheetsService.initializeSheetsService()
+                        val archived = googleSheetsService.syncArchivedJobsFromSheets()
+                        SyncTracer.span(SyncPhase.APPLY, "Job archive") {
+                            SyncTracer.record(rows = archived.size)
+                            repository.replaceJobArchive(archived)
+                        }
+                    }
+                }
+                jobHistorySpreadsheet = spreadsheetId
+            } catch (e: Exception) {
+                println("⚠️ Could not load job history from Google Sheets, using the local archive: ${e.message}")
+            }
+        }
+        repository.getArchivedJobs()
+    }
+    
+    /**
+     * SEASON ARCHIVAL: Moves the downloaded jobs of past seasons out of the hot partition,
+     * into their season's archive tab and the jobs_archive table (see [JobSeasons]).
+     * Runs after a download has released its tabs, as it writes the Jobs tab; costs nothing
+     * when no downloaded job is old enough, which is the case all year but once.
+     * Best effort: jobs that could not be moved stay hot until the next sync.
+     */
+    private suspend fun archivePastSeasons(downloadedJobs: List<Job>) {
+        val hotSince = JobSeasons.hotSince()
+        val pastJobs = downloadedJobs.filter { it.date < hotSince && SheetsRowIds.isStable(it.sheetsId) }
+        if (pastJobs.isEmpty()) return
+        
+        try {
+            SheetsTabLocks.write(setOf(SheetsEntityType.JOB)) {
+                googleSheetsService.archiveJobsToSeasonTabs(pastJobs)
+                val moved = SyncTracer.span(SyncPhase.APPLY, "Job archive") {
+                    repository.moveJobsToArchive(pastJobs).also { SyncTracer.record(rows = pastJobs.size) }
+                }
+                if (moved.isNotEmpty()) {
+                    SyncProgress.emit(SyncProgressEvent.JobsArchived(moved))
+                }
+                println("🗄️ Moved ${pastJobs.size} jobs of seasons before ${JobSeasons.seasonOf(hotSince)} to the archive")
+            }
+        } catch (e: Exception) {
+            println("⚠️ Could not archive past seasons, jobs stay in the Jobs tab for now: ${e.message}")
+        }
+    }
+    
+    /**
+     * Compares one downloaded tab with the local rows and applies the changes chunk by chunk,
+     * publishing each chunk as soon as it is committed
+     */
+    private suspend fun <T> streamTab(
+        tab: SheetsEntityType,
+        remote: List<T>,
+        local: List<T>,
+        compare: suspend (List<T>, List<T>) -> DifferentialSyncService.SyncChanges<T>,
+        apply: suspend (DifferentialSyncService.SyncChanges<T>) -> Unit,
+        asResult: (DifferentialSyncService.SyncChanges<T>) -> DifferentialSyncService.DifferentialSyncResult
+    ): DifferentialSyncService.SyncChanges<T> {
+        val changes = compare(remote, local)
+        val chunks = changes.chunked(APPLY_CHUNK_SIZE)
+        val total = chunks.sumOf { it.totalChanges + it.rehashed.size }
+        
+        var applied = 0
+        chunks.forEach { chunk ->
+            apply(chunk)
+            applied += chunk.totalChanges + chunk.rehashed.size
+            SyncProgress.emit(SyncProgressEvent.ChunkApplied(tab, asResult(chunk), applied, total))
+        }
+        SyncProgress.emit(SyncProgressEvent.TabApplied(tab, changes.totalChanges))
+        if (changes.hasChanges) {
+            println("✅ Applied ${changes.totalChanges} ${tab.name} changes in ${chunks.size} chunks")
+        }
+        return changes
     }
     
     /**
      * PAGE CHANGE SYNC: Download only current page and new page data
      * This is used when user changes pages in the app
      */
-    suspend fun syncPageChange(currentPage: String, newPage: String) = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun syncPageChange(currentPage: String, newPage: String) {
+        // Page changes needing the same tabs share a key, so quick back-and-forth navigation coalesces
+        val tabs = pageTabs(currentPage, newPage)
+        SyncCoalescer.run(downloadKey(tabs)) { syncTabs(tabs, "$currentPage → $newPage") }
+    }
+    
+    private suspend fun syncTabs(tabs: Set<SheetsEntityType>, label: String) = withContext(Dispatchers.IO) {
+        SheetsTabLocks.read(tabs) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
@@ -290,25 +630,16 @@ class TwoWaySyncService(
             
             googleSheetsService.initializeSheetsService()
             
-            println("Starting page change sync: $currentPage → $newPage")
-            
-            // Determine which datasets to sync based on page
-            val pagesToSync = setOf(currentPage, newPage)
+            println("Starting page change sync: $label")
             
-            if (pagesToSync.contains("guests") || pagesToSync.contains("guest_list")) {
-                syncGuestsOnly()
-            }
-            
-            if (pagesToSync.contains("volunteers") || pagesToSync.contains("volunteer_list")) {
-                syncVolunteersOnly()
-            }
-            
-            if (pagesToSync.contains("jobs") || pagesToSync.contains("job_list")) {
-                syncJobsOnly()
-            }
-            
-            if (pagesToSync.contains("job_types") || pagesToSync.contains("job_type_configs")) {
-                syncJobTypesOnly()
+            // Both pages are fetched together under one lock, so the *Only functions are not called here
+            if (tabs.isNotEmpty()) {
+                val snapshot = googleSheetsService.syncAllTabsFromSheets(tabs, repository.getKnownSyncRows(tabs))
+                if (SheetsEntityType.GUEST in snapshot.tabs) applyGuests(snapshot.guests)
+                if (SheetsEntityType.VOLUNTEER in snapshot.tabs) applyVolunteers(snapshot.volunteers)
+                if (SheetsEntityType.JOB in snapshot.tabs) applyJobs(snapshot.jobs)
+                if (SheetsEntityType.JOB_TYPE in snapshot.tabs) applyJobTypes(snapshot.jobTypeConfigs)
+                markDownloaded(snapshot.tabs)
             }
             
             println("Page change sync completed successfully")
@@ -320,23 +651,53 @@ class TwoWaySyncService(
         }
     }
     
+    /**
+     * Tabs shown by either page
+     */
+    private fun pageTabs(currentPage: String, newPage: String): Set<SheetsEntityType> {
+        val pagesToSync = setOf(currentPage, newPage)
+        val tabs = mutableSetOf<SheetsEntityType>()
+        
+        if (pagesToSync.contains("guests") || pagesToSync.contains("guest_list")) {
+            tabs.add(SheetsEntityType.GUEST)
+        }
+        
+        if (pagesToSync.contains("volunteers") || pagesToSync.contains("volunteer_list")) {
+            tabs.add(SheetsEntityType.VOLUNTEER)
+        }
+        
+        if (pagesToSync.contains("jobs") || pagesToSync.contains("job_list")) {
+            tabs.add(SheetsEntityType.JOB)
+        }
+        
+        if (pagesToSync.contains("job_types") || pagesToSync.contains("job_type_configs")) {
+            tabs.add(SheetsEntityType.JOB_TYPE)
+        }
+        
+        return tabs
+    }
+    
     /**
      * SYNC SPECIFIC DATASET: Download and replace specific dataset only
      */
-    suspend fun syncGuestsOnly() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun syncGuestsOnly() = SyncCoalescer.run(downloadKey(setOf(SheetsEntityType.GUEST))) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.read(setOf(SheetsEntityType.GUEST)) {
         try {
-            val remoteGuests = googleSheetsService.syncGuestsFromSheets()
-            repository.clearAllGuests()
-            for (guest in remoteGuests) {
-                repository.insertGuest(guest)
-            }
-            println("Synced ${remoteGuests.size} guests")
+            applyGuests(googleSheetsService.syncGuestsFromSheets())
+            markDownloaded(setOf(SheetsEntityType.GUEST))
         } catch (e: Exception) {
             println("Failed to sync guests: ${e.message}")
             throw e
         }
         }
+        }
+    }
+    
+    private suspend fun applyGuests(remoteGuests: List<Guest>) = SyncTracer.span(SyncPhase.APPLY, SheetsEntityType.GUEST.name) {
+        SyncTracer.record(rows = remoteGuests.size)
+        repository.replaceAllGuests(remoteGuests)
+        println("Synced ${remoteGuests.size} guests")
     }
     
     /**
@@ -344,33 +705,34 @@ class TwoWaySyncService(
      * This is efficient UI update for the guest page - only changed guests are updated
      */
     suspend fun syncGuestsWithDifferentialUpdate(): DifferentialSyncService.SyncChanges<Guest> =
+        SyncCoalescer.run(differentialKey(SheetsEntityType.GUEST)) {
         withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+        SheetsTabLocks.read(setOf(SheetsEntityType.GUEST)) {
         try {
             println("🔄 Starting differential guest sync from Google Sheets...")
             
-            // STEP 1: Download guests from sheets (TEMP_DB)
-            val remoteGuests = googleSheetsService.syncGuestsFromSheets()
-            println("📥 Downloaded ${remoteGuests.size} guests from sheets")
-            
-            // STEP 2: Get current local guests (MAIN_DB)
+            // STEP 1: Get current local guests (MAIN_DB)
             val mainGuests = repository.getAllGuests().first()
             println("📊 Current local data: ${mainGuests.size} guests")
             
+            // STEP 2: Download guests from sheets (TEMP_DB), rows with an unchanged hash reuse the local guest
+            val remoteGuests = googleSheetsService.syncGuestsFromSheets(known = mainGuests)
+            println("📥 Downloaded ${remoteGuests.size} guests from sheets")
+            
             // STEP 3: Compare TEMP_DB vs MAIN_DB
             val guestChanges = differentialSyncService.compareGuests(remoteGuests, mainGuests)
             println("📋 Changes detected: ${guestChanges.new.size} new, ${guestChanges.modified.size} modified, ${guestChanges.deleted.size} deleted")
             
             // STEP 4: Apply changes to database
             if (guestChanges.hasChanges) {
-                guestChanges.new.forEach { repository.insertGuest(it) }
-                guestChanges.modified.forEach { repository.updateGuest(it) }
-                guestChanges.deleted.forEach { repository.deleteGuest(it) }
+                differentialSyncService.applyGuestChanges(guestChanges)
                 println("✅ Applied ${guestChanges.totalChanges} guest changes to database")
             } else {
                 println("ℹ️ No guest changes detected - data is already in sync")
             }
             
+            markDownloaded(setOf(SheetsEntityType.GUEST))
+            
             // Update sync time
             updateLastSyncTime()
             
@@ -385,65 +747,43 @@ class TwoWaySyncService(
             throw IOException("Differential guest sync failed: ${e.message}", e)
         }
         }
+        }
     }
     
-    suspend fun syncVolunteersOnly() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun syncVolunteersOnly() = SyncCoalescer.run(downloadKey(setOf(SheetsEntityType.VOLUNTEER))) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.read(setOf(SheetsEntityType.VOLUNTEER)) {
         try {
             println("Starting volunteer sync from Google Sheets...")
-            val remoteVolunteers = googleSheetsService.syncVolunteersFromSheets()
-            println("Downloaded ${remoteVolunteers.size} volunteers from Google Sheets")
-            
-            // Get existing local volunteers to preserve any that aren't in remote data
-            val localVolunteers = repository.getAllVolunteers().first()
-            println("Found ${localVolunteers.size} local volunteers")
-            
-            // Create a map of remote volunteers by sheetsId for quick lookup
-            val remoteVolunteersMap = remoteVolunteers.associateBy { it.sheetsId }
-            
-            // Update or insert remote volunteers
-            for (volunteer in remoteVolunteers) {
-                try {
-                    val existingVolunteer = localVolunteers.find { it.sheetsId == volunteer.sheetsId }
-                    if (existingVolunteer != null) {
-                        // Update existing volunteer
-                        repository.updateVolunteer(volunteer)
-                        println("Updated volunteer: ${volunteer.name} (ID: ${volunteer.id}, Active: ${volunteer.isActive})")
-                    } else {
-                        // Insert new volunteer
-                        repository.insertVolunteer(volunteer)
-                        println("Inserted new volunteer: ${volunteer.name} (ID: ${volunteer.id}, Active: ${volunteer.isActive})")
-                    }
-                } catch (e: Exception) {
-                    println("Failed to sync volunteer ${volunteer.name}: ${e.message}")
-                    // Continue with other volunteers even if one fails
-                }
-            }
-            
-            // Keep local volunteers that don't exist in remote data (preserve inactive volunteers)
-            val localVolunteersToKeep = localVolunteers.filter { localVolunteer ->
-                localVolunteer.sheetsId == null || remoteVolunteersMap[localVolunteer.sheetsId] == null
-            }
-            
-            // Re-insert local volunteers that weren't in remote data
-            for (volunteer in localVolunteersToKeep) {
-                try {
-                    repository.insertVolunteer(volunteer)
-                    println("Preserved local volunteer: ${volunteer.name} (ID: ${volunteer.id}, Active: ${volunteer.isActive})")
-                } catch (e: Exception) {
-                    println("Failed to preserve local volunteer ${volunteer.name}: ${e.message}")
-                }
-            }
-            
-            println("Preserved ${localVolunteersToKeep.size} local volunteers not found in remote data")
-            
-            println("Successfully synced volunteers from Google Sheets (${remoteVolunteers.size} remote, ${localVolunteersToKeep.size} preserved local)")
+            applyVolunteers(googleSheetsService.syncVolunteersFromSheets())
+            markDownloaded(setOf(SheetsEntityType.VOLUNTEER))
         } catch (e: Exception) {
             println("Failed to sync volunteers: ${e.message}")
             e.printStackTrace()
             throw e
         }
         }
+        }
+    }
+    
+    private suspend fun applyVolunteers(remoteVolunteers: List<Volunteer>) = SyncTracer.span(SyncPhase.APPLY, SheetsEntityType.VOLUNTEER.name) {
+        SyncTracer.record(rows = remoteVolunteers.size)
+        println("Downloaded ${remoteVolunteers.size} volunteers from Google Sheets")
+        
+        // Get existing local volunteers to preserve any that aren't in remote data
+        val localVolunteers = repository.getAllVolunteers().first()
+        println("Found ${localVolunteers.size} local volunteers")
+        
+        // Update or insert remote volunteers in one bulk write
+        // Local volunteers that don't exist in remote data are left untouched (preserves inactive volunteers)
+        repository.upsertVolunteers(remoteVolunteers)
+        
+        val remoteSheetsIds = remoteVolunteers.mapNotNull { it.sheetsId }.toSet()
+        val remoteNames = remoteVolunteers.map { it.name }.toSet()
+        val localVolunteersToKeep = localVolunteers.filter { it.sheetsId !in remoteSheetsIds && it.name !in remoteNames }
+        println("Preserved ${localVolunteersToKeep.size} local volunteers not found in remote data")
+        
+        println("Successfully synced volunteers from Google Sheets (${remoteVolunteers.size} remote, ${localVolunteersToKeep.size} preserved local)")
     }
     
     /**
@@ -451,33 +791,34 @@ class TwoWaySyncService(
      * This is efficient UI update for the volunteer page - only changed volunteers are updated
      */
     suspend fun syncVolunteersWithDifferentialUpdate(): DifferentialSyncService.SyncChanges<Volunteer> =
+        SyncCoalescer.run(differentialKey(SheetsEntityType.VOLUNTEER)) {
         withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+        SheetsTabLocks.read(setOf(SheetsEntityType.VOLUNTEER)) {
         try {
             println("🔄 Starting differential volunteer sync from Google Sheets...")
             
-            // STEP 1: Download volunteers from sheets (TEMP_DB)
-            val remoteVolunteers = googleSheetsService.syncVolunteersFromSheets()
-            println("📥 Downloaded ${remoteVolunteers.size} volunteers from sheets")
-            
-            // STEP 2: Get current local volunteers (MAIN_DB)
+            // STEP 1: Get current local volunteers (MAIN_DB)
             val mainVolunteers = repository.getAllVolunteers().first()
             println("📊 Current local data: ${mainVolunteers.size} volunteers")
             
+            // STEP 2: Download volunteers from sheets (TEMP_DB), rows with an unchanged hash reuse the local volunteer
+            val remoteVolunteers = googleSheetsService.syncVolunteersFromSheets(known = mainVolunteers)
+            println("📥 Downloaded ${remoteVolunteers.size} volunteers from sheets")
+            
             // STEP 3: Compare TEMP_DB vs MAIN_DB
             val volunteerChanges = differentialSyncService.compareVolunteers(remoteVolunteers, mainVolunteers)
             println("📋 Changes detected: ${volunteerChanges.new.size} new, ${volunteerChanges.modified.size} modified, ${volunteerChanges.deleted.size} deleted")
             
             // STEP 4: Apply changes to database
             if (volunteerChanges.hasChanges) {
-                volunteerChanges.new.forEach { repository.insertVolunteer(it) }
-                volunteerChanges.modified.forEach { repository.updateVolunteer(it) }
-                volunteerChanges.deleted.forEach { repository.deleteVolunteer(it) }
+                differentialSyncService.applyVolunteerChanges(volunteerChanges)
                 println("✅ Applied ${volunteerChanges.totalChanges} volunteer changes to database")
             } else {
                 println("ℹ️ No volunteer changes detected - data is already in sync")
             }
             
+            markDownloaded(setOf(SheetsEntityType.VOLUNTEER))
+            
             // Update sync time
             updateLastSyncTime()
             
@@ -492,23 +833,28 @@ class TwoWaySyncService(
             throw IOException("Differential volunteer sync failed: ${e.message}", e)
         }
         }
+        }
     }
     
-    suspend fun syncJobsOnly() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun syncJobsOnly() = SyncCoalescer.run(downloadKey(setOf(SheetsEntityType.JOB))) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.read(setOf(SheetsEntityType.JOB)) {
         try {
             val remoteJobTypeConfigs = repository.getAllJobTypeConfigs().first()
-            val remoteJobs = googleSheetsService.syncJobsFromSheets(remoteJobTypeConfigs)
-            repository.clearAllJobs()
-            for (job in remoteJobs) {
-                repository.insertJob(job)
-            }
-            println("Synced ${remoteJobs.size} jobs")
+            applyJobs(googleSheetsService.syncJobsFromSheets(remoteJobTypeConfigs))
+            markDownloaded(setOf(SheetsEntityType.JOB))
         } catch (e: Exception) {
             println("Failed to sync jobs: ${e.message}")
             throw e
         }
         }
+        }
+    }
+    
+    private suspend fun applyJobs(remoteJobs: List<Job>) = SyncTracer.span(SyncPhase.APPLY, SheetsEntityType.JOB.name) {
+        SyncTracer.record(rows = remoteJobs.size)
+        repository.replaceAllJobs(remoteJobs)
+        println("Synced ${remoteJobs.size} jobs")
     }
     
     /**
@@ -516,34 +862,37 @@ class TwoWaySyncService(
      * This is efficient UI update for the jobs/shifts page - only changed jobs are updated
      */
     suspend fun syncJobsWithDifferentialUpdate(): DifferentialSyncService.SyncChanges<Job> =
+        SyncCoalescer.run(differentialKey(SheetsEntityType.JOB)) {
         withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+        var downloadedJobs = emptyList<Job>()
+        val changes = SheetsTabLocks.read(setOf(SheetsEntityType.JOB)) {
         try {
             println("🔄 Starting differential job sync from Google Sheets...")
             
-            // STEP 1: Download jobs from sheets (TEMP_DB)
-            val remoteJobTypeConfigs = repository.getAllJobTypeConfigs().first()
-            val remoteJobs = googleSheetsService.syncJobsFromSheets(remoteJobTypeConfigs)
-            println("📥 Downloaded ${remoteJobs.size} jobs from sheets")
-            
-            // STEP 2: Get current local jobs (MAIN_DB)
+            // STEP 1: Get current local jobs (MAIN_DB)
             val mainJobs = repository.getAllJobs().first()
             println("📊 Current local data: ${mainJobs.size} jobs")
             
+            // STEP 2: Download jobs from sheets (TEMP_DB), rows with an unchanged hash reuse the local job
+            val remoteJobTypeConfigs = repository.getAllJobTypeConfigs().first()
+            val remoteJobs = googleSheetsService.syncJobsFromSheets(remoteJobTypeConfigs, known = mainJobs)
+            println("📥 Downloaded ${remoteJobs.size} jobs from sheets")
+            
             // STEP 3: Compare TEMP_DB vs MAIN_DB
             val jobChanges = differentialSyncService.compareJobs(remoteJobs, mainJobs)
             println("📋 Changes detected: ${jobChanges.new.size} new, ${jobChanges.modified.size} modified, ${jobChanges.deleted.size} deleted")
             
             // STEP 4: Apply changes to database
             if (jobChanges.hasChanges) {
-                jobChanges.new.forEach { repository.insertJob(it) }
-                jobChanges.modified.forEach { repository.updateJob(it) }
-                jobChanges.deleted.forEach { repository.deleteJob(it) }
+                differentialSyncService.applyJobChanges(jobChanges)
                 println("✅ Applied ${jobChanges.totalChanges} job changes to database")
             } else {
                 println("ℹ️ No job changes detected - data is already in sync")
             }
             
+            markDownloaded(setOf(SheetsEntityType.JOB))
+            downloadedJobs = remoteJobs
+            
             // Update sync time
             updateLastSyncTime()
             
@@ -558,22 +907,29 @@ class TwoWaySyncService(
             throw IOException("Differential job sync failed: ${e.message}", e)
         }
         }
+        archivePastSeasons(downloadedJobs)
+        changes
+        }
     }
     
-    suspend fun syncJobTypesOnly() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun syncJobTypesOnly() = SyncCoalescer.run(downloadKey(setOf(SheetsEntityType.JOB_TYPE))) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.read(setOf(SheetsEntityType.JOB_TYPE)) {
         try {
-            val remoteJobTypeConfigs = googleSheetsService.syncJobTypeConfigsFromSheets()
-            repository.clearAllJobTypeConfigs()
-            for (config in remoteJobTypeConfigs) {
-                repository.insertJobTypeConfig(config)
-            }
-            println("Synced ${remoteJobTypeConfigs.size} job types")
+            applyJobTypes(googleSheetsService.syncJobTypeConfigsFromSheets())
+            markDownloaded(setOf(SheetsEntityType.JOB_TYPE))
         } catch (e: Exception) {
             println("Failed to sync job types: ${e.message}")
             throw e
         }
         }
+        }
+    }
+    
+    private suspend fun applyJobTypes(remoteJobTypeConfigs: List<JobTypeConfig>) = SyncTracer.span(SyncPhase.APPLY, SheetsEntityType.JOB_TYPE.name) {
+        SyncTracer.record(rows = remoteJobTypeConfigs.size)
+        repository.replaceAllJobTypeConfigs(remoteJobTypeConfigs)
+        println("Synced ${remoteJobTypeConfigs.size} job types")
     }
     
     /**
@@ -581,8 +937,9 @@ class TwoWaySyncService(
      * This is efficient UI update for the job types settings page - only changed types are updated
      */
     suspend fun syncJobTypesWithDifferentialUpdate(): DifferentialSyncService.SyncChanges<JobTypeConfig> =
+        SyncCoalescer.run(differentialKey(SheetsEntityType.JOB_TYPE)) {
         withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+        SheetsTabLocks.read(setOf(SheetsEntityType.JOB_TYPE)) {
         try {
             println("🔄 Starting differential job type sync from Google Sheets...")
             
@@ -600,14 +957,14 @@ class TwoWaySyncService(
             
             // STEP 4: Apply changes to database
             if (jobTypeChanges.hasChanges) {
-                jobTypeChanges.new.forEach { repository.insertJobTypeConfig(it) }
-                jobTypeChanges.modified.forEach { repository.updateJobTypeConfig(it) }
-                jobTypeChanges.deleted.forEach { repository.deleteJobTypeConfig(it) }
+                differentialSyncService.applyJobTypeConfigChanges(jobTypeChanges)
                 println("✅ Applied ${jobTypeChanges.totalChanges} job type changes to database")
             } else {
                 println("ℹ️ No job type changes detected - data is already in sync")
             }
             
+            markDownloaded(setOf(SheetsEntityType.JOB_TYPE))
+            
             // Update sync time
             updateLastSyncTime()
             
@@ -622,6 +979,7 @@ class TwoWaySyncService(
             throw IOException("Differential job type sync failed: ${e.message}", e)
         }
         }
+        }
     }
     
     /**
@@ -629,8 +987,9 @@ class TwoWaySyncService(
      * This is efficient UI update for the venues settings page - only changed venues are updated
      */
     suspend fun syncVenuesWithDifferentialUpdate(): DifferentialSyncService.SyncChanges<VenueEntity> =
+        SyncCoalescer.run(differentialKey(SheetsEntityType.VENUE)) {
         withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+        SheetsTabLocks.read(setOf(SheetsEntityType.VENUE)) {
         try {
             println("🔄 Starting differential venue sync from Google Sheets...")
             
@@ -648,14 +1007,14 @@ class TwoWaySyncService(
             
             // STEP 4: Apply changes to database
             if (venueChanges.hasChanges) {
-                venueChanges.new.forEach { repository.insertVenue(it) }
-                venueChanges.modified.forEach { repository.updateVenue(it) }
-                venueChanges.deleted.forEach { repository.deleteVenue(it) }
+                differentialSyncService.applyVenueChanges(venueChanges)
                 println("✅ Applied ${venueChanges.totalChanges} venue changes to database")
             } else {
                 println("ℹ️ No venue changes detected - data is already in sync")
             }
             
+            markDownloaded(setOf(SheetsEntityType.VENUE))
+            
             // Update sync time
             updateLastSyncTime()
             
@@ -670,20 +1029,23 @@ class TwoWaySyncService(
             throw IOException("Differential venue sync failed: ${e.message}", e)
         }
         }
+        }
     }
     
     /**
      * BACKUP SPECIFIC DATASET: Upload specific dataset to Google Sheets
      * This is used when user makes changes to specific data
      */
-    suspend fun backupGuestsToSheets() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun backupGuestsToSheets() = SyncCoalescer.run(uploadKey(SheetsEntityType.GUEST)) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(SheetsEntityType.GUEST)) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
             }
             
             googleSheetsService.initializeSheetsService()
+            val startedAt = System.currentTimeMillis()
             val guests = repository.getAllGuests().first()
             val venues = repository.getAllVenues().first()
             println("📊 Retrieved ${guests.size} guests from repository for backup")
@@ -694,22 +1056,26 @@ class TwoWaySyncService(
             }
             
             googleSheetsService.syncGuestsToSheets(guests, venues)
+            settingsManager.saveUploadWatermark(WATERMARK_GUESTS, startedAt)
             println("✅ Backed up ${guests.size} guests to Google Sheets")
         } catch (e: Exception) {
             println("❌ Failed to backup guests: ${e.message}")
             throw e
         }
         }
+        }
     }
     
-    suspend fun backupVolunteersToSheets() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun backupVolunteersToSheets() = SyncCoalescer.run(uploadKey(SheetsEntityType.VOLUNTEER)) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(SheetsEntityType.VOLUNTEER)) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
             }
             
             googleSheetsService.initializeSheetsService()
+            val startedAt = System.currentTimeMillis()
             // Get ALL volunteers (both active and inactive) to ensure complete backup
             val volunteers = repository.getAllVolunteers().first()
             println("📊 Retrieved ${volunteers.size} volunteers from repository for backup")
@@ -720,31 +1086,27 @@ class TwoWaySyncService(
             }
             
             googleSheetsService.syncVolunteersToSheets(volunteers)
+            settingsManager.saveUploadWatermark(WATERMARK_VOLUNTEERS, startedAt)
             println("✅ Backed up ${volunteers.size} volunteers to Google Sheets")
         } catch (e: Exception) {
             println("❌ Failed to backup volunteers: ${e.message}")
             throw e
         }
         }
+        }
     }
     
-    suspend fun backupJobsToSheets() = withContext(Dispatchers.IO) {
-        // Prevent concurrent backup operations
-        if (isBackingUp) {
-            println("⚠️ Backup already in progress, skipping duplicate backup request")
-            return@withContext
-        }
-        
+    suspend fun backupJobsToSheets() = SyncCoalescer.run(uploadKey(SheetsEntityType.JOB)) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(SheetsEntityType.JOB)) {
         try {
-            isBackingUp = true
-            
-            sheetsOpMutex.withLock {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
             }
             
             println("Starting backup of jobs to Google Sheets...")
             googleSheetsService.initializeSheetsService()
+            val startedAt = System.currentTimeMillis()
             val jobs = repository.getAllJobs().first()
             val venues = repository.getAllVenues().first()
             println("📊 Retrieved ${jobs.size} jobs from repository for backup")
@@ -754,22 +1116,20 @@ class TwoWaySyncService(
                 println("  Job ${index + 1}: ${job.jobTypeName} (ID: ${job.id}, Volunteer: ${job.volunteerId})")
             }
             
-            // Add a small delay to prevent rapid successive calls
-            kotlinx.coroutines.delay(100)
-            
             googleSheetsService.syncJobsToSheets(jobs, venues)
+            settingsManager.saveUploadWatermark(WATERMARK_JOBS, startedAt)
             println("✅ Successfully backed up ${jobs.size} jobs to Google Sheets")
-            }
         } catch (e: Exception) {
             println("❌ Failed to backup jobs: ${e.message}")
             throw e
-        } finally {
-            isBackingUp = false
+        }
+        }
         }
     }
     
-    suspend fun backupJobTypesToSheets() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun backupJobTypesToSheets() = SyncCoalescer.run(uploadKey(SheetsEntityType.JOB_TYPE)) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(SheetsEntityType.JOB_TYPE)) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
@@ -785,9 +1145,6 @@ class TwoWaySyncService(
                 println("  Job Type ${index + 1}: ${config.name} (ID: ${config.id}, Active: ${config.isActive})")
             }
             
-            // Add a small delay to prevent rapid successive calls
-            kotlinx.coroutines.delay(100)
-            
             googleSheetsService.syncJobTypeConfigsToSheets(jobTypeConfigs)
             println("✅ Successfully backed up ${jobTypeConfigs.size} job types to Google Sheets")
         } catch (e: Exception) {
@@ -795,10 +1152,12 @@ class TwoWaySyncService(
             throw e
         }
         }
+        }
     }
     
-    suspend fun backupVenuesToSheets() = withContext(Dispatchers.IO) {
-        sheetsOpMutex.withLock {
+    suspend fun backupVenuesToSheets() = SyncCoalescer.run(uploadKey(SheetsEntityType.VENUE)) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(SheetsEntityType.VENUE)) {
         try {
             if (!isGoogleSheetsConfigured()) {
                 throw IOException("Google Sheets not configured")
@@ -814,9 +1173,6 @@ class TwoWaySyncService(
                 println("  Venue ${index + 1}: ${venue.name} (ID: ${venue.id}, Active: ${venue.isActive})")
             }
             
-            // Add a small delay to prevent rapid successive calls
-            kotlinx.coroutines.delay(100)
-            
             googleSheetsService.syncVenuesToSheets(venues)
             println("✅ Successfully backed up ${venues.size} venues to Google Sheets")
         } catch (e: Exception) {
@@ -824,8 +1180,44 @@ class TwoWaySyncService(
             throw e
         }
         }
+        }
     }
     
+    suspend fun backupVolunteerGuestListToSheets() = SyncCoalescer.run(uploadKey(SheetsEntityType.VOLUNTEER_GUEST_LIST)) {
+        withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(SheetsEntityType.VOLUNTEER_GUEST_LIST)) {
+        try {
+            if (!isGoogleSheetsConfigured()) {
+                throw IOException("Google Sheets not configured")
+            }
+
+            googleSheetsService.initializeSheetsService()
+            val volunteerGuests = repository.getVolunteerBenefitGuests()
+            val venues = repository.getAllVenues().first()
+            println("📊 Retrieved ${volunteerGuests.size} volunteer guest entries from repository for backup")
+
+            googleSheetsService.syncVolunteerGuestListToSheets(volunteerGuests, venues)
+            println("✅ Backed up ${volunteerGuests.size} volunteer guest entries to Google Sheets")
+        } catch (e: Exception) {
+            println("❌ Failed to backup volunteer guest list: ${e.message}")
+            throw e
+        }
+        }
+        }
+    }
+
+    /**
+     * Removes deleted entities from their tab by sheets ID, one batchUpdate per call
+     */
+    suspend fun deleteRowsFromSheets(entityType: SheetsEntityType, sheetsIds: List<String>) = withContext(Dispatchers.IO) {
+        SheetsTabLocks.write(setOf(entityType)) {
+            if (!isGoogleSheetsConfigured()) {
+                throw IOException("Google Sheets not configured")
+            }
+            googleSheetsService.deleteRowsFromSheets(entityType, sheetsIds)
+        }
+    }
+
     /**
      * UTILITY METHODS
      */
@@ -853,52 +1245,19 @@ class TwoWaySyncService(
             
             googleSheetsService.initializeSheetsService()
             
-            val diagnostics = mutableMapOf<String, Any>()
-            
-            // Test each sheet structure
-            try {
-                val guests = googleSheetsService.syncGuestsFromSheets()
-                diagnostics["guests"] = mapOf(
-                    "status" to "OK",
-                    "count" to guests.size,
-                    "headers" to listOf("Name", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified")
-                )
-            } catch (e: Exception) {
-                diagnostics["guests"] = mapOf("status" to "ERROR", "message" to e.message)
-            }
-            
-            try {
-                val volunteers = googleSheetsService.syncVolunteersFromSheets()
-                diagnostics["volunteers"] = mapOf(
-                    "status" to "OK",
-                    "count" to volunteers.size,
-                    "headers" to listOf("ID", "Name", "Abbreviation", "Email", "Phone", "Date of Birth", "Rank", "Active", "Last Modified")
-                )
-            } catch (e: Exception) {
-                diagnostics["volunteers"] = mapOf("status" to "ERROR", "message" to e.message)
-            }
-            
-            try {
-                val jobTypeConfigs = googleSheetsService.syncJobTypeConfigsFromSheets()
-                val jobs = googleSheetsService.syncJobsFromSheets(jobTypeConfigs)
-                diagnostics["jobs"] = mapOf(
-                    "status" to "OK",
-                    "count" to jobs.size,
-                    "headers" to listOf("Volunteer ID", "Job Type", "Venue", "Date", "Shift Time", "Notes", "Last Modified")
-                )
-            } catch (e: Exception) {
-                diagnostics["jobs"] = mapOf("status" to "ERROR", "message" to e.message)
-            }
-            
-            try {
-                val jobTypeConfigs = googleSheetsService.syncJobTypeConfigsFromSheets()
-                diagnostics["job_types"] = mapOf(
-                    "status" to "OK",
-                    "count" to jobTypeConfigs.size,
-                    "headers" to listOf("Name", "Status", "Shift Type", "Orion Type", "Requires Time", "Description", "Last Modified")
+            // Test each sheet structure, all tabs at once
+            val diagnostics = coroutineScope {
+                val guests = async { checkSheet(listOf("Name", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified")) { googleSheetsService.syncGuestsFromSheets().size } }
+                val volunteers = async { checkSheet(listOf("ID", "Name", "Abbreviation", "Email", "Phone", "Date of Birth", "Rank", "Active", "Last Modified")) { googleSheetsService.syncVolunteersFromSheets().size } }
+                val jobs = async { checkSheet(listOf("Volunteer ID", "Job Type", "Venue", "Date", "Shift Time", "Notes", "Last Modified")) { googleSheetsService.syncJobsFromSheets().size } }
+                val jobTypes = async { checkSheet(listOf("Name", "Status", "Shift Type", "Orion Type", "Requires Time", "Description", "Last Modified")) { googleSheetsService.syncJobTypeConfigsFromSheets().size } }
+                
+                mutableMapOf<String, Any>(
+                    "guests" to guests.await(),
+                    "volunteers" to volunteers.await(),
+                    "jobs" to jobs.await(),
+                    "job_types" to jobTypes.await()
                 )
-            } catch (e: Exception) {
-                diagnostics["job_types"] = mapOf("status" to "ERROR", "message" to e.message)
             }
             
             diagnostics
@@ -907,4 +1266,10 @@ class TwoWaySyncService(
             mapOf("error" to "Validation failed: ${e.message}")
         }
     }
+    
+    private suspend fun checkSheet(headers: List<String>, count: suspend () -> Int): Map<String, Any?> = try {
+        mapOf("status" to "OK", "count" to count(), "headers" to headers)
+    } catch (e: Exception) {
+        mapOf("status" to "ERROR", "message" to e.message)
+    }
 }
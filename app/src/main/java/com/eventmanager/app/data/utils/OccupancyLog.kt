@@ -0,0 +1,204 @@
+package com.eventmanager.app.data.utils
+
+import com.eventmanager.app.data.models.CounterEvent
+import com.eventmanager.app.data.models.CounterNight
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.asStateFlow
+import java.util.Calendar
+
+/**
+ * Occupancy Log
+ *
+ * Live aggregates of the people counter event log: the last [WINDOW_MINUTES] minutes are
+ * kept as per-minute buckets in a ring buffer, so entry and exit rates update on every tap
+ * without reading the database. Events of finished nights are compacted into one
+ * [CounterNight] each by [NightRollup] and then deleted from the log.
+ */
+object OccupancyLog {
+
+    const val WINDOW_MINUTES = 60
+    private const val MINUTE_MS = 60_000L
+
+    data class MinuteBucket(
+        val minuteStart: Long,
+        val entries: Int,
+        val exits: Int,
+        val occupancy: Int, // Count at the end of the minute
+        val peakOccupancy: Int
+    )
+
+    // Ring buffer, one slot per minute; a slot holding an older minute is stale
+    private val minutes = LongArray(WINDOW_MINUTES) { -1L }
+    private val entries = IntArray(WINDOW_MINUTES)
+    private val exits = IntArray(WINDOW_MINUTES)
+    private val opening = IntArray(WINDOW_MINUTES)
+    private val closing = IntArray(WINDOW_MINUTES)
+    private val peaks = IntArray(WINDOW_MINUTES)
+    private var lastCount = 0
+    private var lastEventId = 0L // Log ids only grow, so a lower one is an event that arrived late
+
+    private val _lastEventAt = MutableStateFlow(0L)
+    val lastEventAt: StateFlow<Long> = _lastEventAt.asStateFlow()
+
+    /**
+     * Applies a committed event. Writers publish after their transaction, so events can
+     * arrive out of order; one older than the last applied is dropped, as the newer one
+     * already carries its count.
+     */
+    fun record(event: CounterEvent) {
+        val applied = synchronized(this) {
+            if (event.id <= lastEventId) return@synchronized false
+            lastEventId = event.id
+            add(event)
+            true
+        }
+        if (applied) _lastEventAt.value = event.timestamp
+    }
+
+    /**
+     * Refills the window from the log, e.g. after a restart. [events] are ordered by time,
+     * [currentCount] is only used when there are none.
+     */
+    fun seed(events: List<CounterEvent>, currentCount: Int) {
+        synchronized(this) {
+            minutes.fill(-1L)
+            lastCount = events.firstOrNull()?.let { it.countAfter - it.delta } ?: currentCount
+            events.forEach(::add)
+            events.lastOrNull()?.let { lastEventId = maxOf(lastEventId, it.id) }
+        }
+        _lastEventAt.value = events.lastOrNull()?.timestamp ?: System.currentTimeMillis()
+    }
+
+    /**
+     * The last [WINDOW_MINUTES] minutes up to [now], oldest first; quiet minutes carry the
+     * occupancy over
+     */
+    fun window(now: Long = System.currentTimeMillis()): List<MinuteBucket> = synchronized(this) {
+        val last = now / MINUTE_MS
+        val range = (last - WINDOW_MINUTES + 1)..last
+        var carry = range.firstOrNull { minutes[slotOf(it)] == it }?.let { opening[slotOf(it)] } ?: lastCount
+        range.map { minute ->
+            val slot = slotOf(minute)
+            if (minutes[slot] == minute) {
+                carry = closing[slot]
+                MinuteBucket(minute * MINUTE_MS, entries[slot], exits[slot], closing[slot], peaks[slot])
+            } else {
+                MinuteBucket(minute * MINUTE_MS, 0, 0, carry, carry)
+            }
+        }
+    }
+
+    private fun slotOf(minute: Long): Int = (minute % WINDOW_MINUTES).toInt()
+
+    private fun add(event: CounterEvent) {
+        val minute = event.timestamp / MINUTE_MS
+        val slot = slotOf(minute)
+        if (minutes[slot] != minute) {
+            minutes[slot] = minute
+            entries[slot] = 0
+            exits[slot] = 0
+            opening[slot] = lastCount
+            peaks[slot] = lastCount
+        }
+        if (!event.isReset) {
+            if (event.delta > 0) entries[slot] += event.delta else exits[slot] -= event.delta
+        }
+        closing[slot] = event.countAfter
+        peaks[slot] = maxOf(peaks[slot], event.countAfter)
+        lastCount = event.countAfter
+    }
+
+    /**
+     * Start of the night holding [timestamp]: nights change at the date change offset, so
+     * a party running past midnight stays one night
+     */
+    fun nightStartOf(timestamp: Long, offsetHours: Int): Long {
+        val start = DateTimeUtils.getStartOfDayWithOffset(timestamp, offsetHours)
+        if (start.timeInMillis > timestamp) start.add(Calendar.DAY_OF_MONTH, -1)
+        val next = (start.clone() as Calendar).apply { add(Calendar.DAY_OF_MONTH, 1) }
+        return if (next.timeInMillis <= timestamp) next.timeInMillis else start.timeInMillis
+    }
+
+    /**
+     * Folds counter events, in log order, into one [CounterNight] per night
+     */
+    class NightRollup(private val offsetHours: Int) {
+
+        private class Night(val start: Long) {
+            var entries = 0
+            var exits = 0
+            var peak = -1
+            var peakAt = 0L
+            var lastEventAt = 0L
+            var minute = -1L
+            var minuteEntries = 0
+            var minuteExits = 0
+            var peakEntriesPerMinute = 0
+            var peakExitsPerMinute = 0
+        }
+
+        private val nights = LinkedHashMap<Long, Night>()
+
+        val nightStarts: List<Long> get() = nights.keys.toList()
+
+        fun isEmpty(): Boolean = nights.isEmpty()
+
+        fun add(event: CounterEvent) {
+            val start = nightStartOf(event.timestamp, offsetHours)
+            val night = nights.getOrPut(start) { Night(start) }
+            val minute = event.timestamp / MINUTE_MS
+            if (minute != night.minute) {
+                night.minute = minute
+                night.minuteEntries = 0
+                night.minuteExits = 0
+            }
+            if (!event.isReset) {
+                if (event.delta > 0) {
+                    night.entries += event.delta
+                    night.minuteEntries += event.delta
+                } else {
+                    night.exits -= event.delta
+                    night.minuteExits -= event.delta
+                }
+            }
+            night.peakEntriesPerMinute = maxOf(night.peakEntriesPerMinute, night.minuteEntries)
+            night.peakExitsPerMinute = maxOf(night.peakExitsPerMinute, night.minuteExits)
+            if (event.countAfter > night.peak) {
+                night.peak = event.countAfter
+                night.peakAt = event.timestamp
+            }
+            night.lastEventAt = maxOf(night.lastEventAt, event.timestamp)
+        }
+
+        /**
+         * The folded nights, merged into [existing] summaries of the same nights
+         */
+        fun toNights(existing: List<CounterNight>): List<CounterNight> {
+            val existingByStart = existing.associateBy { it.nightStart }
+            return nights.values.map { night ->
+                val folded = CounterNight(
+                    nightStart = night.start,
+                    entries = night.entries,
+                    exits = night.exits,
+                    peakOccupancy = night.peak,
+                    peakAt = night.peakAt,
+                    peakEntriesPerMinute = night.peakEntriesPerMinute,
+                    peakExitsPerMinute = night.peakExitsPerMinute,
+                    lastEventAt = night.lastEventAt
+                )
+                val previous = existingByStart[night.start] ?: return@map folded
+                val peak = if (previous.peakOccupancy >= folded.peakOccupancy) previous else folded
+                folded.copy(
+                    entries = previous.entries + folded.entries,
+                    exits = previous.exits + folded.exits,
+                    peakOccupancy = peak.peakOccupancy,
+                    peakAt = peak.peakAt,
+                    peakEntriesPerMinute = maxOf(previous.peakEntriesPerMinute, folded.peakEntriesPerMinute),
+                    peakExitsPerMinute = maxOf(previous.peakExitsPerMinute, folded.peakExitsPerMinute),
+                    lastEventAt = maxOf(previous.lastEventAt, folded.lastEventAt)
+                )
+            }
+        }
+    }
+}
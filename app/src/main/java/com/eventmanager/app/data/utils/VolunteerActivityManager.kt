@@ -80,25 +80,50 @@ object VolunteerActivityManager {
      * This is more accurate than relying on lastShiftDate field
      */
     fun calculateActivityFromJobs(volunteer: Volunteer, allJobs: List<Job>): Volunteer {
-        val volunteerJobs = allJobs.filter { it.volunteerId == volunteer.id }
-        
-        if (volunteerJobs.isEmpty()) {
+        val mostRecentJobDate = allJobs.filter { it.volunteerId == volunteer.id }.maxOfOrNull { it.date }
+        return calculateActivity(volunteer, mostRecentJobDate)
+    }
+    
+    /**
+     * Most recent job date of each volunteer, built in one pass over all jobs and starting
+     * from [archivedShiftDates], the latest shift of each volunteer in archived seasons.
+     * Use with [calculateActivity] when computing the activity of many volunteers.
+     */
+    fun latestJobDateByVolunteer(allJobs: List<Job>, archivedShiftDates: Map<Long, Long> = emptyMap()): Map<Long, Long> {
+        val latest = HashMap<Long, Long>(archivedShiftDates)
+        allJobs.forEach { job ->
+            val current = latest[job.volunteerId]
+            if (current == null || job.date > current) {
+                latest[job.volunteerId] = job.date
+            }
+        }
+        return latest
+    }
+    
+    /**
+     * Volunteer activity from the date of their most recent job, null if they have no job
+     */
+    fun calculateActivity(volunteer: Volunteer, mostRecentJobDate: Long?): Volunteer {
+        if (mostRecentJobDate == null) {
             return volunteer.copy(lastShiftDate = null, isActive = false)
         }
         
-        // Find the most recent job date
-        val mostRecentJobDate = volunteerJobs.maxOfOrNull { it.date } ?: 0L
         val isActive = isVolunteerActive(volunteer.copy(lastShiftDate = mostRecentJobDate))
-        
         return volunteer.copy(lastShiftDate = mostRecentJobDate, isActive = isActive)
     }
     
     /**
-     * Updates all volunteers' activity status based on job assignments
+     * Updates all volunteers' activity status based on job assignments, including the shifts
+     * of archived seasons given as [archivedShiftDates]
      */
-    fun updateVolunteerActivityFromJobs(volunteers: List<Volunteer>, allJobs: List<Job>): List<Volunteer> {
+    fun updateVolunteerActivityFromJobs(
+        volunteers: List<Volunteer>,
+        allJobs: List<Job>,
+        archivedShiftDates: Map<Long, Long> = emptyMap()
+    ): List<Volunteer> {
+        val latestJobDates = latestJobDateByVolunteer(allJobs, archivedShiftDates)
         return volunteers.map { volunteer ->
-            calculateActivityFromJobs(volunteer, allJobs)
+            calculateActivity(volunteer, latestJobDates[volunteer.id])
         }
     }
 }
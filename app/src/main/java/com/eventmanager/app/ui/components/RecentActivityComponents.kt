@@ -42,6 +42,14 @@ import androidx.compose.animation.core.LinearEasing
 import androidx.compose.animation.core.tween
 import kotlinx.coroutines.flow.flowOf
 import kotlinx.coroutines.launch
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.ensureActive
+import kotlinx.coroutines.withContext
+import androidx.compose.runtime.withFrameNanos
 import com.eventmanager.app.data.models.CounterData
 import com.eventmanager.app.data.repository.EventManagerRepository
 
@@ -287,6 +295,71 @@ fun formatTimeAgo(timestamp: Long): String {
     return formatter.format(date)
 }
 
+/**
+ * Merges the counter taps made within one frame into a single atomic
+ * [EventManagerRepository.addToCounter] call, so hundreds of taps per minute cost at most
+ * one UPDATE per frame and none of them is lost. Used from the main thread only.
+ */
+private class CounterTapBatcher(
+    private val scope: CoroutineScope,
+    private val repository: EventManagerRepository,
+    private val onStored: (storedCount: Int, pending: Int) -> Unit
+) {
+    // Taps shown but not stored yet
+    var pending = 0
+        private set
+    private var flushJob: kotlinx.coroutines.Job? = null
+    
+    fun add(delta: Int) {
+        pending += delta
+        if (flushJob?.isActive == true) return
+        // ATOMIC: the flush starts even if the screen is left right after the tap
+        flushJob = scope.launch(start = CoroutineStart.ATOMIC) { flushPending() }
+    }
+    
+    /**
+     * Resets the counter and drops the taps not stored yet. A batch already being written
+     * lands before the reset, and taps made during the reset are stored after it.
+     */
+    fun reset() {
+        pending = 0
+        val previous = flushJob
+        previous?.cancel()
+        flushJob = scope.launch(start = CoroutineStart.ATOMIC) {
+            withContext(NonCancellable) {
+                previous?.join()
+                repository.resetCounter()
+            }
+            flushPending()
+        }
+    }
+    
+    // Loops until no tap is left, so taps made while a batch is written are not stranded
+    private suspend fun flushPending() {
+        try {
+            while (pending != 0) {
+                withFrameNanos { }
+                val batch = pending
+                pending = 0
+                if (batch != 0) {
+                    // A started write always completes, even if the screen is left meanwhile
+                    val stored = withContext(NonCancellable) { repository.addToCounter(batch) }
+                    currentCoroutineContext().ensureActive()
+                    onStored(stored, pending)
+                }
+            }
+        } catch (e: CancellationException) {
+            // Screen left before the next frame: store the remaining taps without waiting for one
+            val batch = pending
+            pending = 0
+            if (batch != 0) {
+                withContext(NonCancellable) { repository.addToCounter(batch) }
+            }
+            throw e
+        }
+    }
+}
+
 /**
  * Safe vibration helper that handles permission gracefully
  */
@@ -329,14 +402,31 @@ fun PeopleCounter(
     var lastAction by remember { mutableStateOf("") }
     val coroutineScope = rememberCoroutineScope()
     
-    // Update local state when counterData changes
+    // Taps are shown at once and stored once per frame, as one atomic update
+    val tapBatcher = remember(repository) {
+        repository?.let { repo ->
+            CounterTapBatcher(coroutineScope, repo) { storedCount, pending ->
+                peopleCount = maxOf(0, storedCount + pending)
+            }
+        }
+    }
+    
+    // Update local state when counterData changes, keeping taps not stored yet
     LaunchedEffect(counterData) {
         counterData?.let {
-            peopleCount = it.count
+            peopleCount = maxOf(0, it.count + (tapBatcher?.pending ?: 0))
             lastModified = it.lastModified
         }
     }
     
+    fun changeCount(delta: Int, vibrationMs: Long) {
+        peopleCount += delta
+        lastAction = if (delta > 0) "increment" else "decrement"
+        lastModified = System.currentTimeMillis()
+        safeVibrate(vibrator, vibrationMs)
+        tapBatcher?.add(delta)
+    }
+    
     // Animation for counter scale
     val scale by animateFloatAsState(
         targetValue = if (lastAction == "increment" || lastAction == "decrement") 1.05f else 1f,
@@ -471,28 +561,12 @@ fun PeopleCounter(
                         .combinedClickable(
                             onClick = {
                                 if (peopleCount > 0) {
-                                    peopleCount--
-                                    lastAction = "decrement"
-                                    lastModified = System.currentTimeMillis()
-                                    safeVibrate(vibrator, 5)
-                                    repository?.let {
-                                        coroutineScope.launch {
-                                            it.updateCounter(peopleCount)
-                                        }
-                                    }
+                                    changeCount(-1, 5)
                                 }
                             },
                             onLongClick = {
                                 if (peopleCount >= 10) {
-                                    peopleCount -= 10
-                                    lastAction = "decrement"
-                                    lastModified = System.currentTimeMillis()
-                                    safeVibrate(vibrator, 8)
-                                    repository?.let {
-                                        coroutineScope.launch {
-                                            it.updateCounter(peopleCount)
-                                        }
-                                    }
+                                    changeCount(-10, 8)
                                 }
                             }
                         )
@@ -521,26 +595,10 @@ fun PeopleCounter(
                         .height(if (isPhone) 56.dp else 64.dp)
                         .combinedClickable(
                             onClick = {
-                                peopleCount++
-                                lastAction = "increment"
-                                lastModified = System.currentTimeMillis()
-                                safeVibrate(vibrator, 5)
-                                repository?.let {
-                                    coroutineScope.launch {
-                                        it.updateCounter(peopleCount)
-                                    }
-                                }
+                                changeCount(1, 5)
                             },
                             onLongClick = {
-                                peopleCount += 10
-                                lastAction = "increment"
-                                lastModified = System.currentTimeMillis()
-                                safeVibrate(vibrator, 8)
-                                repository?.let {
-                                    coroutineScope.launch {
-                                        it.updateCounter(peopleCount)
-                                    }
-                                }
+                                changeCount(10, 8)
                             }
                         )
                         .scale(plusScale),
@@ -583,11 +641,8 @@ fun PeopleCounter(
                     lastModified = System.currentTimeMillis()
                     safeVibrate(vibrator, 10)
                     isResetting = false
-                    repository?.let {
-                        coroutineScope.launch {
-                            it.resetCounter()
-                        }
-                    }
+                    // Taps not stored yet are part of what is being reset
+                    tapBatcher?.reset()
                 }
             }
             
@@ -58,6 +58,7 @@ import kotlinx.coroutines.CoroutineScope
 import androidx.compose.runtime.rememberCoroutineScope
 import com.eventmanager.app.utils.GraphExportUtils
 import com.eventmanager.app.ui.utils.isTablet
+import com.eventmanager.app.data.utils.OccupancyLog
 import android.content.Intent
 import android.content.Context
 import androidx.core.content.FileProvider
@@ -100,6 +101,10 @@ fun StatsGraphsPanel(
     jobs: List<Job>,
     venues: List<VenueEntity> = emptyList(),
     jobTypeConfigs: List<JobTypeConfig> = emptyList(),
+    archivedJobs: List<Job>? = null,
+    onLoadJobHistory: () -> Unit = {},
+    occupancyWindow: List<OccupancyLog.MinuteBucket> = emptyList(),
+    counterNights: List<CounterNight> = emptyList(),
     isPhone: Boolean = true,
     modifier: Modifier = Modifier
 ) {
@@ -122,6 +127,17 @@ fun StatsGraphsPanel(
     // Save time period whenever it changes
     LaunchedEffect(selectedPeriod) {
         settingsManager.saveSelectedGraphTimePeriod(selectedPeriod.name)
+        // Past seasons are archived and only loaded when all-time history is shown
+        if (selectedPeriod == TimePeriod.MAX) onLoadJobHistory()
+    }
+    
+    val graphJobs = remember(jobs, archivedJobs, selectedPeriod) {
+        if (selectedPeriod == TimePeriod.MAX && !archivedJobs.isNullOrEmpty()) {
+            val hotSheetsIds = jobs.mapNotNullTo(HashSet()) { it.sheetsId }
+            jobs + archivedJobs.filter { it.sheetsId == null || it.sheetsId !in hotSheetsIds }
+        } else {
+            jobs
+        }
     }
 
     Column(
@@ -153,7 +169,7 @@ fun StatsGraphsPanel(
         )
         ActiveVolunteersGraph(
             volunteers = volunteers,
-            jobs = jobs,
+            jobs = graphJobs,
             timePeriod = selectedPeriod,
             isPhone = isPhone
         )
@@ -167,7 +183,7 @@ fun StatsGraphsPanel(
             isPhone = isPhone
         )
         ShiftStatisticsGraph(
-            jobs = jobs,
+            jobs = graphJobs,
             venues = venues,
             timePeriod = selectedPeriod,
             isPhone = isPhone
@@ -184,7 +200,7 @@ fun StatsGraphsPanel(
         GuestListStatisticsGraph(
             volunteers = volunteers,
             guests = guests,
-            jobs = jobs,
+            jobs = graphJobs,
             jobTypeConfigs = jobTypeConfigs,
             timePeriod = selectedPeriod,
             isPhone = isPhone
@@ -226,16 +242,102 @@ fun StatsGraphsPanel(
         )
         FreeDrinksGraph(
             volunteers = volunteers,
-            jobs = jobs,
+            jobs = graphJobs,
             jobTypeConfigs = jobTypeConfigs,
             timePeriod = selectedPeriod,
             isPhone = isPhone
         )
 
+        // Door Occupancy Section - only once the people counter has been used
+        if (occupancyWindow.any { it.entries > 0 || it.exits > 0 || it.occupancy > 0 } || counterNights.isNotEmpty()) {
+            Spacer(modifier = Modifier.height(24.dp))
+
+            SectionHeader(
+                title = context.getString(R.string.occupancy_statistics),
+                description = context.getString(R.string.occupancy_statistics_description),
+                isPhone = isPhone
+            )
+            OccupancyGraphs(
+                occupancyWindow = occupancyWindow,
+                counterNights = counterNights,
+                isPhone = isPhone
+            )
+        }
+
         Spacer(modifier = Modifier.height(16.dp))
     }
 }
 
+/**
+ * Live occupancy of the last hour, per minute, and the peaks of past nights.
+ * The selected time period does not apply: the window is always the last hour.
+ */
+@Composable
+private fun OccupancyGraphs(
+    occupancyWindow: List<OccupancyLog.MinuteBucket>,
+    counterNights: List<CounterNight>,
+    isPhone: Boolean = true
+) {
+    val context = LocalContext.current
+    val primaryColor = MaterialTheme.colorScheme.primary
+    val entriesColor = MaterialTheme.colorScheme.tertiary
+    val exitsColor = MaterialTheme.colorScheme.error
+
+    val liveSeries = remember(occupancyWindow, primaryColor, entriesColor, exitsColor) {
+        val minuteFormat = SimpleDateFormat("HH:mm", Locale.getDefault())
+        fun series(value: (OccupancyLog.MinuteBucket) -> Int) = occupancyWindow.map {
+            DataPoint(minuteFormat.format(Date(it.minuteStart)), value(it).toFloat(), it.minuteStart)
+        }
+        listOf(
+            Triple(context.getString(R.string.occupancy_inside), series { it.occupancy }, primaryColor),
+            Triple(context.getString(R.string.occupancy_entries_per_minute), series { it.entries }, entriesColor),
+            Triple(context.getString(R.string.occupancy_exits_per_minute), series { it.exits }, exitsColor)
+        )
+    }
+
+    val nightPoints = remember(counterNights) {
+        val nightFormat = SimpleDateFormat("d MMM", Locale.getDefault())
+        counterNights.map { DataPoint(nightFormat.format(Date(it.nightStart)), it.peakOccupancy.toFloat(), it.nightStart) }
+    }
+
+    Column(
+        modifier = Modifier.fillMaxWidth(),
+        verticalArrangement = Arrangement.spacedBy(16.dp)
+    ) {
+        Text(
+            text = context.getString(R.string.occupancy_live_description),
+            style = MaterialTheme.typography.bodySmall,
+            color = MaterialTheme.colorScheme.onSurfaceVariant,
+            modifier = Modifier.padding(horizontal = if (isPhone) 4.dp else 8.dp)
+        )
+        MultiLineGraph(
+            label = context.getString(R.string.occupancy_live),
+            seriesData = liveSeries,
+            timePeriod = TimePeriod.ONE_WEEK,
+            isPhone = isPhone
+        )
+
+        if (nightPoints.isNotEmpty()) {
+            val lastNight = counterNights.last()
+            GraphCardWithExport(
+                title = context.getString(R.string.occupancy_nightly_peak),
+                icon = Icons.Default.Groups,
+                dataPoints = nightPoints,
+                timePeriod = TimePeriod.MAX,
+                isPhone = isPhone,
+                valueFormatter = { it.toInt().toString() },
+                yAxisLabel = context.getString(R.string.count),
+                description = context.getString(
+                    R.string.occupancy_nightly_peak_description,
+                    lastNight.peakOccupancy,
+                    lastNight.peakEntriesPerMinute,
+                    lastNight.peakExitsPerMinute
+                )
+            )
+        }
+    }
+}
+
 @Composable
 private fun SectionHeader(
     title: String,
@@ -2,6 +2,8 @@ package com.eventmanager.app.ui.components
 
 import androidx.compose.foundation.background
 import androidx.compose.foundation.layout.*
+import androidx.compose.foundation.rememberScrollState
+import androidx.compose.foundation.verticalScroll
 import androidx.compose.material.icons.Icons
 import androidx.compose.material.icons.filled.*
 import androidx.compose.material3.*
@@ -13,17 +15,24 @@ import androidx.compose.ui.res.stringResource
 import androidx.compose.ui.text.font.FontWeight
 import androidx.compose.ui.unit.dp
 import com.eventmanager.app.R
+import com.eventmanager.app.data.sync.SyncPhase
+import com.eventmanager.app.data.sync.SyncPhaseTotal
+import com.eventmanager.app.data.sync.SyncTraceRecord
 
 /**
  * Dialog to display sync status information
- * Shows whether Google Sheets is configured and ready for sync
+ * Shows whether Google Sheets is configured and ready for sync, and where the
+ * time of the recent syncs went, phase by phase
  */
 @Composable
 fun SyncStatusDialog(
     isVisible: Boolean,
     onDismiss: () -> Unit,
     statusMessage: String?,
-    modifier: Modifier = Modifier
+    modifier: Modifier = Modifier,
+    traces: List<SyncTraceRecord> = emptyList(),
+    exportPath: String? = null,
+    onExportTraces: (() -> Unit)? = null
 ) {
     val context = LocalContext.current
     
@@ -59,7 +68,9 @@ fun SyncStatusDialog(
             },
             text = {
                 Column(
-                    modifier = Modifier.fillMaxWidth(),
+                    modifier = Modifier
+                        .fillMaxWidth()
+                        .verticalScroll(rememberScrollState()),
                     verticalArrangement = Arrangement.spacedBy(12.dp)
                 ) {
                     // Status message card
@@ -86,8 +97,25 @@ fun SyncStatusDialog(
                             )
                         }
                     }
+                    
+                    SyncTraceBreakdown(traces = traces)
+                    
+                    if (exportPath != null) {
+                        Text(
+                            text = stringResource(R.string.sync_trace_exported, exportPath),
+                            style = MaterialTheme.typography.bodySmall,
+                            color = MaterialTheme.colorScheme.onSurfaceVariant
+                        )
+                    }
                 }
             },
+            dismissButton = if (onExportTraces != null && traces.isNotEmpty()) {
+                {
+                    TextButton(onClick = onExportTraces) {
+                        Text(stringResource(R.string.sync_trace_export))
+                    }
+                }
+            } else null,
             confirmButton = {
                 Button(
                     onClick = onDismiss
@@ -100,3 +128,97 @@ fun SyncStatusDialog(
     }
 }
 
+
+/**
+ * Per-phase timings of the last sync, followed by the durations of the previous ones
+ */
+@Composable
+private fun SyncTraceBreakdown(traces: List<SyncTraceRecord>) {
+    Column(verticalArrangement = Arrangement.spacedBy(8.dp)) {
+        Text(
+            stringResource(R.string.sync_trace_title),
+            style = MaterialTheme.typography.titleSmall,
+            fontWeight = FontWeight.Bold
+        )
+        
+        val last = traces.lastOrNull()
+        if (last == null) {
+            Text(
+                stringResource(R.string.sync_trace_none),
+                style = MaterialTheme.typography.bodySmall,
+                color = MaterialTheme.colorScheme.onSurfaceVariant
+            )
+            return@Column
+        }
+        
+        Text(
+            stringResource(R.string.sync_trace_summary, last.name, last.durationMs),
+            style = MaterialTheme.typography.bodyMedium,
+            fontWeight = FontWeight.SemiBold
+        )
+        last.error?.let { error ->
+            Text(
+                stringResource(R.string.sync_trace_failed, error),
+                style = MaterialTheme.typography.bodySmall,
+                color = MaterialTheme.colorScheme.error
+            )
+        }
+        
+        last.phaseTotals()
+            .filter { it.durationMs > 0 || it.requests > 0 }
+            .forEach { total -> SyncPhaseRow(total, last.durationMs) }
+        
+        val previous = traces.dropLast(1).takeLast(5).reversed()
+        if (previous.isNotEmpty()) {
+            Text(
+                stringResource(R.string.sync_trace_recent),
+                style = MaterialTheme.typography.titleSmall,
+                fontWeight = FontWeight.Bold
+            )
+            previous.forEach { trace ->
+                Text(
+                    stringResource(R.string.sync_trace_summary, trace.name, trace.durationMs),
+                    style = MaterialTheme.typography.bodySmall,
+                    color = if (trace.isSuccess) MaterialTheme.colorScheme.onSurfaceVariant else MaterialTheme.colorScheme.error
+                )
+            }
+        }
+    }
+}
+
+@Composable
+private fun SyncPhaseRow(total: SyncPhaseTotal, traceDurationMs: Long) {
+    Column(verticalArrangement = Arrangement.spacedBy(2.dp)) {
+        Row(
+            modifier = Modifier.fillMaxWidth(),
+            horizontalArrangement = Arrangement.SpaceBetween
+        ) {
+            Text(total.phase.label, style = MaterialTheme.typography.bodySmall)
+            Text("${total.durationMs} ms", style = MaterialTheme.typography.bodySmall, fontWeight = FontWeight.SemiBold)
+        }
+        LinearProgressIndicator(
+            progress = if (traceDurationMs > 0) total.durationMs.toFloat() / traceDurationMs else 0f,
+            modifier = Modifier.fillMaxWidth()
+        )
+        if (total.phase != SyncPhase.OTHER && (total.rows > 0 || total.requests > 0)) {
+            Text(
+                stringResource(R.string.sync_trace_phase_details, total.rows, formatBytes(total.bytes), total.requests),
+                style = MaterialTheme.typography.labelSmall,
+                color = MaterialTheme.colorScheme.onSurfaceVariant
+            )
+        }
+        if (total.retries > 0 || total.quotaWaitMs > 0) {
+            Text(
+                stringResource(R.string.sync_trace_phase_waits, total.retries, total.quotaWaitMs),
+                style = MaterialTheme.typography.labelSmall,
+                color = MaterialTheme.colorScheme.error
+            )
+        }
+    }
+}
+
+private fun formatBytes(bytes: Long): String = when {
+    bytes >= 1024 * 1024 -> String.format("%.1f MB", bytes / (1024.0 * 1024.0))
+    bytes >= 1024 -> String.format("%.1f KB", bytes / 1024.0)
+    else -> "$bytes B"
+}
@@ -139,6 +139,7 @@ fun SettingsScreen(
     val coroutineScope = rememberCoroutineScope()
     var selectedFileUri by remember { mutableStateOf<Uri?>(null) }
     var syncInterval by remember { mutableStateOf(settingsManager.getSyncInterval()) }
+    var datasetTtlSeconds by remember { mutableStateOf(settingsManager.getDatasetTtlSeconds()) }
     var showSyncSettings by remember { mutableStateOf(false) }
     var showAppearanceSettings by remember { mutableStateOf(false) }
     var showLocalizationSettings by remember { mutableStateOf(false) }
@@ -563,6 +564,28 @@ fun SettingsScreen(
                     
                     Spacer(modifier = Modifier.height(16.dp))
                     
+                    // Dataset freshness window for page changes
+                    OutlinedTextField(
+                        value = datasetTtlSeconds.toString(),
+                        onValueChange = { 
+                            val newTtl = it.toIntOrNull() ?: 0
+                            if (newTtl >= 0 && newTtl <= 3600) {
+                                datasetTtlSeconds = newTtl
+                                settingsManager.saveDatasetTtlSeconds(newTtl)
+                            }
+                        },
+                        label = { Text(context.getString(R.string.dataset_ttl_label)) },
+                        modifier = Modifier.fillMaxWidth(),
+                        supportingText = { 
+                            Text(context.getString(R.string.dataset_ttl_hint))
+                        },
+                        leadingIcon = {
+                            Icon(Icons.Default.Schedule, contentDescription = null)
+                        }
+                    )
+                    
+                    Spacer(modifier = Modifier.height(16.dp))
+                    
                     // Test Buttons
                     Button(
                         onClick = { viewModel.testSyncStatus() },
@@ -7,14 +7,26 @@ import com.eventmanager.app.data.repository.EventManagerRepository
 import com.eventmanager.app.data.sync.GoogleSheetsService
 import com.eventmanager.app.data.sync.SettingsManager
 import com.eventmanager.app.data.sync.DeletionTracker
+import com.eventmanager.app.data.sync.MergeEngine
+import com.eventmanager.app.data.sync.ConflictPolicy
 import com.eventmanager.app.data.sync.FileManager
 import com.eventmanager.app.data.sync.TwoWaySyncService
+import com.eventmanager.app.data.sync.SheetsOutbox
+import com.eventmanager.app.data.sync.SheetsRevisions
+import com.eventmanager.app.data.sync.SheetsSyncWorker
 import com.eventmanager.app.data.sync.SyncManager
+import com.eventmanager.app.data.sync.SyncPhase
+import com.eventmanager.app.data.sync.SyncProgress
+import com.eventmanager.app.data.sync.SyncProgressEvent
+import com.eventmanager.app.data.sync.SyncTraceRecord
+import com.eventmanager.app.data.sync.SyncTracer
 import com.eventmanager.app.data.sync.SyncResult
 import com.eventmanager.app.data.sync.ValidationResult
 import com.eventmanager.app.data.utils.VolunteerActivityManager
+import com.eventmanager.app.data.utils.OccupancyLog
 import com.eventmanager.app.data.sync.RateLimitError
 import com.eventmanager.app.data.sync.ApiRateLimitHandler
+import com.eventmanager.app.data.sync.SheetsRequestPriority
 import com.eventmanager.app.data.sync.DifferentialSyncService
 import com.eventmanager.app.data.sync.DifferentialSyncResult
 import com.eventmanager.app.data.sync.VolunteerSyncResult
@@ -35,6 +47,7 @@ import kotlinx.coroutines.delay
 import kotlinx.coroutines.Dispatchers
 import kotlinx.coroutines.withContext
 import android.content.Context
+import androidx.work.WorkInfo
 
 fun getRankDisplayName(rank: VolunteerRank?): String {
     return when (rank) {
@@ -57,6 +70,11 @@ class EventManagerViewModel(
         TwoWaySyncService(it, repository, googleSheetsService) 
     }
     
+    // Persistent outbox for Google Sheets writes made by local edits
+    private val sheetsOutbox = context?.let { ctx ->
+        twoWaySyncService?.let { SheetsOutbox(ctx, repository, it) }
+    }
+    
     // Sync manager for clean interface
     private val syncManager = context?.let { 
         SyncManager(it, repository, googleSheetsService) 
@@ -74,6 +92,19 @@ class EventManagerViewModel(
     private val _jobs = MutableStateFlow<List<Job>>(emptyList())
     val jobs: StateFlow<List<Job>> = _jobs.asStateFlow()
 
+    // Jobs of archived seasons, only loaded once the statistics ask for all-time history
+    private val _archivedJobs = MutableStateFlow<List<Job>?>(null)
+    val archivedJobs: StateFlow<List<Job>?> = _archivedJobs.asStateFlow()
+    private var isLoadingJobHistory = false
+    // Latest archived shift per volunteer, kept so the activity of volunteers whose shifts were archived is not lost
+    private var archivedShiftDates: Map<Long, Long> = emptyMap()
+
+    // People counter: live per-minute window and compacted past nights
+    private val _occupancyWindow = MutableStateFlow<List<OccupancyLog.MinuteBucket>>(emptyList())
+    val occupancyWindow: StateFlow<List<OccupancyLog.MinuteBucket>> = _occupancyWindow.asStateFlow()
+    private val _counterNights = MutableStateFlow<List<CounterNight>>(emptyList())
+    val counterNights: StateFlow<List<CounterNight>> = _counterNights.asStateFlow()
+
     // State for job type configs
     private val _jobTypeConfigs = MutableStateFlow<List<JobTypeConfig>>(emptyList())
     val jobTypeConfigs: StateFlow<List<JobTypeConfig>> = _jobTypeConfigs.asStateFlow()
@@ -89,6 +120,10 @@ class EventManagerViewModel(
     private val _syncError = MutableStateFlow<String?>(null)
     val syncError: StateFlow<String?> = _syncError.asStateFlow()
     
+    // Latest progress of a streaming differential sync, null when none is running
+    private val _syncProgress = MutableStateFlow<SyncProgressEvent?>(null)
+    val syncProgress: StateFlow<SyncProgressEvent?> = _syncProgress.asStateFlow()
+    
     // State for sync error dialog visibility
     private val _showSyncErrorDialog = MutableStateFlow(false)
     val showSyncErrorDialog: StateFlow<Boolean> = _showSyncErrorDialog.asStateFlow()
@@ -100,6 +135,12 @@ class EventManagerViewModel(
     private val _showSyncStatusDialog = MutableStateFlow(false)
     val showSyncStatusDialog: StateFlow<Boolean> = _showSyncStatusDialog.asStateFlow()
     
+    // Recent sync traces, with their per-phase timings, for the sync status dialog
+    val syncTraces: StateFlow<List<SyncTraceRecord>> = SyncTracer.history
+    
+    private val _syncTraceExportPath = MutableStateFlow<String?>(null)
+    val syncTraceExportPath: StateFlow<String?> = _syncTraceExportPath.asStateFlow()
+    
     // Error manager for "do not tell me again today"
     private val syncErrorManager = context?.let { SyncErrorManager(it) }
 
@@ -107,9 +148,6 @@ class EventManagerViewModel(
     private val _lastSyncTime = MutableStateFlow(0L)
     val lastSyncTime: StateFlow<Long> = _lastSyncTime.asStateFlow()
 
-    // Background sync job
-    private var backgroundSyncJob: kotlinx.coroutines.Job? = null
-
     // Update check state
     private val _updateCheckState = MutableStateFlow<UpdateCheckResult?>(null)
     val updateCheckState: StateFlow<UpdateCheckResult?> = _updateCheckState.asStateFlow()
@@ -124,7 +162,11 @@ class EventManagerViewModel(
 
     init {
         loadData()
+        sheetsOutbox?.start(viewModelScope)
         startBackgroundSync()
+        observeBackgroundSync()
+        observeSyncProgress()
+        observeOccupancy()
         loadLastSyncTime()
         // Clean up any existing duplicates in the database
         cleanupDuplicates()
@@ -176,9 +218,8 @@ class EventManagerViewModel(
     
     override fun onCleared() {
         super.onCleared()
-        backgroundSyncJob?.cancel()
-        backgroundSyncJob = null
-        println("ViewModel cleared - background sync stopped")
+        sheetsOutbox?.stop()
+        println("ViewModel cleared - scheduled background sync keeps running in WorkManager")
     }
 
     private fun loadLastSyncTime() {
@@ -188,40 +229,19 @@ class EventManagerViewModel(
         }
     }
 
+    /**
+     * Schedules the recurring sync in WorkManager. An existing schedule keeps its timing,
+     * so recreating the ViewModel does not restart it.
+     */
     private fun startBackgroundSync() {
         context?.let { ctx ->
             val settingsManager = SettingsManager(ctx)
             val syncInterval = settingsManager.getSyncInterval()
             
-            // Cancel any existing job first
-            backgroundSyncJob?.cancel()
-            
             println("Starting background sync with interval: $syncInterval minutes")
             println("Google Sheets configured: ${isGoogleSheetsConfigured()}")
             
-            backgroundSyncJob = viewModelScope.launch {
-                while (true) {
-                    try {
-                        println("Background sync waiting for $syncInterval minutes...")
-                        kotlinx.coroutines.delay(syncInterval * 60 * 1000L) // Convert minutes to milliseconds
-                        
-                        println("Background sync timer triggered")
-                        if (isGoogleSheetsConfigured()) {
-                            println("Google Sheets is configured, starting full sync...")
-                            performFullSync()
-                        } else {
-                            println("Google Sheets not configured, skipping sync")
-                        }
-                    } catch (e: kotlinx.coroutines.CancellationException) {
-                        println("Background sync cancelled - this is normal when updating interval")
-                        break // Exit the loop when cancelled
-                    } catch (e: Exception) {
-                        println("Background sync error: ${e.message}")
-                        e.printStackTrace()
-                        // Continue the loop for other errors
-                    }
-                }
-            }
+            SheetsSyncWorker.schedule(ctx, syncInterval)
         } ?: run {
             println("No context available for background sync")
         }
@@ -234,15 +254,144 @@ class EventManagerViewModel(
             
             println("Updating sync interval to $syncInterval minutes")
             
-            // Cancel existing job and wait for it to complete
-            backgroundSyncJob?.cancel()
-            backgroundSyncJob = null
-            
-            // Start new job with updated interval
-            startBackgroundSync()
+            // Replace the current schedule so the new interval applies right away
+            SheetsSyncWorker.schedule(ctx, syncInterval, replace = true)
+        }
+    }
+    
+    /**
+     * Sync on app launch, run by WorkManager as expedited work.
+     * Only tabs whose revision moved are downloaded, and a launch while a run is
+     * already pending or running adds nothing.
+     */
+    fun syncOnLaunch() {
+        context?.let { SheetsSyncWorker.syncNow(it) }
+    }
+    
+    /**
+     * Shows the chunks of a streaming differential sync as soon as they are committed,
+     * so the first guests are listed while the other tabs are still on their way
+     */
+    private fun observeSyncProgress() {
+        viewModelScope.launch {
+            SyncProgress.events.collect { event ->
+                when (event) {
+                    is SyncProgressEvent.ChunkApplied -> {
+                        applyDifferentialUIUpdates(event.chunk)
+                        _syncProgress.value = event
+                    }
+                    is SyncProgressEvent.JobsArchived -> {
+                        val archivedIds = event.jobs.map { it.id }.toSet()
+                        _jobs.value = _jobs.value.filter { it.id !in archivedIds }
+                        loadArchivedShiftDates()
+                        if (_archivedJobs.value != null) {
+                            _archivedJobs.value = repository.getArchivedJobs()
+                        }
+                    }
+                    is SyncProgressEvent.Finished, is SyncProgressEvent.Failed -> _syncProgress.value = null
+                    else -> _syncProgress.value = event
+                }
+            }
+        }
+    }
+    
+    /**
+     * Keeps the occupancy window current: on every counter change and at each new minute,
+     * so quiet minutes still slide the graph. Finished nights are rolled up on start.
+     */
+    private fun observeOccupancy() {
+        viewModelScope.launch {
+            try {
+                repository.rollupCounterEvents(context?.let { SettingsManager(it).getDateChangeOffsetHours() } ?: 0)
+                repository.loadOccupancyWindow()
+            } catch (e: Exception) {
+                println("Failed to load people counter log: ${e.message}")
+            }
+            OccupancyLog.lastEventAt.collectLatest {
+                while (true) {
+                    val now = System.currentTimeMillis()
+                    _occupancyWindow.value = OccupancyLog.window(now)
+                    delay(60_000L - now % 60_000L)
+                }
+            }
+        }
+        viewModelScope.launch {
+            try {
+                repository.getCounterNights().collect { _counterNights.value = it }
+            } catch (e: Exception) {
+                println("Failed to load people counter nights: ${e.message}")
+            }
         }
     }
     
+    /**
+     * Loads the jobs of archived seasons for the all-time statistics, once
+     */
+    fun loadJobHistory() {
+        if (_archivedJobs.value != null || isLoadingJobHistory) return
+        isLoadingJobHistory = true
+        viewModelScope.launch {
+            try {
+                _archivedJobs.value = twoWaySyncService?.loadJobHistory() ?: repository.getArchivedJobs()
+                println("📚 Loaded ${_archivedJobs.value?.size ?: 0} archived jobs for all-time statistics")
+            } catch (e: Exception) {
+                println("Failed to load job history: ${e.message}")
+            } finally {
+                isLoadingJobHistory = false
+            }
+        }
+    }
+    
+    /**
+     * Follows the sync runs of WorkManager: shows them as syncing, then reloads the
+     * local data or reports the error once a run ends
+     */
+    private fun observeBackgroundSync() {
+        val ctx = context ?: return
+        viewModelScope.launch {
+            val running = mutableSetOf<java.util.UUID>()
+            val lastProgress = mutableMapOf<java.util.UUID, androidx.work.Data>()
+            
+            SheetsSyncWorker.workInfos(ctx).collect { infos ->
+                infos.forEach { info ->
+                    if (info.state == WorkInfo.State.RUNNING) {
+                        if (running.add(info.id)) _isSyncing.value = true
+                        if (info.progress.keyValueMap.isNotEmpty()) lastProgress[info.id] = info.progress
+                    } else if (running.remove(info.id)) {
+                        // Periodic runs have no output data, their outcome is their last progress
+                        val outcome = info.outputData.takeIf { it.keyValueMap.isNotEmpty() } ?: lastProgress[info.id]
+                        lastProgress.remove(info.id)
+                        if (running.isEmpty()) _isSyncing.value = false
+                        onBackgroundSyncFinished(outcome)
+                    }
+                }
+            }
+        }
+    }
+    
+    private fun onBackgroundSyncFinished(outcome: androidx.work.Data?) {
+        val error = outcome?.getString(SheetsSyncWorker.KEY_ERROR)
+        if (error != null) {
+            _syncError.value = error
+            AppLogger.e("EventManagerViewModel", "Background sync failed: $error")
+            showSyncErrorIfNotSuppressed(error)
+            return
+        }
+        
+        loadLastSyncTime()
+        if (outcome?.getBoolean(SheetsSyncWorker.KEY_DATA_CHANGED, true) == false) {
+            println("Background sync: no remote changes")
+            return
+        }
+        
+        // Unknown outcomes also reload: reading local data is cheap, and the guest list upload is skipped when unchanged
+        refreshAllData()
+        viewModelScope.launch {
+            recalcAndUploadVolunteerGuestList()
+        }
+        println("Background sync applied - local data reloaded")
+    }
+
     /**
      * Show sync error dialog if not suppressed
      */
@@ -355,9 +504,9 @@ class EventManagerViewModel(
     fun addGuest(guest: Guest) {
         viewModelScope.launch {
             try {
-                repository.insertGuest(guest)
-                // BACKUP MODE: Upload entire guest dataset to Google Sheets
-                twoWaySyncService?.backupGuestsToSheets()
+                val guestId = repository.insertGuest(guest)
+                // Queue the upload; the outbox flushes it to Google Sheets in the background
+                sheetsOutbox?.enqueueGuest(guest.copy(id = guestId))
                 // Keep volunteer list in sync
                 recalcAndUploadVolunteerGuestList()
             } catch (e: Exception) {
@@ -373,8 +522,7 @@ class EventManagerViewModel(
                 // Update lastModified timestamp
                 val updatedGuest = guest.copy(lastModified = System.currentTimeMillis())
                 repository.updateGuest(updatedGuest)
-                // BACKUP MODE: Upload entire guest dataset to Google Sheets
-                twoWaySyncService?.backupGuestsToSheets()
+                sheetsOutbox?.enqueueGuest(updatedGuest)
                 // Keep volunteer list in sync
                 recalcAndUploadVolunteerGuestList()
             } catch (e: Exception) {
@@ -393,8 +541,7 @@ class EventManagerViewModel(
                 // Delete from local database
                 repository.deleteGuest(guest)
                 
-                // BACKUP MODE: Upload entire guest dataset to Google Sheets
-                twoWaySyncService?.backupGuestsToSheets()
+                sheetsOutbox?.enqueueGuest(guest, SheetsOperation.DELETE)
                 
                 println("Successfully deleted guest: ${guest.name}")
                 // Keep volunteer list in sync
@@ -410,9 +557,9 @@ class EventManagerViewModel(
     fun addVolunteer(volunteer: Volunteer) {
         viewModelScope.launch {
             try {
-                repository.insertVolunteer(volunteer)
-                // BACKUP MODE: Upload entire volunteer dataset to Google Sheets
-                twoWaySyncService?.backupVolunteersToSheets()
+                val volunteerId = repository.insertVolunteer(volunteer)
+                // Queue the upload; the outbox flushes it to Google Sheets in the background
+                sheetsOutbox?.enqueueVolunteer(volunteer.copy(id = volunteerId))
                 recalcAndUploadVolunteerGuestList()
             } catch (e: Exception) {
             println("Failed to add volunteer: ${e.message}")
@@ -424,9 +571,10 @@ class EventManagerViewModel(
     fun updateVolunteer(volunteer: Volunteer) {
         viewModelScope.launch {
         try {
-            repository.updateVolunteer(volunteer)
-                // BACKUP MODE: Upload entire volunteer dataset to Google Sheets
-                twoWaySyncService?.backupVolunteersToSheets()
+            // Update lastModified timestamp so incremental backups pick it up
+            val updatedVolunteer = volunteer.copy(lastModified = System.currentTimeMillis())
+            repository.updateVolunteer(updatedVolunteer)
+                sheetsOutbox?.enqueueVolunteer(updatedVolunteer)
                 recalcAndUploadVolunteerGuestList()
             } catch (e: Exception) {
             println("Failed to update volunteer: ${e.message}")
@@ -444,8 +592,7 @@ class EventManagerViewModel(
                 // Delete from local database
                 repository.deleteVolunteer(volunteer)
                 
-                // BACKUP MODE: Upload entire volunteer dataset to Google Sheets
-                twoWaySyncService?.backupVolunteersToSheets()
+                sheetsOutbox?.enqueueVolunteer(volunteer, SheetsOperation.DELETE)
                 
                 println("Successfully deleted volunteer: ${volunteer.name}")
                 recalcAndUploadVolunteerGuestList()
@@ -462,21 +609,9 @@ class EventManagerViewModel(
             try {
                 // Insert job into local database first
                 val jobId = repository.insertJob(job)
-                val jobWithId = job.copy(id = jobId)
                 
-                // Add individual job to Google Sheets and get sheetsId
-                val sheetsId = googleSheetsService?.addJobToSheets(jobWithId, _venues.value)
-                
-                // Update the job with the sheetsId
-                if (sheetsId != null) {
-                    val jobWithSheetsId = jobWithId.copy(sheetsId = sheetsId)
-                    repository.updateJob(jobWithSheetsId)
-                    println("Successfully added job to Google Sheets with sheetsId: $sheetsId")
-                } else {
-                    // Fallback to backup mode if individual add fails
-                    println("Individual job add failed, falling back to backup mode")
-                    twoWaySyncService?.backupJobsToSheets()
-                }
+                // Queue the upload; the outbox flushes it to Google Sheets in the background
+                sheetsOutbox?.enqueueJob(job.copy(id = jobId))
                 
                 println("Successfully added job: ${job.jobTypeName}")
                 recalcAndUploadVolunteerGuestList()
@@ -490,24 +625,10 @@ class EventManagerViewModel(
     fun updateJob(job: Job) {
         viewModelScope.launch {
             try {
-                // Update job in local database
-                repository.updateJob(job)
-                
-                // Update individual job in Google Sheets if sheetsId exists
-                if (job.sheetsId != null) {
-                    try {
-                        googleSheetsService?.updateJobInSheets(job, _venues.value)
-                        println("Successfully updated job in Google Sheets: ${job.jobTypeName}")
-                    } catch (e: Exception) {
-                        println("Individual job update failed, falling back to backup mode: ${e.message}")
-                        // Fallback to backup mode if individual update fails
-                        twoWaySyncService?.backupJobsToSheets()
-                    }
-                } else {
-                    // If no sheetsId, use backup mode
-                    println("No sheetsId found, using backup mode for job update")
-                    twoWaySyncService?.backupJobsToSheets()
-                }
+                // Update job in local database (with a fresh lastModified so incremental backups pick it up)
+                val updatedJob = job.copy(lastModified = System.currentTimeMillis())
+                repository.updateJob(updatedJob)
+                sheetsOutbox?.enqueueJob(updatedJob)
                 
                 println("Successfully updated job: ${job.jobTypeName}")
                 recalcAndUploadVolunteerGuestList()
@@ -526,22 +647,7 @@ class EventManagerViewModel(
                 
                 // Delete from local database first
                 repository.deleteJob(job)
-                
-                // Delete individual job from Google Sheets if sheetsId exists
-                if (job.sheetsId != null) {
-                    try {
-                        googleSheetsService?.deleteJobFromSheets(job.id.toString(), job.sheetsId)
-                        println("Successfully deleted job from Google Sheets: ${job.jobTypeName}")
-                    } catch (e: Exception) {
-                        println("Individual job deletion failed, falling back to backup mode: ${e.message}")
-                        // Fallback to backup mode if individual deletion fails
-                        twoWaySyncService?.backupJobsToSheets()
-                    }
-                } else {
-                    // If no sheetsId, use backup mode
-                    println("No sheetsId found, using backup mode for job deletion")
-                    twoWaySyncService?.backupJobsToSheets()
-                }
+                sheetsOutbox?.enqueueJob(job, SheetsOperation.DELETE)
                 
                 println("Successfully deleted job: ${job.jobTypeName}")
                 recalcAndUploadVolunteerGuestList()
@@ -557,11 +663,10 @@ class EventManagerViewModel(
         viewModelScope.launch {
             try {
                 // Insert job type config into local database
-                repository.insertJobTypeConfig(config)
+                val configId = repository.insertJobTypeConfig(config)
                 
-                // BACKUP MODE: Upload entire job type dataset to Google Sheets
-                // This ensures Google Sheets has the complete, up-to-date dataset
-                twoWaySyncService?.backupJobTypesToSheets()
+                // Queue the upload; the outbox flushes it to Google Sheets in the background
+                sheetsOutbox?.enqueueJobType(config.copy(id = configId))
                 
                 println("Successfully added job type: ${config.name}")
             } catch (e: Exception) {
@@ -577,9 +682,7 @@ class EventManagerViewModel(
                 // Update job type config in local database
                 repository.updateJobTypeConfig(config)
                 
-                // BACKUP MODE: Upload entire job type dataset to Google Sheets
-                // This ensures Google Sheets has the complete, up-to-date dataset
-                twoWaySyncService?.backupJobTypesToSheets()
+                sheetsOutbox?.enqueueJobType(config)
                 
                 println("Successfully updated job type: ${config.name}")
             } catch (e: Exception) {
@@ -598,9 +701,7 @@ class EventManagerViewModel(
                 // Delete from local database
                 repository.deleteJobTypeConfig(config)
                 
-                // BACKUP MODE: Upload entire job type dataset to Google Sheets
-                // This ensures Google Sheets has the complete, up-to-date dataset
-                twoWaySyncService?.backupJobTypesToSheets()
+                sheetsOutbox?.enqueueJobType(config, SheetsOperation.DELETE)
                 
                 println("Successfully deleted job type: ${config.name}")
             } catch (e: Exception) {
@@ -615,11 +716,10 @@ class EventManagerViewModel(
         viewModelScope.launch {
             try {
                 // Insert venue into local database
-                repository.insertVenue(venue)
+                val venueId = repository.insertVenue(venue)
                 
-                // BACKUP MODE: Upload entire venue dataset to Google Sheets
-                // This ensures Google Sheets has the complete, up-to-date dataset
-                twoWaySyncService?.backupVenuesToSheets()
+                // Queue the upload; the outbox flushes it to Google Sheets in the background
+                sheetsOutbox?.enqueueVenue(venue.copy(id = venueId))
                 
                 println("Successfully added venue: ${venue.name}")
             } catch (e: Exception) {
@@ -635,9 +735,7 @@ class EventManagerViewModel(
                 // Update venue in local database
                 repository.updateVenue(venue)
                 
-                // BACKUP MODE: Upload entire venue dataset to Google Sheets
-                // This ensures Google Sheets has the complete, up-to-date dataset
-                twoWaySyncService?.backupVenuesToSheets()
+                sheetsOutbox?.enqueueVenue(venue)
                 
                 println("Successfully updated venue: ${venue.name}")
             } catch (e: Exception) {
@@ -656,9 +754,7 @@ class EventManagerViewModel(
                 // Delete from local database
                 repository.deleteVenue(venue)
                 
-                // BACKUP MODE: Upload entire venue dataset to Google Sheets
-                // This ensures Google Sheets has the complete, up-to-date dataset
-                twoWaySyncService?.backupVenuesToSheets()
+                sheetsOutbox?.enqueueVenue(venue, SheetsOperation.DELETE)
                 
                 println("Successfully deleted venue: ${venue.name}")
             } catch (e: Exception) {
@@ -673,8 +769,7 @@ class EventManagerViewModel(
             try {
                 repository.updateVenueStatus(id, isActive)
                 
-                // BACKUP MODE: Upload entire venue dataset to Google Sheets
-                twoWaySyncService?.backupVenuesToSheets()
+                sheetsOutbox?.enqueue(SheetsEntityType.VENUE, id, SheetsOperation.UPSERT)
                 
                 println("Successfully updated venue status: $id to $isActive")
             } catch (e: Exception) {
@@ -689,12 +784,14 @@ class EventManagerViewModel(
         viewModelScope.launch {
             try {
                 val updatedJob = job.copy(
-                    volunteerId = volunteer.id
+                    volunteerId = volunteer.id,
+                    lastModified = System.currentTimeMillis()
                 )
                 repository.updateJob(updatedJob)
                 
                 // Update volunteer's last shift date
-                val updatedVolunteer = volunteer.copy(lastShiftDate = System.currentTimeMillis())
+                val now = System.currentTimeMillis()
+                val updatedVolunteer = volunteer.copy(lastShiftDate = now, lastModified = now)
                 repository.updateVolunteer(updatedVolunteer)
                 
                 // Note: Individual backup methods are already called in updateJob() and updateVolunteer()
@@ -710,10 +807,9 @@ class EventManagerViewModel(
     fun updateVolunteerStatus(volunteer: Volunteer, isActive: Boolean) {
         viewModelScope.launch {
             try {
-                val updatedVolunteer = volunteer.copy(isActive = isActive)
+                val updatedVolunteer = volunteer.copy(isActive = isActive, lastModified = System.currentTimeMillis())
                 repository.updateVolunteer(updatedVolunteer)
-                // BACKUP MODE: Upload entire volunteer dataset to Google Sheets
-                twoWaySyncService?.backupVolunteersToSheets()
+                sheetsOutbox?.enqueueVolunteer(updatedVolunteer)
             } catch (e: Exception) {
                 println("Failed to update volunteer status: ${e.message}")
                 _syncError.value = "Failed to update volunteer status: ${e.message}"
@@ -721,111 +817,6 @@ class EventManagerViewModel(
         }
     }
 
-    // Single element upload methods (App Priority)
-    private suspend fun uploadSingleGuestToSheets(guest: Guest) {
-        try {
-            if (!isGoogleSheetsConfigured()) return
-            googleSheetsService.initializeSheetsService()
-            
-            val sheetsId = if (guest.sheetsId == null) {
-                // New guest - add to sheets
-                googleSheetsService.addGuestToSheets(guest, _venues.value)
-            } else {
-                // Existing guest - update in sheets
-                googleSheetsService.updateGuestInSheets(guest, _venues.value)
-                guest.sheetsId
-            }
-            
-            // Update local guest with sheets ID
-            if (sheetsId != null && guest.sheetsId != sheetsId) {
-                val updatedGuest = guest.copy(sheetsId = sheetsId)
-                repository.updateGuest(updatedGuest)
-            }
-            
-            println("Successfully uploaded single guest: ${guest.name}")
-        } catch (e: Exception) {
-            println("Failed to upload single guest: ${e.message}")
-        }
-    }
-    
-    private suspend fun uploadSingleVolunteerToSheets(volunteer: Volunteer) {
-        try {
-            if (!isGoogleSheetsConfigured()) return
-            googleSheetsService.initializeSheetsService()
-            
-            val sheetsId = if (volunteer.sheetsId == null) {
-                // New volunteer - add to sheets
-                googleSheetsService.addVolunteerToSheets(volunteer)
-            } else {
-                // Existing volunteer - update in sheets
-                googleSheetsService.updateVolunteerInSheets(volunteer)
-                volunteer.sheetsId
-            }
-            
-            // Update local volunteer with sheets ID
-            if (sheetsId != null && volunteer.sheetsId != sheetsId) {
-                val updatedVolunteer = volunteer.copy(sheetsId = sheetsId)
-                repository.updateVolunteer(updatedVolunteer)
-            }
-            
-            println("Successfully uploaded single volunteer: ${volunteer.name}")
-        } catch (e: Exception) {
-            println("Failed to upload single volunteer: ${e.message}")
-        }
-    }
-    
-    private suspend fun uploadSingleJobToSheets(job: Job) {
-        try {
-            if (!isGoogleSheetsConfigured()) return
-            googleSheetsService.initializeSheetsService()
-            
-            val sheetsId = if (job.sheetsId == null) {
-                // New job - add to sheets
-                googleSheetsService.addJobToSheets(job, _venues.value)
-            } else {
-                // Existing job - update in sheets
-                googleSheetsService.updateJobInSheets(job, _venues.value)
-                job.sheetsId
-            }
-            
-            // Update local job with sheets ID
-            if (sheetsId != null && job.sheetsId != sheetsId) {
-                val updatedJob = job.copy(sheetsId = sheetsId)
-                repository.updateJob(updatedJob)
-            }
-            
-            println("Successfully uploaded single job: ${job.jobTypeName}")
-        } catch (e: Exception) {
-            println("Failed to upload single job: ${e.message}")
-        }
-    }
-    
-    private suspend fun uploadSingleJobTypeToSheets(config: JobTypeConfig) {
-        try {
-            if (!isGoogleSheetsConfigured()) return
-            googleSheetsService.initializeSheetsService()
-            
-            val sheetsId = if (config.sheetsId == null) {
-                // New job type - add to sheets
-                googleSheetsService.addJobTypeToSheets(config)
-            } else {
-                // Existing job type - update in sheets
-                googleSheetsService.updateJobTypeInSheets(config)
-                config.sheetsId
-            }
-            
-            // Update local job type with sheets ID
-            if (sheetsId != null && config.sheetsId != sheetsId) {
-                val updatedConfig = config.copy(sheetsId = sheetsId)
-                repository.updateJobTypeConfig(updatedConfig)
-            }
-            
-            println("Successfully uploaded single job type: ${config.name}")
-        } catch (e: Exception) {
-            println("Failed to upload single job type: ${e.message}")
-        }
-    }
-
     // Targeted sync operations for specific data types (Sheets Priority)
     fun syncGuestsOnly() {
         viewModelScope.launch {
@@ -842,6 +833,8 @@ class EventManagerViewModel(
                     return@launch
                 }
                 
+                flushPendingSheetsChanges()
+                
                 googleSheetsService.initializeSheetsService()
                 
                 // Download all guests from sheets
@@ -849,14 +842,8 @@ class EventManagerViewModel(
                 println("Downloaded ${remoteGuests.size} guests from sheets")
                 
                 // Always clear and replace with sheets data to handle deletions properly
-                // Clear local guests first
-                repository.clearAllGuests()
-                println("🧹 Cleared all local guests")
-                
-                // Insert remote guests (even if empty, this handles deletions)
-                for (guest in remoteGuests) {
-                    repository.insertGuest(guest)
-                }
+                // One transaction with a single bulk insert (an empty list clears the table)
+                repository.replaceAllGuests(remoteGuests)
                 
                 if (remoteGuests.isNotEmpty()) {
                     println("✅ Replaced local guests with ${remoteGuests.size} guests from Google Sheets")
@@ -902,6 +889,8 @@ class EventManagerViewModel(
                     return@launch
                 }
                 
+                flushPendingSheetsChanges()
+                
                 googleSheetsService.initializeSheetsService()
                 
                 // Download all volunteers from sheets
@@ -909,14 +898,8 @@ class EventManagerViewModel(
                 println("Downloaded ${remoteVolunteers.size} volunteers from sheets")
                 
                 // Always clear and replace with sheets data to handle deletions properly
-                // Clear local volunteers first
-                repository.clearAllVolunteers()
-                println("🧹 Cleared all local volunteers")
-                
-                // Insert remote volunteers (even if empty, this handles deletions)
-                for (volunteer in remoteVolunteers) {
-                    repository.insertVolunteer(volunteer)
-                }
+                // One transaction with a single bulk insert (an empty list clears the table)
+                repository.replaceAllVolunteers(remoteVolunteers)
                 
                 if (remoteVolunteers.isNotEmpty()) {
                     println("✅ Replaced local volunteers with ${remoteVolunteers.size} volunteers from Google Sheets")
@@ -976,14 +959,8 @@ class EventManagerViewModel(
                 println("Downloaded ${remoteJobs.size} jobs from sheets")
                 
                 // Always clear and replace with sheets data to handle deletions properly
-                // Clear local jobs first
-                repository.clearAllJobs()
-                println("🧹 Cleared all local jobs")
-                
-                // Insert remote jobs (even if empty, this handles deletions)
-                for (job in remoteJobs) {
-                    repository.insertJob(job)
-                }
+                // One transaction with a single bulk insert (an empty list clears the table)
+                repository.replaceAllJobs(remoteJobs)
                 
                 if (remoteJobs.isNotEmpty()) {
                     println("✅ Replaced local jobs with ${remoteJobs.size} jobs from Google Sheets")
@@ -1043,10 +1020,7 @@ class EventManagerViewModel(
                 println("Downloaded ${remoteJobTypeConfigs.size} job types from sheets")
                 
                 // Clear local job types and replace with sheets data
-                repository.clearAllJobTypeConfigs()
-                for (config in remoteJobTypeConfigs) {
-                    repository.insertJobTypeConfig(config)
-                }
+                repository.replaceAllJobTypeConfigs(remoteJobTypeConfigs)
                 
                 // Refresh job type data
                 refreshJobTypeData()
@@ -1095,10 +1069,7 @@ class EventManagerViewModel(
                 println("Downloaded ${remoteVenues.size} venues from sheets")
                 
                 // Clear local venues and replace with sheets data
-                repository.clearAllVenues()
-                for (venue in remoteVenues) {
-                    repository.insertVenue(venue)
-                }
+                repository.replaceAllVenues(remoteVenues)
                 
                 // Refresh venue data
                 refreshVenueData()
@@ -1230,26 +1201,18 @@ class EventManagerViewModel(
     // Download changes from Google Sheets
     private suspend fun downloadChangesFromSheets(): Tuple5<List<Guest>, List<Volunteer>, List<Job>, List<JobTypeConfig>, List<VenueEntity>> {
         try {
-            // Download job type configs first
-            val remoteJobTypeConfigs = googleSheetsService.syncJobTypeConfigsFromSheets()
-            println("Retrieved ${remoteJobTypeConfigs.size} job type configs from sheets")
+            // All tabs in one request, parsed concurrently
+            val snapshot = googleSheetsService.syncAllTabsFromSheets(known = repository.getKnownSyncRows(SheetsRevisions.TABS.toSet()))
+            println("Retrieved from sheets - ${snapshot.summary()}")
             
-            // Download venues
-            val remoteVenues = googleSheetsService.syncVenuesFromSheets()
-            println("Retrieved ${remoteVenues.size} venues from sheets")
-            
-            // Download all other data
-            val (remoteGuests, remoteVolunteers, remoteJobs) = googleSheetsService.syncAllFromSheetsWithJobTypes(remoteJobTypeConfigs)
-            println("Retrieved from sheets - Guests: ${remoteGuests.size}, Volunteers: ${remoteVolunteers.size}, Jobs: ${remoteJobs.size}")
-            
-            return Tuple5(remoteGuests, remoteVolunteers, remoteJobs, remoteJobTypeConfigs, remoteVenues)
+            return Tuple5(snapshot.guests, snapshot.volunteers, snapshot.jobs, snapshot.jobTypeConfigs, snapshot.venues)
             } catch (e: Exception) {
             println("Failed to download changes from sheets: ${e.message}")
             throw e
         }
     }
     
-    // Smart merge with conflict resolution
+    // Smart merge with conflict resolution: newest row wins, locally deleted rows are not downloaded again
     private suspend fun smartMergeData(
         localGuests: List<Guest>,
         localVolunteers: List<Volunteer>,
@@ -1262,206 +1225,33 @@ class EventManagerViewModel(
         remoteJobTypeConfigs: List<JobTypeConfig>,
         remoteVenues: List<VenueEntity>
     ) {
-        // Get deleted items to prevent re-downloading
-        val deletedGuests = deletionTracker?.getDeletedGuests() ?: emptyList()
-        val deletedVolunteers = deletionTracker?.getDeletedVolunteers() ?: emptyList()
-        val deletedJobs = deletionTracker?.getDeletedJobs() ?: emptyList()
-        val deletedJobTypes = deletionTracker?.getDeletedJobTypes() ?: emptyList()
-        val deletedVenues = deletionTracker?.getDeletedVenues() ?: emptyList()
-        
-        println("Deletion tracking - Guests: ${deletedGuests.size}, Volunteers: ${deletedVolunteers.size}, Jobs: ${deletedJobs.size}, JobTypes: ${deletedJobTypes.size}, Venues: ${deletedVenues.size}")
-            var guestsAdded = 0
-        var guestsUpdated = 0
-            var volunteersAdded = 0
-        var volunteersUpdated = 0
-            var jobsAdded = 0
-        var jobsUpdated = 0
-        var jobTypesAdded = 0
-        var jobTypesUpdated = 0
-        
-        // Merge Job Type Configs
-        for (remoteConfig in remoteJobTypeConfigs) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedJobTypes.any { 
-                it.sheetsId == remoteConfig.sheetsId || it.id == remoteConfig.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted job type config: ${remoteConfig.name}")
-                continue
-            }
-            
-            val localConfig = localJobTypeConfigs.find { it.name == remoteConfig.name }
-            if (localConfig == null) {
-                // New config from sheets
-                try {
-                    repository.insertJobTypeConfig(remoteConfig)
-                    jobTypesAdded++
-                    println("Added new job type config: ${remoteConfig.name}")
-                } catch (e: Exception) {
-                    println("Failed to add job type config: ${remoteConfig.name} - ${e.message}")
-                }
-            } else if (remoteConfig.lastModified > localConfig.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateJobTypeConfig(remoteConfig.copy(id = localConfig.id))
-                    jobTypesUpdated++
-                    println("Updated job type config: ${remoteConfig.name}")
-        } catch (e: Exception) {
-                    println("Failed to update job type config: ${remoteConfig.name} - ${e.message}")
-                }
-            }
-        }
-        
-        // Merge Venues
-        var venuesAdded = 0
-        var venuesUpdated = 0
-        for (remoteVenue in remoteVenues) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedVenues.any { 
-                it.sheetsId == remoteVenue.sheetsId || it.id == remoteVenue.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted venue: ${remoteVenue.name}")
-                continue
-            }
-            
-            val localVenue = localVenues.find { it.name == remoteVenue.name }
-            if (localVenue == null) {
-                // New venue from sheets
-                try {
-                    repository.insertVenue(remoteVenue)
-                    venuesAdded++
-                    println("Added new venue: ${remoteVenue.name}")
-                } catch (e: Exception) {
-                    println("Failed to add venue: ${remoteVenue.name} - ${e.message}")
-                }
-            } else if (remoteVenue.lastModified > localVenue.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateVenue(remoteVenue.copy(id = localVenue.id))
-                    venuesUpdated++
-                    println("Updated venue: ${remoteVenue.name}")
-                } catch (e: Exception) {
-                    println("Failed to update venue: ${remoteVenue.name} - ${e.message}")
-                }
-            }
-        }
-        
-        // Merge Guests
-        for (remoteGuest in remoteGuests) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedGuests.any { 
-                it.sheetsId == remoteGuest.sheetsId || it.id == remoteGuest.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted guest: ${remoteGuest.name}")
-                continue
-            }
-            
-            val localGuest = localGuests.find { it.sheetsId == remoteGuest.sheetsId || it.name == remoteGuest.name }
-            if (localGuest == null) {
-                // New guest from sheets
-                try {
-                    repository.insertGuest(remoteGuest)
-                        guestsAdded++
-                    println("Added new guest: ${remoteGuest.name}")
-                } catch (e: Exception) {
-                    println("Failed to add guest: ${remoteGuest.name} - ${e.message}")
-                }
-            } else if (remoteGuest.lastModified > localGuest.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateGuest(remoteGuest.copy(id = localGuest.id))
-                    guestsUpdated++
-                    println("Updated guest: ${remoteGuest.name}")
-            } catch (e: Exception) {
-                    println("Failed to update guest: ${remoteGuest.name} - ${e.message}")
-                }
-            }
-        }
-        
-        // Merge Volunteers
-        for (remoteVolunteer in remoteVolunteers) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedVolunteers.any { 
-                it.sheetsId == remoteVolunteer.sheetsId || it.id == remoteVolunteer.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted volunteer: ${remoteVolunteer.name}")
-                continue
-            }
-            
-            val localVolunteer = localVolunteers.find { it.sheetsId == remoteVolunteer.sheetsId || it.name == remoteVolunteer.name }
-            if (localVolunteer == null) {
-                // New volunteer from sheets
-                try {
-                    repository.insertVolunteer(remoteVolunteer)
-                        volunteersAdded++
-                    println("Added new volunteer: ${remoteVolunteer.name}")
-                } catch (e: Exception) {
-                    println("Failed to add volunteer: ${remoteVolunteer.name} - ${e.message}")
-                }
-            } else if (remoteVolunteer.lastModified > localVolunteer.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateVolunteer(remoteVolunteer.copy(id = localVolunteer.id))
-                    volunteersUpdated++
-                    println("Updated volunteer: ${remoteVolunteer.name}")
-                } catch (e: Exception) {
-                    println("Failed to update volunteer: ${remoteVolunteer.name} - ${e.message}")
-                }
-            }
-        }
+        val policy = ConflictPolicy.NEWEST_WINS
+        val jobTypeChanges = MergeEngine.forJobTypes(policy, deletedKeys(DeletionTracker.TYPE_JOB_TYPE)).merge(localJobTypeConfigs, remoteJobTypeConfigs)
+        val venueChanges = MergeEngine.forVenues(policy, deletedKeys(DeletionTracker.TYPE_VENUE)).merge(localVenues, remoteVenues)
+        val guestChanges = MergeEngine.forGuests(policy, deletedKeys(DeletionTracker.TYPE_GUEST)).merge(localGuests, remoteGuests)
+        val volunteerChanges = MergeEngine.forVolunteers(policy, deletedKeys(DeletionTracker.TYPE_VOLUNTEER)).merge(localVolunteers, remoteVolunteers)
+        val jobChanges = MergeEngine.forJobs(policy, deletedKeys(DeletionTracker.TYPE_JOB)).merge(localJobs, remoteJobs)
         
-        // Merge Jobs
-        for (remoteJob in remoteJobs) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedJobs.any { 
-                it.sheetsId == remoteJob.sheetsId || it.id == remoteJob.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted job: ${remoteJob.jobTypeName}")
-                continue
-            }
-            
-            val localJob = localJobs.find { 
-                it.sheetsId == remoteJob.sheetsId || 
-                (it.volunteerId == remoteJob.volunteerId && it.date == remoteJob.date && it.jobTypeName == remoteJob.jobTypeName)
-            }
-            if (localJob == null) {
-                // New job from sheets
-                try {
-                    repository.insertJob(remoteJob)
-                        jobsAdded++
-                    println("Added new job: ${remoteJob.jobTypeName}")
-            } catch (e: Exception) {
-                    println("Failed to add job: ${remoteJob.jobTypeName} - ${e.message}")
-                }
-            } else if (remoteJob.lastModified > localJob.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateJob(remoteJob.copy(id = localJob.id))
-                    jobsUpdated++
-                    println("Updated job: ${remoteJob.jobTypeName}")
-                } catch (e: Exception) {
-                    println("Failed to update job: ${remoteJob.jobTypeName} - ${e.message}")
-                }
-            }
+        // One bulk write per table, all in a single transaction
+        repository.runInTransaction {
+            repository.upsertJobTypeConfigs(jobTypeChanges.upserts)
+            repository.upsertVenues(venueChanges.upserts)
+            repository.upsertGuests(guestChanges.upserts)
+            repository.upsertVolunteers(volunteerChanges.upserts)
+            repository.upsertJobs(jobChanges.upserts)
         }
         
         println("Smart merge results:")
-        println("Job Types: +$jobTypesAdded ~$jobTypesUpdated")
-        println("Venues: +$venuesAdded ~$venuesUpdated")
-        println("Guests: +$guestsAdded ~$guestsUpdated")
-        println("Volunteers: +$volunteersAdded ~$volunteersUpdated")
-        println("Jobs: +$jobsAdded ~$jobsUpdated")
+        println("Job Types: ${jobTypeChanges.summary()}")
+        println("Venues: ${venueChanges.summary()}")
+        println("Guests: ${guestChanges.summary()}")
+        println("Volunteers: ${volunteerChanges.summary()}")
+        println("Jobs: ${jobChanges.summary()}")
     }
     
+    private suspend fun deletedKeys(itemType: String): DeletionTracker.DeletedKeys =
+        deletionTracker?.getDeletedKeys(itemType) ?: DeletionTracker.DeletedKeys.EMPTY
+    
     // Helper data class for returning multiple values
     private data class Tuple4<A, B, C, D>(val first: A, val second: B, val third: C, val fourth: D)
     private data class Tuple5<A, B, C, D, E>(val first: A, val second: B, val third: C, val fourth: D, val fifth: E)
@@ -1565,362 +1355,100 @@ class EventManagerViewModel(
     }
     
     private suspend fun mergeGuestData(localGuests: List<Guest>, remoteGuests: List<Guest>) {
-        val deletedGuests = deletionTracker?.getDeletedGuests() ?: emptyList()
-        var guestsAdded = 0
-        var guestsUpdated = 0
-        
-        for (remoteGuest in remoteGuests) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedGuests.any { 
-                it.sheetsId == remoteGuest.sheetsId || it.id == remoteGuest.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted guest: ${remoteGuest.name}")
-                continue
-            }
-            
-            val localGuest = localGuests.find { it.sheetsId == remoteGuest.sheetsId || it.name == remoteGuest.name }
-            if (localGuest == null) {
-                // New guest from sheets
-                try {
-                    repository.insertGuest(remoteGuest)
-                    guestsAdded++
-                    println("Added new guest: ${remoteGuest.name}")
-            } catch (e: Exception) {
-                    println("Failed to add guest: ${remoteGuest.name} - ${e.message}")
-                }
-            } else if (remoteGuest.lastModified > localGuest.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateGuest(remoteGuest.copy(id = localGuest.id))
-                    guestsUpdated++
-                    println("Updated guest: ${remoteGuest.name}")
-                } catch (e: Exception) {
-                    println("Failed to update guest: ${remoteGuest.name} - ${e.message}")
-                }
-            }
-        }
-        
-        println("Guest merge results: +$guestsAdded ~$guestsUpdated")
+        val changes = MergeEngine.forGuests(ConflictPolicy.NEWEST_WINS, deletedKeys(DeletionTracker.TYPE_GUEST))
+            .merge(localGuests, remoteGuests)
+        applyMerge("guest", changes) { repository.upsertGuests(it) }
+        println("Guest merge results: ${changes.summary()}")
     }
     
     private suspend fun mergeVolunteerData(localVolunteers: List<Volunteer>, remoteVolunteers: List<Volunteer>) {
-        val deletedVolunteers = deletionTracker?.getDeletedVolunteers() ?: emptyList()
-        var volunteersAdded = 0
-        var volunteersUpdated = 0
-        
-        // Get all jobs to calculate activity
-        val allJobs = repository.getAllJobs().first()
-        
-        for (remoteVolunteer in remoteVolunteers) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedVolunteers.any { 
-                it.sheetsId == remoteVolunteer.sheetsId || it.id == remoteVolunteer.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted volunteer: ${remoteVolunteer.name}")
-                continue
-            }
-            
-            val localVolunteer = localVolunteers.find { it.sheetsId == remoteVolunteer.sheetsId || it.name == remoteVolunteer.name }
-            if (localVolunteer == null) {
-                // New volunteer from sheets
-                try {
-                    // Calculate activity based on job assignments
-                    val updatedVolunteer = VolunteerActivityManager.calculateActivityFromJobs(remoteVolunteer, allJobs)
-                    repository.insertVolunteer(updatedVolunteer)
-                    volunteersAdded++
-                    println("Added new volunteer: ${remoteVolunteer.name}")
-                } catch (e: Exception) {
-                    println("Failed to add volunteer: ${remoteVolunteer.name} - ${e.message}")
-                }
-            } else if (remoteVolunteer.lastModified > localVolunteer.lastModified) {
-                // Remote version is newer
-                try {
-                    // Calculate activity based on job assignments
-                    val updatedVolunteer = VolunteerActivityManager.calculateActivityFromJobs(remoteVolunteer, allJobs)
-                    repository.updateVolunteer(updatedVolunteer.copy(id = localVolunteer.id))
-                    volunteersUpdated++
-                    println("Updated volunteer: ${remoteVolunteer.name}")
-        } catch (e: Exception) {
-                    println("Failed to update volunteer: ${remoteVolunteer.name} - ${e.message}")
-                }
-            } else {
-                // Local version is newer or same - update activity based on jobs
-                try {
-                    val updatedVolunteer = VolunteerActivityManager.calculateActivityFromJobs(localVolunteer, allJobs)
-                    if (updatedVolunteer.lastShiftDate != localVolunteer.lastShiftDate || 
-                        updatedVolunteer.isActive != localVolunteer.isActive) {
-                        repository.updateVolunteer(updatedVolunteer)
-                        volunteersUpdated++
-                        println("Updated volunteer activity: ${localVolunteer.name} - active: ${updatedVolunteer.isActive}")
-                    }
-                } catch (e: Exception) {
-                    println("Failed to update volunteer activity: ${localVolunteer.name} - ${e.message}")
-                }
-            }
-        }
-        
-        println("Volunteer merge results: +$volunteersAdded ~$volunteersUpdated")
+        val changes = MergeEngine.forVolunteers(ConflictPolicy.NEWEST_WINS, deletedKeys(DeletionTracker.TYPE_VOLUNTEER))
+            .merge(localVolunteers, remoteVolunteers)
+        applyVolunteerMerge(changes, refreshKeptActivity = true)
+        println("Volunteer merge results: ${changes.summary()}")
     }
     
     // Sheets priority merge methods (remote data wins conflicts)
     private suspend fun mergeGuestDataSheetsPriority(localGuests: List<Guest>, remoteGuests: List<Guest>) {
-        val deletedGuests = deletionTracker?.getDeletedGuests() ?: emptyList()
-        var guestsAdded = 0
-        var guestsUpdated = 0
-        
-        for (remoteGuest in remoteGuests) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedGuests.any { 
-                it.sheetsId == remoteGuest.sheetsId || it.id == remoteGuest.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted guest: ${remoteGuest.name}")
-                continue
-            }
-            
-            val localGuest = localGuests.find { it.sheetsId == remoteGuest.sheetsId || it.name == remoteGuest.name }
-            if (localGuest == null) {
-                // New guest from sheets
-                try {
-                    repository.insertGuest(remoteGuest)
-                    guestsAdded++
-                    println("Added new guest from sheets: ${remoteGuest.name}")
-                } catch (e: Exception) {
-                    println("Failed to add guest: ${remoteGuest.name} - ${e.message}")
-                }
-            } else {
-                // Always use remote version (sheets priority)
-                try {
-                    repository.updateGuest(remoteGuest.copy(id = localGuest.id))
-                    guestsUpdated++
-                    println("Updated guest from sheets: ${remoteGuest.name}")
-            } catch (e: Exception) {
-                    println("Failed to update guest: ${remoteGuest.name} - ${e.message}")
-                }
-            }
-        }
-        
-        println("Sheets priority guest merge results: +$guestsAdded ~$guestsUpdated")
+        val changes = MergeEngine.forGuests(ConflictPolicy.SHEETS_WINS, deletedKeys(DeletionTracker.TYPE_GUEST))
+            .merge(localGuests, remoteGuests)
+        applyMerge("guest", changes) { repository.upsertGuests(it) }
+        println("Sheets priority guest merge results: ${changes.summary()}")
     }
     
     private suspend fun mergeVolunteerDataSheetsPriority(localVolunteers: List<Volunteer>, remoteVolunteers: List<Volunteer>) {
-        val deletedVolunteers = deletionTracker?.getDeletedVolunteers() ?: emptyList()
-        var volunteersAdded = 0
-        var volunteersUpdated = 0
-
-        // Get all jobs to calculate activity
-        val allJobs = repository.getAllJobs().first()
-
-        for (remoteVolunteer in remoteVolunteers) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedVolunteers.any {
-                it.sheetsId == remoteVolunteer.sheetsId || it.id == remoteVolunteer.id.toString()
-            }
-
-            if (isDeleted) {
-                println("Skipping deleted volunteer: ${remoteVolunteer.name}")
-                continue
-            }
-
-            val localVolunteer = localVolunteers.find { it.sheetsId == remoteVolunteer.sheetsId || it.name == remoteVolunteer.name }
-            if (localVolunteer == null) {
-                // New volunteer from sheets
-                try {
-                    // Calculate activity based on job assignments
-                    val updatedVolunteer = VolunteerActivityManager.calculateActivityFromJobs(remoteVolunteer, allJobs)
-                    repository.insertVolunteer(updatedVolunteer)
-                    volunteersAdded++
-                    println("Added new volunteer from sheets: ${remoteVolunteer.name}")
-                } catch (e: Exception) {
-                    println("Failed to add volunteer: ${remoteVolunteer.name} - ${e.message}")
-                }
-            } else {
-                // Always use remote version (sheets priority)
-                try {
-                    // Calculate activity based on job assignments
-                    val updatedVolunteer = VolunteerActivityManager.calculateActivityFromJobs(remoteVolunteer, allJobs)
-                    repository.updateVolunteer(updatedVolunteer.copy(id = localVolunteer.id))
-                    volunteersUpdated++
-                    println("Updated volunteer from sheets: ${remoteVolunteer.name}")
-                } catch (e: Exception) {
-                    println("Failed to update volunteer: ${remoteVolunteer.name} - ${e.message}")
-                }
-            }
-        }
-
-        println("Sheets priority volunteer merge results: +$volunteersAdded ~$volunteersUpdated")
+        val changes = MergeEngine.forVolunteers(ConflictPolicy.SHEETS_WINS, deletedKeys(DeletionTracker.TYPE_VOLUNTEER))
+            .merge(localVolunteers, remoteVolunteers)
+        applyVolunteerMerge(changes, refreshKeptActivity = false)
+        println("Sheets priority volunteer merge results: ${changes.summary()}")
     }
     
     private suspend fun mergeJobDataSheetsPriority(localJobs: List<Job>, remoteJobs: List<Job>) {
-        val deletedJobs = deletionTracker?.getDeletedJobs() ?: emptyList()
-        var jobsAdded = 0
-        var jobsUpdated = 0
-
-        for (remoteJob in remoteJobs) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedJobs.any {
-                it.sheetsId == remoteJob.sheetsId || it.id == remoteJob.id.toString()
-            }
-
-            if (isDeleted) {
-                println("Skipping deleted job: ${remoteJob.jobTypeName}")
-                continue
-            }
-
-            val localJob = localJobs.find { it.sheetsId == remoteJob.sheetsId }
-            if (localJob == null) {
-                // New job from sheets
-                try {
-                    repository.insertJob(remoteJob)
-                    jobsAdded++
-                    println("Added new job from sheets: ${remoteJob.jobTypeName}")
-            } catch (e: Exception) {
-                    println("Failed to add job: ${remoteJob.jobTypeName} - ${e.message}")
-                }
-            } else {
-                // Always use remote version (sheets priority)
-                try {
-                    repository.updateJob(remoteJob.copy(id = localJob.id))
-                    jobsUpdated++
-                    println("Updated job from sheets: ${remoteJob.jobTypeName}")
-                } catch (e: Exception) {
-                    println("Failed to update job: ${remoteJob.jobTypeName} - ${e.message}")
-                }
-            }
-        }
-
-        println("Sheets priority job merge results: +$jobsAdded ~$jobsUpdated")
+        val changes = MergeEngine.forJobs(ConflictPolicy.SHEETS_WINS, deletedKeys(DeletionTracker.TYPE_JOB))
+            .merge(localJobs, remoteJobs)
+        applyMerge("job", changes) { repository.upsertJobs(it) }
+        println("Sheets priority job merge results: ${changes.summary()}")
     }
     
     private suspend fun mergeJobTypeDataSheetsPriority(localJobTypes: List<JobTypeConfig>, remoteJobTypes: List<JobTypeConfig>) {
-        val deletedJobTypes = deletionTracker?.getDeletedJobTypes() ?: emptyList()
-        var jobTypesAdded = 0
-        var jobTypesUpdated = 0
-
-        for (remoteJobType in remoteJobTypes) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedJobTypes.any {
-                it.sheetsId == remoteJobType.sheetsId || it.id == remoteJobType.id.toString()
-            }
-
-            if (isDeleted) {
-                println("Skipping deleted job type: ${remoteJobType.name}")
-                continue
-            }
-
-            val localJobType = localJobTypes.find { it.sheetsId == remoteJobType.sheetsId || it.name == remoteJobType.name }
-            if (localJobType == null) {
-                // New job type from sheets
-                try {
-                    repository.insertJobTypeConfig(remoteJobType)
-                    jobTypesAdded++
-                    println("Added new job type from sheets: ${remoteJobType.name}")
-            } catch (e: Exception) {
-                    println("Failed to add job type: ${remoteJobType.name} - ${e.message}")
-                }
-            } else {
-                // Always use remote version (sheets priority)
-                try {
-                    repository.updateJobTypeConfig(remoteJobType.copy(id = localJobType.id))
-                    jobTypesUpdated++
-                    println("Updated job type from sheets: ${remoteJobType.name}")
-                } catch (e: Exception) {
-                    println("Failed to update job type: ${remoteJobType.name} - ${e.message}")
-                }
-            }
-        }
-
-        println("Sheets priority job type merge results: +$jobTypesAdded ~$jobTypesUpdated")
+        val changes = MergeEngine.forJobTypes(ConflictPolicy.SHEETS_WINS, deletedKeys(DeletionTracker.TYPE_JOB_TYPE))
+            .merge(localJobTypes, remoteJobTypes)
+        applyMerge("job type", changes) { repository.upsertJobTypeConfigs(it) }
+        println("Sheets priority job type merge results: ${changes.summary()}")
     }
     
     private suspend fun mergeJobData(localJobs: List<Job>, remoteJobs: List<Job>) {
-        val deletedJobs = deletionTracker?.getDeletedJobs() ?: emptyList()
-        var jobsAdded = 0
-        var jobsUpdated = 0
-        
-        for (remoteJob in remoteJobs) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedJobs.any { 
-                it.sheetsId == remoteJob.sheetsId || it.id == remoteJob.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted job: ${remoteJob.jobTypeName}")
-                continue
-            }
-            
-            val localJob = localJobs.find { 
-                it.sheetsId == remoteJob.sheetsId || 
-                (it.volunteerId == remoteJob.volunteerId && it.date == remoteJob.date && it.jobTypeName == remoteJob.jobTypeName)
-            }
-            if (localJob == null) {
-                // New job from sheets
-                try {
-                    repository.insertJob(remoteJob)
-                    jobsAdded++
-                    println("Added new job: ${remoteJob.jobTypeName}")
-                } catch (e: Exception) {
-                    println("Failed to add job: ${remoteJob.jobTypeName} - ${e.message}")
-                }
-            } else if (remoteJob.lastModified > localJob.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateJob(remoteJob.copy(id = localJob.id))
-                    jobsUpdated++
-                    println("Updated job: ${remoteJob.jobTypeName}")
-                } catch (e: Exception) {
-                    println("Failed to update job: ${remoteJob.jobTypeName} - ${e.message}")
-                }
-            }
-        }
-        
-        println("Job merge results: +$jobsAdded ~$jobsUpdated")
+        val changes = MergeEngine.forJobs(ConflictPolicy.NEWEST_WINS, deletedKeys(DeletionTracker.TYPE_JOB))
+            .merge(localJobs, remoteJobs)
+        applyMerge("job", changes) { repository.upsertJobs(it) }
+        println("Job merge results: ${changes.summary()}")
     }
     
     private suspend fun mergeJobTypeData(localJobTypes: List<JobTypeConfig>, remoteJobTypes: List<JobTypeConfig>) {
-        val deletedJobTypes = deletionTracker?.getDeletedJobTypes() ?: emptyList()
-        var jobTypesAdded = 0
-        var jobTypesUpdated = 0
+        val changes = MergeEngine.forJobTypes(ConflictPolicy.NEWEST_WINS, deletedKeys(DeletionTracker.TYPE_JOB_TYPE))
+            .merge(localJobTypes, remoteJobTypes)
+        applyMerge("job type", changes) { repository.upsertJobTypeConfigs(it) }
+        println("Job type merge results: ${changes.summary()}")
+    }
+    
+    /**
+     * Writes the inserts and updates of a merge with one bulk upsert
+     */
+    private suspend fun <T> applyMerge(label: String, changes: MergeEngine.ChangeSet<T>, upsert: suspend (List<T>) -> Unit) {
+        if (changes.upserts.isEmpty()) return
+        try {
+            upsert(changes.upserts)
+        } catch (e: Exception) {
+            println("Failed to apply $label merge: ${e.message}")
+        }
+    }
+    
+    /**
+     * Applies a volunteer merge with activity computed from one index of the latest job per volunteer.
+     * With [refreshKeptActivity], local volunteers that were kept also get their activity refreshed.
+     */
+    private suspend fun applyVolunteerMerge(changes: MergeEngine.ChangeSet<Volunteer>, refreshKeptActivity: Boolean) {
+        val latestJobDates = VolunteerActivityManager.latestJobDateByVolunteer(repository.getAllJobs().first(), loadArchivedShiftDates())
         
-        for (remoteJobType in remoteJobTypes) {
-            // Check if this item was deleted locally
-            val isDeleted = deletedJobTypes.any { 
-                it.sheetsId == remoteJobType.sheetsId || it.id == remoteJobType.id.toString() 
-            }
-            
-            if (isDeleted) {
-                println("Skipping deleted job type: ${remoteJobType.name}")
-                continue
-            }
-            
-            val localJobType = localJobTypes.find { it.name == remoteJobType.name }
-            if (localJobType == null) {
-                // New job type from sheets
-                try {
-                    repository.insertJobTypeConfig(remoteJobType)
-                    jobTypesAdded++
-                    println("Added new job type: ${remoteJobType.name}")
-                } catch (e: Exception) {
-                    println("Failed to add job type: ${remoteJobType.name} - ${e.message}")
-                }
-            } else if (remoteJobType.lastModified > localJobType.lastModified) {
-                // Remote version is newer
-                try {
-                    repository.updateJobTypeConfig(remoteJobType.copy(id = localJobType.id))
-                    jobTypesUpdated++
-                    println("Updated job type: ${remoteJobType.name}")
-                } catch (e: Exception) {
-                    println("Failed to update job type: ${remoteJobType.name} - ${e.message}")
-                }
+        val upserts = changes.upserts.map { VolunteerActivityManager.calculateActivity(it, latestJobDates[it.id]) }
+        val activityUpdates = if (refreshKeptActivity) {
+            changes.kept.mapNotNull { local ->
+                val updated = VolunteerActivityManager.calculateActivity(local, latestJobDates[local.id])
+                updated.takeIf { it.lastShiftDate != local.lastShiftDate || it.isActive != local.isActive }
             }
+        } else {
+            emptyList()
         }
         
-        println("Job type merge results: +$jobTypesAdded ~$jobTypesUpdated")
+        if (upserts.isEmpty() && activityUpdates.isEmpty()) return
+        try {
+            repository.upsertVolunteers(upserts + activityUpdates)
+            if (activityUpdates.isNotEmpty()) {
+                println("Updated activity of ${activityUpdates.size} volunteers")
+            }
+        } catch (e: Exception) {
+            println("Failed to apply volunteer merge: ${e.message}")
+        }
     }
     
     private suspend fun refreshGuestData() {
@@ -2014,21 +1542,38 @@ class EventManagerViewModel(
     
     // NEW TWO-WAY SYNC METHODS
     
+    /**
+     * Pushes queued local edits before pulling from Google Sheets,
+     * so a download never overwrites changes that are still in the outbox
+     */
+    private suspend fun flushPendingSheetsChanges() {
+        val flushed = sheetsOutbox?.drain() ?: true
+        if (!flushed) {
+            println("⚠️ Some queued changes could not be uploaded before sync, they stay in the outbox")
+        }
+    }
+    
     /**
      * SYNC MODE: Download entire dataset from Google Sheets and replace local data
      * This is used for manual sync and scheduled sync
+     * Scheduled syncs pass [background] so their requests yield to user-initiated ones
      */
-    fun performFullSync() {
-        viewModelScope.launch {
+    fun performFullSync(background: Boolean = false) {
+        val lane = if (background) SheetsRequestPriority.BACKGROUND else SheetsRequestPriority.INTERACTIVE
+        viewModelScope.launch(lane) {
             _isSyncing.value = true
             _syncError.value = null
             
             AppLogger.i("EventManagerViewModel", "Starting full sync")
             
             try {
-                val result = syncManager?.performFullSync()
+                flushPendingSheetsChanges()
+                // Scheduled syncs probe the tab revisions and only download what changed
+                val result = if (background) syncManager?.performChangedTabsSync() else syncManager?.performFullSync()
                 
-                if (result?.isSuccess == true) {
+                if (result is SyncResult.Success && !result.dataChanged) {
+                    println("Background sync: no remote changes")
+                } else if (result?.isSuccess == true) {
                     // Refresh all data after successful sync
                     refreshAllData()
                     recalcAndUploadVolunteerGuestList()
@@ -2108,32 +1653,31 @@ class EventManagerViewModel(
         try {
             println("Starting volunteer guest list recalculation...")
 
-            // Compute volunteer entries locally
-            val volunteerGuests = computeVolunteerGuestEntries()
-            println("Computed ${volunteerGuests.size} volunteer guest entries")
-
-            // Update local guest table: remove stale volunteer benefit entries, then re-add current
-            val existingVolunteerGuests = repository.getVolunteerBenefitGuests()
-            println("Found ${existingVolunteerGuests.size} existing volunteer benefit guests to remove")
+            SyncTracer.trace("volunteer guest list") {
+                SyncTracer.span(SyncPhase.GUEST_LIST, "recalculate") {
+                    // Compute volunteer entries locally
+                    val volunteerGuests = computeVolunteerGuestEntries()
+                    println("Computed ${volunteerGuests.size} volunteer guest entries")
 
-            // Remove old ones
-            existingVolunteerGuests.forEach { repository.deleteGuest(it) }
-            println("Removed ${existingVolunteerGuests.size} old volunteer benefit guests")
+                    // Update local guest table: remove stale volunteer benefit entries, then re-add current
+                    val existingVolunteerGuests = repository.getVolunteerBenefitGuests()
+                    println("Found ${existingVolunteerGuests.size} existing volunteer benefit guests to remove")
 
-            // Insert current list
-            volunteerGuests.forEach { repository.insertGuest(it) }
-            println("Inserted ${volunteerGuests.size} new volunteer benefit guests")
+                    // Remove old ones
+                    existingVolunteerGuests.forEach { repository.deleteGuest(it) }
+                    println("Removed ${existingVolunteerGuests.size} old volunteer benefit guests")
 
-            // Upload-only to Volunteer Guest List sheet
-            if (isGoogleSheetsConfigured()) {
-                println("Uploading volunteer guest list to Google Sheets...")
-                googleSheetsService.initializeSheetsService()
-                googleSheetsService.syncVolunteerGuestListToSheets(volunteerGuests, _venues.value)
-                println("Successfully uploaded volunteer guest list to Google Sheets")
-            } else {
-                println("Google Sheets not configured, skipping upload")
+                    // Insert current list
+                    volunteerGuests.forEach { repository.insertGuest(it) }
+                    println("Inserted ${volunteerGuests.size} new volunteer benefit guests")
+                    SyncTracer.record(rows = volunteerGuests.size)
+                }
             }
 
+            // Upload-only to Volunteer Guest List sheet, through the outbox
+            sheetsOutbox?.enqueueVolunteerGuestList()
+            println("Queued volunteer guest list upload to Google Sheets")
+
             // Refresh UI state on main thread
             withContext(Dispatchers.Main) {
                 refreshGuestData()
@@ -2149,10 +1693,15 @@ class EventManagerViewModel(
     private suspend fun recalcVolunteerGuestListNoUpload() = withContext(Dispatchers.IO) {
         try {
             println("Startup: recalculating volunteer guest list locally without upload...")
-            val volunteerGuests = computeVolunteerGuestEntries()
-            val existingVolunteerGuests = repository.getVolunteerBenefitGuests()
-            existingVolunteerGuests.forEach { repository.deleteGuest(it) }
-            volunteerGuests.forEach { repository.insertGuest(it) }
+            SyncTracer.trace("volunteer guest list") {
+                SyncTracer.span(SyncPhase.GUEST_LIST, "recalculate at startup") {
+                    val volunteerGuests = computeVolunteerGuestEntries()
+                    val existingVolunteerGuests = repository.getVolunteerBenefitGuests()
+                    existingVolunteerGuests.forEach { repository.deleteGuest(it) }
+                    volunteerGuests.forEach { repository.insertGuest(it) }
+                    SyncTracer.record(rows = volunteerGuests.size)
+                }
+            }
             withContext(Dispatchers.Main) {
                 refreshGuestData()
             }
@@ -2162,6 +1711,50 @@ class EventManagerViewModel(
         }
     }
     
+    /**
+     * PAGE SELECTED: Refresh the datasets shown by [page] when they are stale, then prefetch
+     * the stale datasets of the neighbouring pages in the background lane, so switching to
+     * them shows fresh local data without waiting for the network
+     */
+    fun onPageSelected(page: Int) {
+        if (!isGoogleSheetsConfigured()) return
+        val tabs = tabsOfPage(page)
+        val neighbours = (tabsOfPage(page - 1) + tabsOfPage(page + 1)) - tabs
+        
+        val manager = syncManager ?: return
+        
+        viewModelScope.launch {
+            manager.getStaleTabs(tabs).forEach { syncTabWithTargetedUpdates(it, SheetsRequestPriority.INTERACTIVE) }
+            
+            withContext(SheetsRequestPriority.BACKGROUND) {
+                val staleNeighbours = manager.getStaleTabs(neighbours)
+                if (staleNeighbours.isNotEmpty()) println("Prefetching next pages: ${staleNeighbours.joinToString()}")
+                staleNeighbours.forEach { syncTabWithTargetedUpdates(it, SheetsRequestPriority.BACKGROUND) }
+            }
+        }
+    }
+    
+    /**
+     * Datasets shown by each page of the main navigation
+     */
+    private fun tabsOfPage(page: Int): Set<SheetsEntityType> = when (page) {
+        0, 1 -> setOf(SheetsEntityType.GUEST) // Dashboard, Guest List
+        2 -> setOf(SheetsEntityType.VOLUNTEER)
+        3 -> setOf(SheetsEntityType.JOB)
+        4 -> setOf(SheetsEntityType.JOB, SheetsEntityType.VOLUNTEER, SheetsEntityType.JOB_TYPE) // Benefits
+        else -> emptySet()
+    }
+    
+    private fun syncTabWithTargetedUpdates(tab: SheetsEntityType, lane: SheetsRequestPriority) {
+        when (tab) {
+            SheetsEntityType.GUEST -> syncGuestsWithTargetedUpdates(lane)
+            SheetsEntityType.VOLUNTEER -> syncVolunteersWithTargetedUpdates(lane)
+            SheetsEntityType.JOB -> syncJobsWithTargetedUpdates(lane)
+            SheetsEntityType.JOB_TYPE -> syncJobTypesWithTargetedUpdates(lane)
+            else -> Unit
+        }
+    }
+    
     /**
      * PAGE CHANGE SYNC: Download only current page and new page data
      * This is used when user changes pages in the app
@@ -2172,9 +1765,12 @@ class EventManagerViewModel(
             _syncError.value = null
             
             try {
+                flushPendingSheetsChanges()
                 val result = syncManager?.performSmartPageChangeSync(currentPage, newPage)
                 
-                if (result?.isSuccess == true) {
+                if (result is SyncResult.Success && !result.dataChanged) {
+                    println("Page change sync: data already fresh")
+                } else if (result?.isSuccess == true) {
                     // Refresh all data after successful sync
                     refreshAllData()
                     println("Page change sync completed successfully")
@@ -2532,12 +2128,25 @@ class EventManagerViewModel(
     private fun updateVolunteerActivity(volunteers: List<Volunteer>): List<Volunteer> {
         val currentJobs = _jobs.value
         return if (currentJobs.isNotEmpty()) {
-            VolunteerActivityManager.updateVolunteerActivityFromJobs(volunteers, currentJobs)
+            VolunteerActivityManager.updateVolunteerActivityFromJobs(volunteers, currentJobs, archivedShiftDates)
         } else {
             volunteers
         }
     }
     
+    /**
+     * Reloads the latest archived shift of each volunteer; one grouped query over jobs_archive
+     */
+    private suspend fun loadArchivedShiftDates(): Map<Long, Long> {
+        archivedShiftDates = try {
+            repository.getLatestArchivedShiftDates()
+        } catch (e: Exception) {
+            println("Failed to load archived shift dates: ${e.message}")
+            archivedShiftDates
+        }
+        return archivedShiftDates
+    }
+    
     /**
      * Updates volunteer activity when jobs are loaded
      */
@@ -2549,7 +2158,7 @@ class EventManagerViewModel(
 
             if (currentVolunteers.isNotEmpty() && currentJobs.isNotEmpty()) {
                 val updatedVolunteers =
-                    VolunteerActivityManager.updateVolunteerActivityFromJobs(currentVolunteers, currentJobs)
+                    VolunteerActivityManager.updateVolunteerActivityFromJobs(currentVolunteers, currentJobs, loadArchivedShiftDates())
 
                 // Switch back to main thread only for state update
                 withContext(Dispatchers.Main) {
@@ -2578,8 +2187,7 @@ class EventManagerViewModel(
                 val uniqueGuests = removeDuplicateGuests(allGuests)
                 if (allGuests.size != uniqueGuests.size) {
                     println("Found ${allGuests.size - uniqueGuests.size} duplicate guests, cleaning up...")
-                    repository.clearAllGuests()
-                    uniqueGuests.forEach { repository.insertGuest(it) }
+                    repository.replaceAllGuests(uniqueGuests)
                 }
                 
                 // Clean up duplicate volunteers
@@ -2587,8 +2195,7 @@ class EventManagerViewModel(
                 val uniqueVolunteers = removeDuplicateVolunteers(allVolunteers)
                 if (allVolunteers.size != uniqueVolunteers.size) {
                     println("Found ${allVolunteers.size - uniqueVolunteers.size} duplicate volunteers, cleaning up...")
-                    repository.clearAllVolunteers()
-                    uniqueVolunteers.forEach { repository.insertVolunteer(it) }
+                    repository.replaceAllVolunteers(uniqueVolunteers)
                 }
                 
                 // Clean up duplicate jobs
@@ -2596,8 +2203,7 @@ class EventManagerViewModel(
                 val uniqueJobs = removeDuplicateJobs(allJobs)
                 if (allJobs.size != uniqueJobs.size) {
                     println("Found ${allJobs.size - uniqueJobs.size} duplicate jobs, cleaning up...")
-                    repository.clearAllJobs()
-                    uniqueJobs.forEach { repository.insertJob(it) }
+                    repository.replaceAllJobs(uniqueJobs)
                 }
                 
                 // Clean up duplicate job types
@@ -2605,8 +2211,7 @@ class EventManagerViewModel(
                 val uniqueJobTypes = removeDuplicateJobTypes(allJobTypes)
                 if (allJobTypes.size != uniqueJobTypes.size) {
                     println("Found ${allJobTypes.size - uniqueJobTypes.size} duplicate job types, cleaning up...")
-                    repository.clearAllJobTypeConfigs()
-                    uniqueJobTypes.forEach { repository.insertJobTypeConfig(it) }
+                    repository.replaceAllJobTypeConfigs(uniqueJobTypes)
                 }
                 
                 println("Duplicate cleanup completed")
@@ -2785,6 +2390,22 @@ class EventManagerViewModel(
     fun dismissSyncStatusDialog() {
         _showSyncStatusDialog.value = false
         _syncStatusMessage.value = null
+        _syncTraceExportPath.value = null
+    }
+    
+    /**
+     * Writes the sync trace history to a JSON file for offline analysis
+     */
+    fun exportSyncTraces() {
+        val appContext = context ?: return
+        viewModelScope.launch {
+            try {
+                _syncTraceExportPath.value = SyncTracer.export(appContext).absolutePath
+            } catch (e: Exception) {
+                println("Error exporting sync traces: ${e.message}")
+                _syncTraceExportPath.value = null
+            }
+        }
     }
     
     // Update volunteer activity based on job assignments
@@ -2796,7 +2417,7 @@ class EventManagerViewModel(
                 
                 println("Updating volunteer activity for ${volunteers.size} volunteers based on ${jobs.size} jobs")
                 
-                val updatedVolunteers = VolunteerActivityManager.updateVolunteerActivityFromJobs(volunteers, jobs)
+                val updatedVolunteers = VolunteerActivityManager.updateVolunteerActivityFromJobs(volunteers, jobs, loadArchivedShiftDates())
                 
                 // Update volunteers whose activity has changed
                 var updatedCount = 0
@@ -2908,6 +2529,7 @@ class EventManagerViewModel(
             
             try {
                 println("🔄 Starting differential full sync...")
+                flushPendingSheetsChanges()
                 
                 val result = syncManager?.performDifferentialSync()
                 
@@ -2917,8 +2539,7 @@ class EventManagerViewModel(
                     AppLogger.i("EventManagerViewModel", "Differential sync changes: $summary")
                     println("📊 $summary")
                     
-                    // Apply targeted UI updates based on what actually changed
-                    applyDifferentialUIUpdates(changes)
+                    // Targeted UI updates were applied chunk by chunk while the sync ran, see observeSyncProgress()
                     
                     // Recalculate volunteer guest list if needed
                     if (changes.volunteers.hasChanges) {
@@ -3100,8 +2721,8 @@ class EventManagerViewModel(
      * - Only update changed items (new, modified, deleted)
      * - Apply targeted UI updates
      */
-    fun syncVolunteersWithTargetedUpdates() {
-        viewModelScope.launch {
+    fun syncVolunteersWithTargetedUpdates(lane: SheetsRequestPriority = SheetsRequestPriority.INTERACTIVE) {
+        viewModelScope.launch(lane) {
             _isSyncing.value = true
             _syncError.value = null
             
@@ -3211,8 +2832,8 @@ class EventManagerViewModel(
      * NEW TARGETED GUEST SYNC: Download and update only changed guests
      * This replaces full UI refresh with targeted updates for the guest page
      */
-    fun syncGuestsWithTargetedUpdates() {
-        viewModelScope.launch {
+    fun syncGuestsWithTargetedUpdates(lane: SheetsRequestPriority = SheetsRequestPriority.INTERACTIVE) {
+        viewModelScope.launch(lane) {
             _isSyncing.value = true
             _syncError.value = null
             
@@ -3386,8 +3007,8 @@ class EventManagerViewModel(
      * NEW TARGETED JOB SYNC: Download and update only changed jobs
      * This replaces full UI refresh with targeted updates for the shifts/jobs page
      */
-    fun syncJobsWithTargetedUpdates() {
-        viewModelScope.launch {
+    fun syncJobsWithTargetedUpdates(lane: SheetsRequestPriority = SheetsRequestPriority.INTERACTIVE) {
+        viewModelScope.launch(lane) {
             _isSyncing.value = true
             _syncError.value = null
             
@@ -3489,8 +3110,8 @@ class EventManagerViewModel(
      * NEW TARGETED JOB TYPE SYNC: Download and update only changed job types
      * This replaces full UI refresh with targeted updates for the job types settings page
      */
-    fun syncJobTypesWithTargetedUpdates() {
-        viewModelScope.launch {
+    fun syncJobTypesWithTargetedUpdates(lane: SheetsRequestPriority = SheetsRequestPriority.INTERACTIVE) {
+        viewModelScope.launch(lane) {
             _isSyncing.value = true
             _syncError.value = null
             
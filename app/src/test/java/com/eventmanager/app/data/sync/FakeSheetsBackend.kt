@@ -0,0 +1,315 @@
+package com.eventmanager.app.data.sync
+
+import com.google.api.client.util.Data
+import com.google.api.services.sheets.v4.model.*
+import java.io.IOException
+import java.net.SocketTimeoutException
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import kotlin.random.Random
+
+/**
+ * Fault and latency settings of the fake spreadsheet
+ */
+data class FakeSheetsConfig(
+    val latencyMs: Long = 0,            // Added to every call
+    val jitterMs: Long = 0,             // Random extra latency in [0, jitterMs]
+    val rateLimitProbability: Double = 0.0, // Share of calls rejected with a 429
+    val timeoutProbability: Double = 0.0,   // Share of calls that time out
+    val timeoutMs: Long = 0,            // Time spent before a simulated timeout is thrown
+    val seed: Long = 42
+)
+
+/**
+ * Fake Sheets Backend
+ *
+ * In-memory spreadsheet implementing [SheetsBackend], for tests and load runs without network.
+ * Supports A1 ranges of the form "Tab!A2:F", "Tab!A:F", "Tab!A5:F5" and "Tab!A1",
+ * append after the last non-empty row, row deletion and tab creation through
+ * batchUpdateSpreadsheet. Like the API, null cells are skipped and leave the cell as it is.
+ * Latency, 429s and timeouts are injected from [config].
+ */
+class FakeSheetsBackend(
+    @Volatile var config: FakeSheetsConfig = FakeSheetsConfig()
+) : SheetsBackend {
+
+    private class Tab(
+        val sheetId: Int,
+        val rows: MutableList<MutableList<Any>> = mutableListOf()
+    )
+
+    private data class A1Range(
+        val tab: String,
+        val startRow: Int,  // 0-based
+        val startCol: Int,  // 0-based
+        val endRow: Int?,   // 0-based inclusive, null when open-ended
+        val endCol: Int?    // 0-based inclusive, null when open-ended
+    )
+
+    private val lock = Any()
+    private val tabs = LinkedHashMap<String, Tab>()
+    private var nextSheetId = 1000
+    private val random = Random(config.seed)
+    private val callCounts = ConcurrentHashMap<String, AtomicLong>()
+
+    /**
+     * Creates or replaces a tab with a header row and data rows
+     */
+    fun seedTab(name: String, header: List<Any>, rows: List<List<Any>>) {
+        synchronized(lock) {
+            val tab = tabs[name] ?: Tab(nextSheetId++).also { tabs[name] = it }
+            tab.rows.clear()
+            tab.rows.add(header.toMutableList())
+            rows.forEach { tab.rows.add(it.toMutableList()) }
+        }
+    }
+
+    /**
+     * Current content of a tab including the header, trailing empty rows removed
+     */
+    fun tabRows(name: String): List<List<Any>> = synchronized(lock) {
+        tabs[name]?.rows?.map { it.toList() }?.dropLastWhile { row -> row.all { it.toString().isEmpty() } } ?: emptyList()
+    }
+
+    /**
+     * Number of calls per backend method since creation or the last [resetCallCounts]
+     */
+    fun callCounts(): Map<String, Long> = callCounts.mapValues { it.value.get() }
+
+    fun resetCallCounts() = callCounts.clear()
+
+    override fun get(spreadsheetId: String, range: String): ValueRange {
+        simulate("get")
+        return synchronized(lock) { read(range) }
+    }
+
+    override fun batchGet(spreadsheetId: String, ranges: List<String>): BatchGetValuesResponse {
+        simulate("batchGet")
+        return synchronized(lock) {
+            BatchGetValuesResponse()
+                .setSpreadsheetId(spreadsheetId)
+                .setValueRanges(ranges.map { read(it) })
+        }
+    }
+
+    override fun update(spreadsheetId: String, range: String, body: ValueRange): UpdateValuesResponse {
+        simulate("update")
+        return synchronized(lock) { write(spreadsheetId, range, body.getValues() ?: emptyList()) }
+    }
+
+    override fun append(spreadsheetId: String, range: String, body: ValueRange): AppendValuesResponse {
+        simulate("append")
+        return synchronized(lock) {
+            val parsed = parseRange(range)
+            val tab = tabOrCreate(parsed.tab)
+            val lastUsedRow = tab.rows.indexOfLast { row -> row.any { it.toString().isNotEmpty() } }
+            val startRow = maxOf(lastUsedRow + 1, parsed.startRow)
+            val target = "${parsed.tab}!${SheetsDeltaEngine.columnLetter(parsed.startCol + 1)}${startRow + 1}"
+            AppendValuesResponse()
+                .setSpreadsheetId(spreadsheetId)
+                .setTableRange(parsed.tab)
+                .setUpdates(write(spreadsheetId, target, body.getValues() ?: emptyList()))
+        }
+    }
+
+    override fun clear(spreadsheetId: String, range: String): ClearValuesResponse {
+        simulate("clear")
+        return synchronized(lock) {
+            val parsed = parseRange(range)
+            val tab = tabs[parsed.tab] ?: throw IOException("Unable to parse range: $range")
+            val lastRow = minOf(parsed.endRow ?: Int.MAX_VALUE, tab.rows.size - 1)
+            for (rowIndex in parsed.startRow..lastRow) {
+                val row = tab.rows[rowIndex]
+                val lastCol = minOf(parsed.endCol ?: Int.MAX_VALUE, row.size - 1)
+                for (col in parsed.startCol..lastCol) {
+                    row[col] = ""
+                }
+            }
+            ClearValuesResponse().setSpreadsheetId(spreadsheetId).setClearedRange(range)
+        }
+    }
+
+    override fun batchUpdate(spreadsheetId: String, request: BatchUpdateValuesRequest): BatchUpdateValuesResponse {
+        simulate("batchUpdate")
+        return synchronized(lock) {
+            val responses = (request.data ?: emptyList()).map { valueRange ->
+                write(spreadsheetId, valueRange.range, valueRange.getValues() ?: emptyList())
+            }
+            BatchUpdateValuesResponse()
+                .setSpreadsheetId(spreadsheetId)
+                .setResponses(responses)
+                .setTotalUpdatedRows(responses.sumOf { it.updatedRows ?: 0 })
+                .setTotalUpdatedCells(responses.sumOf { it.updatedCells ?: 0 })
+        }
+    }
+
+    override fun getSpreadsheet(spreadsheetId: String): Spreadsheet {
+        simulate("getSpreadsheet")
+        return synchronized(lock) {
+            Spreadsheet()
+                .setSpreadsheetId(spreadsheetId)
+                .setProperties(SpreadsheetProperties().setTitle("Fake spreadsheet"))
+                .setSheets(tabs.map { (name, tab) ->
+                    Sheet().setProperties(SheetProperties().setTitle(name).setSheetId(tab.sheetId))
+                })
+        }
+    }
+
+    override fun batchUpdateSpreadsheet(spreadsheetId: String, request: BatchUpdateSpreadsheetRequest): BatchUpdateSpreadsheetResponse {
+        simulate("batchUpdateSpreadsheet")
+        return synchronized(lock) {
+            val replies = (request.requests ?: emptyList()).map { item ->
+                val deleteDimension = item.deleteDimension
+                val addSheet = item.addSheet
+                when {
+                    deleteDimension != null -> {
+                        val dimensionRange = deleteDimension.range
+                        val tab = tabs.values.find { it.sheetId == dimensionRange.sheetId }
+                            ?: throw IOException("No grid with id: ${dimensionRange.sheetId}")
+                        if (dimensionRange.dimension == "ROWS") {
+                            val start = dimensionRange.startIndex ?: 0
+                            val end = minOf(dimensionRange.endIndex ?: tab.rows.size, tab.rows.size)
+                            if (start < end) {
+                                tab.rows.subList(start, end).clear()
+                            }
+                        }
+                        Response()
+                    }
+                    addSheet != null -> {
+                        val title = addSheet.properties?.title ?: "Sheet${nextSheetId}"
+                        if (tabs.containsKey(title)) {
+                            throw IOException("A sheet with the name \"$title\" already exists")
+                        }
+                        val tab = Tab(nextSheetId++)
+                        tabs[title] = tab
+                        Response().setAddSheet(
+                            AddSheetResponse().setProperties(SheetProperties().setTitle(title).setSheetId(tab.sheetId))
+                        )
+                    }
+                    else -> Response()
+                }
+            }
+            BatchUpdateSpreadsheetResponse()
+                .setSpreadsheetId(spreadsheetId)
+                .setReplies(replies)
+        }
+    }
+
+    /**
+     * Applies latency and injected failures for one call
+     */
+    private fun simulate(method: String) {
+        callCounts.getOrPut(method) { AtomicLong() }.incrementAndGet()
+        val current = config
+        val (roll, jitter) = synchronized(lock) {
+            random.nextDouble() to if (current.jitterMs > 0) random.nextLong(current.jitterMs + 1) else 0L
+        }
+
+        if (roll < current.timeoutProbability) {
+            if (current.timeoutMs > 0) Thread.sleep(current.timeoutMs)
+            throw SocketTimeoutException("Read timed out")
+        }
+
+        val latency = current.latencyMs + jitter
+        if (latency > 0) Thread.sleep(latency)
+
+        if (roll < current.timeoutProbability + current.rateLimitProbability) {
+            throw IOException("429 Too Many Requests: Quota exceeded for quota metric 'Read requests' (Rate limit)")
+        }
+    }
+
+    private fun read(range: String): ValueRange {
+        val parsed = parseRange(range)
+        val tab = tabs[parsed.tab] ?: throw IOException("Unable to parse range: $range")
+        val lastRow = minOf(parsed.endRow ?: Int.MAX_VALUE, tab.rows.size - 1)
+
+        val values = mutableListOf<List<Any>>()
+        for (rowIndex in parsed.startRow..lastRow) {
+            val row = tab.rows[rowIndex]
+            val lastCol = minOf(parsed.endCol ?: Int.MAX_VALUE, row.size - 1)
+            val cells = if (parsed.startCol <= lastCol) row.subList(parsed.startCol, lastCol + 1).toList() else emptyList()
+            // Like the API, trailing empty cells are omitted
+            values.add(cells.dropLastWhile { it.toString().isEmpty() })
+        }
+        // Like the API, trailing empty rows are omitted
+        val trimmed = values.dropLastWhile { it.isEmpty() }
+
+        return ValueRange()
+            .setRange(range)
+            .setMajorDimension("ROWS")
+            .setValues(trimmed.ifEmpty { null })
+    }
+
+    private fun write(spreadsheetId: String, range: String, values: List<List<Any>>): UpdateValuesResponse {
+        val parsed = parseRange(range)
+        val tab = tabOrCreate(parsed.tab)
+        var cells = 0
+        var width = 0
+
+        values.forEachIndexed { offset, rowValues ->
+            val rowIndex = parsed.startRow + offset
+            while (tab.rows.size <= rowIndex) {
+                tab.rows.add(mutableListOf())
+            }
+            val row = tab.rows[rowIndex]
+            rowValues.forEachIndexed { colOffset, value ->
+                val col = parsed.startCol + colOffset
+                if (Data.isNull(value)) return@forEachIndexed
+                while (row.size <= col) {
+                    row.add("")
+                }
+                row[col] = value
+                cells++
+            }
+            width = maxOf(width, rowValues.size)
+        }
+
+        val firstColumn = SheetsDeltaEngine.columnLetter(parsed.startCol + 1)
+        val lastColumn = SheetsDeltaEngine.columnLetter(parsed.startCol + maxOf(width, 1))
+        val lastRow = parsed.startRow + maxOf(values.size, 1)
+        return UpdateValuesResponse()
+            .setSpreadsheetId(spreadsheetId)
+            .setUpdatedRange("${parsed.tab}!$firstColumn${parsed.startRow + 1}:$lastColumn$lastRow")
+            .setUpdatedRows(values.size)
+            .setUpdatedColumns(width)
+            .setUpdatedCells(cells)
+    }
+
+    private fun tabOrCreate(name: String): Tab =
+        tabs[name] ?: Tab(nextSheetId++).also { tabs[name] = it }
+
+    private fun parseRange(range: String): A1Range {
+        val separator = range.lastIndexOf('!')
+        val quoted = if (separator >= 0) range.substring(0, separator) else range
+        val tabName = if (quoted.startsWith("'")) quoted.removeSurrounding("'").replace("''", "'") else quoted
+        if (separator < 0) {
+            return A1Range(tabName, 0, 0, null, null)
+        }
+
+        val cells = range.substring(separator + 1).split(':')
+        val start = parseCell(cells[0])
+        val end = cells.getOrNull(1)?.let { parseCell(it) }
+
+        return A1Range(
+            tab = tabName,
+            startRow = start.second ?: 0,
+            startCol = start.first ?: 0,
+            // A single cell such as "Tab!A1" reads only that cell
+            endRow = if (end != null) end.second else start.second,
+            endCol = if (end != null) end.first else start.first
+        )
+    }
+
+    /**
+     * Parses "B12" into (1, 11), "B" into (1, null) and "12" into (null, 11)
+     */
+    private fun parseCell(cell: String): Pair<Int?, Int?> {
+        val match = Regex("^([A-Za-z]*)(\\d*)$").find(cell.trim())
+            ?: throw IOException("Unable to parse range cell: $cell")
+        val letters = match.groupValues[1].uppercase()
+        val digits = match.groupValues[2]
+        val col = if (letters.isEmpty()) null else letters.fold(0) { acc, c -> acc * 26 + (c - 'A' + 1) } - 1
+        val row = digits.toIntOrNull()?.minus(1)
+        return col to row
+    }
+}
@@ -0,0 +1,122 @@
+package com.eventmanager.app.data.sync
+
+import com.eventmanager.app.data.models.Guest
+import com.eventmanager.app.data.models.SheetsEntityType
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+
+/**
+ * Drives [GoogleSheetsService] against [FakeSheetsBackend], checking both the tab
+ * content and the requests sent for it
+ */
+class GoogleSheetsServiceTest {
+
+    private companion object {
+        const val ALICE = "00000000-0000-4000-8000-00000000000a"
+        const val BOB = "00000000-0000-4000-8000-00000000000b"
+        const val CAROL = "00000000-0000-4000-8000-00000000000c"
+        const val DAVE = "00000000-0000-4000-8000-00000000000d"
+    }
+
+    private val backend = FakeSheetsBackend()
+    private val context = TestContext()
+    private val service = GoogleSheetsService(context, backend)
+    private val guestTab = SettingsManager(context).getGuestListSheet()
+
+    @Before
+    fun seedSpreadsheet() {
+        backend.seedTab(
+            guestTab,
+            SheetsHeaders.GUESTS,
+            listOf(guestCells("Alice", ALICE), guestCells("Bob", BOB), guestCells("Carol", CAROL))
+        )
+        backend.seedTab(
+            SheetsRevisions.META_SHEET,
+            SheetsRevisions.HEADER,
+            SheetsRevisions.TABS.map { SheetsRevisions.row(it, TabRevision(0L, "")) }
+        )
+    }
+
+    @Test
+    fun batchDownloadReadsTheTabsInOneRequest() = runBlocking {
+        val snapshot = service.syncAllTabsFromSheets(setOf(SheetsEntityType.GUEST))
+
+        assertEquals(listOf("Alice", "Bob", "Carol"), snapshot.guests.map { it.name })
+        assertEquals(listOf(ALICE, BOB, CAROL), snapshot.guests.map { it.sheetsId })
+        assertEquals(mapOf("batchGet" to 1L), backend.callCounts())
+    }
+
+    @Test
+    fun deleteAfterDownloadSendsNoRead() = runBlocking {
+        service.readTabRevisions()
+        service.syncAllTabsFromSheets(setOf(SheetsEntityType.GUEST))
+        assertEquals(1, service.deleteRowsFromSheets(SheetsEntityType.GUEST, listOf(BOB)))
+
+        // The index follows the rows shifted up by the first delete
+        backend.resetCallCounts()
+        assertEquals(1, service.deleteRowsFromSheets(SheetsEntityType.GUEST, listOf(CAROL)))
+
+        assertEquals(listOf(ALICE), syncIds())
+        assertEquals(mapOf("batchUpdateSpreadsheet" to 1L, "update" to 1L), backend.callCounts())
+    }
+
+    @Test
+    fun deleteReadsTheTabAgainAfterAForeignRevision() = runBlocking {
+        val otherDevice = GoogleSheetsService(TestContext(), backend)
+        service.readTabRevisions()
+        service.syncAllTabsFromSheets(setOf(SheetsEntityType.GUEST))
+
+        otherDevice.deleteRowsFromSheets(SheetsEntityType.GUEST, listOf(ALICE))
+        service.readTabRevisions()
+        backend.resetCallCounts()
+        assertEquals(1, service.deleteRowsFromSheets(SheetsEntityType.GUEST, listOf(CAROL)))
+
+        assertEquals(listOf(BOB), syncIds())
+        assertEquals(1L, backend.callCounts()["batchGet"])
+    }
+
+    @Test
+    fun upsertWritesUnderTheTabsOwnHeaders() = runBlocking {
+        val header = listOf("Sync ID", "Name", "Comment", "Invitations", "Venue", "Notes", "Volunteer Benefit", "Last Modified")
+        backend.seedTab(
+            guestTab,
+            header,
+            listOf(listOf(ALICE, "Alice", "", "1", "Main", "", "No", "1"), listOf(BOB, "Bob", "keep me", "1", "Main", "", "No", "1"))
+        )
+
+        val written = service.upsertGuestRowsToSheets(listOf(guest("Bob", BOB, invitations = 3), guest("Dave", DAVE, invitations = 2)))
+
+        assertEquals(2, written)
+        assertEquals(
+            listOf(
+                header,
+                listOf(ALICE, "Alice", "", "1", "Main", "", "No", "1"),
+                listOf(BOB, "Bob", "keep me", "3", "Main", "", "No", "5"),
+                listOf(DAVE, "Dave", "", "2", "Main", "", "No", "5")
+            ),
+            backend.tabRows(guestTab)
+        )
+
+        // The appended row is in the index, so updating it again needs no read
+        backend.resetCallCounts()
+        service.upsertGuestRowsToSheets(listOf(guest("Dave", DAVE, invitations = 4)))
+        assertEquals(mapOf("batchUpdate" to 1L), backend.callCounts())
+        assertEquals("4", backend.tabRows(guestTab)[3][3])
+    }
+
+    private fun guestCells(name: String, sheetsId: String): List<Any> =
+        listOf(name, "1", "Main", "", "No", "1", sheetsId)
+
+    private fun guest(name: String, sheetsId: String, invitations: Int) =
+        Guest(sheetsId = sheetsId, name = name, invitations = invitations, venueName = "Main", lastModified = 5)
+
+    private fun syncIds(): List<Any> {
+        val rows = backend.tabRows(guestTab)
+        val column = rows.first().indexOf(SheetsRowIds.HEADER)
+        assertTrue(column >= 0)
+        return rows.drop(1).map { it[column] }
+    }
+}
@@ -0,0 +1,102 @@
+package com.eventmanager.app.data.sync
+
+import android.content.Context
+import android.content.ContextWrapper
+import android.content.SharedPreferences
+
+/**
+ * Context for JVM tests: each instance holds its own in-memory SharedPreferences,
+ * so two instances behave like two devices sharing one spreadsheet.
+ * Everything else returns the defaults of the mockable android.jar.
+ */
+class TestContext : ContextWrapper(null) {
+
+    private val preferences = HashMap<String, InMemorySharedPreferences>()
+
+    override fun getSharedPreferences(name: String, mode: Int): SharedPreferences = synchronized(preferences) {
+        preferences.getOrPut(name) { InMemorySharedPreferences() }
+    }
+
+    override fun getApplicationContext(): Context = this
+}
+
+/**
+ * SharedPreferences kept in a map; edits are applied synchronously and listeners are not called
+ */
+class InMemorySharedPreferences : SharedPreferences {
+
+    private val values = HashMap<String, Any?>()
+
+    override fun getAll(): Map<String, *> = synchronized(values) { HashMap(values) }
+
+    override fun getString(key: String, defValue: String?): String? = get(key) ?: defValue
+
+    @Suppress("UNCHECKED_CAST")
+    override fun getStringSet(key: String, defValues: Set<String>?): Set<String>? = get(key) ?: defValues
+
+    override fun getInt(key: String, defValue: Int): Int = get(key) ?: defValue
+
+    override fun getLong(key: String, defValue: Long): Long = get(key) ?: defValue
+
+    override fun getFloat(key: String, defValue: Float): Float = get(key) ?: defValue
+
+    override fun getBoolean(key: String, defValue: Boolean): Boolean = get(key) ?: defValue
+
+    override fun contains(key: String): Boolean = synchronized(values) { key in values }
+
+    override fun edit(): SharedPreferences.Editor = Editor()
+
+    override fun registerOnSharedPreferenceChangeListener(listener: SharedPreferences.OnSharedPreferenceChangeListener) = Unit
+
+    override fun unregisterOnSharedPreferenceChangeListener(listener: SharedPreferences.OnSharedPreferenceChangeListener) = Unit
+
+    @Suppress("UNCHECKED_CAST")
+    private fun <T> get(key: String): T? = synchronized(values) { values[key] as T? }
+
+    private inner class Editor : SharedPreferences.Editor {
+
+        private val changes = HashMap<String, Any?>()
+        private val removed = HashSet<String>()
+        private var clear = false
+
+        override fun putString(key: String, value: String?) = put(key, value)
+
+        override fun putStringSet(key: String, values: Set<String>?) = put(key, values?.toSet())
+
+        override fun putInt(key: String, value: Int) = put(key, value)
+
+        override fun putLong(key: String, value: Long) = put(key, value)
+
+        override fun putFloat(key: String, value: Float) = put(key, value)
+
+        override fun putBoolean(key: String, value: Boolean) = put(key, value)
+
+        override fun remove(key: String): SharedPreferences.Editor {
+            removed.add(key)
+            return this
+        }
+
+        override fun clear(): SharedPreferences.Editor {
+            clear = true
+            return this
+        }
+
+        override fun commit(): Boolean {
+            synchronized(values) {
+                if (clear) values.clear()
+                removed.forEach { values.remove(it) }
+                changes.forEach { (key, value) -> if (value == null) values.remove(key) else values[key] = value }
+            }
+            return true
+        }
+
+        override fun apply() {
+            commit()
+        }
+
+        private fun put(key: String, value: Any?): SharedPreferences.Editor {
+            changes[key] = value
+            return this
+        }
+    }
+}